@@ -0,0 +1,123 @@
+// Description: Java 25 XML SAX Parser for CFInt.
+
+/*
+ *	io.github.msobkow.CFInt
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *	
+ *	Mark's Code Fractal 3.1 CFInt - Internet Essentials
+ *	
+ *	This file is part of Mark's Code Fractal CFInt.
+ *	
+ *	Mark's Code Fractal CFInt is available under dual commercial license from
+ *	Mark Stephen Sobkow, or under the terms of the GNU Library General Public License,
+ *	Version 3 or later.
+ *	
+ *	Mark's Code Fractal CFInt is free software: you can redistribute it and/or
+ *	modify it under the terms of the GNU Library General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *	
+ *	Mark's Code Fractal CFInt is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *	
+ *	You should have received a copy of the GNU Library General Public License
+ *	along with Mark's Code Fractal CFInt.  If not, see <https://www.gnu.org/licenses/>.
+ *	
+ *	If you wish to modify and use this code without publishing your changes in order to
+ *	tie it to proprietary code, please contact Mark Stephen Sobkow
+ *	for a commercial license at mark.sobkow@gmail.com
+ *	
+ */
+package io.github.msobkow.v3_1.cfint.cfintsaxloader.jmh;
+
+import java.io.File;
+import java.io.IOException;
+import io.github.msobkow.v3_1.cfint.cfintsaxloader.*;
+
+/*
+ *	CFIntBenchDocuments generates the synthetic documents the benchmarks
+ *	load.  Each shape exercises one representative handler; Mixed
+ *	interleaves all of them.  A fixed seed keeps runs comparable.
+ */
+public class CFIntBenchDocuments
+{
+	public final static long SEED = 0x3110CF1A7L;
+	public final static int FAN_OUT = 100;
+	public final static int SECGRPMEMB_USERS = 500;
+
+	public enum ShapeEnum {
+		ISOTZone,
+		SecUser,
+		Service,
+		License,
+		SecGrpMemb,
+		Mixed
+	};
+
+	private CFIntBenchDocuments() {
+	}
+
+	// Shape of a document of about numElements loaded elements
+
+	public static CFIntSaxDocShape shape( ShapeEnum shape, int numElements ) {
+		CFIntSaxDocShape docShape = new CFIntSaxDocShape();
+		switch( shape ) {
+			case ISOTZone:
+				docShape.setNumISOTZones( numElements );
+				break;
+			case SecUser:
+				docShape.setNumSecUsers( numElements );
+				break;
+			case Service:
+				docShape.setNumServiceTypes( 10 );
+				docShape.setNumHostNodes( containers( numElements ) );
+				docShape.setServicesPerHostNode( FAN_OUT );
+				break;
+			case License:
+				docShape.setNumTlds( 1 );
+				docShape.setTopDomainsPerTld( containers( numElements ) );
+				docShape.setLicensesPerTopDomain( FAN_OUT );
+				break;
+			case SecGrpMemb:
+				docShape.setNumSecUsers( SECGRPMEMB_USERS );
+				docShape.setNumSecGroups( containers( numElements ) );
+				docShape.setSecGrpMembsPerSecGroup( FAN_OUT );
+				break;
+			case Mixed:
+				int quarter = Math.max( 1, numElements / 4 );
+				docShape.setNumISOTZones( quarter );
+				docShape.setNumSecUsers( quarter );
+				docShape.setNumServiceTypes( 10 );
+				docShape.setNumHostNodes( containers( quarter ) );
+				docShape.setServicesPerHostNode( FAN_OUT );
+				docShape.setNumTlds( 1 );
+				docShape.setTopDomainsPerTld( containers( quarter ) );
+				docShape.setLicensesPerTopDomain( FAN_OUT );
+				break;
+		}
+		return( docShape );
+	}
+
+	// Write a document of the shape to a temporary file
+
+	public static File write( ShapeEnum shape, int numElements ) {
+		final String S_ProcName = "write";
+		try {
+			File file = File.createTempFile( "cfint-bench-" + shape + "-", ".xml" );
+			file.deleteOnExit();
+			new CFIntSaxDocGenerator( shape( shape, numElements ), SEED ).generate( file.toPath() );
+			return( file );
+		}
+		catch( IOException e ) {
+			throw new RuntimeException( S_ProcName + "() ERROR: Writing " + shape + " document: " + e.getMessage(),
+				e );
+		}
+	}
+
+	protected static int containers( int numElements ) {
+		return( Math.max( 1, ( numElements + FAN_OUT - 1 ) / FAN_OUT ) );
+	}
+}
@@ -0,0 +1,114 @@
+// Description: Java 25 XML SAX Parser for CFInt.
+
+/*
+ *	io.github.msobkow.CFInt
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *	
+ *	Mark's Code Fractal 3.1 CFInt - Internet Essentials
+ *	
+ *	This file is part of Mark's Code Fractal CFInt.
+ *	
+ *	Mark's Code Fractal CFInt is available under dual commercial license from
+ *	Mark Stephen Sobkow, or under the terms of the GNU Library General Public License,
+ *	Version 3 or later.
+ *	
+ *	Mark's Code Fractal CFInt is free software: you can redistribute it and/or
+ *	modify it under the terms of the GNU Library General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *	
+ *	Mark's Code Fractal CFInt is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *	
+ *	You should have received a copy of the GNU Library General Public License
+ *	along with Mark's Code Fractal CFInt.  If not, see <https://www.gnu.org/licenses/>.
+ *	
+ *	If you wish to modify and use this code without publishing your changes in order to
+ *	tie it to proprietary code, please contact Mark Stephen Sobkow
+ *	for a commercial license at mark.sobkow@gmail.com
+ *	
+ */
+package io.github.msobkow.v3_1.cfint.cfintsaxloader.jmh;
+
+import java.util.*;
+import io.github.msobkow.v3_1.cflib.*;
+import io.github.msobkow.v3_1.cfsec.cfsecobj.*;
+import io.github.msobkow.v3_1.cfint.cfintobj.*;
+import io.github.msobkow.v3_1.cfint.cfintsaxloader.*;
+
+/*
+ *	CFIntBenchSchemas supplies the schema the benchmarks load into.  The
+ *	class named by the cfint.bench.schema system property is instantiated
+ *	with its no-argument constructor; it must already hold the "system"
+ *	cluster and tenant.
+ */
+public class CFIntBenchSchemas
+{
+	public final static String SCHEMA_CLASS_PROPERTY = "cfint.bench.schema";
+	public final static String READ_LATENCY_PROPERTY = "cfint.bench.readLatencyNanos";
+	public final static String WRITE_LATENCY_PROPERTY = "cfint.bench.writeLatencyNanos";
+
+	private CFIntBenchSchemas() {
+	}
+
+	public static ICFIntSchemaObj newSchema() {
+		final String S_ProcName = "newSchema";
+		String className = System.getProperty( SCHEMA_CLASS_PROPERTY );
+		if( ( className == null ) || ( className.length() <= 0 ) ) {
+			return( newMemSchema( Long.getLong( READ_LATENCY_PROPERTY, 0L ),
+				Long.getLong( WRITE_LATENCY_PROPERTY, 0L ) ).getSchemaObj() );
+		}
+		try {
+			return( (ICFIntSchemaObj)Class.forName( className ).getDeclaredConstructor().newInstance() );
+		}
+		catch( ReflectiveOperationException e ) {
+			throw new RuntimeException( S_ProcName + "() ERROR: Instantiating " + className + ": " + e.getMessage(),
+				e );
+		}
+	}
+
+	// Create an in-memory schema seeded with the "system" cluster and tenant
+
+	public static CFIntMemSchema newMemSchema( long readLatencyNanos, long writeLatencyNanos ) {
+		CFIntMemSchema memSchema = new CFIntMemSchema();
+		Map<String,Object> clusterFields = new HashMap<String,Object>();
+		clusterFields.put( "FullDomName", "system" );
+		clusterFields.put( "Description", "system" );
+		ICFSecClusterObj cluster = (ICFSecClusterObj)memSchema.seed( "Cluster", clusterFields );
+		Map<String,Object> tenantFields = new HashMap<String,Object>();
+		tenantFields.put( "ContainerCluster", cluster );
+		tenantFields.put( "TenantName", "system" );
+		memSchema.seed( "Tenant", tenantFields );
+		memSchema.setReadLatencyNanos( readLatencyNanos );
+		memSchema.setWriteLatencyNanos( writeLatencyNanos );
+		return( memSchema );
+	}
+
+	// Create a loader bound to a schema and its "system" cluster and tenant
+
+	public static CFIntSaxLoader newLoader( ICFIntSchemaObj schemaObj ) {
+		final String S_ProcName = "newLoader";
+		ICFSecClusterObj cluster = schemaObj.getClusterTableObj().readClusterByUDomNameIdx( "system" );
+		if( cluster == null ) {
+			throw new CFLibNullArgumentException( CFIntBenchSchemas.class,
+				S_ProcName,
+				0,
+				"readClusterByUDomNameIdx-system" );
+		}
+		ICFSecTenantObj tenant = schemaObj.getTenantTableObj().readTenantByUNameIdx( cluster.getRequiredId(), "system" );
+		if( tenant == null ) {
+			throw new CFLibNullArgumentException( CFIntBenchSchemas.class,
+				S_ProcName,
+				0,
+				"readTenantByUNameIdx-system-system" );
+		}
+		CFIntSaxLoader loader = new CFIntSaxLoader( null );
+		loader.setSchemaObj( schemaObj );
+		loader.setUseCluster( cluster );
+		loader.setUseTenant( tenant );
+		return( loader );
+	}
+}
@@ -0,0 +1,688 @@
+// Description: Java 25 XML SAX Parser for CFInt.
+
+/*
+ *	io.github.msobkow.CFInt
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *	
+ *	Mark's Code Fractal 3.1 CFInt - Internet Essentials
+ *	
+ *	This file is part of Mark's Code Fractal CFInt.
+ *	
+ *	Mark's Code Fractal CFInt is available under dual commercial license from
+ *	Mark Stephen Sobkow, or under the terms of the GNU Library General Public License,
+ *	Version 3 or later.
+ *	
+ *	Mark's Code Fractal CFInt is free software: you can redistribute it and/or
+ *	modify it under the terms of the GNU Library General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *	
+ *	Mark's Code Fractal CFInt is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *	
+ *	You should have received a copy of the GNU Library General Public License
+ *	along with Mark's Code Fractal CFInt.  If not, see <https://www.gnu.org/licenses/>.
+ *	
+ *	If you wish to modify and use this code without publishing your changes in order to
+ *	tie it to proprietary code, please contact Mark Stephen Sobkow
+ *	for a commercial license at mark.sobkow@gmail.com
+ *	
+ */
+package io.github.msobkow.v3_1.cfint.cfintsaxloader.jmh;
+
+import java.lang.reflect.*;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import io.github.msobkow.v3_1.cfint.cfintobj.*;
+
+/*
+ *	CFIntMemSchema is an in-memory stand-in for ICFIntSchemaObj, so that
+ *	loader benchmarks measure parsing and handler overhead without a
+ *	database.  The schema, its table objects and their rows are dynamic
+ *	proxies over hash maps.
+ *
+ *	A table's unique indexes are the read<Table>By<Idx> methods of its
+ *	generated table interface that return a single row.  The parameters
+ *	of each are the index columns, named after the row fields they match
+ *	when the interfaces were compiled with parameter names, and otherwise
+ *	taken from DEFAULT_INDEX_COLUMNS.  An IdIdx of one column is the
+ *	primary key.  Creates, updates and deletes maintain a hash map per
+ *	index, so unique index reads and writes take constant time however
+ *	large the table grows.  A row whose key would duplicate another row's
+ *	is refused, as a database would refuse it, and a key with a null
+ *	column is not indexed.  Reads of indexes that return lists always
+ *	answer an empty list.
+ *
+ *	Reads and writes can be given a fixed latency to model a remote
+ *	database.
+ */
+public class CFIntMemSchema
+	implements InvocationHandler
+{
+	// Index columns for table interfaces compiled without parameter names,
+	// by table and index.  A column holding a row reference stands for
+	// the primary key of that row.
+
+	protected final static Map<String,String[]> DEFAULT_INDEX_COLUMNS = new HashMap<String,String[]>();
+	static {
+		DEFAULT_INDEX_COLUMNS.put( "Cluster.UDomNameIdx", new String[] { "FullDomName" } );
+		DEFAULT_INDEX_COLUMNS.put( "HostNode.HostNameIdx", new String[] { "ContainerCluster", "HostName" } );
+		DEFAULT_INDEX_COLUMNS.put( "ISOCcy.CcyCdIdx", new String[] { "ISOCode" } );
+		DEFAULT_INDEX_COLUMNS.put( "ISOCtry.ISOCodeIdx", new String[] { "ISOCode" } );
+		DEFAULT_INDEX_COLUMNS.put( "ISOTZone.UTZNameIdx", new String[] { "TZName" } );
+		DEFAULT_INDEX_COLUMNS.put( "License.UNameIdx", new String[] { "ContainerTopDomain", "Name" } );
+		DEFAULT_INDEX_COLUMNS.put( "MajorVersion.NameIdx", new String[] { "ContainerParentSPrj", "Name" } );
+		DEFAULT_INDEX_COLUMNS.put( "MimeType.UNameIdx", new String[] { "Name" } );
+		DEFAULT_INDEX_COLUMNS.put( "MinorVersion.NameIdx", new String[] { "ContainerParentMajVer", "Name" } );
+		DEFAULT_INDEX_COLUMNS.put( "SecDevice.NameIdx", new String[] { "ContainerSecUser", "DevName" } );
+		DEFAULT_INDEX_COLUMNS.put( "SecGroup.UNameIdx", new String[] { "ContainerCluster", "Name" } );
+		DEFAULT_INDEX_COLUMNS.put( "SecUser.ULoginIdx", new String[] { "LoginId" } );
+		DEFAULT_INDEX_COLUMNS.put( "ServiceType.UDescrIdx", new String[] { "Description" } );
+		DEFAULT_INDEX_COLUMNS.put( "SubProject.NameIdx", new String[] { "ContainerParentTPrj", "Name" } );
+		DEFAULT_INDEX_COLUMNS.put( "Tenant.UNameIdx", new String[] { "ContainerCluster", "TenantName" } );
+		DEFAULT_INDEX_COLUMNS.put( "Tld.NameIdx", new String[] { "Name" } );
+		DEFAULT_INDEX_COLUMNS.put( "TopDomain.NameIdx", new String[] { "ContainerParentTld", "Name" } );
+		DEFAULT_INDEX_COLUMNS.put( "TopProject.NameIdx", new String[] { "ContainerParentSDom", "Name" } );
+		DEFAULT_INDEX_COLUMNS.put( "TSecGroup.UNameIdx", new String[] { "ContainerTenant", "Name" } );
+		DEFAULT_INDEX_COLUMNS.put( "URLProtocol.UNameIdx", new String[] { "Name" } );
+	}
+
+	private final static String OBJ_PACKAGE = "io.github.msobkow.v3_1.cfint.cfintobj.";
+	private final static String SEC_OBJ_PACKAGE = "io.github.msobkow.v3_1.cfsec.cfsecobj.";
+
+	private final Object lock = new Object();
+	private final ICFIntSchemaObj schemaObj;
+	private final Map<String,MemTable> tables = new HashMap<String,MemTable>();
+	private final Map<String,Object> schemaValues = new HashMap<String,Object>();
+	private final AtomicLong nextId = new AtomicLong( 1L );
+	private volatile long readLatencyNanos = 0L;
+	private volatile long writeLatencyNanos = 0L;
+	private final AtomicLong reads = new AtomicLong();
+	private final AtomicLong writes = new AtomicLong();
+
+	public CFIntMemSchema() {
+		schemaObj = (ICFIntSchemaObj)Proxy.newProxyInstance( ICFIntSchemaObj.class.getClassLoader(),
+			new Class<?>[] { ICFIntSchemaObj.class },
+			this );
+	}
+
+	public ICFIntSchemaObj getSchemaObj() {
+		return( schemaObj );
+	}
+
+	// Injected latency
+
+	public long getReadLatencyNanos() {
+		return( readLatencyNanos );
+	}
+
+	public void setReadLatencyNanos( long value ) {
+		readLatencyNanos = value;
+	}
+
+	public long getWriteLatencyNanos() {
+		return( writeLatencyNanos );
+	}
+
+	public void setWriteLatencyNanos( long value ) {
+		writeLatencyNanos = value;
+	}
+
+	public long getReadCount() {
+		return( reads.get() );
+	}
+
+	public long getWriteCount() {
+		return( writes.get() );
+	}
+
+	// Seed a persisted row without counting a write.  Fields are named as
+	// in the setters, without the Required/Optional prefix.
+
+	public Object seed( String tableName, Map<String,Object> fields ) {
+		synchronized( lock ) {
+			MemTable table = getTable( tableName );
+			MemRow row = new MemRow( table, null );
+			row.fields.putAll( fields );
+			table.indexRow( row );
+			row.persisted = true;
+			table.rows.add( row );
+			return( row.proxy );
+		}
+	}
+
+	public int getRowCount( String tableName ) {
+		synchronized( lock ) {
+			MemTable table = tables.get( tableName );
+			return( ( table == null ) ? 0 : table.rows.size() );
+		}
+	}
+
+	// Schema methods: table object getters, plus a bag of set/get values
+
+	public Object invoke( Object proxy, Method method, Object[] args )
+	throws Throwable
+	{
+		String name = method.getName();
+		int numArgs = ( args == null ) ? 0 : args.length;
+		if( name.equals( "equals" ) && ( numArgs == 1 ) ) {
+			return( proxy == args[0] );
+		}
+		else if( name.equals( "hashCode" ) && ( numArgs == 0 ) ) {
+			return( System.identityHashCode( proxy ) );
+		}
+		else if( name.equals( "toString" ) && ( numArgs == 0 ) ) {
+			return( "CFIntMemSchema" );
+		}
+		synchronized( lock ) {
+			if( name.startsWith( "get" ) && name.endsWith( "TableObj" ) && ( numArgs == 0 ) ) {
+				return( getTable( name.substring( 3, name.length() - 8 ) ).proxy );
+			}
+			else if( name.startsWith( "set" ) && ( numArgs == 1 ) ) {
+				schemaValues.put( name.substring( 3 ), args[0] );
+				return( null );
+			}
+			else if( name.startsWith( "get" ) && ( numArgs == 0 ) && schemaValues.containsKey( name.substring( 3 ) ) ) {
+				return( schemaValues.get( name.substring( 3 ) ) );
+			}
+		}
+		return( defaultValue( proxy, method.getReturnType() ) );
+	}
+
+	protected MemTable getTable( String tableName ) {
+		MemTable table = tables.get( tableName );
+		if( table == null ) {
+			table = new MemTable( tableName );
+			tables.put( tableName, table );
+		}
+		return( table );
+	}
+
+	protected Object defaultValue( Object proxy, Class<?> type ) {
+		if( ! type.isPrimitive() ) {
+			if( type.isInstance( schemaObj ) ) {
+				return( schemaObj );
+			}
+			else if( type.isAssignableFrom( ArrayList.class ) ) {
+				return( new ArrayList<Object>() );
+			}
+			return( null );
+		}
+		else if( type == boolean.class ) {
+			return( Boolean.FALSE );
+		}
+		else if( type == char.class ) {
+			return( Character.valueOf( '\0' ) );
+		}
+		else if( type == void.class ) {
+			return( null );
+		}
+		return( convertId( 0L, type ) );
+	}
+
+	// Generate a primary key value of whatever type the getter declares
+
+	protected Object newId( Class<?> type ) {
+		return( convertId( nextId.getAndIncrement(), type ) );
+	}
+
+	protected Object convertId( long value, Class<?> type ) {
+		if( ( type == long.class ) || ( type == Long.class ) || ( type == Object.class ) ) {
+			return( Long.valueOf( value ) );
+		}
+		else if( ( type == int.class ) || ( type == Integer.class ) ) {
+			return( Integer.valueOf( (int)value ) );
+		}
+		else if( ( type == short.class ) || ( type == Short.class ) ) {
+			return( Short.valueOf( (short)value ) );
+		}
+		else if( ( type == byte.class ) || ( type == Byte.class ) ) {
+			return( Byte.valueOf( (byte)value ) );
+		}
+		else if( ( type == double.class ) || ( type == Double.class ) ) {
+			return( Double.valueOf( value ) );
+		}
+		else if( ( type == float.class ) || ( type == Float.class ) ) {
+			return( Float.valueOf( value ) );
+		}
+		else if( type == String.class ) {
+			return( Long.toString( value ) );
+		}
+		else if( type == UUID.class ) {
+			return( new UUID( 0L, value ) );
+		}
+		try {
+			return( type.getConstructor( long.class ).newInstance( value ) );
+		}
+		catch( ReflectiveOperationException | RuntimeException e ) {
+		}
+		try {
+			byte[] bytes = new byte[ 32 ];
+			for( int idx = 0; idx < 8; idx++ ) {
+				bytes[ 31 - idx ] = (byte)( value >>> ( 8 * idx ) );
+			}
+			return( type.getConstructor( byte[].class ).newInstance( (Object)bytes ) );
+		}
+		catch( ReflectiveOperationException | RuntimeException e ) {
+		}
+		try {
+			return( type.getConstructor( String.class ).newInstance( String.format( "%064x", value ) ) );
+		}
+		catch( ReflectiveOperationException | RuntimeException e ) {
+		}
+		return( null );
+	}
+
+	protected void pause( long nanos ) {
+		if( nanos > 0L ) {
+			LockSupport.parkNanos( nanos );
+		}
+	}
+
+	protected MemRow rowOf( Object value ) {
+		if( ( value != null ) && Proxy.isProxyClass( value.getClass() ) ) {
+			InvocationHandler handler = Proxy.getInvocationHandler( value );
+			if( handler instanceof MemRow ) {
+				return( (MemRow)handler );
+			}
+		}
+		return( null );
+	}
+
+	protected static Class<?> findInterface( String className ) {
+		try {
+			Class<?> found = Class.forName( className );
+			return( found.isInterface() ? found : null );
+		}
+		catch( ClassNotFoundException e ) {
+			return( null );
+		}
+	}
+
+	// A table object
+
+	protected class MemTable
+		implements InvocationHandler
+	{
+		final String tableName;
+		final Object proxy;
+		final Class<?>[] rowInterfaces;
+		final Set<MemRow> rows = Collections.newSetFromMap( new IdentityHashMap<MemRow,Boolean>() );
+		final Map<String,MemIndex> indexes = new HashMap<String,MemIndex>();
+
+		MemTable( String tableName ) {
+			this.tableName = tableName;
+			List<Class<?>> tableInterfaces = new ArrayList<Class<?>>();
+			List<Class<?>> objInterfaces = new ArrayList<Class<?>>();
+			for( String pkg : new String[] { OBJ_PACKAGE, SEC_OBJ_PACKAGE } ) {
+				String prefix = pkg.equals( OBJ_PACKAGE ) ? "ICFInt" : "ICFSec";
+				Class<?> tableInterface = findInterface( pkg + prefix + tableName + "TableObj" );
+				if( tableInterface != null ) {
+					tableInterfaces.add( tableInterface );
+				}
+				for( String suffix : new String[] { "Obj", "EditObj" } ) {
+					Class<?> objInterface = findInterface( pkg + prefix + tableName + suffix );
+					if( objInterface != null ) {
+						objInterfaces.add( objInterface );
+					}
+				}
+			}
+			rowInterfaces = objInterfaces.toArray( new Class<?>[ objInterfaces.size() ] );
+			String readPrefix = "read" + tableName + "By";
+			for( Class<?> tableInterface : tableInterfaces ) {
+				for( Method method : tableInterface.getMethods() ) {
+					String methodName = method.getName();
+					Class<?> returnType = method.getReturnType();
+					if( ! methodName.startsWith( readPrefix )
+						|| ! methodName.endsWith( "Idx" )
+						|| List.class.isAssignableFrom( returnType )
+						|| returnType.isArray() )
+					{
+						continue;
+					}
+					String indexName = methodName.substring( readPrefix.length() );
+					String[] columns = indexColumns( indexName, method.getParameters() );
+					if( ( columns != null ) && ! indexes.containsKey( indexName ) ) {
+						indexes.put( indexName, new MemIndex( columns, method.getParameterTypes() ) );
+					}
+				}
+			}
+			proxy = Proxy.newProxyInstance( ICFIntSchemaObj.class.getClassLoader(),
+				tableInterfaces.toArray( new Class<?>[ tableInterfaces.size() ] ),
+				this );
+		}
+
+		public Object invoke( Object proxy, Method method, Object[] args )
+		throws Throwable
+		{
+			String name = method.getName();
+			int numArgs = ( args == null ) ? 0 : args.length;
+			Class<?> returnType = method.getReturnType();
+			if( name.equals( "equals" ) && ( numArgs == 1 ) ) {
+				return( proxy == args[0] );
+			}
+			else if( name.equals( "hashCode" ) && ( numArgs == 0 ) ) {
+				return( System.identityHashCode( proxy ) );
+			}
+			else if( name.equals( "toString" ) && ( numArgs == 0 ) ) {
+				return( "CFIntMemSchema." + tableName );
+			}
+			else if( name.equals( "newInstance" ) && ( numArgs == 0 ) ) {
+				synchronized( lock ) {
+					return( new MemRow( this, null ).proxy );
+				}
+			}
+			else if( name.startsWith( "readAll" ) && List.class.isAssignableFrom( returnType ) ) {
+				reads.incrementAndGet();
+				pause( readLatencyNanos );
+				synchronized( lock ) {
+					List<Object> all = new ArrayList<Object>( rows.size() );
+					for( MemRow row : rows ) {
+						all.add( row.proxy );
+					}
+					return( all );
+				}
+			}
+			else if( name.startsWith( "read" ) && ( name.indexOf( "By" ) > 0 ) && name.endsWith( "Idx" ) ) {
+				reads.incrementAndGet();
+				pause( readLatencyNanos );
+				if( List.class.isAssignableFrom( returnType ) ) {
+					return( new ArrayList<Object>() );
+				}
+				String indexName = name.substring( name.lastIndexOf( "By" ) + 2 );
+				synchronized( lock ) {
+					MemIndex index = indexes.get( indexName );
+					if( ( index == null ) || ( numArgs != index.columns.length ) ) {
+						return( null );
+					}
+					MemRow row = index.rows.get( Arrays.asList( args ) );
+					return( ( row == null ) ? null : row.proxy );
+				}
+			}
+			return( defaultValue( proxy, returnType ) );
+		}
+
+		// The columns of an index, or null if they are not known
+
+		String[] indexColumns( String indexName, Parameter[] params ) {
+			if( indexName.equals( "IdIdx" ) && ( params.length == 1 ) ) {
+				return( new String[] { tableName + "Id" } );
+			}
+			String[] columns = new String[ params.length ];
+			for( int idx = 0; idx < params.length; idx++ ) {
+				if( ! params[ idx ].isNamePresent() ) {
+					columns = DEFAULT_INDEX_COLUMNS.get( tableName + "." + indexName );
+					break;
+				}
+				columns[ idx ] = params[ idx ].getName();
+			}
+			return( ( ( columns != null ) && ( columns.length == params.length ) ) ? columns : null );
+		}
+
+		// The key of a row under an index, or null if a column is null
+
+		List<Object> keyOf( MemRow row, MemIndex index ) {
+			Object[] key = new Object[ index.columns.length ];
+			for( int idx = 0; idx < key.length; idx++ ) {
+				key[ idx ] = row.getKeyValue( index.columns[ idx ], index.types[ idx ] );
+				if( key[ idx ] == null ) {
+					return( null );
+				}
+			}
+			return( Arrays.asList( key ) );
+		}
+
+		// Index a row under every index it has a key for, refusing keys
+		// that another row already holds
+
+		void indexRow( MemRow row ) {
+			Map<String,List<Object>> rowKeys = new HashMap<String,List<Object>>();
+			for( Map.Entry<String,MemIndex> entry : indexes.entrySet() ) {
+				List<Object> key = keyOf( row, entry.getValue() );
+				if( key == null ) {
+					continue;
+				}
+				MemRow holder = entry.getValue().rows.get( key );
+				if( ( holder != null ) && ( holder != row ) ) {
+					throw new RuntimeException( "indexRow() ERROR: " + tableName + "." + entry.getKey()
+						+ " already holds key " + key );
+				}
+				rowKeys.put( entry.getKey(), key );
+			}
+			for( Map.Entry<String,List<Object>> entry : rowKeys.entrySet() ) {
+				indexes.get( entry.getKey() ).rows.put( entry.getValue(), row );
+			}
+			row.keys.putAll( rowKeys );
+		}
+
+		void unindexRow( MemRow row ) {
+			for( Map.Entry<String,List<Object>> entry : row.keys.entrySet() ) {
+				MemIndex index = indexes.get( entry.getKey() );
+				if( index.rows.get( entry.getValue() ) == row ) {
+					index.rows.remove( entry.getValue() );
+				}
+			}
+			row.keys.clear();
+		}
+
+		Object create( MemRow edit ) {
+			writes.incrementAndGet();
+			pause( writeLatencyNanos );
+			synchronized( lock ) {
+				MemRow row = ( ( edit.orig != null ) && ! edit.orig.persisted ) ? edit.orig : new MemRow( this, null );
+				row.fields.putAll( edit.fields );
+				indexRow( row );
+				row.persisted = true;
+				rows.add( row );
+				return( row.proxy );
+			}
+		}
+
+		Object update( MemRow edit ) {
+			writes.incrementAndGet();
+			pause( writeLatencyNanos );
+			synchronized( lock ) {
+				MemRow row = ( edit.orig != null ) ? edit.orig : edit;
+				Map<String,Object> before = new HashMap<String,Object>( row.fields );
+				Map<String,List<Object>> beforeKeys = new HashMap<String,List<Object>>( row.keys );
+				unindexRow( row );
+				row.fields.putAll( edit.fields );
+				try {
+					indexRow( row );
+				}
+				catch( RuntimeException e ) {
+					row.fields.clear();
+					row.fields.putAll( before );
+					for( Map.Entry<String,List<Object>> entry : beforeKeys.entrySet() ) {
+						indexes.get( entry.getKey() ).rows.put( entry.getValue(), row );
+					}
+					row.keys.putAll( beforeKeys );
+					throw e;
+				}
+				return( row.proxy );
+			}
+		}
+
+		void delete( MemRow edit ) {
+			writes.incrementAndGet();
+			pause( writeLatencyNanos );
+			synchronized( lock ) {
+				MemRow row = ( edit.orig != null ) ? edit.orig : edit;
+				unindexRow( row );
+				row.persisted = false;
+				rows.remove( row );
+			}
+		}
+	}
+
+	// A unique index, mapping keys to the rows holding them
+
+	protected static class MemIndex {
+		final String[] columns;
+		final Class<?>[] types;
+		final Map<List<Object>,MemRow> rows = new HashMap<List<Object>,MemRow>();
+
+		MemIndex( String[] columns, Class<?>[] types ) {
+			this.columns = columns;
+			this.types = types;
+		}
+	}
+
+	// A row, either persisted or an edit buffer over one
+
+	protected class MemRow
+		implements InvocationHandler
+	{
+		final MemTable table;
+		final MemRow orig;
+		final Object proxy;
+		final Map<String,Object> fields = new HashMap<String,Object>();
+		final Map<String,List<Object>> keys = new HashMap<String,List<Object>>();
+		boolean persisted = false;
+
+		MemRow( MemTable table, MemRow orig ) {
+			this.table = table;
+			this.orig = orig;
+			if( orig != null ) {
+				fields.putAll( orig.fields );
+			}
+			proxy = Proxy.newProxyInstance( ICFIntSchemaObj.class.getClassLoader(),
+				table.rowInterfaces,
+				this );
+		}
+
+		public Object invoke( Object proxy, Method method, Object[] args )
+		throws Throwable
+		{
+			String name = method.getName();
+			int numArgs = ( args == null ) ? 0 : args.length;
+			Class<?> returnType = method.getReturnType();
+			if( name.equals( "equals" ) && ( numArgs == 1 ) ) {
+				return( proxy == args[0] );
+			}
+			else if( name.equals( "hashCode" ) && ( numArgs == 0 ) ) {
+				return( System.identityHashCode( proxy ) );
+			}
+			else if( name.equals( "toString" ) && ( numArgs == 0 ) ) {
+				synchronized( lock ) {
+					return( table.tableName + fields );
+				}
+			}
+			else if( name.equals( "create" ) && ( numArgs == 0 ) ) {
+				return( table.create( this ) );
+			}
+			else if( name.equals( "update" ) && ( numArgs == 0 ) ) {
+				Object updated = table.update( this );
+				return( returnType.isInstance( updated ) ? updated : defaultValue( proxy, returnType ) );
+			}
+			else if( name.equals( "deleteInstance" ) && ( numArgs == 0 ) ) {
+				table.delete( this );
+				return( defaultValue( proxy, returnType ) );
+			}
+			synchronized( lock ) {
+				if( name.equals( "beginEdit" ) && ( numArgs == 0 ) ) {
+					return( new MemRow( table, this ).proxy );
+				}
+				else if( name.equals( "getOrig" ) && ( numArgs == 0 ) && ( orig != null ) ) {
+					return( orig.proxy );
+				}
+				else if( name.equals( "getObjName" ) && ( numArgs == 0 ) ) {
+					Object objName = fields.get( "Name" );
+					return( ( objName == null ) ? table.tableName : objName.toString() );
+				}
+				else if( name.equals( "getIsNew" ) && ( numArgs == 0 ) ) {
+					return( Boolean.valueOf( ! persisted ) );
+				}
+				else if( ( name.startsWith( "setRequired" ) || name.startsWith( "setOptional" ) ) && ( numArgs == 1 ) ) {
+					// Field names are interned so that rows do not each keep
+					// their own copies, which would swamp heap measurements
+					fields.put( name.substring( 11 ).intern(), args[0] );
+					return( defaultValue( proxy, returnType ) );
+				}
+				else if( ( name.startsWith( "getRequired" ) || name.startsWith( "getOptional" ) ) && ( numArgs == 0 ) ) {
+					return( getField( name.substring( 11 ).intern(), returnType ) );
+				}
+			}
+			return( defaultValue( proxy, returnType ) );
+		}
+
+		// Unset key fields are the primary key, generated on first use, or
+		// the key of a referenced row.  An unset Owner reference is derived
+		// from the referenced rows, as the real schema derives it from the
+		// container.
+
+		Object getField( String fieldName, Class<?> returnType ) {
+			Object value = resolveField( fieldName, returnType );
+			if( ( value == null ) && returnType.isPrimitive() ) {
+				return( defaultValue( proxy, returnType ) );
+			}
+			return( value );
+		}
+
+		Object resolveField( String fieldName, Class<?> returnType ) {
+			Object value = fields.get( fieldName );
+			if( ( value == null ) && fieldName.startsWith( "Owner" ) ) {
+				String ownerTable = fieldName.substring( 5 );
+				for( Object refValue : fields.values() ) {
+					MemRow refRow = rowOf( refValue );
+					if( refRow == null ) {
+						continue;
+					}
+					value = refRow.table.tableName.equals( ownerTable ) ? refRow.proxy : refRow.resolveField( fieldName, returnType );
+					if( value != null ) {
+						break;
+					}
+				}
+			}
+			if( ( value == null ) && fieldName.endsWith( "Id" ) ) {
+				String keyOf = fieldName.substring( 0, fieldName.length() - 2 );
+				if( keyOf.isEmpty() || keyOf.equals( table.tableName ) ) {
+					value = getPrimaryKey( returnType );
+					fields.put( fieldName, value );
+				}
+				else {
+					for( Map.Entry<String,Object> entry : fields.entrySet() ) {
+						MemRow refRow = rowOf( entry.getValue() );
+						if( ( refRow != null ) && entry.getKey().endsWith( keyOf ) ) {
+							value = refRow.getPrimaryKey( returnType );
+							break;
+						}
+					}
+				}
+			}
+			return( value );
+		}
+
+		// The primary key is generated on first use, whether it is asked
+		// for as Id or as <Table>Id, and is shared with the edit buffers
+
+		Object getPrimaryKey( Class<?> returnType ) {
+			MemRow keyRow = ( orig != null ) ? orig : this;
+			Object value = keyRow.fields.get( "Id" );
+			if( value == null ) {
+				value = keyRow.fields.get( table.tableName + "Id" );
+			}
+			if( value == null ) {
+				value = newId( returnType );
+				keyRow.fields.put( table.tableName + "Id", value );
+			}
+			return( value );
+		}
+
+		// An index column value, with a row reference standing for the
+		// primary key of the row it references
+
+		Object getKeyValue( String column, Class<?> type ) {
+			Object value = fields.get( column );
+			MemRow refRow = rowOf( value );
+			if( refRow != null ) {
+				return( refRow.getPrimaryKey( type ) );
+			}
+			return( ( value != null ) ? value : resolveField( column, type ) );
+		}
+	}
+}
@@ -0,0 +1,244 @@
+// Description: Java 25 XML SAX Parser for CFInt.
+
+/*
+ *	io.github.msobkow.CFInt
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *	
+ *	Mark's Code Fractal 3.1 CFInt - Internet Essentials
+ *	
+ *	This file is part of Mark's Code Fractal CFInt.
+ *	
+ *	Mark's Code Fractal CFInt is available under dual commercial license from
+ *	Mark Stephen Sobkow, or under the terms of the GNU Library General Public License,
+ *	Version 3 or later.
+ *	
+ *	Mark's Code Fractal CFInt is free software: you can redistribute it and/or
+ *	modify it under the terms of the GNU Library General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *	
+ *	Mark's Code Fractal CFInt is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *	
+ *	You should have received a copy of the GNU Library General Public License
+ *	along with Mark's Code Fractal CFInt.  If not, see <https://www.gnu.org/licenses/>.
+ *	
+ *	If you wish to modify and use this code without publishing your changes in order to
+ *	tie it to proprietary code, please contact Mark Stephen Sobkow
+ *	for a commercial license at mark.sobkow@gmail.com
+ *	
+ */
+package io.github.msobkow.v3_1.cfint.cfintsaxloader.jmh;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import io.github.msobkow.v3_1.cfint.cfintsaxloader.*;
+
+/*
+ *	CFIntSaxAttrDispatchBenchmark compares the String.equals chains the
+ *	element handlers used to classify attribute names with a string switch
+ *	and with the CFIntSaxAttrSlots tables the handlers use now, over the
+ *	attributes of the wide SecUser and ISOTZone elements in document
+ *	order.  Each operation classifies one element's worth of attributes.
+ *	SAX parsers hand out interned names; internedNames=false measures
+ *	distinct but equal strings instead.
+ *
+ *		java -jar target/benchmarks.jar CFIntSaxAttrDispatchBenchmark
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class CFIntSaxAttrDispatchBenchmark
+{
+	public enum ElementEnum {
+		SecUser,
+		ISOTZone
+	};
+
+	public final static String[] SecUserAttrs = {
+		"Id", "LoginId", "EMailAddress", "EMailConfirmUuid6", "PasswordHash", "PasswordResetUuid6", "DefDev", "schemaLocation"
+	};
+
+	public final static String[] ISOTZoneAttrs = {
+		"Id", "Iso8601", "TZName", "TZHourOffset", "TZMinOffset", "Description", "Visible", "schemaLocation"
+	};
+
+	public final static CFIntSaxAttrSlots SecUserSlots = new CFIntSaxAttrSlots( SecUserAttrs );
+
+	public final static CFIntSaxAttrSlots ISOTZoneSlots = new CFIntSaxAttrSlots( ISOTZoneAttrs );
+
+	@Param( { "SecUser", "ISOTZone" } )
+	public ElementEnum element;
+
+	@Param( { "true", "false" } )
+	public boolean internedNames;
+
+	private String[] names;
+
+	@Setup( Level.Trial )
+	public void setupNames() {
+		String[] attrs = ( element == ElementEnum.SecUser ) ? SecUserAttrs : ISOTZoneAttrs;
+		names = new String[ attrs.length ];
+		for( int idx = 0; idx < attrs.length; idx++ ) {
+			names[ idx ] = internedNames ? attrs[ idx ].intern() : new String( attrs[ idx ].toCharArray() );
+		}
+	}
+
+	@Benchmark
+	public int equalsChain() {
+		int sum = 0;
+		if( element == ElementEnum.SecUser ) {
+			for( String name : names ) {
+				sum += chainSecUser( name );
+			}
+		}
+		else {
+			for( String name : names ) {
+				sum += chainISOTZone( name );
+			}
+		}
+		return( sum );
+	}
+
+	@Benchmark
+	public int stringSwitch() {
+		int sum = 0;
+		if( element == ElementEnum.SecUser ) {
+			for( String name : names ) {
+				sum += switchSecUser( name );
+			}
+		}
+		else {
+			for( String name : names ) {
+				sum += switchISOTZone( name );
+			}
+		}
+		return( sum );
+	}
+
+	@Benchmark
+	public int slotTable() {
+		int sum = 0;
+		CFIntSaxAttrSlots slots = ( element == ElementEnum.SecUser ) ? SecUserSlots : ISOTZoneSlots;
+		for( String name : names ) {
+			sum += slots.slotOf( name );
+		}
+		return( sum );
+	}
+
+	// The dispatch as the handlers did it before
+
+	protected static int chainSecUser( String attrLocalName ) {
+		if( attrLocalName.equals( "Id" ) ) {
+			return( 1 );
+		}
+		else if( attrLocalName.equals( "LoginId" ) ) {
+			return( 2 );
+		}
+		else if( attrLocalName.equals( "EMailAddress" ) ) {
+			return( 3 );
+		}
+		else if( attrLocalName.equals( "EMailConfirmUuid6" ) ) {
+			return( 4 );
+		}
+		else if( attrLocalName.equals( "PasswordHash" ) ) {
+			return( 5 );
+		}
+		else if( attrLocalName.equals( "PasswordResetUuid6" ) ) {
+			return( 6 );
+		}
+		else if( attrLocalName.equals( "DefDev" ) ) {
+			return( 7 );
+		}
+		else if( attrLocalName.equals( "schemaLocation" ) ) {
+			return( 0 );
+		}
+		else {
+			return( -1 );
+		}
+	}
+
+	protected static int chainISOTZone( String attrLocalName ) {
+		if( attrLocalName.equals( "Id" ) ) {
+			return( 1 );
+		}
+		else if( attrLocalName.equals( "Iso8601" ) ) {
+			return( 2 );
+		}
+		else if( attrLocalName.equals( "TZName" ) ) {
+			return( 3 );
+		}
+		else if( attrLocalName.equals( "TZHourOffset" ) ) {
+			return( 4 );
+		}
+		else if( attrLocalName.equals( "TZMinOffset" ) ) {
+			return( 5 );
+		}
+		else if( attrLocalName.equals( "Description" ) ) {
+			return( 6 );
+		}
+		else if( attrLocalName.equals( "Visible" ) ) {
+			return( 7 );
+		}
+		else if( attrLocalName.equals( "schemaLocation" ) ) {
+			return( 0 );
+		}
+		else {
+			return( -1 );
+		}
+	}
+
+	// The dispatch as a switch on the names
+
+	protected static int switchSecUser( String attrLocalName ) {
+		switch( attrLocalName ) {
+			case "Id":
+				return( 1 );
+			case "LoginId":
+				return( 2 );
+			case "EMailAddress":
+				return( 3 );
+			case "EMailConfirmUuid6":
+				return( 4 );
+			case "PasswordHash":
+				return( 5 );
+			case "PasswordResetUuid6":
+				return( 6 );
+			case "DefDev":
+				return( 7 );
+			case "schemaLocation":
+				return( 0 );
+			default:
+				return( -1 );
+		}
+	}
+
+	protected static int switchISOTZone( String attrLocalName ) {
+		switch( attrLocalName ) {
+			case "Id":
+				return( 1 );
+			case "Iso8601":
+				return( 2 );
+			case "TZName":
+				return( 3 );
+			case "TZHourOffset":
+				return( 4 );
+			case "TZMinOffset":
+				return( 5 );
+			case "Description":
+				return( 6 );
+			case "Visible":
+				return( 7 );
+			case "schemaLocation":
+				return( 0 );
+			default:
+				return( -1 );
+		}
+	}
+}
@@ -0,0 +1,70 @@
+// Description: Java 25 XML SAX Parser for CFInt.
+
+/*
+ *	io.github.msobkow.CFInt
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *	
+ *	Mark's Code Fractal 3.1 CFInt - Internet Essentials
+ *	
+ *	This file is part of Mark's Code Fractal CFInt.
+ *	
+ *	Mark's Code Fractal CFInt is available under dual commercial license from
+ *	Mark Stephen Sobkow, or under the terms of the GNU Library General Public License,
+ *	Version 3 or later.
+ *	
+ *	Mark's Code Fractal CFInt is free software: you can redistribute it and/or
+ *	modify it under the terms of the GNU Library General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *	
+ *	Mark's Code Fractal CFInt is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *	
+ *	You should have received a copy of the GNU Library General Public License
+ *	along with Mark's Code Fractal CFInt.  If not, see <https://www.gnu.org/licenses/>.
+ *	
+ *	If you wish to modify and use this code without publishing your changes in order to
+ *	tie it to proprietary code, please contact Mark Stephen Sobkow
+ *	for a commercial license at mark.sobkow@gmail.com
+ *	
+ */
+package io.github.msobkow.v3_1.cfint.cfintsaxloader.jmh;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/*
+ *	CFIntSaxBenchmarkMain runs the loader benchmarks with the GC profiler
+ *	attached, so every result carries its allocation rate.  Any standard
+ *	JMH command line options may be given, for example
+ *
+ *		java -Dcfint.bench.schema=... -jar target/benchmarks.jar CFIntSaxLoaderBenchmark -p numElements=1000
+ *
+ *	Without cfint.bench.schema the in-memory CFIntMemSchema is used, with
+ *	latency injected per read and write by cfint.bench.readLatencyNanos and
+ *	cfint.bench.writeLatencyNanos.
+ */
+public class CFIntSaxBenchmarkMain
+{
+	public static void main( String[] args )
+	throws RunnerException, CommandLineOptionException
+	{
+		CommandLineOptions cmdOptions = new CommandLineOptions( args );
+		Options options = new OptionsBuilder()
+			.parent( cmdOptions )
+			.addProfiler( GCProfiler.class )
+			.jvmArgsAppend( "-D" + CFIntBenchSchemas.SCHEMA_CLASS_PROPERTY + "=" + System.getProperty( CFIntBenchSchemas.SCHEMA_CLASS_PROPERTY, "" ),
+				"-D" + CFIntBenchSchemas.READ_LATENCY_PROPERTY + "=" + System.getProperty( CFIntBenchSchemas.READ_LATENCY_PROPERTY, "0" ),
+				"-D" + CFIntBenchSchemas.WRITE_LATENCY_PROPERTY + "=" + System.getProperty( CFIntBenchSchemas.WRITE_LATENCY_PROPERTY, "0" ) )
+			.build();
+		new Runner( options ).run();
+	}
+}
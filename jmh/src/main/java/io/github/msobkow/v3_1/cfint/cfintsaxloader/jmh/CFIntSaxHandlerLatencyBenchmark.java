@@ -0,0 +1,85 @@
+// Description: Java 25 XML SAX Parser for CFInt.
+
+/*
+ *	io.github.msobkow.CFInt
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *	
+ *	Mark's Code Fractal 3.1 CFInt - Internet Essentials
+ *	
+ *	This file is part of Mark's Code Fractal CFInt.
+ *	
+ *	Mark's Code Fractal CFInt is available under dual commercial license from
+ *	Mark Stephen Sobkow, or under the terms of the GNU Library General Public License,
+ *	Version 3 or later.
+ *	
+ *	Mark's Code Fractal CFInt is free software: you can redistribute it and/or
+ *	modify it under the terms of the GNU Library General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *	
+ *	Mark's Code Fractal CFInt is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *	
+ *	You should have received a copy of the GNU Library General Public License
+ *	along with Mark's Code Fractal CFInt.  If not, see <https://www.gnu.org/licenses/>.
+ *	
+ *	If you wish to modify and use this code without publishing your changes in order to
+ *	tie it to proprietary code, please contact Mark Stephen Sobkow
+ *	for a commercial license at mark.sobkow@gmail.com
+ *	
+ */
+package io.github.msobkow.v3_1.cfint.cfintsaxloader.jmh;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import io.github.msobkow.v3_1.cfint.cfintobj.*;
+import io.github.msobkow.v3_1.cfint.cfintsaxloader.*;
+
+/*
+ *	CFIntSaxHandlerLatencyBenchmark loads fixed-size documents of a single
+ *	shape, so the average time per operation is the latency of one element
+ *	through its handler, parser overhead included.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 3, time = 5 )
+@Measurement( iterations = 5, time = 10 )
+@Fork( 1 )
+public class CFIntSaxHandlerLatencyBenchmark
+{
+	public final static int ELEMENTS_PER_DOCUMENT = 1000;
+
+	@Param( { "ISOTZone", "SecUser", "Service", "License" } )
+	public CFIntBenchDocuments.ShapeEnum shape;
+
+	private File document;
+	private CFIntSaxLoader loader;
+
+	@Setup( Level.Trial )
+	public void setupDocument() {
+		document = CFIntBenchDocuments.write( shape, ELEMENTS_PER_DOCUMENT );
+	}
+
+	@Setup( Level.Invocation )
+	public void setupSchema() {
+		ICFIntSchemaObj schemaObj = CFIntBenchSchemas.newSchema();
+		loader = CFIntBenchSchemas.newLoader( schemaObj );
+	}
+
+	@TearDown( Level.Trial )
+	public void tearDownDocument() {
+		document.delete();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation( ELEMENTS_PER_DOCUMENT )
+	public CFIntSaxLoader loadElement() {
+		loader.parseFile( document.getPath() );
+		return( loader );
+	}
+}
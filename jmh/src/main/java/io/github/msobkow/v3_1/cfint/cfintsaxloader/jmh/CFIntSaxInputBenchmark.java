@@ -0,0 +1,160 @@
+// Description: Java 25 XML SAX Parser for CFInt.
+
+/*
+ *	io.github.msobkow.CFInt
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *	
+ *	Mark's Code Fractal 3.1 CFInt - Internet Essentials
+ *	
+ *	This file is part of Mark's Code Fractal CFInt.
+ *	
+ *	Mark's Code Fractal CFInt is available under dual commercial license from
+ *	Mark Stephen Sobkow, or under the terms of the GNU Library General Public License,
+ *	Version 3 or later.
+ *	
+ *	Mark's Code Fractal CFInt is free software: you can redistribute it and/or
+ *	modify it under the terms of the GNU Library General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *	
+ *	Mark's Code Fractal CFInt is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *	
+ *	You should have received a copy of the GNU Library General Public License
+ *	along with Mark's Code Fractal CFInt.  If not, see <https://www.gnu.org/licenses/>.
+ *	
+ *	If you wish to modify and use this code without publishing your changes in order to
+ *	tie it to proprietary code, please contact Mark Stephen Sobkow
+ *	for a commercial license at mark.sobkow@gmail.com
+ *	
+ */
+package io.github.msobkow.v3_1.cfint.cfintsaxloader.jmh;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
+import org.openjdk.jmh.annotations.*;
+import org.xml.sax.Attributes;
+import org.xml.sax.helpers.DefaultHandler;
+import io.github.msobkow.v3_1.cfint.cfintobj.*;
+import io.github.msobkow.v3_1.cfint.cfintsaxloader.*;
+
+/*
+ *	CFIntSaxInputBenchmark compares the buffered stream and memory mapped
+ *	input paths on the same local document, which the trial setup leaves
+ *	in the page cache.  parseOnly measures the input path under a bare
+ *	SAX parse; loadDocument measures it under a full load into the
+ *	benchmark schema.  The bytes counter gives the input rate.
+ *
+ *		java -jar target/benchmarks.jar CFIntSaxInputBenchmark -p numElements=1000000
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 3, time = 5 )
+@Measurement( iterations = 5, time = 10 )
+@Fork( 1 )
+public class CFIntSaxInputBenchmark
+{
+	public enum InputModeEnum {
+		Stream,
+		Mapped
+	};
+
+	@Param( { "Stream", "Mapped" } )
+	public InputModeEnum inputMode;
+
+	@Param( { "100000", "1000000" } )
+	public int numElements;
+
+	private File document;
+	private long documentBytes;
+	private SAXParser parser;
+	private CFIntSaxLoader loader;
+
+	// Document bytes read, reported by JMH as a rate
+
+	@State( Scope.Thread )
+	@AuxCounters( AuxCounters.Type.EVENTS )
+	public static class ByteCounter {
+		public long bytes;
+	}
+
+	// Counts elements so the parse cannot be optimized away
+
+	public static class CountingHandler
+		extends DefaultHandler
+	{
+		public long elements = 0L;
+
+		@Override
+		public void startElement( String uri, String localName, String qName, Attributes attrs ) {
+			elements++;
+		}
+	}
+
+	@Setup( Level.Trial )
+	public void setupDocument()
+	throws Exception
+	{
+		document = CFIntBenchDocuments.write( CFIntBenchDocuments.ShapeEnum.Mixed, numElements );
+		documentBytes = document.length();
+		// Read the document once so both modes start from the page cache
+		try( InputStream in = Files.newInputStream( document.toPath() ) ) {
+			byte[] buff = new byte[ 1024 * 1024 ];
+			while( in.read( buff ) >= 0 ) {
+			}
+		}
+		SAXParserFactory factory = SAXParserFactory.newInstance();
+		factory.setNamespaceAware( true );
+		parser = factory.newSAXParser();
+	}
+
+	@Setup( Level.Invocation )
+	public void setupSchema() {
+		ICFIntSchemaObj schemaObj = CFIntBenchSchemas.newSchema();
+		loader = CFIntBenchSchemas.newLoader( schemaObj );
+		loader.setMappedInput( inputMode == InputModeEnum.Mapped );
+	}
+
+	@TearDown( Level.Trial )
+	public void tearDownDocument() {
+		document.delete();
+	}
+
+	protected InputStream open()
+	throws IOException
+	{
+		if( inputMode == InputModeEnum.Mapped ) {
+			return( new CFIntSaxMappedInputStream( document.toPath() ) );
+		}
+		return( new BufferedInputStream( Files.newInputStream( document.toPath() ), CFIntSaxLoader.DEFAULT_READ_BUFFER_SIZE ) );
+	}
+
+	@Benchmark
+	public long parseOnly( ByteCounter counter )
+	throws Exception
+	{
+		CountingHandler handler = new CountingHandler();
+		try( InputStream in = open() ) {
+			parser.parse( in, handler );
+		}
+		counter.bytes += documentBytes;
+		return( handler.elements );
+	}
+
+	@Benchmark
+	public CFIntSaxLoader loadDocument( ByteCounter counter ) {
+		loader.parseFile( document.toPath() );
+		counter.bytes += documentBytes;
+		return( loader );
+	}
+}
@@ -0,0 +1,94 @@
+// Description: Java 25 XML SAX Parser for CFInt.
+
+/*
+ *	io.github.msobkow.CFInt
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *	
+ *	Mark's Code Fractal 3.1 CFInt - Internet Essentials
+ *	
+ *	This file is part of Mark's Code Fractal CFInt.
+ *	
+ *	Mark's Code Fractal CFInt is available under dual commercial license from
+ *	Mark Stephen Sobkow, or under the terms of the GNU Library General Public License,
+ *	Version 3 or later.
+ *	
+ *	Mark's Code Fractal CFInt is free software: you can redistribute it and/or
+ *	modify it under the terms of the GNU Library General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *	
+ *	Mark's Code Fractal CFInt is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *	
+ *	You should have received a copy of the GNU Library General Public License
+ *	along with Mark's Code Fractal CFInt.  If not, see <https://www.gnu.org/licenses/>.
+ *	
+ *	If you wish to modify and use this code without publishing your changes in order to
+ *	tie it to proprietary code, please contact Mark Stephen Sobkow
+ *	for a commercial license at mark.sobkow@gmail.com
+ *	
+ */
+package io.github.msobkow.v3_1.cfint.cfintsaxloader.jmh;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import io.github.msobkow.v3_1.cfint.cfintobj.*;
+import io.github.msobkow.v3_1.cfint.cfintsaxloader.*;
+
+/*
+ *	CFIntSaxLoaderBenchmark loads whole synthetic documents into a fresh
+ *	schema and reports documents per second, with the elements counter
+ *	giving elements per second.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 3, time = 5 )
+@Measurement( iterations = 5, time = 10 )
+@Fork( 1 )
+public class CFIntSaxLoaderBenchmark
+{
+	@Param( { "ISOTZone", "SecUser", "Service", "License", "Mixed" } )
+	public CFIntBenchDocuments.ShapeEnum shape;
+
+	@Param( { "1000", "100000" } )
+	public int numElements;
+
+	private File document;
+	private CFIntSaxLoader loader;
+
+	// Elements loaded, reported by JMH as a rate
+
+	@State( Scope.Thread )
+	@AuxCounters( AuxCounters.Type.EVENTS )
+	public static class ElementCounter {
+		public long elements;
+	}
+
+	@Setup( Level.Trial )
+	public void setupDocument() {
+		document = CFIntBenchDocuments.write( shape, numElements );
+	}
+
+	@Setup( Level.Invocation )
+	public void setupSchema() {
+		ICFIntSchemaObj schemaObj = CFIntBenchSchemas.newSchema();
+		loader = CFIntBenchSchemas.newLoader( schemaObj );
+	}
+
+	@TearDown( Level.Trial )
+	public void tearDownDocument() {
+		document.delete();
+	}
+
+	@Benchmark
+	public CFIntSaxLoader loadDocument( ElementCounter counter ) {
+		loader.parseFile( document.getPath() );
+		counter.elements += numElements;
+		return( loader );
+	}
+}
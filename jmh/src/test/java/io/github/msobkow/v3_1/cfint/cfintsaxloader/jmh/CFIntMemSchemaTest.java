@@ -0,0 +1,105 @@
+// Description: Java 25 XML SAX Parser for CFInt.
+
+/*
+ *	io.github.msobkow.CFInt
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *	
+ *	Mark's Code Fractal 3.1 CFInt - Internet Essentials
+ *	
+ *	This file is part of Mark's Code Fractal CFInt.
+ *	
+ *	Mark's Code Fractal CFInt is available under dual commercial license from
+ *	Mark Stephen Sobkow, or under the terms of the GNU Library General Public License,
+ *	Version 3 or later.
+ *	
+ *	Mark's Code Fractal CFInt is free software: you can redistribute it and/or
+ *	modify it under the terms of the GNU Library General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *	
+ *	Mark's Code Fractal CFInt is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *	
+ *	You should have received a copy of the GNU Library General Public License
+ *	along with Mark's Code Fractal CFInt.  If not, see <https://www.gnu.org/licenses/>.
+ *	
+ *	If you wish to modify and use this code without publishing your changes in order to
+ *	tie it to proprietary code, please contact Mark Stephen Sobkow
+ *	for a commercial license at mark.sobkow@gmail.com
+ *	
+ */
+package io.github.msobkow.v3_1.cfint.cfintsaxloader.jmh;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import io.github.msobkow.v3_1.cfint.cfintobj.*;
+
+/*
+ *	CFIntMemSchemaTest checks that the in-memory schema keeps its unique
+ *	indexes in step with creates, updates and deletes.
+ */
+public class CFIntMemSchemaTest
+{
+	private CFIntMemSchema memSchema;
+	private ICFIntISOTZoneTableObj tableObj;
+
+	@BeforeEach
+	public void setUp() {
+		memSchema = new CFIntMemSchema();
+		tableObj = memSchema.getSchemaObj().getISOTZoneTableObj();
+	}
+
+	private ICFIntISOTZoneObj create( String tzName ) {
+		ICFIntISOTZoneObj orig = (ICFIntISOTZoneObj)tableObj.newInstance();
+		ICFIntISOTZoneEditObj edit = (ICFIntISOTZoneEditObj)orig.beginEdit();
+		edit.setRequiredTZName( tzName );
+		edit.setRequiredDescription( tzName );
+		return( (ICFIntISOTZoneObj)edit.create() );
+	}
+
+	@Test
+	public void createdRowsAreReadByIndex() {
+		ICFIntISOTZoneObj zone = create( "Test/Zone" );
+		assertSame( zone, tableObj.readISOTZoneByUTZNameIdx( "Test/Zone" ) );
+		assertSame( zone, tableObj.readISOTZoneByIdIdx( zone.getRequiredISOTZoneId() ) );
+		assertNull( tableObj.readISOTZoneByUTZNameIdx( "Test/Other" ) );
+	}
+
+	@Test
+	public void updateMovesTheKey() {
+		ICFIntISOTZoneObj zone = create( "Test/Zone" );
+		ICFIntISOTZoneEditObj edit = (ICFIntISOTZoneEditObj)zone.beginEdit();
+		edit.setRequiredTZName( "Test/Renamed" );
+		edit.update();
+		assertNull( tableObj.readISOTZoneByUTZNameIdx( "Test/Zone" ) );
+		assertSame( zone, tableObj.readISOTZoneByUTZNameIdx( "Test/Renamed" ) );
+	}
+
+	@Test
+	public void deleteRemovesTheKeys() {
+		ICFIntISOTZoneObj zone = create( "Test/Zone" );
+		Object id = zone.getRequiredISOTZoneId();
+		( (ICFIntISOTZoneEditObj)zone.beginEdit() ).deleteInstance();
+		assertNull( tableObj.readISOTZoneByUTZNameIdx( "Test/Zone" ) );
+		assertNull( tableObj.readISOTZoneByIdIdx( id ) );
+		assertEquals( 0, memSchema.getRowCount( "ISOTZone" ) );
+	}
+
+	@Test
+	public void duplicateKeysAreRefused() {
+		ICFIntISOTZoneObj zone = create( "Test/Zone" );
+		assertThrows( RuntimeException.class, () -> create( "Test/Zone" ) );
+		ICFIntISOTZoneObj other = create( "Test/Other" );
+		ICFIntISOTZoneEditObj edit = (ICFIntISOTZoneEditObj)other.beginEdit();
+		edit.setRequiredTZName( "Test/Zone" );
+		assertThrows( RuntimeException.class, () -> edit.update() );
+		assertSame( zone, tableObj.readISOTZoneByUTZNameIdx( "Test/Zone" ) );
+		assertSame( other, tableObj.readISOTZoneByUTZNameIdx( "Test/Other" ) );
+		assertEquals( "Test/Other", other.getRequiredTZName() );
+	}
+}
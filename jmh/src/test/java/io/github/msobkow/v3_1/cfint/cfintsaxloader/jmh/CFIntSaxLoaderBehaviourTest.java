@@ -0,0 +1,219 @@
+// Description: Java 25 XML SAX Parser for CFInt.
+
+/*
+ *	io.github.msobkow.CFInt
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *	
+ *	Mark's Code Fractal 3.1 CFInt - Internet Essentials
+ *	
+ *	This file is part of Mark's Code Fractal CFInt.
+ *	
+ *	Mark's Code Fractal CFInt is available under dual commercial license from
+ *	Mark Stephen Sobkow, or under the terms of the GNU Library General Public License,
+ *	Version 3 or later.
+ *	
+ *	Mark's Code Fractal CFInt is free software: you can redistribute it and/or
+ *	modify it under the terms of the GNU Library General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *	
+ *	Mark's Code Fractal CFInt is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *	
+ *	You should have received a copy of the GNU Library General Public License
+ *	along with Mark's Code Fractal CFInt.  If not, see <https://www.gnu.org/licenses/>.
+ *	
+ *	If you wish to modify and use this code without publishing your changes in order to
+ *	tie it to proprietary code, please contact Mark Stephen Sobkow
+ *	for a commercial license at mark.sobkow@gmail.com
+ *	
+ */
+package io.github.msobkow.v3_1.cfint.cfintsaxloader.jmh;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import io.github.msobkow.v3_1.cflib.*;
+import io.github.msobkow.v3_1.cfint.cfintobj.*;
+import io.github.msobkow.v3_1.cfint.cfintsaxloader.*;
+
+/*
+ *	CFIntSaxLoaderBehaviourTest loads a document of time zones into the
+ *	in-memory schema, then loads a revision of it under each loader
+ *	behaviour.  The revision changes the description of every even zone
+ *	and adds one zone.
+ */
+public class CFIntSaxLoaderBehaviourTest
+{
+	private final static int NUM_ZONES = 20;
+
+	@TempDir
+	Path tempDir;
+
+	private CFIntMemSchema memSchema;
+	private File original;
+	private File revised;
+
+	@BeforeEach
+	public void setUp()
+	throws IOException
+	{
+		memSchema = CFIntBenchSchemas.newMemSchema( 0L, 0L );
+		original = writeZones( "original.xml", NUM_ZONES, false );
+		revised = writeZones( "revised.xml", NUM_ZONES + 1, true );
+	}
+
+	private File writeZones( String fileName, int numZones, boolean revise )
+	throws IOException
+	{
+		StringBuilder doc = new StringBuilder();
+		doc.append( "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" );
+		doc.append( "<CFInt xmlns=\"http://server.markhome.mcf/mcf/xsd/v3_1/cfint-structured.xsd\">\n" );
+		for( int idx = 0; idx < numZones; idx++ ) {
+			int hours = ( idx % 27 ) - 12;
+			doc.append( "\t<ISOTZone Iso8601=\"" + String.format( "%+03d:00", hours ) + "\"" )
+				.append( " TZName=\"Test/Zone" + idx + "\"" )
+				.append( " TZHourOffset=\"" + hours + "\"" )
+				.append( " TZMinOffset=\"0\"" )
+				.append( " Description=\"" + description( idx, revise ) + "\"" )
+				.append( " Visible=\"true\"/>\n" );
+		}
+		doc.append( "</CFInt>\n" );
+		Path path = tempDir.resolve( fileName );
+		Files.write( path, doc.toString().getBytes( StandardCharsets.UTF_8 ) );
+		return( path.toFile() );
+	}
+
+	private String description( int idx, boolean revise ) {
+		return( ( ( revise && ( idx % 2 == 0 ) ) ? "Revised zone " : "Zone " ) + idx );
+	}
+
+	private CFIntSaxLoader load( File file, CFIntSaxLoader.LoaderBehaviourEnum behaviour ) {
+		CFIntSaxLoader loader = CFIntBenchSchemas.newLoader( memSchema.getSchemaObj() );
+		loader.setISOTZoneLoaderBehaviour( behaviour );
+		loader.parseFile( file.getPath() );
+		return( loader );
+	}
+
+	// The descriptions of the persisted zones by zone name
+
+	private Map<String,String> persistedDescriptions() {
+		Map<String,String> descriptions = new HashMap<String,String>();
+		for( Object obj : memSchema.getSchemaObj().getISOTZoneTableObj().readAllISOTZone() ) {
+			ICFIntISOTZoneObj tzone = (ICFIntISOTZoneObj)obj;
+			String tzName = tzone.getRequiredTZName();
+			String description = tzone.getRequiredDescription();
+			assertNull( descriptions.put( tzName, description ), "Duplicate zone " + tzName );
+		}
+		return( descriptions );
+	}
+
+	private void assertDescriptions( boolean revised ) {
+		Map<String,String> descriptions = persistedDescriptions();
+		assertEquals( NUM_ZONES + 1, descriptions.size() );
+		for( int idx = 0; idx < NUM_ZONES; idx++ ) {
+			assertEquals( description( idx, revised ), descriptions.get( "Test/Zone" + idx ), "Test/Zone" + idx );
+		}
+		assertEquals( description( NUM_ZONES, true ), descriptions.get( "Test/Zone" + NUM_ZONES ) );
+	}
+
+	@Test
+	public void insertKeepsExistingRows() {
+		load( original, CFIntSaxLoader.LoaderBehaviourEnum.Insert );
+		assertEquals( NUM_ZONES, memSchema.getRowCount( "ISOTZone" ) );
+		long writesBefore = memSchema.getWriteCount();
+		load( revised, CFIntSaxLoader.LoaderBehaviourEnum.Insert );
+		assertEquals( NUM_ZONES + 1, memSchema.getRowCount( "ISOTZone" ) );
+		assertEquals( writesBefore + 1L, memSchema.getWriteCount() );
+		assertDescriptions( false );
+	}
+
+	@Test
+	public void updateSkipsUnchangedRows() {
+		load( original, CFIntSaxLoader.LoaderBehaviourEnum.Insert );
+		long writesBefore = memSchema.getWriteCount();
+		CFIntSaxLoader loader = load( revised, CFIntSaxLoader.LoaderBehaviourEnum.Update );
+		assertEquals( NUM_ZONES / 2, loader.getUnchangedUpdateCount( "ISOTZone" ) );
+		assertEquals( writesBefore + NUM_ZONES / 2 + 1L, memSchema.getWriteCount() );
+		assertEquals( NUM_ZONES + 1, memSchema.getRowCount( "ISOTZone" ) );
+		assertDescriptions( true );
+	}
+
+	@Test
+	public void upsertWritesEveryRow() {
+		load( original, CFIntSaxLoader.LoaderBehaviourEnum.Insert );
+		long writesBefore = memSchema.getWriteCount();
+		CFIntSaxLoader loader = load( revised, CFIntSaxLoader.LoaderBehaviourEnum.Upsert );
+		assertEquals( 0L, loader.getUnchangedUpdateCount( "ISOTZone" ) );
+		assertEquals( writesBefore + NUM_ZONES + 1L, memSchema.getWriteCount() );
+		assertEquals( NUM_ZONES + 1, memSchema.getRowCount( "ISOTZone" ) );
+		assertDescriptions( true );
+	}
+
+	@Test
+	public void replaceRecreatesExistingRows() {
+		load( original, CFIntSaxLoader.LoaderBehaviourEnum.Insert );
+		Set<Object> originalRows = Collections.newSetFromMap( new IdentityHashMap<Object,Boolean>() );
+		originalRows.addAll( memSchema.getSchemaObj().getISOTZoneTableObj().readAllISOTZone() );
+		load( revised, CFIntSaxLoader.LoaderBehaviourEnum.Replace );
+		assertEquals( NUM_ZONES + 1, memSchema.getRowCount( "ISOTZone" ) );
+		assertDescriptions( true );
+		for( Object row : memSchema.getSchemaObj().getISOTZoneTableObj().readAllISOTZone() ) {
+			assertFalse( originalRows.contains( row ), "Replace kept an original row" );
+		}
+	}
+
+	@Test
+	public void reloadingUnderUpdateWritesNothing() {
+		load( original, CFIntSaxLoader.LoaderBehaviourEnum.Update );
+		long writesBefore = memSchema.getWriteCount();
+		CFIntSaxLoader loader = load( original, CFIntSaxLoader.LoaderBehaviourEnum.Update );
+		assertEquals( NUM_ZONES, loader.getUnchangedUpdateCount( "ISOTZone" ) );
+		assertEquals( writesBefore, memSchema.getWriteCount() );
+	}
+
+	@Test
+	public void checkpointWithoutCommitTriggerIsRefused() {
+		CFIntSaxLoader loader = CFIntBenchSchemas.newLoader( memSchema.getSchemaObj() );
+		loader.setCheckpointFile( tempDir.resolve( "load.ckpt" ).toFile() );
+		assertThrows( CFLibUsageException.class, () -> loader.parseFile( original.getPath() ) );
+		assertEquals( 0, memSchema.getRowCount( "ISOTZone" ) );
+	}
+
+	@Test
+	public void checkpointedLoadRemovesItsCheckpoint() {
+		File checkpoint = tempDir.resolve( "load.ckpt" ).toFile();
+		CFIntSaxLoader loader = CFIntBenchSchemas.newLoader( memSchema.getSchemaObj() );
+		loader.setCheckpointFile( checkpoint );
+		loader.setCommitEveryRows( 5 );
+		loader.parseFile( original.getPath() );
+		assertEquals( NUM_ZONES, memSchema.getRowCount( "ISOTZone" ) );
+		assertFalse( checkpoint.exists() );
+	}
+
+	@Test
+	public void invalidDocumentIsRefusedUnlessTrusted()
+	throws IOException
+	{
+		Path path = tempDir.resolve( "invalid.xml" );
+		String doc = new String( Files.readAllBytes( original.toPath() ), StandardCharsets.UTF_8 )
+			.replace( " Iso8601=\"", " Iso8601=\"UTC" );
+		Files.write( path, doc.getBytes( StandardCharsets.UTF_8 ) );
+		CFIntSaxLoader validating = CFIntBenchSchemas.newLoader( memSchema.getSchemaObj() );
+		assertThrows( RuntimeException.class, () -> validating.parseFile( path.toString() ) );
+		assertEquals( 0, memSchema.getRowCount( "ISOTZone" ) );
+		CFIntSaxLoader trusting = CFIntBenchSchemas.newLoader( memSchema.getSchemaObj() );
+		trusting.setTrustedInput( true );
+		trusting.parseFile( path.toString() );
+		assertEquals( NUM_ZONES, memSchema.getRowCount( "ISOTZone" ) );
+	}
+}
@@ -0,0 +1,189 @@
+// Description: Java 25 XML SAX Parser for CFInt.
+
+/*
+ *	io.github.msobkow.CFInt
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *	
+ *	Mark's Code Fractal 3.1 CFInt - Internet Essentials
+ *	
+ *	This file is part of Mark's Code Fractal CFInt.
+ *	
+ *	Mark's Code Fractal CFInt is available under dual commercial license from
+ *	Mark Stephen Sobkow, or under the terms of the GNU Library General Public License,
+ *	Version 3 or later.
+ *	
+ *	Mark's Code Fractal CFInt is free software: you can redistribute it and/or
+ *	modify it under the terms of the GNU Library General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *	
+ *	Mark's Code Fractal CFInt is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *	
+ *	You should have received a copy of the GNU Library General Public License
+ *	along with Mark's Code Fractal CFInt.  If not, see <https://www.gnu.org/licenses/>.
+ *	
+ *	If you wish to modify and use this code without publishing your changes in order to
+ *	tie it to proprietary code, please contact Mark Stephen Sobkow
+ *	for a commercial license at mark.sobkow@gmail.com
+ *	
+ */
+package io.github.msobkow.v3_1.cfint.cfintsaxloader;
+
+import java.util.Arrays;
+import io.github.msobkow.v3_1.cflib.*;
+
+/*
+ *	CFIntSaxAttrInterner canonicalizes the values of one attribute slot,
+ *	so that a value repeated throughout a document is held by one String
+ *	instead of a fresh copy per element.  The table is bounded: a value
+ *	is looked for in its bucket and the bucket paired with it, and a new
+ *	value takes an empty one of the pair or else its own bucket, so a
+ *	slot with more distinct values than buckets simply interns less.  An
+ *	interner belongs to one loader and is not thread safe.
+ *
+ *	While disabled, intern() returns its argument unchanged.
+ */
+public class CFIntSaxAttrInterner
+{
+	public final static int DEFAULT_CAPACITY = 4096;
+
+	private final String elementName;
+	private final String attrName;
+	private boolean enabled = false;
+	private String[] values;
+	private int mask;
+	private long hits = 0L;
+	private long misses = 0L;
+
+	public CFIntSaxAttrInterner( String elementName, String attrName, int capacity ) {
+		final String S_ProcName = "CFIntSaxAttrInterner-constructor";
+		if( ( elementName == null ) || ( elementName.length() <= 0 ) ) {
+			throw new CFLibNullArgumentException( getClass(),
+				S_ProcName,
+				1,
+				"elementName" );
+		}
+		if( ( attrName == null ) || ( attrName.length() <= 0 ) ) {
+			throw new CFLibNullArgumentException( getClass(),
+				S_ProcName,
+				2,
+				"attrName" );
+		}
+		this.elementName = elementName;
+		this.attrName = attrName;
+		setCapacity( capacity );
+	}
+
+	public String getElementName() {
+		return( elementName );
+	}
+
+	public String getAttrName() {
+		return( attrName );
+	}
+
+	public boolean isEnabled() {
+		return( enabled );
+	}
+
+	public void setEnabled( boolean value ) {
+		enabled = value;
+	}
+
+	public int getCapacity() {
+		return( values.length );
+	}
+
+	// The capacity is rounded up to a power of two.  Resizing empties
+	// the table but keeps the statistics.
+
+	public void setCapacity( int capacity ) {
+		final String S_ProcName = "setCapacity";
+		if( capacity <= 0 ) {
+			throw new CFLibUsageException( getClass(),
+				S_ProcName,
+				"Capacity must be greater than zero",
+				"Capacity must be greater than zero" );
+		}
+		int size = 2;
+		while( size < capacity ) {
+			size <<= 1;
+		}
+		values = new String[ size ];
+		mask = size - 1;
+	}
+
+	// Names and codes that differ in a digit or two have String hash codes
+	// close together, so the hash code is mixed before it picks a bucket
+
+	protected static int hash( String value ) {
+		int h = value.hashCode();
+		h ^= h >>> 16;
+		h *= 0x85ebca6b;
+		h ^= h >>> 13;
+		h *= 0xc2b2ae35;
+		return( h ^ ( h >>> 16 ) );
+	}
+
+	public String intern( String value ) {
+		if( ( ! enabled ) || ( value == null ) ) {
+			return( value );
+		}
+		int idx = hash( value ) & mask;
+		String cached = values[ idx ];
+		if( ( cached == null ) || ! cached.equals( value ) ) {
+			int alt = idx ^ 1;
+			cached = values[ alt ];
+			if( ( cached == null ) || ! cached.equals( value ) ) {
+				misses++;
+				if( values[ idx ] == null ) {
+					values[ idx ] = value;
+				}
+				else if( values[ alt ] == null ) {
+					values[ alt ] = value;
+				}
+				else {
+					values[ idx ] = value;
+				}
+				return( value );
+			}
+		}
+		hits++;
+		return( cached );
+	}
+
+	// Statistics accessors
+	//
+	// A hit is a value found in the table, so a duplicate that was folded
+	// onto the String already held, and a miss one that was not.
+
+	public long getHits() {
+		return( hits );
+	}
+
+	public long getMisses() {
+		return( misses );
+	}
+
+	public void addStats( CFIntSaxAttrInterner other ) {
+		hits += other.getHits();
+		misses += other.getMisses();
+	}
+
+	public void resetStats() {
+		hits = 0L;
+		misses = 0L;
+	}
+
+	public void clear() {
+		Arrays.fill( values, null );
+	}
+
+	public String toString() {
+		return( elementName + "." + attrName + ": " + hits + " hits, " + misses + " misses" );
+	}
+}
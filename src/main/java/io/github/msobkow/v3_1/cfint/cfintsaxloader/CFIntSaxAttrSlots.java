@@ -0,0 +1,109 @@
+// Description: Java 25 XML SAX Parser for CFInt.
+
+/*
+ *	io.github.msobkow.CFInt
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *	
+ *	Mark's Code Fractal 3.1 CFInt - Internet Essentials
+ *	
+ *	This file is part of Mark's Code Fractal CFInt.
+ *	
+ *	Mark's Code Fractal CFInt is available under dual commercial license from
+ *	Mark Stephen Sobkow, or under the terms of the GNU Library General Public License,
+ *	Version 3 or later.
+ *	
+ *	Mark's Code Fractal CFInt is free software: you can redistribute it and/or
+ *	modify it under the terms of the GNU Library General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *	
+ *	Mark's Code Fractal CFInt is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *	
+ *	You should have received a copy of the GNU Library General Public License
+ *	along with Mark's Code Fractal CFInt.  If not, see <https://www.gnu.org/licenses/>.
+ *	
+ *	If you wish to modify and use this code without publishing your changes in order to
+ *	tie it to proprietary code, please contact Mark Stephen Sobkow
+ *	for a commercial license at mark.sobkow@gmail.com
+ *	
+ */
+package io.github.msobkow.v3_1.cfint.cfintsaxloader;
+
+import io.github.msobkow.v3_1.cflib.*;
+
+/*
+ *	CFIntSaxAttrSlots maps the attribute names an element handler accepts
+ *	to slot indices, in a small open-addressed table built once per
+ *	element type.  SAX parsers hand out interned names, so a lookup is
+ *	usually one hash probe and one reference comparison; other equal
+ *	strings still match through equals().  Names not in the table map
+ *	to NO_SLOT.
+ */
+public class CFIntSaxAttrSlots
+{
+	public final static int NO_SLOT = -1;
+
+	private final String[] names;
+	private final int[] slots;
+	private final int mask;
+
+	// The slot of each name is its position in the argument list
+
+	public CFIntSaxAttrSlots( String... attrNames ) {
+		final String S_ProcName = "CFIntSaxAttrSlots-constructor";
+		if( attrNames == null ) {
+			throw new CFLibNullArgumentException( getClass(),
+				S_ProcName,
+				1,
+				"attrNames" );
+		}
+		int size = 2;
+		while( size < attrNames.length * 2 ) {
+			size <<= 1;
+		}
+		names = new String[ size ];
+		slots = new int[ size ];
+		mask = size - 1;
+		for( int slot = 0; slot < attrNames.length; slot++ ) {
+			String name = attrNames[ slot ].intern();
+			int idx = hash( name ) & mask;
+			while( names[ idx ] != null ) {
+				if( names[ idx ] == name ) {
+					throw new CFLibUsageException( getClass(),
+						S_ProcName,
+						"Attribute " + name + " is listed more than once",
+						"Attribute " + name + " is listed more than once" );
+				}
+				idx = ( idx + 1 ) & mask;
+			}
+			names[ idx ] = name;
+			slots[ idx ] = slot;
+		}
+	}
+
+	protected static int hash( String name ) {
+		int h = name.hashCode();
+		return( h ^ ( h >>> 16 ) );
+	}
+
+	public int slotOf( String attrName ) {
+		int idx = hash( attrName ) & mask;
+		while( true ) {
+			String name = names[ idx ];
+			if( name == attrName ) {
+				return( slots[ idx ] );
+			}
+			if( name == null ) {
+				return( NO_SLOT );
+			}
+			if( name.equals( attrName ) ) {
+				return( slots[ idx ] );
+			}
+			idx = ( idx + 1 ) & mask;
+		}
+	}
+}
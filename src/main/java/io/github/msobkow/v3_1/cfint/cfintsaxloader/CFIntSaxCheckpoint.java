@@ -0,0 +1,217 @@
+// Description: Java 25 XML SAX Parser for CFInt.
+
+/*
+ *	io.github.msobkow.CFInt
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *	
+ *	Mark's Code Fractal 3.1 CFInt - Internet Essentials
+ *	
+ *	This file is part of Mark's Code Fractal CFInt.
+ *	
+ *	Mark's Code Fractal CFInt is available under dual commercial license from
+ *	Mark Stephen Sobkow, or under the terms of the GNU Library General Public License,
+ *	Version 3 or later.
+ *	
+ *	Mark's Code Fractal CFInt is free software: you can redistribute it and/or
+ *	modify it under the terms of the GNU Library General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *	
+ *	Mark's Code Fractal CFInt is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *	
+ *	You should have received a copy of the GNU Library General Public License
+ *	along with Mark's Code Fractal CFInt.  If not, see <https://www.gnu.org/licenses/>.
+ *	
+ *	If you wish to modify and use this code without publishing your changes in order to
+ *	tie it to proprietary code, please contact Mark Stephen Sobkow
+ *	for a commercial license at mark.sobkow@gmail.com
+ *	
+ */
+package io.github.msobkow.v3_1.cfint.cfintsaxloader;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import io.github.msobkow.v3_1.cflib.*;
+
+/*
+ *	CFIntSaxCheckpoint records how far a load has committed: the ordinal
+ *	of the last element started, the parser location at that point, and
+ *	the stack of open container elements with the natural key each one
+ *	resolved.  It is kept as a properties file next to the document.
+ *	When the document is an entry of an archive, the entry name is kept
+ *	too, and a checkpoint marked complete records that the entry was
+ *	loaded in full, so a resume continues with the entries after it.
+ */
+public class CFIntSaxCheckpoint
+{
+	// One open container element
+
+	public static class Frame {
+		private final long ordinal;
+		private final String elementName;
+		private final String naturalKey;
+
+		public Frame( long ordinal, String elementName, String naturalKey ) {
+			this.ordinal = ordinal;
+			this.elementName = elementName;
+			this.naturalKey = naturalKey;
+		}
+
+		public long getOrdinal() {
+			return( ordinal );
+		}
+
+		public String getElementName() {
+			return( elementName );
+		}
+
+		public String getNaturalKey() {
+			return( naturalKey );
+		}
+	}
+
+	private long ordinal = 0L;
+	private String location = null;
+	private String document = null;
+	private List<Frame> containers = new ArrayList<Frame>();
+	private boolean complete = false;
+
+	public CFIntSaxCheckpoint() {
+	}
+
+	public CFIntSaxCheckpoint( long ordinal, String location, List<Frame> containers ) {
+		this( ordinal, location, null, containers );
+	}
+
+	public CFIntSaxCheckpoint( long ordinal, String location, String document, List<Frame> containers ) {
+		this.ordinal = ordinal;
+		this.location = location;
+		this.document = document;
+		this.containers = new ArrayList<Frame>( containers );
+	}
+
+	// A checkpoint recording that a document was loaded in full
+
+	public static CFIntSaxCheckpoint completed( long ordinal, String location, String document ) {
+		CFIntSaxCheckpoint checkpoint = new CFIntSaxCheckpoint( ordinal, location, document, Collections.<Frame>emptyList() );
+		checkpoint.complete = true;
+		return( checkpoint );
+	}
+
+	public long getOrdinal() {
+		return( ordinal );
+	}
+
+	public String getLocation() {
+		return( location );
+	}
+
+	public String getDocument() {
+		return( document );
+	}
+
+	public List<Frame> getContainers() {
+		return( Collections.unmodifiableList( containers ) );
+	}
+
+	public boolean isComplete() {
+		return( complete );
+	}
+
+	// Find the saved container started at an ordinal
+
+	public Frame getContainer( long containerOrdinal ) {
+		for( Frame frame : containers ) {
+			if( frame.getOrdinal() == containerOrdinal ) {
+				return( frame );
+			}
+		}
+		return( null );
+	}
+
+	// Persistence
+
+	public static CFIntSaxCheckpoint load( File file ) {
+		final String S_ProcName = "load";
+		Properties props = new Properties();
+		try( InputStream input = new FileInputStream( file ) ) {
+			props.load( input );
+		}
+		catch( IOException e ) {
+			throw new RuntimeException( S_ProcName + "() ERROR: Reading checkpoint " + file + ": " + e.getMessage(),
+				e );
+		}
+		try {
+			long ordinal = Long.parseLong( props.getProperty( "ordinal" ) );
+			String location = props.getProperty( "location" );
+			String document = props.getProperty( "document" );
+			int numContainers = Integer.parseInt( props.getProperty( "containers" ) );
+			List<Frame> containers = new ArrayList<Frame>( numContainers );
+			for( int idxContainer = 0; idxContainer < numContainers; idxContainer++ ) {
+				String prefix = "container." + idxContainer + ".";
+				containers.add( new Frame( Long.parseLong( props.getProperty( prefix + "ordinal" ) ),
+					props.getProperty( prefix + "element" ),
+					props.getProperty( prefix + "key" ) ) );
+			}
+			CFIntSaxCheckpoint checkpoint = new CFIntSaxCheckpoint( ordinal, location, document, containers );
+			checkpoint.complete = Boolean.parseBoolean( props.getProperty( "complete" ) );
+			return( checkpoint );
+		}
+		catch( NumberFormatException e ) {
+			throw new CFLibUsageException( CFIntSaxCheckpoint.class,
+				S_ProcName,
+				"Checkpoint " + file + " is corrupt: " + e.getMessage(),
+				"Checkpoint " + file + " is corrupt: " + e.getMessage() );
+		}
+	}
+
+	// Write through a temporary file so that a crash never leaves a
+	// partial checkpoint behind
+
+	public void save( File file ) {
+		final String S_ProcName = "save";
+		Properties props = new Properties();
+		props.setProperty( "ordinal", Long.toString( ordinal ) );
+		if( location != null ) {
+			props.setProperty( "location", location );
+		}
+		if( document != null ) {
+			props.setProperty( "document", document );
+		}
+		if( complete ) {
+			props.setProperty( "complete", "true" );
+		}
+		props.setProperty( "containers", Integer.toString( containers.size() ) );
+		for( int idxContainer = 0; idxContainer < containers.size(); idxContainer++ ) {
+			Frame frame = containers.get( idxContainer );
+			String prefix = "container." + idxContainer + ".";
+			props.setProperty( prefix + "ordinal", Long.toString( frame.getOrdinal() ) );
+			props.setProperty( prefix + "element", frame.getElementName() );
+			if( frame.getNaturalKey() != null ) {
+				props.setProperty( prefix + "key", frame.getNaturalKey() );
+			}
+		}
+		File tempFile = new File( file.getPath() + ".tmp" );
+		try {
+			try( OutputStream output = new FileOutputStream( tempFile ) ) {
+				props.store( output, "CFIntSaxLoader checkpoint" );
+			}
+			Files.move( tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE );
+		}
+		catch( IOException e ) {
+			throw new RuntimeException( S_ProcName + "() ERROR: Writing checkpoint " + file + ": " + e.getMessage(),
+				e );
+		}
+	}
+}
@@ -0,0 +1,73 @@
+// Description: Java 25 XML SAX Parser for CFInt.
+
+/*
+ *	io.github.msobkow.CFInt
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *	
+ *	Mark's Code Fractal 3.1 CFInt - Internet Essentials
+ *	
+ *	This file is part of Mark's Code Fractal CFInt.
+ *	
+ *	Mark's Code Fractal CFInt is available under dual commercial license from
+ *	Mark Stephen Sobkow, or under the terms of the GNU Library General Public License,
+ *	Version 3 or later.
+ *	
+ *	Mark's Code Fractal CFInt is free software: you can redistribute it and/or
+ *	modify it under the terms of the GNU Library General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *	
+ *	Mark's Code Fractal CFInt is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *	
+ *	You should have received a copy of the GNU Library General Public License
+ *	along with Mark's Code Fractal CFInt.  If not, see <https://www.gnu.org/licenses/>.
+ *	
+ *	If you wish to modify and use this code without publishing your changes in order to
+ *	tie it to proprietary code, please contact Mark Stephen Sobkow
+ *	for a commercial license at mark.sobkow@gmail.com
+ *	
+ */
+package io.github.msobkow.v3_1.cfint.cfintsaxloader;
+
+import jdk.jfr.*;
+
+/*
+ *	CFIntSaxCommitEvent records a commit or rollback boundary of the
+ *	loader, including the time taken to apply the deferred writes before
+ *	a commit.
+ */
+@Name( "io.github.msobkow.v3_1.cfint.cfintsaxloader.Commit" )
+@Label( "CFInt SAX Commit" )
+@Category( { "CFInt", "SAX Loader" } )
+@Description( "A transaction boundary of the CFInt SAX loader" )
+@StackTrace( false )
+public class CFIntSaxCommitEvent
+	extends Event
+{
+	@Label( "Action" )
+	String action;
+
+	@Label( "Rows" )
+	int rows;
+
+	@Label( "Transaction Open" )
+	boolean transactionOpen;
+
+	@Label( "Element Ordinal" )
+	long elementOrdinal;
+
+	void finish( String action, int rows, boolean transactionOpen, long elementOrdinal ) {
+		end();
+		if( shouldCommit() ) {
+			this.action = action;
+			this.rows = rows;
+			this.transactionOpen = transactionOpen;
+			this.elementOrdinal = elementOrdinal;
+			commit();
+		}
+	}
+}
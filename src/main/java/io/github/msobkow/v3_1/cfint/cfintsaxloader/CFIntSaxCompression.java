@@ -0,0 +1,116 @@
+// Description: Java 25 XML SAX Parser for CFInt.
+
+/*
+ *	io.github.msobkow.CFInt
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *	
+ *	Mark's Code Fractal 3.1 CFInt - Internet Essentials
+ *	
+ *	This file is part of Mark's Code Fractal CFInt.
+ *	
+ *	Mark's Code Fractal CFInt is available under dual commercial license from
+ *	Mark Stephen Sobkow, or under the terms of the GNU Library General Public License,
+ *	Version 3 or later.
+ *	
+ *	Mark's Code Fractal CFInt is free software: you can redistribute it and/or
+ *	modify it under the terms of the GNU Library General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *	
+ *	Mark's Code Fractal CFInt is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *	
+ *	You should have received a copy of the GNU Library General Public License
+ *	along with Mark's Code Fractal CFInt.  If not, see <https://www.gnu.org/licenses/>.
+ *	
+ *	If you wish to modify and use this code without publishing your changes in order to
+ *	tie it to proprietary code, please contact Mark Stephen Sobkow
+ *	for a commercial license at mark.sobkow@gmail.com
+ *	
+ */
+package io.github.msobkow.v3_1.cfint.cfintsaxloader;
+
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/*
+ *	CFIntSaxCompression recognizes compressed loader documents by their
+ *	leading bytes and wraps them in the matching JDK decoder.  Gzip is
+ *	recognized by its magic number and deflate by a valid zlib header;
+ *	raw deflate data has no header and cannot be recognized.  Zip
+ *	archives are recognized by their file name extension.
+ */
+public class CFIntSaxCompression
+{
+	public enum FormatEnum {
+		None,
+		Gzip,
+		Deflate
+	};
+
+	private CFIntSaxCompression() {
+	}
+
+	// Peek at the first two bytes of a stream that supports mark()
+
+	public static FormatEnum detect( InputStream in )
+	throws IOException
+	{
+		in.mark( 2 );
+		int b0 = in.read();
+		int b1 = in.read();
+		in.reset();
+		if( ( b0 < 0 ) || ( b1 < 0 ) ) {
+			return( FormatEnum.None );
+		}
+		else if( ( b0 == 0x1f ) && ( b1 == 0x8b ) ) {
+			return( FormatEnum.Gzip );
+		}
+		else if( ( ( b0 & 0x0f ) == 8 ) && ( ( b0 >> 4 ) <= 7 ) && ( ( ( b0 << 8 ) | b1 ) % 31 == 0 ) ) {
+			return( FormatEnum.Deflate );
+		}
+		return( FormatEnum.None );
+	}
+
+	// Wrap a stream in the decoder its leading bytes call for.  The stream
+	// is buffered first if it does not support mark().
+
+	public static InputStream decode( InputStream in, int bufferSize )
+	throws IOException
+	{
+		if( ! in.markSupported() ) {
+			in = new BufferedInputStream( in, bufferSize );
+		}
+		switch( detect( in ) ) {
+			case Gzip:
+				return( new GZIPInputStream( in, bufferSize ) );
+			case Deflate:
+				return( new InflaterInputStream( in, new Inflater(), bufferSize ) );
+			default:
+				return( in );
+		}
+	}
+
+	public static boolean isZipName( String name ) {
+		return( ( name != null ) && name.toLowerCase().endsWith( ".zip" ) );
+	}
+
+	// Shield a stream from parsers that close their input at the end of a
+	// document, such as a zip stream with more entries to come
+
+	public static InputStream unclosable( InputStream in ) {
+		return( new FilterInputStream( in ) {
+			@Override
+			public void close() {
+			}
+		} );
+	}
+}
@@ -0,0 +1,104 @@
+// Description: Java 25 XML SAX Parser for CFInt.
+
+/*
+ *	io.github.msobkow.CFInt
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *	
+ *	Mark's Code Fractal 3.1 CFInt - Internet Essentials
+ *	
+ *	This file is part of Mark's Code Fractal CFInt.
+ *	
+ *	Mark's Code Fractal CFInt is available under dual commercial license from
+ *	Mark Stephen Sobkow, or under the terms of the GNU Library General Public License,
+ *	Version 3 or later.
+ *	
+ *	Mark's Code Fractal CFInt is free software: you can redistribute it and/or
+ *	modify it under the terms of the GNU Library General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *	
+ *	Mark's Code Fractal CFInt is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *	
+ *	You should have received a copy of the GNU Library General Public License
+ *	along with Mark's Code Fractal CFInt.  If not, see <https://www.gnu.org/licenses/>.
+ *	
+ *	If you wish to modify and use this code without publishing your changes in order to
+ *	tie it to proprietary code, please contact Mark Stephen Sobkow
+ *	for a commercial license at mark.sobkow@gmail.com
+ *	
+ */
+package io.github.msobkow.v3_1.cfint.cfintsaxloader;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/*
+ *	CFIntSaxCountingInputStream counts the bytes the parser has consumed
+ *	from the underlying stream.  The count may be read from any thread.
+ */
+public class CFIntSaxCountingInputStream
+	extends FilterInputStream
+{
+	private volatile long bytesRead = 0L;
+	private long markedBytesRead = 0L;
+
+	public CFIntSaxCountingInputStream( InputStream in ) {
+		super( in );
+	}
+
+	public long getBytesRead() {
+		return( bytesRead );
+	}
+
+	@Override
+	public int read()
+	throws IOException
+	{
+		int value = super.read();
+		if( value >= 0 ) {
+			bytesRead = bytesRead + 1L;
+		}
+		return( value );
+	}
+
+	@Override
+	public int read( byte[] buff, int off, int len )
+	throws IOException
+	{
+		int count = super.read( buff, off, len );
+		if( count > 0 ) {
+			bytesRead = bytesRead + count;
+		}
+		return( count );
+	}
+
+	@Override
+	public long skip( long n )
+	throws IOException
+	{
+		long skipped = super.skip( n );
+		if( skipped > 0L ) {
+			bytesRead = bytesRead + skipped;
+		}
+		return( skipped );
+	}
+
+	@Override
+	public synchronized void mark( int readLimit ) {
+		super.mark( readLimit );
+		markedBytesRead = bytesRead;
+	}
+
+	@Override
+	public synchronized void reset()
+	throws IOException
+	{
+		super.reset();
+		bytesRead = markedBytesRead;
+	}
+}
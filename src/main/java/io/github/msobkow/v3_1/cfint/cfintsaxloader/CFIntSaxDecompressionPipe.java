@@ -0,0 +1,213 @@
+// Description: Java 25 XML SAX Parser for CFInt.
+
+/*
+ *	io.github.msobkow.CFInt
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *	
+ *	Mark's Code Fractal 3.1 CFInt - Internet Essentials
+ *	
+ *	This file is part of Mark's Code Fractal CFInt.
+ *	
+ *	Mark's Code Fractal CFInt is available under dual commercial license from
+ *	Mark Stephen Sobkow, or under the terms of the GNU Library General Public License,
+ *	Version 3 or later.
+ *	
+ *	Mark's Code Fractal CFInt is free software: you can redistribute it and/or
+ *	modify it under the terms of the GNU Library General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *	
+ *	Mark's Code Fractal CFInt is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *	
+ *	You should have received a copy of the GNU Library General Public License
+ *	along with Mark's Code Fractal CFInt.  If not, see <https://www.gnu.org/licenses/>.
+ *	
+ *	If you wish to modify and use this code without publishing your changes in order to
+ *	tie it to proprietary code, please contact Mark Stephen Sobkow
+ *	for a commercial license at mark.sobkow@gmail.com
+ *	
+ */
+package io.github.msobkow.v3_1.cfint.cfintsaxloader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.concurrent.*;
+import io.github.msobkow.v3_1.cflib.*;
+
+/*
+ *	CFIntSaxDecompressionPipe reads a decoding stream on its own thread
+ *	and hands the decoded bytes to the parser through a bounded queue of
+ *	chunks, so decompression overlaps parsing.  A failure of the decoder
+ *	is rethrown to the parser.  Closing the pipe stops the thread, waits
+ *	for it and closes the source stream.
+ */
+public class CFIntSaxDecompressionPipe
+	extends InputStream
+{
+	public final static int DEFAULT_CHUNK_SIZE = 64 * 1024;
+	public final static int DEFAULT_CHUNKS = 8;
+
+	private final static byte[] EOF = new byte[0];
+
+	private final InputStream source;
+	private final int chunkSize;
+	private final BlockingQueue<byte[]> chunks;
+	private final Thread decoder;
+	private volatile boolean closed = false;
+	private volatile IOException failure = null;
+	private byte[] current = null;
+	private int currentPos = 0;
+	private boolean atEof = false;
+
+	public CFIntSaxDecompressionPipe( InputStream source ) {
+		this( source, DEFAULT_CHUNK_SIZE, DEFAULT_CHUNKS );
+	}
+
+	public CFIntSaxDecompressionPipe( InputStream source, int chunkSize, int numChunks ) {
+		final String S_ProcName = "construct";
+		if( source == null ) {
+			throw new CFLibNullArgumentException( getClass(),
+				S_ProcName,
+				1,
+				"source" );
+		}
+		if( ( chunkSize < 1 ) || ( numChunks < 1 ) ) {
+			throw new CFLibUsageException( getClass(),
+				S_ProcName,
+				"Chunk size and number of chunks must be at least 1",
+				"Chunk size and number of chunks must be at least 1" );
+		}
+		this.source = source;
+		this.chunkSize = chunkSize;
+		this.chunks = new ArrayBlockingQueue<byte[]>( numChunks );
+		decoder = new Thread( () -> decode(), "CFIntSaxDecompressionPipe" );
+		decoder.setDaemon( true );
+		decoder.start();
+	}
+
+	// Decoder thread
+
+	protected void decode() {
+		try {
+			while( ! closed ) {
+				byte[] chunk = new byte[ chunkSize ];
+				int filled = 0;
+				while( filled < chunkSize ) {
+					int count = source.read( chunk, filled, chunkSize - filled );
+					if( count < 0 ) {
+						break;
+					}
+					filled += count;
+				}
+				if( filled > 0 ) {
+					chunks.put( ( filled < chunkSize ) ? Arrays.copyOf( chunk, filled ) : chunk );
+				}
+				if( filled < chunkSize ) {
+					break;
+				}
+			}
+		}
+		catch( IOException e ) {
+			failure = e;
+		}
+		catch( RuntimeException e ) {
+			failure = new IOException( "Decompression failed: " + e.getMessage(), e );
+		}
+		catch( InterruptedException e ) {
+			return;
+		}
+		try {
+			chunks.put( EOF );
+		}
+		catch( InterruptedException e ) {
+		}
+	}
+
+	// Parser side
+
+	protected boolean fill()
+	throws IOException
+	{
+		if( atEof ) {
+			return( false );
+		}
+		while( ( current == null ) || ( currentPos >= current.length ) ) {
+			try {
+				current = chunks.take();
+			}
+			catch( InterruptedException e ) {
+				Thread.currentThread().interrupt();
+				throw new IOException( "Interrupted waiting for decompressed data", e );
+			}
+			currentPos = 0;
+			if( current == EOF ) {
+				atEof = true;
+				current = null;
+				if( failure != null ) {
+					throw failure;
+				}
+				return( false );
+			}
+		}
+		return( true );
+	}
+
+	@Override
+	public int read()
+	throws IOException
+	{
+		if( ! fill() ) {
+			return( -1 );
+		}
+		return( current[ currentPos++ ] & 0xff );
+	}
+
+	@Override
+	public int read( byte[] buff, int off, int len )
+	throws IOException
+	{
+		if( len == 0 ) {
+			return( 0 );
+		}
+		if( ! fill() ) {
+			return( -1 );
+		}
+		int count = Math.min( len, current.length - currentPos );
+		System.arraycopy( current, currentPos, buff, off, count );
+		currentPos += count;
+		return( count );
+	}
+
+	@Override
+	public int available() {
+		return( ( current == null ) ? 0 : current.length - currentPos );
+	}
+
+	@Override
+	public void close()
+	throws IOException
+	{
+		if( closed ) {
+			return;
+		}
+		closed = true;
+		// The decoder is not interrupted, since that would close an
+		// interruptible channel under it; emptying the queue unblocks it
+		try {
+			while( decoder.isAlive() ) {
+				chunks.clear();
+				decoder.join( 10L );
+			}
+		}
+		catch( InterruptedException e ) {
+			Thread.currentThread().interrupt();
+		}
+		chunks.clear();
+		source.close();
+	}
+}
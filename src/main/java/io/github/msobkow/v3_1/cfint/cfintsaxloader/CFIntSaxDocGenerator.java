@@ -0,0 +1,385 @@
+// Description: Java 25 XML SAX Parser for CFInt.
+
+/*
+ *	io.github.msobkow.CFInt
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *	
+ *	Mark's Code Fractal 3.1 CFInt - Internet Essentials
+ *	
+ *	This file is part of Mark's Code Fractal CFInt.
+ *	
+ *	Mark's Code Fractal CFInt is available under dual commercial license from
+ *	Mark Stephen Sobkow, or under the terms of the GNU Library General Public License,
+ *	Version 3 or later.
+ *	
+ *	Mark's Code Fractal CFInt is free software: you can redistribute it and/or
+ *	modify it under the terms of the GNU Library General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *	
+ *	Mark's Code Fractal CFInt is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *	
+ *	You should have received a copy of the GNU Library General Public License
+ *	along with Mark's Code Fractal CFInt.  If not, see <https://www.gnu.org/licenses/>.
+ *	
+ *	If you wish to modify and use this code without publishing your changes in order to
+ *	tie it to proprietary code, please contact Mark Stephen Sobkow
+ *	for a commercial license at mark.sobkow@gmail.com
+ *	
+ */
+package io.github.msobkow.v3_1.cfint.cfintsaxloader;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import io.github.msobkow.v3_1.cflib.*;
+
+/*
+ *	CFIntSaxDocGenerator streams a synthetic CFInt document of a given
+ *	shape.  Elements are written one at a time through an XMLStreamWriter,
+ *	so documents of any size can be produced in constant memory, and a
+ *	given seed always produces the same document.
+ *
+ *	The output follows xsd/cfint-structured.xsd.  References are only made
+ *	to rows written earlier in the document, so the loader can resolve
+ *	them in a single pass.
+ */
+public class CFIntSaxDocGenerator
+{
+	public final static String NAMESPACE = "http://server.markhome.mcf/mcf/xsd/v3_1/cfint-structured.xsd";
+
+	private final static String TEXT_CHARS = "abcdefghijklmnopqrstuvwxyz ABCDEFGHIJKLMNOPQRSTUVWXYZ 0123456789 ";
+
+	private final CFIntSaxDocShape shape;
+	private final SplittableRandom random;
+	private XMLStreamWriter writer = null;
+
+	public CFIntSaxDocGenerator( CFIntSaxDocShape shape, long seed ) {
+		final String S_ProcName = "CFIntSaxDocGenerator";
+		if( shape == null ) {
+			throw new CFLibNullArgumentException( getClass(),
+				S_ProcName,
+				1,
+				"shape" );
+		}
+		this.shape = shape;
+		this.random = new SplittableRandom( seed );
+	}
+
+	public CFIntSaxDocShape getShape() {
+		return( shape );
+	}
+
+	// Generate to a file
+
+	public void generate( Path path ) {
+		final String S_ProcName = "generate";
+		try( OutputStream output = Files.newOutputStream( path ) ) {
+			generate( output );
+		}
+		catch( IOException e ) {
+			throw new RuntimeException( S_ProcName + "() ERROR: Writing " + path + ": " + e.getMessage(),
+				e );
+		}
+	}
+
+	// Generate to a stream, which is flushed but left open
+
+	public void generate( OutputStream output ) {
+		final String S_ProcName = "generate";
+		try {
+			BufferedOutputStream buffered = new BufferedOutputStream( output, 64 * 1024 );
+			writer = XMLOutputFactory.newInstance().createXMLStreamWriter( buffered, "UTF-8" );
+			writer.writeStartDocument( "UTF-8", "1.0" );
+			writer.writeCharacters( "\n" );
+			writer.writeStartElement( "CFInt" );
+			writer.writeDefaultNamespace( NAMESPACE );
+			writeISOTZones();
+			writeServiceTypes();
+			writeSecUsers();
+			writeCluster();
+			writer.writeCharacters( "\n" );
+			writer.writeEndElement();
+			writer.writeEndDocument();
+			writer.flush();
+			writer.close();
+			buffered.flush();
+		}
+		catch( XMLStreamException | IOException e ) {
+			throw new RuntimeException( S_ProcName + "() ERROR: Generating document: " + e.getMessage(),
+				e );
+		}
+		finally {
+			writer = null;
+		}
+	}
+
+	// Unscoped tables
+
+	protected void writeISOTZones()
+	throws XMLStreamException
+	{
+		for( int idx = 0; idx < shape.getNumISOTZones(); idx++ ) {
+			int hourOffset = ( idx % 27 ) - 12;
+			startElement( 1, "ISOTZone", true );
+			writer.writeAttribute( "Iso8601", String.format( "%+03d:00", hourOffset ) );
+			writer.writeAttribute( "TZName", "Bench/Zone" + idx );
+			writer.writeAttribute( "TZHourOffset", Integer.toString( hourOffset ) );
+			writer.writeAttribute( "TZMinOffset", "0" );
+			writer.writeAttribute( "Description", text( shape.getDescriptionLength() ) );
+			writer.writeAttribute( "Visible", ( idx % 2 == 0 ) ? "true" : "false" );
+		}
+	}
+
+	protected void writeServiceTypes()
+	throws XMLStreamException
+	{
+		for( int idx = 0; idx < shape.getNumServiceTypes(); idx++ ) {
+			startElement( 1, "ServiceType", true );
+			writer.writeAttribute( "Description", serviceTypeName( idx ) );
+		}
+	}
+
+	protected void writeSecUsers()
+	throws XMLStreamException
+	{
+		boolean hasChildren = ( shape.getSecDevicesPerSecUser() + shape.getSecSessionsPerSecUser() ) > 0;
+		for( int idx = 0; idx < shape.getNumSecUsers(); idx++ ) {
+			startElement( 1, "SecUser", ! hasChildren );
+			writer.writeAttribute( "LoginId", loginId( idx ) );
+			writer.writeAttribute( "EMailAddress", loginId( idx ) + "@bench.example.com" );
+			writer.writeAttribute( "PasswordHash", Long.toHexString( random.nextLong() ) + Long.toHexString( random.nextLong() ) );
+			if( ! hasChildren ) {
+				continue;
+			}
+			for( int idxDevice = 0; idxDevice < shape.getSecDevicesPerSecUser(); idxDevice++ ) {
+				startElement( 2, "SecDevice", true );
+			}
+			for( int idxSession = 0; idxSession < shape.getSecSessionsPerSecUser(); idxSession++ ) {
+				startElement( 2, "SecSession", true );
+				writer.writeAttribute( "Start", String.format( "2026-%02d-%02dT%02d:%02d:%02d",
+					1 + random.nextInt( 12 ),
+					1 + random.nextInt( 28 ),
+					random.nextInt( 24 ),
+					random.nextInt( 60 ),
+					random.nextInt( 60 ) ) );
+				writer.writeAttribute( "SecProxy", loginId( pick( idx + 1 ) ) );
+			}
+			endElement( 1 );
+		}
+	}
+
+	// Cluster tree
+
+	protected void writeCluster()
+	throws XMLStreamException
+	{
+		if( ( shape.getNumHostNodes() <= 0 ) && ( shape.getNumSecGroups() <= 0 ) && ( shape.getNumTlds() <= 0 ) ) {
+			return;
+		}
+		startElement( 1, "Cluster", false );
+		writer.writeAttribute( "FullDomName", "system" );
+		writer.writeAttribute( "Description", "Benchmark cluster" );
+		for( int idx = 0; idx < shape.getNumHostNodes(); idx++ ) {
+			boolean hasServices = shape.getServicesPerHostNode() > 0;
+			startElement( 2, "HostNode", ! hasServices );
+			writer.writeAttribute( "Description", text( shape.getDescriptionLength() ) );
+			writer.writeAttribute( "HostName", "host" + idx + ".bench.example.com" );
+			if( ! hasServices ) {
+				continue;
+			}
+			for( int idxService = 0; idxService < shape.getServicesPerHostNode(); idxService++ ) {
+				startElement( 3, "Service", true );
+				writer.writeAttribute( "HostPort", Integer.toString( 1024 + ( idxService % 31744 ) ) );
+				if( shape.getNumServiceTypes() > 0 ) {
+					writer.writeAttribute( "ServiceType", serviceTypeName( pick( shape.getNumServiceTypes() ) ) );
+				}
+			}
+			endElement( 2 );
+		}
+		writeSecGroups();
+		if( shape.getNumTlds() > 0 ) {
+			writeTenant();
+		}
+		endElement( 1 );
+	}
+
+	// Each group's members are a run of consecutive users starting at a
+	// picked user, so no user is listed twice in one group
+
+	protected void writeSecGroups()
+	throws XMLStreamException
+	{
+		int numMembs = Math.min( shape.getSecGrpMembsPerSecGroup(), shape.getNumSecUsers() );
+		for( int idx = 0; idx < shape.getNumSecGroups(); idx++ ) {
+			startElement( 2, "SecGroup", numMembs <= 0 );
+			writer.writeAttribute( "Name", "group" + idx );
+			writer.writeAttribute( "IsVisible", ( idx % 2 == 0 ) ? "true" : "false" );
+			if( numMembs <= 0 ) {
+				continue;
+			}
+			int firstUser = pick( shape.getNumSecUsers() );
+			for( int idxMemb = 0; idxMemb < numMembs; idxMemb++ ) {
+				startElement( 3, "SecGrpMemb", true );
+				writer.writeAttribute( "User", loginId( ( firstUser + idxMemb ) % shape.getNumSecUsers() ) );
+			}
+			endElement( 2 );
+		}
+	}
+
+	// Tenant tree
+
+	protected void writeTenant()
+	throws XMLStreamException
+	{
+		startElement( 2, "Tenant", false );
+		writer.writeAttribute( "TenantName", "system" );
+		for( int idxTld = 0; idxTld < shape.getNumTlds(); idxTld++ ) {
+			boolean hasDomains = shape.getTopDomainsPerTld() > 0;
+			startElement( 3, "Tld", ! hasDomains );
+			writer.writeAttribute( "Name", "tld" + idxTld );
+			writeDescription();
+			if( ! hasDomains ) {
+				continue;
+			}
+			for( int idxDomain = 0; idxDomain < shape.getTopDomainsPerTld(); idxDomain++ ) {
+				writeTopDomain( idxDomain );
+			}
+			endElement( 3 );
+		}
+		endElement( 2 );
+	}
+
+	protected void writeTopDomain( int idxDomain )
+	throws XMLStreamException
+	{
+		boolean hasChildren = ( shape.getLicensesPerTopDomain() + shape.getTopProjectsPerTopDomain() ) > 0;
+		startElement( 4, "TopDomain", ! hasChildren );
+		writer.writeAttribute( "Name", "domain" + idxDomain );
+		writeDescription();
+		if( ! hasChildren ) {
+			return;
+		}
+		for( int idxProject = 0; idxProject < shape.getTopProjectsPerTopDomain(); idxProject++ ) {
+			boolean hasSubProjects = shape.getSubProjectsPerTopProject() > 0;
+			startElement( 5, "TopProject", ! hasSubProjects );
+			writer.writeAttribute( "Name", "project" + idxProject );
+			writeDescription();
+			if( ! hasSubProjects ) {
+				continue;
+			}
+			for( int idxSubProject = 0; idxSubProject < shape.getSubProjectsPerTopProject(); idxSubProject++ ) {
+				writeSubProject( idxSubProject );
+			}
+			endElement( 5 );
+		}
+		for( int idxLicense = 0; idxLicense < shape.getLicensesPerTopDomain(); idxLicense++ ) {
+			startElement( 5, "License", true );
+			writer.writeAttribute( "Name", "License" + idxLicense );
+			writeDescription();
+			if( shape.getLicenseTextLength() > 0 ) {
+				writer.writeAttribute( "FullText", text( shape.getLicenseTextLength() ) );
+			}
+		}
+		endElement( 4 );
+	}
+
+	protected void writeSubProject( int idxSubProject )
+	throws XMLStreamException
+	{
+		boolean hasMajors = shape.getMajorVersionsPerSubProject() > 0;
+		startElement( 6, "SubProject", ! hasMajors );
+		writer.writeAttribute( "Name", "sub" + idxSubProject );
+		writeDescription();
+		if( ! hasMajors ) {
+			return;
+		}
+		for( int idxMajor = 0; idxMajor < shape.getMajorVersionsPerSubProject(); idxMajor++ ) {
+			boolean hasMinors = shape.getMinorVersionsPerMajorVersion() > 0;
+			startElement( 7, "MajorVersion", ! hasMinors );
+			writer.writeAttribute( "Name", Integer.toString( idxMajor ) );
+			writeDescription();
+			if( ! hasMinors ) {
+				continue;
+			}
+			for( int idxMinor = 0; idxMinor < shape.getMinorVersionsPerMajorVersion(); idxMinor++ ) {
+				startElement( 8, "MinorVersion", true );
+				writer.writeAttribute( "Name", idxMajor + "." + idxMinor );
+				writeDescription();
+			}
+			endElement( 7 );
+		}
+		endElement( 6 );
+	}
+
+	// Writing helpers
+
+	protected void startElement( int depth, String name, boolean empty )
+	throws XMLStreamException
+	{
+		writer.writeCharacters( indent( depth ) );
+		if( empty ) {
+			writer.writeEmptyElement( name );
+		}
+		else {
+			writer.writeStartElement( name );
+		}
+	}
+
+	protected void endElement( int depth )
+	throws XMLStreamException
+	{
+		writer.writeCharacters( indent( depth ) );
+		writer.writeEndElement();
+	}
+
+	protected void writeDescription()
+	throws XMLStreamException
+	{
+		if( shape.getDescriptionLength() > 0 ) {
+			writer.writeAttribute( "Description", text( shape.getDescriptionLength() ) );
+		}
+	}
+
+	protected static String indent( int depth ) {
+		StringBuilder buff = new StringBuilder( depth + 1 );
+		buff.append( '\n' );
+		for( int idx = 0; idx < depth; idx++ ) {
+			buff.append( '\t' );
+		}
+		return( buff.toString() );
+	}
+
+	protected String text( int length ) {
+		char[] chars = new char[ length ];
+		for( int idx = 0; idx < length; idx++ ) {
+			chars[idx] = TEXT_CHARS.charAt( random.nextInt( TEXT_CHARS.length() ) );
+		}
+		return( new String( chars ) );
+	}
+
+	// Pick one of the first bound rows, favouring the earliest by the skew
+
+	protected int pick( int bound ) {
+		double skewed = Math.pow( random.nextDouble(), 1.0 + shape.getReferenceSkew() );
+		return( Math.min( bound - 1, (int)( skewed * bound ) ) );
+	}
+
+	protected static String loginId( int idx ) {
+		return( "bench" + idx );
+	}
+
+	protected static String serviceTypeName( int idx ) {
+		return( "BenchService" + idx );
+	}
+}
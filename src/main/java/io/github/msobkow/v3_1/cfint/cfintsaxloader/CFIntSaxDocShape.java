@@ -0,0 +1,273 @@
+// Description: Java 25 XML SAX Parser for CFInt.
+
+/*
+ *	io.github.msobkow.CFInt
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *	
+ *	Mark's Code Fractal 3.1 CFInt - Internet Essentials
+ *	
+ *	This file is part of Mark's Code Fractal CFInt.
+ *	
+ *	Mark's Code Fractal CFInt is available under dual commercial license from
+ *	Mark Stephen Sobkow, or under the terms of the GNU Library General Public License,
+ *	Version 3 or later.
+ *	
+ *	Mark's Code Fractal CFInt is free software: you can redistribute it and/or
+ *	modify it under the terms of the GNU Library General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *	
+ *	Mark's Code Fractal CFInt is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *	
+ *	You should have received a copy of the GNU Library General Public License
+ *	along with Mark's Code Fractal CFInt.  If not, see <https://www.gnu.org/licenses/>.
+ *	
+ *	If you wish to modify and use this code without publishing your changes in order to
+ *	tie it to proprietary code, please contact Mark Stephen Sobkow
+ *	for a commercial license at mark.sobkow@gmail.com
+ *	
+ */
+package io.github.msobkow.v3_1.cfint.cfintsaxloader;
+
+import io.github.msobkow.v3_1.cflib.*;
+
+/*
+ *	CFIntSaxDocShape describes the document CFIntSaxDocGenerator writes:
+ *	how many elements of each kind, the fan-out at each level of the
+ *	containment trees, the size of the free text attributes, and how
+ *	strongly references favour the first rows of the referenced table.
+ */
+public class CFIntSaxDocShape
+{
+	private int numISOTZones = 0;
+	private int numServiceTypes = 0;
+	private int numSecUsers = 0;
+	private int secDevicesPerSecUser = 0;
+	private int secSessionsPerSecUser = 0;
+	private int numHostNodes = 0;
+	private int servicesPerHostNode = 0;
+	private int numSecGroups = 0;
+	private int secGrpMembsPerSecGroup = 0;
+	private int numTlds = 0;
+	private int topDomainsPerTld = 0;
+	private int licensesPerTopDomain = 0;
+	private int topProjectsPerTopDomain = 0;
+	private int subProjectsPerTopProject = 0;
+	private int majorVersionsPerSubProject = 0;
+	private int minorVersionsPerMajorVersion = 0;
+	private int descriptionLength = 32;
+	private int licenseTextLength = 0;
+	private double referenceSkew = 0.0;
+
+	public CFIntSaxDocShape() {
+	}
+
+	// Unscoped tables
+
+	public int getNumISOTZones() {
+		return( numISOTZones );
+	}
+
+	public void setNumISOTZones( int value ) {
+		numISOTZones = checkCount( "setNumISOTZones", value );
+	}
+
+	public int getNumServiceTypes() {
+		return( numServiceTypes );
+	}
+
+	public void setNumServiceTypes( int value ) {
+		numServiceTypes = checkCount( "setNumServiceTypes", value );
+	}
+
+	public int getNumSecUsers() {
+		return( numSecUsers );
+	}
+
+	public void setNumSecUsers( int value ) {
+		numSecUsers = checkCount( "setNumSecUsers", value );
+	}
+
+	public int getSecDevicesPerSecUser() {
+		return( secDevicesPerSecUser );
+	}
+
+	public void setSecDevicesPerSecUser( int value ) {
+		secDevicesPerSecUser = checkCount( "setSecDevicesPerSecUser", value );
+	}
+
+	public int getSecSessionsPerSecUser() {
+		return( secSessionsPerSecUser );
+	}
+
+	public void setSecSessionsPerSecUser( int value ) {
+		secSessionsPerSecUser = checkCount( "setSecSessionsPerSecUser", value );
+	}
+
+	// Cluster tree
+
+	public int getNumHostNodes() {
+		return( numHostNodes );
+	}
+
+	public void setNumHostNodes( int value ) {
+		numHostNodes = checkCount( "setNumHostNodes", value );
+	}
+
+	public int getServicesPerHostNode() {
+		return( servicesPerHostNode );
+	}
+
+	public void setServicesPerHostNode( int value ) {
+		servicesPerHostNode = checkCount( "setServicesPerHostNode", value );
+	}
+
+	public int getNumSecGroups() {
+		return( numSecGroups );
+	}
+
+	public void setNumSecGroups( int value ) {
+		numSecGroups = checkCount( "setNumSecGroups", value );
+	}
+
+	// Members of a group are distinct users, so a group has at most as
+	// many members as there are SecUsers
+
+	public int getSecGrpMembsPerSecGroup() {
+		return( secGrpMembsPerSecGroup );
+	}
+
+	public void setSecGrpMembsPerSecGroup( int value ) {
+		secGrpMembsPerSecGroup = checkCount( "setSecGrpMembsPerSecGroup", value );
+	}
+
+	// Tenant tree
+
+	public int getNumTlds() {
+		return( numTlds );
+	}
+
+	public void setNumTlds( int value ) {
+		numTlds = checkCount( "setNumTlds", value );
+	}
+
+	public int getTopDomainsPerTld() {
+		return( topDomainsPerTld );
+	}
+
+	public void setTopDomainsPerTld( int value ) {
+		topDomainsPerTld = checkCount( "setTopDomainsPerTld", value );
+	}
+
+	public int getLicensesPerTopDomain() {
+		return( licensesPerTopDomain );
+	}
+
+	public void setLicensesPerTopDomain( int value ) {
+		licensesPerTopDomain = checkCount( "setLicensesPerTopDomain", value );
+	}
+
+	public int getTopProjectsPerTopDomain() {
+		return( topProjectsPerTopDomain );
+	}
+
+	public void setTopProjectsPerTopDomain( int value ) {
+		topProjectsPerTopDomain = checkCount( "setTopProjectsPerTopDomain", value );
+	}
+
+	public int getSubProjectsPerTopProject() {
+		return( subProjectsPerTopProject );
+	}
+
+	public void setSubProjectsPerTopProject( int value ) {
+		subProjectsPerTopProject = checkCount( "setSubProjectsPerTopProject", value );
+	}
+
+	public int getMajorVersionsPerSubProject() {
+		return( majorVersionsPerSubProject );
+	}
+
+	public void setMajorVersionsPerSubProject( int value ) {
+		majorVersionsPerSubProject = checkCount( "setMajorVersionsPerSubProject", value );
+	}
+
+	public int getMinorVersionsPerMajorVersion() {
+		return( minorVersionsPerMajorVersion );
+	}
+
+	public void setMinorVersionsPerMajorVersion( int value ) {
+		minorVersionsPerMajorVersion = checkCount( "setMinorVersionsPerMajorVersion", value );
+	}
+
+	// Attribute sizes
+
+	public int getDescriptionLength() {
+		return( descriptionLength );
+	}
+
+	public void setDescriptionLength( int value ) {
+		descriptionLength = checkCount( "setDescriptionLength", value );
+	}
+
+	public int getLicenseTextLength() {
+		return( licenseTextLength );
+	}
+
+	public void setLicenseTextLength( int value ) {
+		licenseTextLength = checkCount( "setLicenseTextLength", value );
+	}
+
+	// Reference skew
+	//
+	// Zero picks referenced rows uniformly; larger values concentrate the
+	// references on the first rows written.
+
+	public double getReferenceSkew() {
+		return( referenceSkew );
+	}
+
+	public void setReferenceSkew( double value ) {
+		final String S_ProcName = "setReferenceSkew";
+		if( value < 0.0 ) {
+			throw new CFLibUsageException( getClass(),
+				S_ProcName,
+				"referenceSkew must not be negative, not " + value,
+				"referenceSkew must not be negative, not " + value );
+		}
+		referenceSkew = value;
+	}
+
+	// Count of elements the shape produces below the document element
+
+	public long getElementCount() {
+		long count = numISOTZones + numServiceTypes;
+		count += (long)numSecUsers * ( 1L + secDevicesPerSecUser + secSessionsPerSecUser );
+		if( ( numHostNodes > 0 ) || ( numSecGroups > 0 ) || ( numTlds > 0 ) ) {
+			count += 1L;
+		}
+		count += (long)numHostNodes * ( 1L + servicesPerHostNode );
+		count += (long)numSecGroups * ( 1L + Math.min( secGrpMembsPerSecGroup, numSecUsers ) );
+		if( numTlds > 0 ) {
+			long perMajorVersion = 1L + minorVersionsPerMajorVersion;
+			long perSubProject = 1L + majorVersionsPerSubProject * perMajorVersion;
+			long perTopProject = 1L + subProjectsPerTopProject * perSubProject;
+			long perTopDomain = 1L + licensesPerTopDomain + topProjectsPerTopDomain * perTopProject;
+			count += 1L + (long)numTlds * ( 1L + topDomainsPerTld * perTopDomain );
+		}
+		return( count );
+	}
+
+	protected int checkCount( String procName, int value ) {
+		if( value < 0 ) {
+			throw new CFLibUsageException( getClass(),
+				procName,
+				"Value must not be negative, not " + value,
+				"Value must not be negative, not " + value );
+		}
+		return( value );
+	}
+}
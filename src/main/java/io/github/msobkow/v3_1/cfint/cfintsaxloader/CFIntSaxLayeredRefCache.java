@@ -0,0 +1,187 @@
+// Description: Java 25 XML SAX Parser for CFInt.
+
+/*
+ *	io.github.msobkow.CFInt
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *	
+ *	Mark's Code Fractal 3.1 CFInt - Internet Essentials
+ *	
+ *	This file is part of Mark's Code Fractal CFInt.
+ *	
+ *	Mark's Code Fractal CFInt is available under dual commercial license from
+ *	Mark Stephen Sobkow, or under the terms of the GNU Library General Public License,
+ *	Version 3 or later.
+ *	
+ *	Mark's Code Fractal CFInt is free software: you can redistribute it and/or
+ *	modify it under the terms of the GNU Library General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *	
+ *	Mark's Code Fractal CFInt is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *	
+ *	You should have received a copy of the GNU Library General Public License
+ *	along with Mark's Code Fractal CFInt.  If not, see <https://www.gnu.org/licenses/>.
+ *	
+ *	If you wish to modify and use this code without publishing your changes in order to
+ *	tie it to proprietary code, please contact Mark Stephen Sobkow
+ *	for a commercial license at mark.sobkow@gmail.com
+ *	
+ */
+package io.github.msobkow.v3_1.cfint.cfintsaxloader;
+
+import java.util.*;
+import java.util.function.Supplier;
+import io.github.msobkow.v3_1.cflib.*;
+import io.github.msobkow.v3_1.cfint.cfintobj.*;
+
+/*
+ *	CFIntSaxLayeredRefCache answers the references to a set of shared
+ *	tables through a cache shared between loaders, and every other
+ *	reference from entries of its own.  Concurrent loads use it to look up
+ *	the global reference tables, such as the ISO codes, once between them
+ *	while keeping the rows particular to each load apart.
+ *
+ *	The loads may each use a schema of their own, so the shared cache
+ *	holds only the primary key each natural key resolved to.  The row
+ *	itself is read by that primary key through the schema of the loader
+ *	this cache belongs to, under its schema lock, the first time the load
+ *	needs it, and kept with the cache's own entries.
+ *	Only ISOCcy and ISOLang can be shared.  The statistics and clear()
+ *	cover only the cache's own entries.
+ */
+public class CFIntSaxLayeredRefCache
+	extends CFIntSaxRefCache
+{
+	private final CFIntSaxRefCache sharedCache;
+	private final Set<String> sharedTables;
+	private final CFIntSaxLoader loader;
+
+	public CFIntSaxLayeredRefCache( CFIntSaxRefCache sharedCache, Collection<String> sharedTables, CFIntSaxLoader loader ) {
+		final String S_ProcName = "CFIntSaxLayeredRefCache";
+		if( sharedCache == null ) {
+			throw new CFLibNullArgumentException( getClass(),
+				S_ProcName,
+				1,
+				"sharedCache" );
+		}
+		if( sharedTables == null ) {
+			throw new CFLibNullArgumentException( getClass(),
+				S_ProcName,
+				2,
+				"sharedTables" );
+		}
+		if( loader == null ) {
+			throw new CFLibNullArgumentException( getClass(),
+				S_ProcName,
+				3,
+				"loader" );
+		}
+		for( String tableName : sharedTables ) {
+			if( ! ( "ISOCcy".equals( tableName ) || "ISOLang".equals( tableName ) ) ) {
+				throw new CFLibUsageException( getClass(),
+					S_ProcName,
+					"Table " + tableName + " cannot be shared",
+					"Table " + tableName + " cannot be shared" );
+			}
+		}
+		this.sharedCache = sharedCache;
+		this.sharedTables = Collections.unmodifiableSet( new HashSet<String>( sharedTables ) );
+		this.loader = loader;
+	}
+
+	public CFIntSaxRefCache getSharedCache() {
+		return( sharedCache );
+	}
+
+	public Set<String> getSharedTables() {
+		return( sharedTables );
+	}
+
+	public CFIntSaxLoader getLoader() {
+		return( loader );
+	}
+
+	// Lookup
+
+	@Override
+	public Object read( String tableName, Object naturalKey, Supplier<Object> reader ) {
+		if( sharedTables.contains( tableName ) ) {
+			return( super.read( tableName, naturalKey, () -> realize( tableName, naturalKey, reader ) ) );
+		}
+		return( super.read( tableName, naturalKey, reader ) );
+	}
+
+	@Override
+	public void put( String tableName, Object naturalKey, Object row ) {
+		if( sharedTables.contains( tableName ) ) {
+			sharedCache.put( tableName, naturalKey, primaryKeyOf( tableName, row ) );
+		}
+		super.put( tableName, naturalKey, row );
+	}
+
+	// Resolve a natural key of a shared table to a row of this cache's
+	// schema.  A key the shared cache has not seen is read by the caller's
+	// reader, and only its primary key is shared.
+
+	protected Object realize( String tableName, Object naturalKey, Supplier<Object> reader ) {
+		Object[] readRow = new Object[] { null };
+		Object primaryKey = sharedCache.read( tableName, naturalKey, () -> {
+			readRow[0] = reader.get();
+			return( primaryKeyOf( tableName, readRow[0] ) );
+		} );
+		if( ( readRow[0] != null ) || ( primaryKey == null ) ) {
+			return( readRow[0] );
+		}
+		return( readByPrimaryKey( tableName, primaryKey ) );
+	}
+
+	protected Object primaryKeyOf( String tableName, Object row ) {
+		if( row == null ) {
+			return( null );
+		}
+		else if( tableName.equals( "ISOCcy" ) ) {
+			return( ( (ICFIntISOCcyObj)row ).getRequiredISOCcyId() );
+		}
+		else {
+			return( ( (ICFIntISOLangObj)row ).getRequiredISOLangId() );
+		}
+	}
+
+	protected Object readByPrimaryKey( String tableName, Object primaryKey ) {
+		ICFIntSchemaObj schemaObj = loader.getSchemaObj();
+		loader.getSchemaLock().lock();
+		try {
+			if( tableName.equals( "ISOCcy" ) ) {
+				return( schemaObj.getISOCcyTableObj().readISOCcyByIdIdx( (Short)primaryKey ) );
+			}
+			else {
+				return( schemaObj.getISOLangTableObj().readISOLangByIdIdx( (Short)primaryKey ) );
+			}
+		}
+		finally {
+			loader.getSchemaLock().unlock();
+		}
+	}
+
+	// Invalidation
+
+	@Override
+	public void invalidate( String tableName, Object naturalKey ) {
+		if( sharedTables.contains( tableName ) ) {
+			sharedCache.invalidate( tableName, naturalKey );
+		}
+		super.invalidate( tableName, naturalKey );
+	}
+
+	@Override
+	public void invalidateTable( String tableName ) {
+		if( sharedTables.contains( tableName ) ) {
+			sharedCache.invalidateTable( tableName );
+		}
+		super.invalidateTable( tableName );
+	}
+}
@@ -35,7 +35,19 @@
 package io.github.msobkow.v3_1.cfint.cfintsaxloader;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import io.github.msobkow.v3_1.cflib.*;
 import io.github.msobkow.v3_1.cflib.dbutil.*;
 import io.github.msobkow.v3_1.cflib.inz.Inz;
@@ -45,6 +57,13 @@ import io.github.msobkow.v3_1.cfint.cfint.*;
 import io.github.msobkow.v3_1.cfsec.cfsecobj.*;
 import io.github.msobkow.v3_1.cfint.cfintobj.*;
 
+/*
+ *	CFIntSaxLdr drives a CFIntSaxLoader for one cluster, tenant and user.
+ *	All of its state belongs to the instance, so any number of drivers,
+ *	each on its own schema, may load at once in one JVM; a single driver
+ *	is used by one thread at a time.  CFIntSaxTenantBatch runs many tenant
+ *	loads that way.
+ */
 public class CFIntSaxLdr
 {
 	protected ICFLibMessageLog log = null;
@@ -52,10 +71,14 @@ public class CFIntSaxLdr
 	protected String clusterName = "system";
 	protected ICFSecClusterObj clusterObj = null;
 	protected String tenantName = "system";
-	protected static ICFSecTenantObj tenantObj = null;
+	protected ICFSecTenantObj tenantObj = null;
 	protected String secUserName = "system";
 	protected ICFSecSecUserObj secUserObj = null;
 	protected ICFSecSecSessionObj secSessionObj = null;
+	public final static int DEFAULT_BULK_CONCURRENCY = 64;
+	public final static String DEFAULT_BULK_GLOB = "*.{xml,gz,zip}";
+	protected int bulkConcurrency = DEFAULT_BULK_CONCURRENCY;
+	protected String bulkGlob = DEFAULT_BULK_GLOB;
 	// Constructors
 
 	public CFIntSaxLdr() {
@@ -374,6 +397,254 @@ public class CFIntSaxLdr
 		return( secSessionObj );
 	}
 
+	// Bulk loading
+	//
+	// A bulk load loads each of a set of documents through a loader of its
+	// own, built from this driver's loader, on a thread per document.
+	// Virtual threads are used where the runtime has them, with at most
+	// bulkConcurrency documents loading at once; otherwise a pool of that
+	// many platform threads.
+	//
+	// Without a worker schema factory every document loads through this
+	// driver's schema, taking turns on its schema lock, so the documents
+	// overlap only in parsing.  With one, each document loads through a
+	// schema of its own and their schema calls run concurrently.  The
+	// factory must return a schema ready for use, connected and logged in
+	// as this driver's is.  The driver installs no commit hooks on it, so
+	// committing each document's writes is up to that schema.
+
+	public int getBulkConcurrency() {
+		return( bulkConcurrency );
+	}
+
+	public void setBulkConcurrency( int value ) {
+		final String S_ProcName = "setBulkConcurrency";
+		if( value < 1 ) {
+			throw new CFLibUsageException( getClass(),
+				S_ProcName,
+				"Bulk concurrency must be at least 1",
+				"Bulk concurrency must be at least 1" );
+		}
+		bulkConcurrency = value;
+	}
+
+	public String getBulkGlob() {
+		return( bulkGlob );
+	}
+
+	public void setBulkGlob( String value ) {
+		final String S_ProcName = "setBulkGlob";
+		if( ( value == null ) || ( value.length() <= 0 ) ) {
+			throw new CFLibNullArgumentException( getClass(),
+				S_ProcName,
+				1,
+				"value" );
+		}
+		bulkGlob = value;
+	}
+
+	public Supplier<ICFIntSchemaObj> getWorkerSchemaFactory() {
+		return( saxLoader.getWorkerSchemaFactory() );
+	}
+
+	public void setWorkerSchemaFactory( Supplier<ICFIntSchemaObj> value ) {
+		saxLoader.setWorkerSchemaFactory( value );
+	}
+
+	// Instantiate a worker schema factory by class name.  The class must
+	// implement Supplier<ICFIntSchemaObj> and have a public no-argument
+	// constructor.
+
+	@SuppressWarnings("unchecked")
+	public static Supplier<ICFIntSchemaObj> newWorkerSchemaFactory( String className ) {
+		final String S_ProcName = "newWorkerSchemaFactory";
+		Object factory;
+		try {
+			factory = Class.forName( className ).getConstructor().newInstance();
+		}
+		catch( ReflectiveOperationException | LinkageError e ) {
+			throw new RuntimeException( S_ProcName + "() ERROR: Instantiating " + className + ": " + e.getMessage(),
+				e );
+		}
+		if( ! ( factory instanceof Supplier ) ) {
+			throw new RuntimeException( S_ProcName + "() ERROR: " + className + " does not implement Supplier<ICFIntSchemaObj>" );
+		}
+		return( (Supplier<ICFIntSchemaObj>)factory );
+	}
+
+	// List the documents named, replacing each directory with the files in
+	// it that match the bulk glob, in name order
+
+	public List<Path> listDocuments( List<Path> paths ) {
+		final String S_ProcName = "listDocuments";
+		List<Path> documents = new ArrayList<Path>();
+		for( Path path : paths ) {
+			if( ! Files.isDirectory( path ) ) {
+				documents.add( path );
+				continue;
+			}
+			List<Path> entries = new ArrayList<Path>();
+			try( DirectoryStream<Path> dir = Files.newDirectoryStream( path, bulkGlob ) ) {
+				for( Path entry : dir ) {
+					if( Files.isRegularFile( entry ) ) {
+						entries.add( entry );
+					}
+				}
+			}
+			catch( IOException e ) {
+				throw new RuntimeException( S_ProcName + "() ERROR: Listing " + path + ": " + e.getMessage(),
+					e );
+			}
+			Collections.sort( entries );
+			documents.addAll( entries );
+		}
+		return( documents );
+	}
+
+	// Load the documents concurrently and wait for all of them.  A failed
+	// document does not stop the others; the results are in the order of
+	// the documents.
+
+	public List<CFIntSaxDocumentResult> parseFiles( List<Path> documents ) {
+		final String S_ProcName = "parseFiles";
+		if( documents == null ) {
+			throw new CFLibNullArgumentException( getClass(),
+				S_ProcName,
+				1,
+				"documents" );
+		}
+		if( saxLoader.getUseCluster() == null ) {
+			saxLoader.setUseCluster( getClusterObj() );
+		}
+		if( saxLoader.getUseTenant() == null ) {
+			saxLoader.setUseTenant( getTenantObj() );
+		}
+		final Semaphore permits = new Semaphore( bulkConcurrency );
+		ExecutorService executor = newDocumentExecutor();
+		try {
+			List<Future<CFIntSaxDocumentResult>> futures = new ArrayList<Future<CFIntSaxDocumentResult>>( documents.size() );
+			for( Path document : documents ) {
+				futures.add( executor.submit( () -> parseDocument( document, permits ) ) );
+			}
+			List<CFIntSaxDocumentResult> results = new ArrayList<CFIntSaxDocumentResult>( documents.size() );
+			for( int idx = 0; idx < futures.size(); idx++ ) {
+				try {
+					results.add( futures.get( idx ).get() );
+				}
+				catch( InterruptedException e ) {
+					executor.shutdownNow();
+					Thread.currentThread().interrupt();
+					throw new RuntimeException( S_ProcName + "() ERROR: Interrupted waiting for " + documents.get( idx ),
+						e );
+				}
+				catch( ExecutionException e ) {
+					Throwable cause = ( e.getCause() != null ) ? e.getCause() : e;
+					results.add( new CFIntSaxDocumentResult( documents.get( idx ),
+						new RuntimeException( S_ProcName + "() ERROR: Loading " + documents.get( idx ) + " died: " + cause.getMessage(),
+							cause ),
+						0L,
+						0L ) );
+				}
+			}
+			return( results );
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+
+	// Load one document of a bulk load once a permit is free
+
+	protected CFIntSaxDocumentResult parseDocument( Path document, Semaphore permits )
+	throws InterruptedException
+	{
+		permits.acquire();
+		long startMillis = System.currentTimeMillis();
+		try {
+			CFIntSaxLoader loader = saxLoader.newWorkerLoader();
+			try {
+				loader.parseFile( document );
+			}
+			catch( RuntimeException e ) {
+				return( new CFIntSaxDocumentResult( document, e, loader.getElementOrdinal(), System.currentTimeMillis() - startMillis ) );
+			}
+			finally {
+				synchronized( saxLoader ) {
+					saxLoader.addAttrInternerStats( loader );
+				}
+			}
+			return( new CFIntSaxDocumentResult( document, null, loader.getElementOrdinal(), System.currentTimeMillis() - startMillis ) );
+		}
+		finally {
+			permits.release();
+		}
+	}
+
+	// A virtual thread per document when the runtime provides them,
+	// otherwise a pool of bulkConcurrency platform threads
+
+	protected ExecutorService newDocumentExecutor() {
+		try {
+			Method factory = Executors.class.getMethod( "newVirtualThreadPerTaskExecutor" );
+			return( (ExecutorService)factory.invoke( null ) );
+		}
+		catch( NoSuchMethodException | IllegalAccessException | InvocationTargetException e ) {
+			final AtomicInteger threadCount = new AtomicInteger( 0 );
+			return( Executors.newFixedThreadPool( bulkConcurrency, ( runnable ) -> {
+				Thread worker = new Thread( runnable, "CFIntSaxBulk-" + threadCount.getAndIncrement() );
+				worker.setDaemon( true );
+				return( worker );
+			} ) );
+		}
+	}
+
+	// Run a bulk load from command line arguments, each a document, a
+	// directory of documents, Concurrency=<n>, Glob=<glob> or
+	// WorkerSchemaFactory=<class>, printing a line per document and a
+	// total.  Returns the number of documents that failed.
+
+	public int runBulk( String[] args, int consumed, PrintStream out ) {
+		final String S_ProcName = "runBulk";
+		List<Path> paths = new ArrayList<Path>();
+		for( int idxArg = consumed; idxArg < args.length; idxArg++ ) {
+			String arg = args[ idxArg ];
+			if( arg.startsWith( "Concurrency=" ) ) {
+				try {
+					setBulkConcurrency( Integer.parseInt( arg.substring( "Concurrency=".length() ) ) );
+				}
+				catch( NumberFormatException e ) {
+					throw new RuntimeException( S_ProcName + "() ERROR: Expected argument to comprise Concurrency=<n>" );
+				}
+			}
+			else if( arg.startsWith( "Glob=" ) ) {
+				setBulkGlob( arg.substring( "Glob=".length() ) );
+			}
+			else if( arg.startsWith( "WorkerSchemaFactory=" ) ) {
+				setWorkerSchemaFactory( newWorkerSchemaFactory( arg.substring( "WorkerSchemaFactory=".length() ) ) );
+			}
+			else {
+				paths.add( Paths.get( arg ) );
+			}
+		}
+		long startMillis = System.currentTimeMillis();
+		List<CFIntSaxDocumentResult> results = parseFiles( listDocuments( paths ) );
+		int numFailed = 0;
+		long numElements = 0L;
+		for( CFIntSaxDocumentResult result : results ) {
+			out.println( result.toString() );
+			if( ! result.isSucceeded() ) {
+				numFailed++;
+			}
+			numElements += result.getElementCount();
+		}
+		out.println( "Loaded " + ( results.size() - numFailed ) + " of " + results.size() + " documents, "
+			+ numElements + " elements, in " + ( System.currentTimeMillis() - startMillis ) + " ms" );
+		if( saxLoader.isAttrInterning() ) {
+			out.println( "Interned attribute values folded " + saxLoader.getAttrInternerHits() + " duplicates" );
+		}
+		return( numFailed );
+	}
+
 	// Apply the loader options argument to the specified loader
 
 	protected static void applyLoaderOptions( CFIntSaxLoader loader, String loaderOptions ) {
@@ -404,11 +675,102 @@ public class CFIntSaxLdr
 		final String S_ProcName = "CFIntSaxParserCLI.evalLoaderSegment() ";
 		int sepEquals = evalSegment.indexOf( '=' );
 		if( sepEquals <= 0 ) {
-			throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise <TableName>={*|Insert|Update|Replace}" );
+			throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise <TableName>={*|Insert|Update|Replace|Upsert}" );
 		}
 		String tableName = evalSegment.substring( 0, sepEquals );
 		String tableOption = evalSegment.substring( sepEquals + 1 );
-		if( tableName.equals( "Cluster" ) ) {
+		if( tableName.equals( "Progress" ) ) {
+			// Progress=<seconds> prints load progress to stderr at that interval
+			long seconds;
+			try {
+				seconds = Long.parseLong( tableOption );
+			}
+			catch( NumberFormatException e ) {
+				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise Progress=<seconds>" );
+			}
+			if( seconds <= 0L ) {
+				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise Progress=<seconds>" );
+			}
+			loader.setProgressIntervalMillis( seconds * 1000L );
+			loader.addProgressListener( new CFIntSaxProgressPrinter( System.err ) );
+		}
+		else if( tableName.equals( "Parallel" ) ) {
+			// Parallel=<workers> loads the top-level subtrees on that many threads
+			int workers;
+			try {
+				workers = Integer.parseInt( tableOption );
+			}
+			catch( NumberFormatException e ) {
+				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise Parallel=<workers>" );
+			}
+			if( workers < 0 ) {
+				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise Parallel=<workers>" );
+			}
+			loader.setParallelSubtreeWorkers( workers );
+		}
+		else if( tableName.equals( "WorkerSchemaFactory" ) ) {
+			// WorkerSchemaFactory=<class> gives each worker a schema of its own from a Supplier<ICFIntSchemaObj>
+			if( tableOption.length() <= 0 ) {
+				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise WorkerSchemaFactory=<class>" );
+			}
+			loader.setWorkerSchemaFactory( newWorkerSchemaFactory( tableOption ) );
+		}
+		else if( tableName.equals( "Decompress" ) ) {
+			// Decompress={true|false} enables recognizing gzip and deflate input
+			if( tableOption.equals( "true" ) ) {
+				loader.setDecompressInput( true );
+			}
+			else if( tableOption.equals( "false" ) ) {
+				loader.setDecompressInput( false );
+			}
+			else {
+				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise Decompress={true|false}" );
+			}
+		}
+		else if( tableName.equals( "LeanContext" ) ) {
+			// LeanContext={true|false} saves only the resolved object to element contexts
+			if( tableOption.equals( "true" ) ) {
+				loader.setLeanContext( true );
+			}
+			else if( tableOption.equals( "false" ) ) {
+				loader.setLeanContext( false );
+			}
+			else {
+				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise LeanContext={true|false}" );
+			}
+		}
+		else if( tableName.equals( "InternAttrs" ) ) {
+			// InternAttrs={true|false} shares repeated low-cardinality attribute values
+			if( tableOption.equals( "true" ) ) {
+				loader.setAttrInterning( true );
+			}
+			else if( tableOption.equals( "false" ) ) {
+				loader.setAttrInterning( false );
+			}
+			else {
+				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise InternAttrs={true|false}" );
+			}
+		}
+		else if( tableName.equals( "TrustedInput" ) ) {
+			// TrustedInput={true|false} skips validating the documents against the schemas
+			if( tableOption.equals( "true" ) ) {
+				loader.setTrustedInput( true );
+			}
+			else if( tableOption.equals( "false" ) ) {
+				loader.setTrustedInput( false );
+			}
+			else {
+				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise TrustedInput={true|false}" );
+			}
+		}
+		else if( tableName.equals( "ZipEntries" ) ) {
+			// ZipEntries=<glob> selects the entries of a zip archive to load
+			if( tableOption.length() <= 0 ) {
+				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise ZipEntries=<glob>" );
+			}
+			loader.setZipEntryGlob( tableOption );
+		}
+		else if( tableName.equals( "Cluster" ) ) {
 			if( tableOption.equals( "*" ) ) {
 				// Leave at default
 			}
@@ -421,8 +783,11 @@ public class CFIntSaxLdr
 			else if( tableOption.equals( "Replace" ) ) {
 				loader.setClusterLoaderBehaviour( CFIntSaxLoader.LoaderBehaviourEnum.Replace );
 			}
+			else if( tableOption.equals( "Upsert" ) ) {
+				loader.setClusterLoaderBehaviour( CFIntSaxLoader.LoaderBehaviourEnum.Upsert );
+			}
 			else {
-				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise <TableName>={*|Insert|Update|Replace}" );
+				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise <TableName>={*|Insert|Update|Replace|Upsert}" );
 			}
 		}
 		else if( tableName.equals( "HostNode" ) ) {
@@ -438,8 +803,11 @@ public class CFIntSaxLdr
 			else if( tableOption.equals( "Replace" ) ) {
 				loader.setHostNodeLoaderBehaviour( CFIntSaxLoader.LoaderBehaviourEnum.Replace );
 			}
+			else if( tableOption.equals( "Upsert" ) ) {
+				loader.setHostNodeLoaderBehaviour( CFIntSaxLoader.LoaderBehaviourEnum.Upsert );
+			}
 			else {
-				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise <TableName>={*|Insert|Update|Replace}" );
+				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise <TableName>={*|Insert|Update|Replace|Upsert}" );
 			}
 		}
 		else if( tableName.equals( "ISOCcy" ) ) {
@@ -455,8 +823,11 @@ public class CFIntSaxLdr
 			else if( tableOption.equals( "Replace" ) ) {
 				loader.setISOCcyLoaderBehaviour( CFIntSaxLoader.LoaderBehaviourEnum.Replace );
 			}
+			else if( tableOption.equals( "Upsert" ) ) {
+				loader.setISOCcyLoaderBehaviour( CFIntSaxLoader.LoaderBehaviourEnum.Upsert );
+			}
 			else {
-				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise <TableName>={*|Insert|Update|Replace}" );
+				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise <TableName>={*|Insert|Update|Replace|Upsert}" );
 			}
 		}
 		else if( tableName.equals( "ISOCtry" ) ) {
@@ -472,8 +843,11 @@ public class CFIntSaxLdr
 			else if( tableOption.equals( "Replace" ) ) {
 				loader.setISOCtryLoaderBehaviour( CFIntSaxLoader.LoaderBehaviourEnum.Replace );
 			}
+			else if( tableOption.equals( "Upsert" ) ) {
+				loader.setISOCtryLoaderBehaviour( CFIntSaxLoader.LoaderBehaviourEnum.Upsert );
+			}
 			else {
-				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise <TableName>={*|Insert|Update|Replace}" );
+				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise <TableName>={*|Insert|Update|Replace|Upsert}" );
 			}
 		}
 		else if( tableName.equals( "ISOCtryCcy" ) ) {
@@ -489,8 +863,11 @@ public class CFIntSaxLdr
 			else if( tableOption.equals( "Replace" ) ) {
 				loader.setISOCtryCcyLoaderBehaviour( CFIntSaxLoader.LoaderBehaviourEnum.Replace );
 			}
+			else if( tableOption.equals( "Upsert" ) ) {
+				loader.setISOCtryCcyLoaderBehaviour( CFIntSaxLoader.LoaderBehaviourEnum.Upsert );
+			}
 			else {
-				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise <TableName>={*|Insert|Update|Replace}" );
+				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise <TableName>={*|Insert|Update|Replace|Upsert}" );
 			}
 		}
 		else if( tableName.equals( "ISOCtryLang" ) ) {
@@ -506,8 +883,11 @@ public class CFIntSaxLdr
 			else if( tableOption.equals( "Replace" ) ) {
 				loader.setISOCtryLangLoaderBehaviour( CFIntSaxLoader.LoaderBehaviourEnum.Replace );
 			}
+			else if( tableOption.equals( "Upsert" ) ) {
+				loader.setISOCtryLangLoaderBehaviour( CFIntSaxLoader.LoaderBehaviourEnum.Upsert );
+			}
 			else {
-				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise <TableName>={*|Insert|Update|Replace}" );
+				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise <TableName>={*|Insert|Update|Replace|Upsert}" );
 			}
 		}
 		else if( tableName.equals( "ISOLang" ) ) {
@@ -523,8 +903,11 @@ public class CFIntSaxLdr
 			else if( tableOption.equals( "Replace" ) ) {
 				loader.setISOLangLoaderBehaviour( CFIntSaxLoader.LoaderBehaviourEnum.Replace );
 			}
+			else if( tableOption.equals( "Upsert" ) ) {
+				loader.setISOLangLoaderBehaviour( CFIntSaxLoader.LoaderBehaviourEnum.Upsert );
+			}
 			else {
-				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise <TableName>={*|Insert|Update|Replace}" );
+				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise <TableName>={*|Insert|Update|Replace|Upsert}" );
 			}
 		}
 		else if( tableName.equals( "ISOTZone" ) ) {
@@ -540,8 +923,11 @@ public class CFIntSaxLdr
 			else if( tableOption.equals( "Replace" ) ) {
 				loader.setISOTZoneLoaderBehaviour( CFIntSaxLoader.LoaderBehaviourEnum.Replace );
 			}
+			else if( tableOption.equals( "Upsert" ) ) {
+				loader.setISOTZoneLoaderBehaviour( CFIntSaxLoader.LoaderBehaviourEnum.Upsert );
+			}
 			else {
-				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise <TableName>={*|Insert|Update|Replace}" );
+				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise <TableName>={*|Insert|Update|Replace|Upsert}" );
 			}
 		}
 		else if( tableName.equals( "License" ) ) {
@@ -557,8 +943,11 @@ public class CFIntSaxLdr
 			else if( tableOption.equals( "Replace" ) ) {
 				loader.setLicenseLoaderBehaviour( CFIntSaxLoader.LoaderBehaviourEnum.Replace );
 			}
+			else if( tableOption.equals( "Upsert" ) ) {
+				loader.setLicenseLoaderBehaviour( CFIntSaxLoader.LoaderBehaviourEnum.Upsert );
+			}
 			else {
-				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise <TableName>={*|Insert|Update|Replace}" );
+				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise <TableName>={*|Insert|Update|Replace|Upsert}" );
 			}
 		}
 		else if( tableName.equals( "MajorVersion" ) ) {
@@ -574,8 +963,11 @@ public class CFIntSaxLdr
 			else if( tableOption.equals( "Replace" ) ) {
 				loader.setMajorVersionLoaderBehaviour( CFIntSaxLoader.LoaderBehaviourEnum.Replace );
 			}
+			else if( tableOption.equals( "Upsert" ) ) {
+				loader.setMajorVersionLoaderBehaviour( CFIntSaxLoader.LoaderBehaviourEnum.Upsert );
+			}
 			else {
-				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise <TableName>={*|Insert|Update|Replace}" );
+				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise <TableName>={*|Insert|Update|Replace|Upsert}" );
 			}
 		}
 		else if( tableName.equals( "MimeType" ) ) {
@@ -591,8 +983,11 @@ public class CFIntSaxLdr
 			else if( tableOption.equals( "Replace" ) ) {
 				loader.setMimeTypeLoaderBehaviour( CFIntSaxLoader.LoaderBehaviourEnum.Replace );
 			}
+			else if( tableOption.equals( "Upsert" ) ) {
+				loader.setMimeTypeLoaderBehaviour( CFIntSaxLoader.LoaderBehaviourEnum.Upsert );
+			}
 			else {
-				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise <TableName>={*|Insert|Update|Replace}" );
+				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise <TableName>={*|Insert|Update|Replace|Upsert}" );
 			}
 		}
 		else if( tableName.equals( "MinorVersion" ) ) {
@@ -608,8 +1003,11 @@ public class CFIntSaxLdr
 			else if( tableOption.equals( "Replace" ) ) {
 				loader.setMinorVersionLoaderBehaviour( CFIntSaxLoader.LoaderBehaviourEnum.Replace );
 			}
+			else if( tableOption.equals( "Upsert" ) ) {
+				loader.setMinorVersionLoaderBehaviour( CFIntSaxLoader.LoaderBehaviourEnum.Upsert );
+			}
 			else {
-				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise <TableName>={*|Insert|Update|Replace}" );
+				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise <TableName>={*|Insert|Update|Replace|Upsert}" );
 			}
 		}
 		else if( tableName.equals( "SecDevice" ) ) {
@@ -625,8 +1023,11 @@ public class CFIntSaxLdr
 			else if( tableOption.equals( "Replace" ) ) {
 				loader.setSecDeviceLoaderBehaviour( CFIntSaxLoader.LoaderBehaviourEnum.Replace );
 			}
+			else if( tableOption.equals( "Upsert" ) ) {
+				loader.setSecDeviceLoaderBehaviour( CFIntSaxLoader.LoaderBehaviourEnum.Upsert );
+			}
 			else {
-				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise <TableName>={*|Insert|Update|Replace}" );
+				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise <TableName>={*|Insert|Update|Replace|Upsert}" );
 			}
 		}
 		else if( tableName.equals( "SecGroup" ) ) {
@@ -642,8 +1043,11 @@ public class CFIntSaxLdr
 			else if( tableOption.equals( "Replace" ) ) {
 				loader.setSecGroupLoaderBehaviour( CFIntSaxLoader.LoaderBehaviourEnum.Replace );
 			}
+			else if( tableOption.equals( "Upsert" ) ) {
+				loader.setSecGroupLoaderBehaviour( CFIntSaxLoader.LoaderBehaviourEnum.Upsert );
+			}
 			else {
-				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise <TableName>={*|Insert|Update|Replace}" );
+				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise <TableName>={*|Insert|Update|Replace|Upsert}" );
 			}
 		}
 		else if( tableName.equals( "SecGrpInc" ) ) {
@@ -659,8 +1063,11 @@ public class CFIntSaxLdr
 			else if( tableOption.equals( "Replace" ) ) {
 				loader.setSecGrpIncLoaderBehaviour( CFIntSaxLoader.LoaderBehaviourEnum.Replace );
 			}
+			else if( tableOption.equals( "Upsert" ) ) {
+				loader.setSecGrpIncLoaderBehaviour( CFIntSaxLoader.LoaderBehaviourEnum.Upsert );
+			}
 			else {
-				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise <TableName>={*|Insert|Update|Replace}" );
+				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise <TableName>={*|Insert|Update|Replace|Upsert}" );
 			}
 		}
 		else if( tableName.equals( "SecGrpMemb" ) ) {
@@ -676,8 +1083,11 @@ public class CFIntSaxLdr
 			else if( tableOption.equals( "Replace" ) ) {
 				loader.setSecGrpMembLoaderBehaviour( CFIntSaxLoader.LoaderBehaviourEnum.Replace );
 			}
+			else if( tableOption.equals( "Upsert" ) ) {
+				loader.setSecGrpMembLoaderBehaviour( CFIntSaxLoader.LoaderBehaviourEnum.Upsert );
+			}
 			else {
-				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise <TableName>={*|Insert|Update|Replace}" );
+				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise <TableName>={*|Insert|Update|Replace|Upsert}" );
 			}
 		}
 		else if( tableName.equals( "SecSession" ) ) {
@@ -693,8 +1103,11 @@ public class CFIntSaxLdr
 			else if( tableOption.equals( "Replace" ) ) {
 				loader.setSecSessionLoaderBehaviour( CFIntSaxLoader.LoaderBehaviourEnum.Replace );
 			}
+			else if( tableOption.equals( "Upsert" ) ) {
+				loader.setSecSessionLoaderBehaviour( CFIntSaxLoader.LoaderBehaviourEnum.Upsert );
+			}
 			else {
-				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise <TableName>={*|Insert|Update|Replace}" );
+				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise <TableName>={*|Insert|Update|Replace|Upsert}" );
 			}
 		}
 		else if( tableName.equals( "SecUser" ) ) {
@@ -710,8 +1123,11 @@ public class CFIntSaxLdr
 			else if( tableOption.equals( "Replace" ) ) {
 				loader.setSecUserLoaderBehaviour( CFIntSaxLoader.LoaderBehaviourEnum.Replace );
 			}
+			else if( tableOption.equals( "Upsert" ) ) {
+				loader.setSecUserLoaderBehaviour( CFIntSaxLoader.LoaderBehaviourEnum.Upsert );
+			}
 			else {
-				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise <TableName>={*|Insert|Update|Replace}" );
+				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise <TableName>={*|Insert|Update|Replace|Upsert}" );
 			}
 		}
 		else if( tableName.equals( "Service" ) ) {
@@ -727,8 +1143,11 @@ public class CFIntSaxLdr
 			else if( tableOption.equals( "Replace" ) ) {
 				loader.setServiceLoaderBehaviour( CFIntSaxLoader.LoaderBehaviourEnum.Replace );
 			}
+			else if( tableOption.equals( "Upsert" ) ) {
+				loader.setServiceLoaderBehaviour( CFIntSaxLoader.LoaderBehaviourEnum.Upsert );
+			}
 			else {
-				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise <TableName>={*|Insert|Update|Replace}" );
+				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise <TableName>={*|Insert|Update|Replace|Upsert}" );
 			}
 		}
 		else if( tableName.equals( "ServiceType" ) ) {
@@ -744,8 +1163,11 @@ public class CFIntSaxLdr
 			else if( tableOption.equals( "Replace" ) ) {
 				loader.setServiceTypeLoaderBehaviour( CFIntSaxLoader.LoaderBehaviourEnum.Replace );
 			}
+			else if( tableOption.equals( "Upsert" ) ) {
+				loader.setServiceTypeLoaderBehaviour( CFIntSaxLoader.LoaderBehaviourEnum.Upsert );
+			}
 			else {
-				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise <TableName>={*|Insert|Update|Replace}" );
+				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise <TableName>={*|Insert|Update|Replace|Upsert}" );
 			}
 		}
 		else if( tableName.equals( "SubProject" ) ) {
@@ -761,8 +1183,11 @@ public class CFIntSaxLdr
 			else if( tableOption.equals( "Replace" ) ) {
 				loader.setSubProjectLoaderBehaviour( CFIntSaxLoader.LoaderBehaviourEnum.Replace );
 			}
+			else if( tableOption.equals( "Upsert" ) ) {
+				loader.setSubProjectLoaderBehaviour( CFIntSaxLoader.LoaderBehaviourEnum.Upsert );
+			}
 			else {
-				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise <TableName>={*|Insert|Update|Replace}" );
+				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise <TableName>={*|Insert|Update|Replace|Upsert}" );
 			}
 		}
 		else if( tableName.equals( "SysCluster" ) ) {
@@ -778,8 +1203,11 @@ public class CFIntSaxLdr
 			else if( tableOption.equals( "Replace" ) ) {
 				loader.setSysClusterLoaderBehaviour( CFIntSaxLoader.LoaderBehaviourEnum.Replace );
 			}
+			else if( tableOption.equals( "Upsert" ) ) {
+				loader.setSysClusterLoaderBehaviour( CFIntSaxLoader.LoaderBehaviourEnum.Upsert );
+			}
 			else {
-				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise <TableName>={*|Insert|Update|Replace}" );
+				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise <TableName>={*|Insert|Update|Replace|Upsert}" );
 			}
 		}
 		else if( tableName.equals( "TSecGroup" ) ) {
@@ -795,8 +1223,11 @@ public class CFIntSaxLdr
 			else if( tableOption.equals( "Replace" ) ) {
 				loader.setTSecGroupLoaderBehaviour( CFIntSaxLoader.LoaderBehaviourEnum.Replace );
 			}
+			else if( tableOption.equals( "Upsert" ) ) {
+				loader.setTSecGroupLoaderBehaviour( CFIntSaxLoader.LoaderBehaviourEnum.Upsert );
+			}
 			else {
-				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise <TableName>={*|Insert|Update|Replace}" );
+				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise <TableName>={*|Insert|Update|Replace|Upsert}" );
 			}
 		}
 		else if( tableName.equals( "TSecGrpInc" ) ) {
@@ -812,8 +1243,11 @@ public class CFIntSaxLdr
 			else if( tableOption.equals( "Replace" ) ) {
 				loader.setTSecGrpIncLoaderBehaviour( CFIntSaxLoader.LoaderBehaviourEnum.Replace );
 			}
+			else if( tableOption.equals( "Upsert" ) ) {
+				loader.setTSecGrpIncLoaderBehaviour( CFIntSaxLoader.LoaderBehaviourEnum.Upsert );
+			}
 			else {
-				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise <TableName>={*|Insert|Update|Replace}" );
+				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise <TableName>={*|Insert|Update|Replace|Upsert}" );
 			}
 		}
 		else if( tableName.equals( "TSecGrpMemb" ) ) {
@@ -829,8 +1263,11 @@ public class CFIntSaxLdr
 			else if( tableOption.equals( "Replace" ) ) {
 				loader.setTSecGrpMembLoaderBehaviour( CFIntSaxLoader.LoaderBehaviourEnum.Replace );
 			}
+			else if( tableOption.equals( "Upsert" ) ) {
+				loader.setTSecGrpMembLoaderBehaviour( CFIntSaxLoader.LoaderBehaviourEnum.Upsert );
+			}
 			else {
-				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise <TableName>={*|Insert|Update|Replace}" );
+				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise <TableName>={*|Insert|Update|Replace|Upsert}" );
 			}
 		}
 		else if( tableName.equals( "Tenant" ) ) {
@@ -846,8 +1283,11 @@ public class CFIntSaxLdr
 			else if( tableOption.equals( "Replace" ) ) {
 				loader.setTenantLoaderBehaviour( CFIntSaxLoader.LoaderBehaviourEnum.Replace );
 			}
+			else if( tableOption.equals( "Upsert" ) ) {
+				loader.setTenantLoaderBehaviour( CFIntSaxLoader.LoaderBehaviourEnum.Upsert );
+			}
 			else {
-				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise <TableName>={*|Insert|Update|Replace}" );
+				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise <TableName>={*|Insert|Update|Replace|Upsert}" );
 			}
 		}
 		else if( tableName.equals( "Tld" ) ) {
@@ -863,8 +1303,11 @@ public class CFIntSaxLdr
 			else if( tableOption.equals( "Replace" ) ) {
 				loader.setTldLoaderBehaviour( CFIntSaxLoader.LoaderBehaviourEnum.Replace );
 			}
+			else if( tableOption.equals( "Upsert" ) ) {
+				loader.setTldLoaderBehaviour( CFIntSaxLoader.LoaderBehaviourEnum.Upsert );
+			}
 			else {
-				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise <TableName>={*|Insert|Update|Replace}" );
+				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise <TableName>={*|Insert|Update|Replace|Upsert}" );
 			}
 		}
 		else if( tableName.equals( "TopDomain" ) ) {
@@ -880,8 +1323,11 @@ public class CFIntSaxLdr
 			else if( tableOption.equals( "Replace" ) ) {
 				loader.setTopDomainLoaderBehaviour( CFIntSaxLoader.LoaderBehaviourEnum.Replace );
 			}
+			else if( tableOption.equals( "Upsert" ) ) {
+				loader.setTopDomainLoaderBehaviour( CFIntSaxLoader.LoaderBehaviourEnum.Upsert );
+			}
 			else {
-				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise <TableName>={*|Insert|Update|Replace}" );
+				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise <TableName>={*|Insert|Update|Replace|Upsert}" );
 			}
 		}
 		else if( tableName.equals( "TopProject" ) ) {
@@ -897,8 +1343,11 @@ public class CFIntSaxLdr
 			else if( tableOption.equals( "Replace" ) ) {
 				loader.setTopProjectLoaderBehaviour( CFIntSaxLoader.LoaderBehaviourEnum.Replace );
 			}
+			else if( tableOption.equals( "Upsert" ) ) {
+				loader.setTopProjectLoaderBehaviour( CFIntSaxLoader.LoaderBehaviourEnum.Upsert );
+			}
 			else {
-				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise <TableName>={*|Insert|Update|Replace}" );
+				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise <TableName>={*|Insert|Update|Replace|Upsert}" );
 			}
 		}
 		else if( tableName.equals( "URLProtocol" ) ) {
@@ -914,12 +1363,15 @@ public class CFIntSaxLdr
 			else if( tableOption.equals( "Replace" ) ) {
 				loader.setURLProtocolLoaderBehaviour( CFIntSaxLoader.LoaderBehaviourEnum.Replace );
 			}
+			else if( tableOption.equals( "Upsert" ) ) {
+				loader.setURLProtocolLoaderBehaviour( CFIntSaxLoader.LoaderBehaviourEnum.Upsert );
+			}
 			else {
-				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise <TableName>={*|Insert|Update|Replace}" );
+				throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise <TableName>={*|Insert|Update|Replace|Upsert}" );
 			}
 		}
 		else {
-			throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise <TableName>={*|Insert|Update|Replace}" );
+			throw new RuntimeException( S_ProcName + "ERROR: Expected segment to comprise <TableName>={*|Insert|Update|Replace|Upsert}" );
 		}
 	}
 
@@ -0,0 +1,299 @@
+// Description: Java 25 XML SAX Parser for CFInt.
+
+/*
+ *	io.github.msobkow.CFInt
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *	
+ *	Mark's Code Fractal 3.1 CFInt - Internet Essentials
+ *	
+ *	This file is part of Mark's Code Fractal CFInt.
+ *	
+ *	Mark's Code Fractal CFInt is available under dual commercial license from
+ *	Mark Stephen Sobkow, or under the terms of the GNU Library General Public License,
+ *	Version 3 or later.
+ *	
+ *	Mark's Code Fractal CFInt is free software: you can redistribute it and/or
+ *	modify it under the terms of the GNU Library General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *	
+ *	Mark's Code Fractal CFInt is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *	
+ *	You should have received a copy of the GNU Library General Public License
+ *	along with Mark's Code Fractal CFInt.  If not, see <https://www.gnu.org/licenses/>.
+ *	
+ *	If you wish to modify and use this code without publishing your changes in order to
+ *	tie it to proprietary code, please contact Mark Stephen Sobkow
+ *	for a commercial license at mark.sobkow@gmail.com
+ *	
+ */
+package io.github.msobkow.v3_1.cfint.cfintsaxloader;
+
+import java.lang.management.ManagementFactory;
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.*;
+import io.github.msobkow.v3_1.cflib.*;
+
+/*
+ *	CFIntSaxLoadMetrics accumulates per table outcome counts and phase
+ *	latencies from a loader.  Latencies are kept as power of two
+ *	histograms, so percentiles are reported as the upper bound of the
+ *	bucket they fall in, which is within a factor of two.
+ *
+ *	The same instance may be shared by several loaders, and may be
+ *	registered as an MBean with register().
+ */
+public class CFIntSaxLoadMetrics
+	implements ICFIntSaxLoadListener,
+		CFIntSaxLoadMetricsMBean
+{
+	public final static String DEFAULT_OBJECT_NAME = "io.github.msobkow.v3_1.cfint.cfintsaxloader:type=CFIntSaxLoadMetrics";
+
+	// Latency histogram of one phase
+
+	public static class Latency {
+		private final AtomicLongArray buckets = new AtomicLongArray( 64 );
+		private final LongAdder count = new LongAdder();
+		private final LongAdder totalNanos = new LongAdder();
+
+		public void record( long nanos ) {
+			if( nanos < 0L ) {
+				nanos = 0L;
+			}
+			buckets.incrementAndGet( 64 - Long.numberOfLeadingZeros( nanos ) - ( ( nanos == 0L ) ? 0 : 1 ) );
+			count.increment();
+			totalNanos.add( nanos );
+		}
+
+		public long getCount() {
+			return( count.sum() );
+		}
+
+		public long getTotalNanos() {
+			return( totalNanos.sum() );
+		}
+
+		public long getPercentileNanos( double percentile ) {
+			long total = getCount();
+			if( total <= 0L ) {
+				return( 0L );
+			}
+			long rank = (long)Math.ceil( total * Math.min( Math.max( percentile, 0.0 ), 100.0 ) / 100.0 );
+			long seen = 0L;
+			for( int idx = 0; idx < 64; idx++ ) {
+				seen += buckets.get( idx );
+				if( seen >= Math.max( rank, 1L ) ) {
+					return( ( idx >= 63 ) ? Long.MAX_VALUE : ( 1L << ( idx + 1 ) ) - 1L );
+				}
+			}
+			return( Long.MAX_VALUE );
+		}
+	}
+
+	// Metrics of one table
+
+	public static class TableMetrics {
+		private final String tableName;
+		private final LongAdder parsed = new LongAdder();
+		private final LongAdder[] outcomes = new LongAdder[ OutcomeEnum.values().length ];
+		private final Latency[] phases = new Latency[ PhaseEnum.values().length ];
+
+		public TableMetrics( String tableName ) {
+			this.tableName = tableName;
+			for( int idx = 0; idx < outcomes.length; idx++ ) {
+				outcomes[idx] = new LongAdder();
+			}
+			for( int idx = 0; idx < phases.length; idx++ ) {
+				phases[idx] = new Latency();
+			}
+		}
+
+		public String getTableName() {
+			return( tableName );
+		}
+
+		public long getParsedCount() {
+			return( parsed.sum() );
+		}
+
+		public long getOutcomeCount( OutcomeEnum outcome ) {
+			return( outcomes[ outcome.ordinal() ].sum() );
+		}
+
+		public Latency getPhase( PhaseEnum phase ) {
+			return( phases[ phase.ordinal() ] );
+		}
+
+		public long getTotalNanos() {
+			long total = 0L;
+			for( Latency phase : phases ) {
+				total += phase.getTotalNanos();
+			}
+			return( total );
+		}
+	}
+
+	private final Map<String,TableMetrics> tables = new ConcurrentSkipListMap<String,TableMetrics>();
+
+	public CFIntSaxLoadMetrics() {
+	}
+
+	public TableMetrics getTableMetrics( String tableName ) {
+		TableMetrics metrics = tables.get( tableName );
+		if( metrics == null ) {
+			metrics = tables.computeIfAbsent( tableName, TableMetrics::new );
+		}
+		return( metrics );
+	}
+
+	// Tables ordered by descending total time
+
+	public List<TableMetrics> getTableMetricsByTime() {
+		List<TableMetrics> byTime = new ArrayList<TableMetrics>( tables.values() );
+		byTime.sort( Comparator.comparingLong( TableMetrics::getTotalNanos ).reversed() );
+		return( byTime );
+	}
+
+	// ICFIntSaxLoadListener
+
+	public void elementLoaded( String tableName, OutcomeEnum outcome ) {
+		TableMetrics metrics = getTableMetrics( tableName );
+		metrics.parsed.increment();
+		metrics.outcomes[ outcome.ordinal() ].increment();
+	}
+
+	public void phaseTimed( String tableName, PhaseEnum phase, long nanos ) {
+		getTableMetrics( tableName ).phases[ phase.ordinal() ].record( nanos );
+	}
+
+	// CFIntSaxLoadMetricsMBean
+
+	public String[] getTableNames() {
+		return( tables.keySet().toArray( new String[0] ) );
+	}
+
+	public long getParsedCount() {
+		long total = 0L;
+		for( TableMetrics metrics : tables.values() ) {
+			total += metrics.getParsedCount();
+		}
+		return( total );
+	}
+
+	public long getParsedCount( String tableName ) {
+		TableMetrics metrics = tables.get( tableName );
+		return( ( metrics == null ) ? 0L : metrics.getParsedCount() );
+	}
+
+	public long getOutcomeCount( String tableName, String outcome ) {
+		final String S_ProcName = "getOutcomeCount";
+		OutcomeEnum outcomeEnum;
+		try {
+			outcomeEnum = OutcomeEnum.valueOf( outcome );
+		}
+		catch( IllegalArgumentException | NullPointerException e ) {
+			throw new CFLibUsageException( getClass(),
+				S_ProcName,
+				"Outcome must be one of " + Arrays.toString( OutcomeEnum.values() ),
+				"Outcome must be one of " + Arrays.toString( OutcomeEnum.values() ) );
+		}
+		TableMetrics metrics = tables.get( tableName );
+		return( ( metrics == null ) ? 0L : metrics.getOutcomeCount( outcomeEnum ) );
+	}
+
+	public long getPhaseTotalNanos( String tableName, String phase ) {
+		Latency latency = getLatency( "getPhaseTotalNanos", tableName, phase );
+		return( ( latency == null ) ? 0L : latency.getTotalNanos() );
+	}
+
+	public long getPhasePercentileNanos( String tableName, String phase, double percentile ) {
+		Latency latency = getLatency( "getPhasePercentileNanos", tableName, phase );
+		return( ( latency == null ) ? 0L : latency.getPercentileNanos( percentile ) );
+	}
+
+	protected Latency getLatency( String S_ProcName, String tableName, String phase ) {
+		PhaseEnum phaseEnum;
+		try {
+			phaseEnum = PhaseEnum.valueOf( phase );
+		}
+		catch( IllegalArgumentException | NullPointerException e ) {
+			throw new CFLibUsageException( getClass(),
+				S_ProcName,
+				"Phase must be one of " + Arrays.toString( PhaseEnum.values() ),
+				"Phase must be one of " + Arrays.toString( PhaseEnum.values() ) );
+		}
+		TableMetrics metrics = tables.get( tableName );
+		return( ( metrics == null ) ? null : metrics.getPhase( phaseEnum ) );
+	}
+
+	// One line per table, busiest first
+
+	public String[] getReport() {
+		List<TableMetrics> byTime = getTableMetricsByTime();
+		String[] report = new String[ byTime.size() ];
+		for( int idx = 0; idx < report.length; idx++ ) {
+			report[idx] = formatLine( byTime.get( idx ) );
+		}
+		return( report );
+	}
+
+	public static String formatLine( TableMetrics metrics ) {
+		StringBuilder buff = new StringBuilder();
+		buff.append( metrics.getTableName() )
+			.append( " parsed=" ).append( metrics.getParsedCount() );
+		for( OutcomeEnum outcome : OutcomeEnum.values() ) {
+			buff.append( ' ' ).append( outcome.name().toLowerCase() ).append( '=' ).append( metrics.getOutcomeCount( outcome ) );
+		}
+		for( PhaseEnum phase : PhaseEnum.values() ) {
+			Latency latency = metrics.getPhase( phase );
+			buff.append( ' ' ).append( phase.name().toLowerCase() )
+				.append( "[total=" ).append( latency.getTotalNanos() / 1000000L ).append( "ms" )
+				.append( " p50=" ).append( latency.getPercentileNanos( 50.0 ) / 1000L ).append( "us" )
+				.append( " p99=" ).append( latency.getPercentileNanos( 99.0 ) / 1000L ).append( "us]" );
+		}
+		return( buff.toString() );
+	}
+
+	public void reset() {
+		tables.clear();
+	}
+
+	// JMX registration
+
+	public ObjectName register() {
+		return( register( DEFAULT_OBJECT_NAME ) );
+	}
+
+	public ObjectName register( String objectName ) {
+		final String S_ProcName = "register";
+		try {
+			ObjectName name = new ObjectName( objectName );
+			ManagementFactory.getPlatformMBeanServer().registerMBean( this, name );
+			return( name );
+		}
+		catch( JMException e ) {
+			throw new RuntimeException( S_ProcName + "() ERROR: Registering " + objectName + ": " + e.getMessage(),
+				e );
+		}
+	}
+
+	public void unregister( ObjectName name ) {
+		final String S_ProcName = "unregister";
+		try {
+			ManagementFactory.getPlatformMBeanServer().unregisterMBean( name );
+		}
+		catch( InstanceNotFoundException e ) {
+		}
+		catch( JMException e ) {
+			throw new RuntimeException( S_ProcName + "() ERROR: Unregistering " + name + ": " + e.getMessage(),
+				e );
+		}
+	}
+}
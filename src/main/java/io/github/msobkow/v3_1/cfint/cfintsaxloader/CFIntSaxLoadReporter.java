@@ -0,0 +1,99 @@
+// Description: Java 25 XML SAX Parser for CFInt.
+
+/*
+ *	io.github.msobkow.CFInt
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *	
+ *	Mark's Code Fractal 3.1 CFInt - Internet Essentials
+ *	
+ *	This file is part of Mark's Code Fractal CFInt.
+ *	
+ *	Mark's Code Fractal CFInt is available under dual commercial license from
+ *	Mark Stephen Sobkow, or under the terms of the GNU Library General Public License,
+ *	Version 3 or later.
+ *	
+ *	Mark's Code Fractal CFInt is free software: you can redistribute it and/or
+ *	modify it under the terms of the GNU Library General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *	
+ *	Mark's Code Fractal CFInt is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *	
+ *	You should have received a copy of the GNU Library General Public License
+ *	along with Mark's Code Fractal CFInt.  If not, see <https://www.gnu.org/licenses/>.
+ *	
+ *	If you wish to modify and use this code without publishing your changes in order to
+ *	tie it to proprietary code, please contact Mark Stephen Sobkow
+ *	for a commercial license at mark.sobkow@gmail.com
+ *	
+ */
+package io.github.msobkow.v3_1.cfint.cfintsaxloader;
+
+import java.util.concurrent.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import io.github.msobkow.v3_1.cflib.*;
+
+/*
+ *	CFIntSaxLoadReporter periodically logs one line per table of a
+ *	CFIntSaxLoadMetrics, busiest table first, on a daemon thread.
+ */
+public class CFIntSaxLoadReporter
+{
+	private final static Logger log = LoggerFactory.getLogger( CFIntSaxLoadReporter.class );
+
+	private final CFIntSaxLoadMetrics metrics;
+	private ScheduledExecutorService scheduler = null;
+
+	public CFIntSaxLoadReporter( CFIntSaxLoadMetrics metrics ) {
+		final String S_ProcName = "construct";
+		if( metrics == null ) {
+			throw new CFLibNullArgumentException( getClass(),
+				S_ProcName,
+				1,
+				"metrics" );
+		}
+		this.metrics = metrics;
+	}
+
+	public CFIntSaxLoadMetrics getMetrics() {
+		return( metrics );
+	}
+
+	public synchronized void start( long periodMillis ) {
+		final String S_ProcName = "start";
+		if( periodMillis <= 0L ) {
+			throw new CFLibUsageException( getClass(),
+				S_ProcName,
+				"Period must be greater than zero",
+				"Period must be greater than zero" );
+		}
+		stop();
+		scheduler = Executors.newSingleThreadScheduledExecutor( runnable -> {
+			Thread thread = new Thread( runnable, "CFIntSaxLoadReporter" );
+			thread.setDaemon( true );
+			return( thread );
+		} );
+		scheduler.scheduleAtFixedRate( () -> report(), periodMillis, periodMillis, TimeUnit.MILLISECONDS );
+	}
+
+	public synchronized void stop() {
+		if( scheduler != null ) {
+			scheduler.shutdownNow();
+			scheduler = null;
+		}
+	}
+
+	public void report() {
+		if( ! log.isInfoEnabled() ) {
+			return;
+		}
+		for( String line : metrics.getReport() ) {
+			log.info( line );
+		}
+	}
+}
@@ -34,18 +34,39 @@
 
 package io.github.msobkow.v3_1.cfint.cfintsaxloader;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.InputStream;
+import java.io.Reader;
 import java.lang.reflect.*;
 import java.math.*;
+import java.io.IOException;
+import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.net.URLConnection;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
 import java.sql.*;
 import java.text.*;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.function.Supplier;
 import javax.naming.*;
 import javax.sql.*;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
 import org.apache.commons.codec.binary.Base64;
 import org.xml.sax.*;
 
@@ -101,11 +122,15 @@ public class CFIntSaxLoader
 	}
 
 	// Loader behaviour configuration attributes
+	//
+	// Replace deletes an existing row and creates it anew; Upsert overwrites
+	// it in place, keeping its primary key and the rows that reference it.
 
 	public enum LoaderBehaviourEnum {
 		Insert,
 		Update,
-		Replace
+		Replace,
+		Upsert
 	};
 	private LoaderBehaviourEnum clusterLoaderBehaviour = LoaderBehaviourEnum.Insert;
 	private LoaderBehaviourEnum hostNodeLoaderBehaviour = LoaderBehaviourEnum.Update;
@@ -138,6 +163,146 @@ public class CFIntSaxLoader
 	private LoaderBehaviourEnum topProjectLoaderBehaviour = LoaderBehaviourEnum.Update;
 	private LoaderBehaviourEnum uRLProtocolLoaderBehaviour = LoaderBehaviourEnum.Update;
 
+	// Write batching configuration attributes
+
+	private boolean writeBatchEnabled = false;
+	private CFIntSaxWriteBatch writeBatch = new CFIntSaxWriteBatch();
+
+	// Write pipeline configuration attributes
+
+	private boolean writePipelineEnabled = false;
+	private int writePipelineCapacity = CFIntSaxWritePipeline.DEFAULT_CAPACITY;
+	private CFIntSaxWritePipeline writePipeline = null;
+	private Map<Object,CFIntSaxPendingRow> inFlightByEditObj = new IdentityHashMap<Object,CFIntSaxPendingRow>();
+	private Map<String,Map<Object,CFIntSaxPendingRow>> inFlightByKey = new HashMap<String,Map<Object,CFIntSaxPendingRow>>();
+	private ReentrantLock schemaLock = new ReentrantLock();
+
+	// Reference cache configuration attributes
+
+	private boolean refCacheEnabled = false;
+	private CFIntSaxRefCache refCache = new CFIntSaxRefCache();
+	private Set<String> refCachePrewarmTables = new LinkedHashSet<String>();
+
+	// Update behaviour attributes
+
+	private boolean skipUnchangedUpdates = true;
+	private Map<String,Long> unchangedUpdateCounts = new TreeMap<String,Long>();
+	private Map<String,Long> updateCounts = new TreeMap<String,Long>();
+
+	// Commit policy attributes
+
+	private ICFIntSaxCommitHooks commitHooks = null;
+	private int commitEveryRows = 0;
+	private long commitEveryMillis = 0L;
+	private boolean commitPerTopLevelElement = false;
+	private boolean transactionOpen = false;
+	private int rowsSinceCommit = 0;
+	private long lastCommitMillis = 0L;
+	private long commitCount = 0L;
+
+	// Checkpoint attributes
+
+	private File checkpointFile = null;
+	private boolean resumeFromCheckpoint = false;
+	private CFIntSaxCheckpoint resumeCheckpoint = null;
+	private boolean replayingContainer = false;
+	private long elementOrdinal = 0L;
+	private Object elementNaturalKey = null;
+	private Deque<OpenElement> openElements = new ArrayDeque<OpenElement>();
+
+	// An element that has started but not yet ended
+
+	private static class OpenElement {
+		final long ordinal;
+		final String elementName;
+		String naturalKey = null;
+		boolean dispatched = true;
+		String tableName = null;
+		ICFIntSaxLoadListener.OutcomeEnum outcome = null;
+		long lookupNanos = 0L;
+		long writeNanos = 0L;
+
+		OpenElement( long ordinal, String elementName ) {
+			this.ordinal = ordinal;
+			this.elementName = elementName;
+		}
+	}
+
+	// Pre-scan attributes
+
+	private final static Object NULL_ROW = new Object();
+	private boolean preScanEnabled = false;
+	private Map<String,Map<Object,Object>> preScanRows = new HashMap<String,Map<Object,Object>>();
+
+	// Load listeners
+
+	private List<ICFIntSaxLoadListener> loadListeners = new CopyOnWriteArrayList<ICFIntSaxLoadListener>();
+
+	// Progress reporting attributes
+
+	public final static long DEFAULT_PROGRESS_INTERVAL_MILLIS = 10000L;
+	private List<ICFIntSaxProgressListener> progressListeners = new CopyOnWriteArrayList<ICFIntSaxProgressListener>();
+	private long progressIntervalMillis = DEFAULT_PROGRESS_INTERVAL_MILLIS;
+	private CFIntSaxCountingInputStream progressStream = null;
+	private long progressTotalBytes = -1L;
+	private long progressStartMillis = 0L;
+	private long lastProgressMillis = 0L;
+	private long lastProgressElements = 0L;
+	private long progressElements = 0L;
+	private Map<String,Long> progressElementCounts = new HashMap<String,Long>();
+
+	// Stream parsing attributes
+
+	public final static int DEFAULT_READ_BUFFER_SIZE = 256 * 1024;
+	private int readBufferSize = DEFAULT_READ_BUFFER_SIZE;
+	private boolean mappedInput = false;
+	private long mappedSegmentSize = CFIntSaxMappedInputStream.DEFAULT_SEGMENT_SIZE;
+
+	// Validation attributes
+
+	private static SAXParserFactory trustedParserFactory = null;
+	private static SAXParserFactory validatingParserFactory = null;
+	private boolean trustedInput = false;
+	private SAXParser saxParser = null;
+	private boolean saxParserTrusted = false;
+
+	// Compressed input attributes
+
+	public final static String DEFAULT_ZIP_ENTRY_GLOB = "*.xml";
+	private boolean decompressInput = true;
+	private boolean decompressOnThread = true;
+	private String zipEntryGlob = DEFAULT_ZIP_ENTRY_GLOB;
+	private String checkpointDocument = null;
+
+	// Lean context attributes
+
+	private boolean leanContext = false;
+	private Map<String,Set<String>> contextAttrs = new HashMap<String,Set<String>>();
+
+	// Attribute interning attributes
+
+	private boolean attrInterning = false;
+	private int attrInternerCapacity = CFIntSaxAttrInterner.DEFAULT_CAPACITY;
+	private Map<String,CFIntSaxAttrInterner> attrInterners = new LinkedHashMap<String,CFIntSaxAttrInterner>();
+
+	// Parallel subtree attributes
+
+	private int parallelSubtreeWorkers = 0;
+	private int parallelSubtreeBacklog = CFIntSaxSubtreeScheduler.DEFAULT_BACKLOG;
+	private CFIntSaxSubtreeScheduler subtreeScheduler = null;
+	private Supplier<ICFIntSchemaObj> workerSchemaFactory = null;
+	private Locator documentLocator = null;
+
+	// Element metadata declared by the element handlers
+
+	private Map<String,String[]> elementKeyAttrs = new HashMap<String,String[]>();
+	private Map<String,String[]> elementReferences = new HashMap<String,String[]>();
+	private ICFLibMessageLog messageLog = null;
+
+	// Element nesting depth of the document being parsed
+
+	private int elementDepth = 0;
+
 
 	// Constructors
 
@@ -149,6 +314,7 @@ public class CFIntSaxLoader
 
 	public CFIntSaxLoader( ICFLibMessageLog logger ) {
 		super( logger );
+		messageLog = logger;
 		setRootElementHandler( getSaxRootHandler() );
 		initParser();
 	}
@@ -201,6 +367,12 @@ public class CFIntSaxLoader
 		schemaObj = value;
 	}
 
+	// The lock held around every schema call; see readExisting()
+
+	public ReentrantLock getSchemaLock() {
+		return( schemaLock );
+	}
+
 	// Element Handler Resolver Factories
 
 	protected CFIntSaxLoaderCluster getClusterHandler() {
@@ -493,6 +665,14 @@ public class CFIntSaxLoader
 		}
 	}
 
+	// The behaviour a handler applies for a configured behaviour.  While a
+	// checkpoint resume replays a container element that was already
+	// loaded, the element is only looked up, never written again.
+
+	public LoaderBehaviourEnum effectiveBehaviour( LoaderBehaviourEnum configured ) {
+		return( replayingContainer ? LoaderBehaviourEnum.Insert : configured );
+	}
+
 	// Loader behaviour configuration accessors
 
 	public LoaderBehaviourEnum getClusterLoaderBehaviour() {
@@ -735,9 +915,2246 @@ public class CFIntSaxLoader
 		uRLProtocolLoaderBehaviour = value;
 	}
 
-	// Parse a file
+	// Write batching configuration accessors
 
-	public void parseFile( String url ) {
-		parse( url );
+	public boolean isWriteBatchEnabled() {
+		return( writeBatchEnabled );
+	}
+
+	public void setWriteBatchEnabled( boolean value ) {
+		writeBatchEnabled = value;
+	}
+
+	public int getWriteBatchMaxRows() {
+		return( writeBatch.getMaxRows() );
+	}
+
+	public void setWriteBatchMaxRows( int value ) {
+		writeBatch.setMaxRows( value );
+	}
+
+	public long getWriteBatchMaxBytes() {
+		return( writeBatch.getMaxBytes() );
+	}
+
+	public void setWriteBatchMaxBytes( long value ) {
+		writeBatch.setMaxBytes( value );
+	}
+
+	// Write pipeline configuration accessors
+	//
+	// Pipelined writes run on one writer thread, while commit hooks
+	// bracket transactions on the parse thread, so the two cannot be
+	// combined.  The writer shares the schema lock with the parse thread,
+	// so the pipeline only moves writes off the parse thread; see
+	// CFIntSaxWritePipeline.
+
+	public boolean isWritePipelineEnabled() {
+		return( writePipelineEnabled );
+	}
+
+	public void setWritePipelineEnabled( boolean value ) {
+		final String S_ProcName = "setWritePipelineEnabled";
+		if( value && ( commitHooks != null ) ) {
+			throw new CFLibUsageException( getClass(),
+				S_ProcName,
+				"The write pipeline cannot be enabled while commit hooks are installed",
+				"The write pipeline cannot be enabled while commit hooks are installed" );
+		}
+		writePipelineEnabled = value;
+	}
+
+	public int getWritePipelineCapacity() {
+		return( writePipelineCapacity );
+	}
+
+	public void setWritePipelineCapacity( int value ) {
+		writePipelineCapacity = value;
+	}
+
+	// Reference cache configuration accessors
+	//
+	// The cache is off unless enabled.  Its entries only live for one
+	// load: load() clears it before parsing, so rows changed between loads
+	// by anything but this loader are never answered from stale entries.
+
+	public boolean isRefCacheEnabled() {
+		return( refCacheEnabled );
+	}
+
+	public void setRefCacheEnabled( boolean value ) {
+		refCacheEnabled = value;
+	}
+
+	public CFIntSaxRefCache getRefCache() {
+		return( refCache );
+	}
+
+	public void setRefCache( CFIntSaxRefCache value ) {
+		final String S_ProcName = "setRefCache";
+		if( value == null ) {
+			throw new CFLibNullArgumentException( getClass(),
+				S_ProcName,
+				1,
+				"value" );
+		}
+		refCache = value;
+	}
+
+	public int getRefCacheMaxEntries() {
+		return( refCache.getMaxEntries() );
+	}
+
+	public void setRefCacheMaxEntries( int value ) {
+		refCache.setMaxEntries( value );
+	}
+
+	public Set<String> getRefCachePrewarmTables() {
+		return( Collections.unmodifiableSet( refCachePrewarmTables ) );
+	}
+
+	// Pre-warming reads every row of a table when the document starts.
+	// Only the small lookup tables resolved by unscoped references can be
+	// pre-warmed: ServiceType, ISOCcy, ISOLang and SecUser.
+
+	public void addRefCachePrewarmTable( String tableName ) {
+		final String S_ProcName = "addRefCachePrewarmTable";
+		if( ( tableName == null ) || ( tableName.length() <= 0 ) ) {
+			throw new CFLibNullArgumentException( getClass(),
+				S_ProcName,
+				1,
+				"tableName" );
+		}
+		if( ! ( tableName.equals( "ServiceType" )
+			|| tableName.equals( "ISOCcy" )
+			|| tableName.equals( "ISOLang" )
+			|| tableName.equals( "SecUser" ) ) )
+		{
+			throw new CFLibUsageException( getClass(),
+				S_ProcName,
+				"Table " + tableName + " cannot be pre-warmed",
+				"Table " + tableName + " cannot be pre-warmed" );
+		}
+		refCachePrewarmTables.add( tableName );
+	}
+
+	public void clearRefCachePrewarmTables() {
+		refCachePrewarmTables.clear();
+	}
+
+	// Load the pre-warm tables into the reference cache
+
+	public void prewarmRefCache() {
+		if( schemaObj == null ) {
+			return;
+		}
+		schemaLock.lock();
+		try {
+			for( String tableName : refCachePrewarmTables ) {
+				if( tableName.equals( "ServiceType" ) ) {
+					for( Object obj : schemaObj.getServiceTypeTableObj().readAllServiceType() ) {
+						ICFIntServiceTypeObj serviceType = (ICFIntServiceTypeObj)obj;
+						refCache.put( "ServiceType", naturalKey( serviceType.getRequiredDescription() ), serviceType );
+					}
+				}
+				else if( tableName.equals( "ISOCcy" ) ) {
+					for( Object obj : schemaObj.getISOCcyTableObj().readAllISOCcy() ) {
+						ICFIntISOCcyObj isoCcy = (ICFIntISOCcyObj)obj;
+						refCache.put( "ISOCcy", naturalKey( isoCcy.getRequiredISOCode() ), isoCcy );
+					}
+				}
+				else if( tableName.equals( "ISOLang" ) ) {
+					for( Object obj : schemaObj.getISOLangTableObj().readAllISOLang() ) {
+						ICFIntISOLangObj isoLang = (ICFIntISOLangObj)obj;
+						refCache.put( "ISOLang", naturalKey( isoLang.getRequiredISO6392Code() ), isoLang );
+					}
+				}
+				else if( tableName.equals( "SecUser" ) ) {
+					for( Object obj : schemaObj.getSecUserTableObj().readAllSecUser() ) {
+						ICFIntSecUserObj secUser = (ICFIntSecUserObj)obj;
+						refCache.put( "SecUser", naturalKey( secUser.getRequiredLoginId() ), secUser );
+					}
+				}
+			}
+		}
+		finally {
+			schemaLock.unlock();
+		}
+	}
+
+	// Update behaviour accessors
+	//
+	// With skipUnchangedUpdates set, the Update behaviour compares each
+	// parsed row to the existing row and leaves equal rows untouched.
+
+	public boolean isSkipUnchangedUpdates() {
+		return( skipUnchangedUpdates );
+	}
+
+	public void setSkipUnchangedUpdates( boolean value ) {
+		skipUnchangedUpdates = value;
+	}
+
+	public void countUnchangedUpdate( String tableName ) {
+		unchangedUpdateCounts.merge( tableName, 1L, Long::sum );
+	}
+
+	public long getUnchangedUpdateCount( String tableName ) {
+		Long count = unchangedUpdateCounts.get( tableName );
+		return( ( count == null ) ? 0L : count.longValue() );
+	}
+
+	public long getUpdateCount( String tableName ) {
+		Long count = updateCounts.get( tableName );
+		return( ( count == null ) ? 0L : count.longValue() );
+	}
+
+	public Map<String,Long> getUnchangedUpdateCounts() {
+		return( Collections.unmodifiableMap( unchangedUpdateCounts ) );
+	}
+
+	public Map<String,Long> getUpdateCounts() {
+		return( Collections.unmodifiableMap( updateCounts ) );
+	}
+
+	public void resetUpdateCounts() {
+		unchangedUpdateCounts.clear();
+		updateCounts.clear();
+	}
+
+	// Add the update counts of another loader to this one's
+
+	public void addUpdateCounts( CFIntSaxLoader other ) {
+		for( Map.Entry<String,Long> entry : other.getUnchangedUpdateCounts().entrySet() ) {
+			unchangedUpdateCounts.merge( entry.getKey(), entry.getValue(), Long::sum );
+		}
+		for( Map.Entry<String,Long> entry : other.getUpdateCounts().entrySet() ) {
+			updateCounts.merge( entry.getKey(), entry.getValue(), Long::sum );
+		}
+	}
+
+	// Load listener accessors
+	//
+	// Listeners are told the outcome of every row element and how long
+	// its parse, lookup and write phases took.  Nothing is timed while
+	// there are no listeners.
+
+	public void addLoadListener( ICFIntSaxLoadListener listener ) {
+		final String S_ProcName = "addLoadListener";
+		if( listener == null ) {
+			throw new CFLibNullArgumentException( getClass(),
+				S_ProcName,
+				1,
+				"listener" );
+		}
+		loadListeners.add( listener );
+	}
+
+	public void removeLoadListener( ICFIntSaxLoadListener listener ) {
+		loadListeners.remove( listener );
+	}
+
+	public List<ICFIntSaxLoadListener> getLoadListeners() {
+		return( Collections.unmodifiableList( loadListeners ) );
+	}
+
+	// Note a row operation of the current element.  The first table an
+	// element reads by unique index or writes is the table it loads.
+
+	protected void noteElementRow( String tableName, ICFIntSaxLoadListener.OutcomeEnum outcome ) {
+		OpenElement openElement = openElements.peek();
+		if( openElement == null ) {
+			return;
+		}
+		if( openElement.tableName == null ) {
+			openElement.tableName = tableName;
+		}
+		if( ( outcome == null ) || ! tableName.equals( openElement.tableName ) ) {
+			return;
+		}
+		if( ( outcome == ICFIntSaxLoadListener.OutcomeEnum.Inserted )
+			&& ( openElement.outcome == ICFIntSaxLoadListener.OutcomeEnum.Replaced ) )
+		{
+			return;
+		}
+		openElement.outcome = outcome;
+	}
+
+	private void fireElementLoaded( OpenElement openElement, long startNanos, boolean failed ) {
+		if( ( startNanos == 0L ) || loadListeners.isEmpty() ) {
+			return;
+		}
+		String tableName = openElement.tableName;
+		if( tableName == null ) {
+			if( ! failed ) {
+				return;
+			}
+			tableName = openElement.elementName;
+		}
+		ICFIntSaxLoadListener.OutcomeEnum outcome = elementOutcome( openElement, failed );
+		long parseNanos = System.nanoTime() - startNanos - openElement.lookupNanos - openElement.writeNanos;
+		for( ICFIntSaxLoadListener listener : loadListeners ) {
+			listener.phaseTimed( tableName, ICFIntSaxLoadListener.PhaseEnum.Parse, Math.max( parseNanos, 0L ) );
+			if( openElement.lookupNanos > 0L ) {
+				listener.phaseTimed( tableName, ICFIntSaxLoadListener.PhaseEnum.Lookup, openElement.lookupNanos );
+			}
+			if( openElement.writeNanos > 0L ) {
+				listener.phaseTimed( tableName, ICFIntSaxLoadListener.PhaseEnum.Write, openElement.writeNanos );
+			}
+			listener.elementLoaded( tableName, outcome );
+		}
+	}
+
+	private ICFIntSaxLoadListener.OutcomeEnum elementOutcome( OpenElement openElement, boolean failed ) {
+		if( failed ) {
+			return( ICFIntSaxLoadListener.OutcomeEnum.Failed );
+		}
+		else if( openElement.outcome == null ) {
+			return( ICFIntSaxLoadListener.OutcomeEnum.Skipped );
+		}
+		return( openElement.outcome );
+	}
+
+	private void finishElementEvent( CFIntSaxElementEvent elementEvent, OpenElement openElement, boolean failed ) {
+		elementEvent.finish( openElement.elementName,
+			openElement.tableName,
+			( openElement.tableName == null ) ? null : elementOutcome( openElement, failed ).name(),
+			( elementNaturalKey == null ) ? null : elementNaturalKey.toString(),
+			openElement.ordinal );
+	}
+
+	protected long startTiming() {
+		return( loadListeners.isEmpty() ? 0L : System.nanoTime() );
+	}
+
+	protected void endLookupTiming( long startNanos ) {
+		OpenElement openElement = openElements.peek();
+		if( ( startNanos != 0L ) && ( openElement != null ) ) {
+			openElement.lookupNanos += System.nanoTime() - startNanos;
+		}
+	}
+
+	protected void endWriteTiming( long startNanos ) {
+		OpenElement openElement = openElements.peek();
+		if( ( startNanos != 0L ) && ( openElement != null ) ) {
+			openElement.writeNanos += System.nanoTime() - startNanos;
+		}
+	}
+
+	// Progress reporting accessors
+	//
+	// Every document is read through a counting stream so the bytes
+	// consumed can be reported.
+
+	public void addProgressListener( ICFIntSaxProgressListener listener ) {
+		final String S_ProcName = "addProgressListener";
+		if( listener == null ) {
+			throw new CFLibNullArgumentException( getClass(),
+				S_ProcName,
+				1,
+				"listener" );
+		}
+		progressListeners.add( listener );
+	}
+
+	public void removeProgressListener( ICFIntSaxProgressListener listener ) {
+		progressListeners.remove( listener );
+	}
+
+	public long getProgressIntervalMillis() {
+		return( progressIntervalMillis );
+	}
+
+	public void setProgressIntervalMillis( long value ) {
+		final String S_ProcName = "setProgressIntervalMillis";
+		if( value <= 0L ) {
+			throw new CFLibUsageException( getClass(),
+				S_ProcName,
+				"Progress interval must be greater than zero",
+				"Progress interval must be greater than zero" );
+		}
+		progressIntervalMillis = value;
+	}
+
+	public CFIntSaxProgress getProgress() {
+		return( snapshotProgress( false ) );
+	}
+
+	protected InputStream beginProgress( InputStream in, long totalBytes ) {
+		progressStream = ( in == null ) ? null : new CFIntSaxCountingInputStream( in );
+		progressTotalBytes = totalBytes;
+		progressStartMillis = System.currentTimeMillis();
+		lastProgressMillis = progressStartMillis;
+		lastProgressElements = 0L;
+		progressElements = 0L;
+		progressElementCounts.clear();
+		return( progressStream );
+	}
+
+	protected void endProgress() {
+		progressStream = null;
+		progressTotalBytes = -1L;
+	}
+
+	protected void noteProgress( String elementName ) {
+		progressElements++;
+		progressElementCounts.merge( elementName, 1L, Long::sum );
+		if( System.currentTimeMillis() - lastProgressMillis >= progressIntervalMillis ) {
+			fireProgress( false );
+		}
+	}
+
+	protected CFIntSaxProgress snapshotProgress( boolean finished ) {
+		long now = System.currentTimeMillis();
+		long sinceLast = now - lastProgressMillis;
+		double elementsPerSecond = ( sinceLast > 0L )
+			? ( progressElements - lastProgressElements ) * 1000.0 / sinceLast
+			: 0.0;
+		return( new CFIntSaxProgress( ( progressStream == null ) ? 0L : progressStream.getBytesRead(),
+			progressTotalBytes,
+			now - progressStartMillis,
+			progressElements,
+			elementsPerSecond,
+			progressElementCounts,
+			finished ) );
+	}
+
+	protected void fireProgress( boolean finished ) {
+		CFIntSaxProgress progress = snapshotProgress( finished );
+		lastProgressMillis = System.currentTimeMillis();
+		lastProgressElements = progressElements;
+		for( ICFIntSaxProgressListener listener : progressListeners ) {
+			listener.progress( progress );
+		}
+	}
+
+	// Stream parsing accessors
+	//
+	// Documents parsed from a stream, reader, path or channel are read
+	// through a buffer of readBufferSize bytes, or characters for a reader.
+
+	public int getReadBufferSize() {
+		return( readBufferSize );
+	}
+
+	public void setReadBufferSize( int value ) {
+		final String S_ProcName = "setReadBufferSize";
+		if( value < 1 ) {
+			throw new CFLibUsageException( getClass(),
+				S_ProcName,
+				"Read buffer size must be at least 1",
+				"Read buffer size must be at least 1" );
+		}
+		readBufferSize = value;
+	}
+
+	// With mappedInput set, parseFile(Path) reads the file through memory
+	// mapped segments of mappedSegmentSize bytes instead of a buffered
+	// stream.
+
+	public boolean isMappedInput() {
+		return( mappedInput );
+	}
+
+	public void setMappedInput( boolean value ) {
+		mappedInput = value;
+	}
+
+	public long getMappedSegmentSize() {
+		return( mappedSegmentSize );
+	}
+
+	public void setMappedSegmentSize( long value ) {
+		final String S_ProcName = "setMappedSegmentSize";
+		if( ( value < 1L ) || ( value > Integer.MAX_VALUE ) ) {
+			throw new CFLibUsageException( getClass(),
+				S_ProcName,
+				"Mapped segment size must be between 1 and " + Integer.MAX_VALUE,
+				"Mapped segment size must be between 1 and " + Integer.MAX_VALUE );
+		}
+		mappedSegmentSize = value;
+	}
+
+	// Validation accessors
+	//
+	// Documents are validated against the CFSec and CFInt schemas that
+	// CFIntSaxSchemaPool compiles once per process, and any validation
+	// error fails the load.  Input known to be valid, such as documents
+	// this loader's own tools generated, can be marked trusted to skip
+	// validation.
+
+	public boolean isTrustedInput() {
+		return( trustedInput );
+	}
+
+	public void setTrustedInput( boolean value ) {
+		trustedInput = value;
+	}
+
+	// Lean context accessors
+	//
+	// By default each handler saves every attribute of its element to the
+	// element's context.  Child handlers only read back the "Object"
+	// entry, so in lean context mode the handlers save the "Object" alone,
+	// plus the attributes an extension registers with addContextAttr().
+	// The handlers test isLeanContext() before saving anything, so a lean
+	// load builds no attribute list for elements with nothing registered.
+	// The contexts themselves belong to CFLibXmlCoreSaxParser.
+
+	public boolean isLeanContext() {
+		return( leanContext );
+	}
+
+	public void setLeanContext( boolean value ) {
+		leanContext = value;
+	}
+
+	public void addContextAttr( String elementName, String attrName ) {
+		final String S_ProcName = "addContextAttr";
+		if( ( elementName == null ) || ( elementName.length() <= 0 ) ) {
+			throw new CFLibNullArgumentException( getClass(),
+				S_ProcName,
+				1,
+				"elementName" );
+		}
+		if( ( attrName == null ) || ( attrName.length() <= 0 ) ) {
+			throw new CFLibNullArgumentException( getClass(),
+				S_ProcName,
+				2,
+				"attrName" );
+		}
+		Set<String> attrNames = contextAttrs.get( elementName );
+		if( attrNames == null ) {
+			attrNames = new LinkedHashSet<String>();
+			contextAttrs.put( elementName, attrNames );
+		}
+		attrNames.add( attrName );
+	}
+
+	public Set<String> getContextAttrs( String elementName ) {
+		Set<String> attrNames = contextAttrs.get( elementName );
+		if( attrNames == null ) {
+			return( Collections.<String>emptySet() );
+		}
+		return( Collections.unmodifiableSet( attrNames ) );
+	}
+
+	public void clearContextAttrs() {
+		contextAttrs.clear();
+	}
+
+	// Save the attributes registered for an element to its context
+
+	public void saveContextAttrs( CFLibXmlCoreContext context, String elementName, Attributes attrs ) {
+		if( contextAttrs.isEmpty() ) {
+			return;
+		}
+		Set<String> attrNames = contextAttrs.get( elementName );
+		if( attrNames == null ) {
+			return;
+		}
+		for( String attrName : attrNames ) {
+			context.putNamedValue( attrName, attrs.getValue( attrName ) );
+		}
+	}
+
+	// Attribute interning accessors
+	//
+	// Handlers canonicalize the values of low-cardinality attributes that
+	// are stored in the rows they load, ISOTZone.Iso8601 and License.Name,
+	// through one CFIntSaxAttrInterner per attribute slot, so that a schema
+	// or cache that keeps those rows shares one String per value.  Values
+	// that die with their element, such as booleans parsed to Boolean and
+	// the names of referenced rows resolved to their row, are not worth
+	// interning and have no slot.  Interning is off by default, and the
+	// statistics count the duplicates folded, not heap saved.
+
+	public boolean isAttrInterning() {
+		return( attrInterning );
+	}
+
+	public void setAttrInterning( boolean value ) {
+		attrInterning = value;
+		for( CFIntSaxAttrInterner interner : attrInterners.values() ) {
+			interner.setEnabled( value );
+		}
+	}
+
+	public int getAttrInternerCapacity() {
+		return( attrInternerCapacity );
+	}
+
+	public void setAttrInternerCapacity( int value ) {
+		final String S_ProcName = "setAttrInternerCapacity";
+		if( value <= 0 ) {
+			throw new CFLibUsageException( getClass(),
+				S_ProcName,
+				"Attribute interner capacity must be greater than zero",
+				"Attribute interner capacity must be greater than zero" );
+		}
+		attrInternerCapacity = value;
+		for( CFIntSaxAttrInterner interner : attrInterners.values() ) {
+			interner.setCapacity( value );
+		}
+	}
+
+	// Get the interner of an attribute slot, creating it on first use
+
+	public CFIntSaxAttrInterner getAttrInterner( String elementName, String attrName ) {
+		String key = elementName + "." + attrName;
+		CFIntSaxAttrInterner interner = attrInterners.get( key );
+		if( interner == null ) {
+			interner = new CFIntSaxAttrInterner( elementName, attrName, attrInternerCapacity );
+			interner.setEnabled( attrInterning );
+			attrInterners.put( key, interner );
+		}
+		return( interner );
+	}
+
+	public Collection<CFIntSaxAttrInterner> getAttrInterners() {
+		return( Collections.unmodifiableCollection( attrInterners.values() ) );
+	}
+
+	public long getAttrInternerHits() {
+		long hits = 0L;
+		for( CFIntSaxAttrInterner interner : attrInterners.values() ) {
+			hits += interner.getHits();
+		}
+		return( hits );
+	}
+
+	public void resetAttrInternerStats() {
+		for( CFIntSaxAttrInterner interner : attrInterners.values() ) {
+			interner.resetStats();
+		}
+	}
+
+	// Add the interner statistics of another loader to this one's
+
+	public void addAttrInternerStats( CFIntSaxLoader other ) {
+		for( CFIntSaxAttrInterner interner : other.getAttrInterners() ) {
+			getAttrInterner( interner.getElementName(), interner.getAttrName() ).addStats( interner );
+		}
+	}
+
+	// Parallel subtree accessors
+	//
+	// With parallelSubtreeWorkers above zero, each top-level subtree of a
+	// document is buffered and loaded on one of that many worker threads,
+	// waiting only for the earlier subtrees that produce the tables it
+	// references.  See CFIntSaxSubtreeScheduler.  The workers write through
+	// loaders of their own, built by newWorkerLoader(), so checkpoints and
+	// commit hooks are not supported in this mode, and load listeners are
+	// called from the worker threads.
+	//
+	// Without a workerSchemaFactory the workers share this loader's schema
+	// and its schema lock, so their schema calls are serialized.  With one,
+	// set from the command line with WorkerSchemaFactory=<class>, each
+	// worker loads through a schema of its own, such as one with its own
+	// connection, and the workers run their schema calls concurrently.
+	//
+	// A subtree waits for the subtrees that produce the tables it
+	// references, but nothing commits their rows, since the workers have
+	// no commit hooks.  A worker with a schema of its own therefore finds
+	// the rows another worker created only if the factory's schemas share
+	// them, as auto-commit connections or schemas over one transaction do.
+	// Over connections that each hold a transaction of their own, a
+	// dependent subtree fails to resolve its references.
+
+	public int getParallelSubtreeWorkers() {
+		return( parallelSubtreeWorkers );
+	}
+
+	public void setParallelSubtreeWorkers( int value ) {
+		final String S_ProcName = "setParallelSubtreeWorkers";
+		if( value < 0 ) {
+			throw new CFLibUsageException( getClass(),
+				S_ProcName,
+				"Parallel subtree workers must not be negative",
+				"Parallel subtree workers must not be negative" );
+		}
+		parallelSubtreeWorkers = value;
+	}
+
+	public int getParallelSubtreeBacklog() {
+		return( parallelSubtreeBacklog );
+	}
+
+	public void setParallelSubtreeBacklog( int value ) {
+		final String S_ProcName = "setParallelSubtreeBacklog";
+		if( value < 1 ) {
+			throw new CFLibUsageException( getClass(),
+				S_ProcName,
+				"Parallel subtree backlog must be at least 1",
+				"Parallel subtree backlog must be at least 1" );
+		}
+		parallelSubtreeBacklog = value;
+	}
+
+	public Supplier<ICFIntSchemaObj> getWorkerSchemaFactory() {
+		return( workerSchemaFactory );
+	}
+
+	public void setWorkerSchemaFactory( Supplier<ICFIntSchemaObj> value ) {
+		workerSchemaFactory = value;
+	}
+
+	// Build a loader for another thread to load through, for a subtree
+	// worker or a document of a bulk load.  It shares this loader's load
+	// listeners and copies its behaviours, write batching and input
+	// handling.  It shares this loader's schema, schema lock and reference
+	// cache, unless a workerSchemaFactory provides it a schema of its own,
+	// in which case its reference cache is its own too and the cluster and
+	// tenant in use are read through its schema.  Subclasses override this
+	// to build a loader of their own class.
+
+	protected CFIntSaxLoader newWorkerLoader() {
+		CFIntSaxLoader worker = ( messageLog != null ) ? new CFIntSaxLoader( messageLog ) : new CFIntSaxLoader();
+		if( workerSchemaFactory != null ) {
+			ICFIntSchemaObj workerSchema = workerSchemaFactory.get();
+			worker.setSchemaObj( workerSchema );
+			if( getUseCluster() != null ) {
+				worker.setUseCluster( workerSchema.getClusterTableObj().readClusterByIdIdx( getUseCluster().getRequiredId() ) );
+			}
+			if( getUseTenant() != null ) {
+				worker.setUseTenant( workerSchema.getTenantTableObj().readTenantByIdIdx( getUseTenant().getRequiredId() ) );
+			}
+		}
+		else {
+			worker.setSchemaObj( getSchemaObj() );
+			worker.schemaLock = schemaLock;
+			worker.setUseCluster( getUseCluster() );
+			worker.setUseTenant( getUseTenant() );
+		}
+		worker.setClusterLoaderBehaviour( getClusterLoaderBehaviour() );
+		worker.setHostNodeLoaderBehaviour( getHostNodeLoaderBehaviour() );
+		worker.setISOCcyLoaderBehaviour( getISOCcyLoaderBehaviour() );
+		worker.setISOCtryLoaderBehaviour( getISOCtryLoaderBehaviour() );
+		worker.setISOCtryCcyLoaderBehaviour( getISOCtryCcyLoaderBehaviour() );
+		worker.setISOCtryLangLoaderBehaviour( getISOCtryLangLoaderBehaviour() );
+		worker.setISOLangLoaderBehaviour( getISOLangLoaderBehaviour() );
+		worker.setISOTZoneLoaderBehaviour( getISOTZoneLoaderBehaviour() );
+		worker.setLicenseLoaderBehaviour( getLicenseLoaderBehaviour() );
+		worker.setMajorVersionLoaderBehaviour( getMajorVersionLoaderBehaviour() );
+		worker.setMimeTypeLoaderBehaviour( getMimeTypeLoaderBehaviour() );
+		worker.setMinorVersionLoaderBehaviour( getMinorVersionLoaderBehaviour() );
+		worker.setSecDeviceLoaderBehaviour( getSecDeviceLoaderBehaviour() );
+		worker.setSecGroupLoaderBehaviour( getSecGroupLoaderBehaviour() );
+		worker.setSecGrpIncLoaderBehaviour( getSecGrpIncLoaderBehaviour() );
+		worker.setSecGrpMembLoaderBehaviour( getSecGrpMembLoaderBehaviour() );
+		worker.setSecSessionLoaderBehaviour( getSecSessionLoaderBehaviour() );
+		worker.setSecUserLoaderBehaviour( getSecUserLoaderBehaviour() );
+		worker.setServiceLoaderBehaviour( getServiceLoaderBehaviour() );
+		worker.setServiceTypeLoaderBehaviour( getServiceTypeLoaderBehaviour() );
+		worker.setSubProjectLoaderBehaviour( getSubProjectLoaderBehaviour() );
+		worker.setSysClusterLoaderBehaviour( getSysClusterLoaderBehaviour() );
+		worker.setTSecGroupLoaderBehaviour( getTSecGroupLoaderBehaviour() );
+		worker.setTSecGrpIncLoaderBehaviour( getTSecGrpIncLoaderBehaviour() );
+		worker.setTSecGrpMembLoaderBehaviour( getTSecGrpMembLoaderBehaviour() );
+		worker.setTenantLoaderBehaviour( getTenantLoaderBehaviour() );
+		worker.setTldLoaderBehaviour( getTldLoaderBehaviour() );
+		worker.setTopDomainLoaderBehaviour( getTopDomainLoaderBehaviour() );
+		worker.setTopProjectLoaderBehaviour( getTopProjectLoaderBehaviour() );
+		worker.setURLProtocolLoaderBehaviour( getURLProtocolLoaderBehaviour() );
+		worker.setWriteBatchEnabled( isWriteBatchEnabled() );
+		worker.setWriteBatchMaxRows( getWriteBatchMaxRows() );
+		worker.setWriteBatchMaxBytes( getWriteBatchMaxBytes() );
+		worker.setRefCacheEnabled( isRefCacheEnabled() );
+		if( workerSchemaFactory == null ) {
+			worker.setRefCache( getRefCache() );
+		}
+		worker.setSkipUnchangedUpdates( isSkipUnchangedUpdates() );
+		worker.setReadBufferSize( getReadBufferSize() );
+		worker.setMappedInput( isMappedInput() );
+		worker.setMappedSegmentSize( getMappedSegmentSize() );
+		worker.setTrustedInput( isTrustedInput() );
+		worker.setDecompressInput( isDecompressInput() );
+		worker.setDecompressOnThread( isDecompressOnThread() );
+		worker.setZipEntryGlob( getZipEntryGlob() );
+		worker.setLeanContext( isLeanContext() );
+		worker.setAttrInternerCapacity( getAttrInternerCapacity() );
+		worker.setAttrInterning( isAttrInterning() );
+		for( Map.Entry<String,Set<String>> entry : contextAttrs.entrySet() ) {
+			for( String attrName : entry.getValue() ) {
+				worker.addContextAttr( entry.getKey(), attrName );
+			}
+		}
+		for( ICFIntSaxLoadListener listener : loadListeners ) {
+			worker.addLoadListener( listener );
+		}
+		return( worker );
+	}
+
+	protected CFIntSaxSubtreeScheduler getSubtreeScheduler() {
+		return( subtreeScheduler );
+	}
+
+	// Element metadata accessors
+	//
+	// Each element handler declares when it is constructed the attributes
+	// that carry its natural key and the tables whose rows it resolves
+	// references to.  The subtree scheduler orders subtrees by these.
+
+	public void declareElementKey( String elementName, String... attrNames ) {
+		elementKeyAttrs.put( elementName, attrNames );
+	}
+
+	public String[] getElementKeyAttrs( String elementName ) {
+		return( elementKeyAttrs.get( elementName ) );
+	}
+
+	public void declareElementReferences( String elementName, String... tableNames ) {
+		elementReferences.put( elementName, tableNames );
+	}
+
+	public String[] getElementReferences( String elementName ) {
+		return( elementReferences.get( elementName ) );
+	}
+
+	// Stop the subtree workers after the subtrees already running
+
+	protected void stopSubtreeScheduler() {
+		if( subtreeScheduler != null ) {
+			try {
+				subtreeScheduler.stop();
+			}
+			finally {
+				subtreeScheduler = null;
+			}
+		}
+	}
+
+	// Compressed input accessors
+	//
+	// With decompressInput set, gzip and zlib deflate documents are
+	// recognized by their leading bytes and decoded as they are parsed,
+	// on a separate thread if decompressOnThread is set.  Documents named
+	// *.zip are read as archives, loading each entry whose file name
+	// matches zipEntryGlob in turn.
+
+	public boolean isDecompressInput() {
+		return( decompressInput );
+	}
+
+	public void setDecompressInput( boolean value ) {
+		decompressInput = value;
+	}
+
+	public boolean isDecompressOnThread() {
+		return( decompressOnThread );
+	}
+
+	public void setDecompressOnThread( boolean value ) {
+		decompressOnThread = value;
+	}
+
+	public String getZipEntryGlob() {
+		return( zipEntryGlob );
+	}
+
+	public void setZipEntryGlob( String value ) {
+		final String S_ProcName = "setZipEntryGlob";
+		if( ( value == null ) || ( value.length() <= 0 ) ) {
+			throw new CFLibNullArgumentException( getClass(),
+				S_ProcName,
+				1,
+				"value" );
+		}
+		zipEntryGlob = value;
+	}
+
+	// Decode a document stream, shielding the stream itself from being
+	// closed by the parser
+
+	protected InputStream openDecoded( InputStream in ) {
+		final String S_ProcName = "openDecoded";
+		InputStream shielded = CFIntSaxCompression.unclosable( in );
+		if( ! decompressInput ) {
+			return( shielded );
+		}
+		try {
+			InputStream decoded = CFIntSaxCompression.decode( shielded, readBufferSize );
+			if( ( decoded != shielded ) && decompressOnThread ) {
+				return( new CFIntSaxDecompressionPipe( decoded, readBufferSize, CFIntSaxDecompressionPipe.DEFAULT_CHUNKS ) );
+			}
+			return( decoded );
+		}
+		catch( IOException e ) {
+			throw new RuntimeException( S_ProcName + "() ERROR: Decoding compressed input: " + e.getMessage(),
+				e );
+		}
+	}
+
+	protected boolean isCompressed( String url ) {
+		final String S_ProcName = "isCompressed";
+		try( InputStream in = new BufferedInputStream( openURL( url ).getInputStream(), 16 ) ) {
+			return( CFIntSaxCompression.detect( in ) != CFIntSaxCompression.FormatEnum.None );
+		}
+		catch( IOException e ) {
+			throw new RuntimeException( S_ProcName + "() ERROR: Reading " + url + ": " + e.getMessage(),
+				e );
+		}
+	}
+
+	// Commit policy accessors
+	//
+	// The loader commits once commitEveryRows writes or commitEveryMillis
+	// milliseconds have passed, or after each top-level element if
+	// commitPerTopLevelElement is set.  A zero row count or interval
+	// disables that trigger.  Committing applies every deferred write and
+	// writes the checkpoint; the backend transaction is only committed when
+	// commit hooks are installed, otherwise it is left to the schema.
+
+	public ICFIntSaxCommitHooks getCommitHooks() {
+		return( commitHooks );
+	}
+
+	public void setCommitHooks( ICFIntSaxCommitHooks value ) {
+		final String S_ProcName = "setCommitHooks";
+		if( ( value != null ) && writePipelineEnabled ) {
+			throw new CFLibUsageException( getClass(),
+				S_ProcName,
+				"Commit hooks cannot be installed while the write pipeline is enabled",
+				"Commit hooks cannot be installed while the write pipeline is enabled" );
+		}
+		commitHooks = value;
+	}
+
+	public int getCommitEveryRows() {
+		return( commitEveryRows );
+	}
+
+	public void setCommitEveryRows( int value ) {
+		final String S_ProcName = "setCommitEveryRows";
+		if( value < 0 ) {
+			throw new CFLibUsageException( getClass(),
+				S_ProcName,
+				"commitEveryRows must not be negative, not " + value,
+				"commitEveryRows must not be negative, not " + value );
+		}
+		commitEveryRows = value;
+	}
+
+	public long getCommitEveryMillis() {
+		return( commitEveryMillis );
+	}
+
+	public void setCommitEveryMillis( long value ) {
+		final String S_ProcName = "setCommitEveryMillis";
+		if( value < 0L ) {
+			throw new CFLibUsageException( getClass(),
+				S_ProcName,
+				"commitEveryMillis must not be negative, not " + value,
+				"commitEveryMillis must not be negative, not " + value );
+		}
+		commitEveryMillis = value;
+	}
+
+	public boolean isCommitPerTopLevelElement() {
+		return( commitPerTopLevelElement );
+	}
+
+	public void setCommitPerTopLevelElement( boolean value ) {
+		commitPerTopLevelElement = value;
+	}
+
+	public boolean isTransactionOpen() {
+		return( transactionOpen );
+	}
+
+	public long getCommitCount() {
+		return( commitCount );
+	}
+
+	// Open a transaction ahead of a write
+
+	protected void beginWrite() {
+		if( ( commitHooks != null ) && ! transactionOpen ) {
+			commitHooks.beginTransaction();
+			transactionOpen = true;
+			rowsSinceCommit = 0;
+			lastCommitMillis = System.currentTimeMillis();
+		}
+		rowsSinceCommit++;
+	}
+
+	// Apply every deferred write and commit the open transaction
+
+	public void commitTransaction() {
+		CFIntSaxCommitEvent commitEvent = new CFIntSaxCommitEvent();
+		commitEvent.begin();
+		int committedRows = rowsSinceCommit;
+		boolean committing = transactionOpen;
+		drainWritePipeline();
+		if( transactionOpen ) {
+			transactionOpen = false;
+			commitHooks.commitTransaction();
+			commitCount++;
+		}
+		rowsSinceCommit = 0;
+		lastCommitMillis = System.currentTimeMillis();
+		if( elementDepth > 0 ) {
+			writeCheckpoint();
+		}
+		commitEvent.finish( "Commit", committedRows, committing, elementOrdinal );
+	}
+
+	// Roll back the open transaction, forgetting any rows read since they
+	// may have been written by it, and any rows still queued for it
+
+	public void rollbackTransaction() {
+		discardWriteBatch();
+		if( transactionOpen ) {
+			CFIntSaxCommitEvent commitEvent = new CFIntSaxCommitEvent();
+			commitEvent.begin();
+			int rolledBackRows = rowsSinceCommit;
+			transactionOpen = false;
+			rowsSinceCommit = 0;
+			refCache.clear();
+			preScanRows.clear();
+			commitHooks.rollbackTransaction();
+			commitEvent.finish( "Rollback", rolledBackRows, true, elementOrdinal );
+		}
+	}
+
+	// Commit if the policy calls for it at the end of an element
+
+	protected void checkCommitPolicy( boolean topLevelElement ) {
+		if( rowsSinceCommit <= 0 ) {
+			return;
+		}
+		if( ( topLevelElement && commitPerTopLevelElement )
+			|| ( ( commitEveryRows > 0 ) && ( rowsSinceCommit >= commitEveryRows ) )
+			|| ( ( commitEveryMillis > 0L ) && ( System.currentTimeMillis() - lastCommitMillis >= commitEveryMillis ) ) )
+		{
+			commitTransaction();
+		}
+	}
+
+	// Checkpoint accessors
+	//
+	// With a checkpoint file set, every commit records how far the load
+	// got, and a completed load removes the file.  Resuming skips the
+	// elements the checkpoint covers without dispatching them, except for
+	// the containers still open at the checkpoint.  Those are replayed
+	// under Insert behaviour to find their rows again, and must resolve the
+	// same natural keys they did before.
+	//
+	// Checkpoints are only written by commits, so a load with a checkpoint
+	// file but no commit trigger is refused rather than left to restart
+	// from the beginning.  Without commit hooks a commit only applies the
+	// deferred writes, and the checkpoint is only as durable as the schema
+	// makes each write: it is exact for a schema that persists every write
+	// as it is applied, and overstates progress for one that holds writes
+	// in a transaction of its own.  Such schemas need commit hooks.
+
+	public File getCheckpointFile() {
+		return( checkpointFile );
+	}
+
+	public void setCheckpointFile( File value ) {
+		checkpointFile = value;
+	}
+
+	public boolean isResumeFromCheckpoint() {
+		return( resumeFromCheckpoint );
+	}
+
+	public void setResumeFromCheckpoint( boolean value ) {
+		resumeFromCheckpoint = value;
+	}
+
+	public long getElementOrdinal() {
+		return( elementOrdinal );
+	}
+
+	// Refuse a checkpoint file that no commit would ever write
+
+	protected void checkCheckpointPolicy() {
+		final String S_ProcName = "checkCheckpointPolicy";
+		if( ( checkpointFile != null )
+			&& ( commitEveryRows <= 0 )
+			&& ( commitEveryMillis <= 0L )
+			&& ! commitPerTopLevelElement )
+		{
+			throw new CFLibUsageException( getClass(),
+				S_ProcName,
+				"A checkpoint file needs commitEveryRows, commitEveryMillis or commitPerTopLevelElement to be set",
+				"A checkpoint file needs commitEveryRows, commitEveryMillis or commitPerTopLevelElement to be set" );
+		}
+	}
+
+	protected void writeCheckpoint() {
+		if( checkpointFile == null ) {
+			return;
+		}
+		List<CFIntSaxCheckpoint.Frame> containers = new ArrayList<CFIntSaxCheckpoint.Frame>( openElements.size() );
+		Iterator<OpenElement> iterOpen = openElements.descendingIterator();
+		while( iterOpen.hasNext() ) {
+			OpenElement openElement = iterOpen.next();
+			containers.add( new CFIntSaxCheckpoint.Frame( openElement.ordinal,
+				openElement.elementName,
+				openElement.naturalKey ) );
+		}
+		new CFIntSaxCheckpoint( elementOrdinal, getLocationInfo(), checkpointDocument, containers ).save( checkpointFile );
+	}
+
+	// Pre-scan configuration accessors
+
+	public boolean isPreScanEnabled() {
+		return( preScanEnabled );
+	}
+
+	public void setPreScanEnabled( boolean value ) {
+		preScanEnabled = value;
+	}
+
+	// Collect the natural keys of a document and bulk-fetch the rows that
+	// already exist for them.  Keys the scan saw are then answered from
+	// memory by readExisting(), whether or not a row was found.
+
+	public void preScan( String url ) {
+		preScanRows.clear();
+		if( schemaObj == null ) {
+			return;
+		}
+		Map<String,Set<String>> keysByTable;
+		if( decompressInput && isCompressed( url ) ) {
+			try( InputStream in = openURL( url ).getInputStream() ) {
+				InputSource source = new InputSource( CFIntSaxCompression.decode( in, readBufferSize ) );
+				source.setSystemId( url );
+				keysByTable = new CFIntSaxPreScan().scan( source );
+			}
+			catch( IOException e ) {
+				throw new RuntimeException( "preScan() ERROR: Reading " + url + ": " + e.getMessage(),
+					e );
+			}
+		}
+		else {
+			keysByTable = new CFIntSaxPreScan().scan( url );
+		}
+		for( Map.Entry<String,Set<String>> entry : keysByTable.entrySet() ) {
+			String tableName = entry.getKey();
+			Set<String> keys = entry.getValue();
+			Map<Object,Object> rows = new HashMap<Object,Object>();
+			for( String key : keys ) {
+				rows.put( naturalKey( key ), NULL_ROW );
+			}
+			List<?> existingRows;
+			schemaLock.lock();
+			try {
+				existingRows = preScanReadAll( tableName );
+			}
+			finally {
+				schemaLock.unlock();
+			}
+			for( Object obj : existingRows ) {
+				Object rowKey = naturalKey( preScanKeyOf( tableName, obj ) );
+				if( rows.containsKey( rowKey ) ) {
+					rows.put( rowKey, obj );
+				}
+			}
+			preScanRows.put( tableName, rows );
+		}
+	}
+
+	protected List<?> preScanReadAll( String tableName ) {
+		final String S_ProcName = "preScanReadAll";
+		if( tableName.equals( "ISOCcy" ) ) {
+			return( schemaObj.getISOCcyTableObj().readAllISOCcy() );
+		}
+		else if( tableName.equals( "ISOCtry" ) ) {
+			return( schemaObj.getISOCtryTableObj().readAllISOCtry() );
+		}
+		else if( tableName.equals( "ISOLang" ) ) {
+			return( schemaObj.getISOLangTableObj().readAllISOLang() );
+		}
+		else if( tableName.equals( "ISOTZone" ) ) {
+			return( schemaObj.getISOTZoneTableObj().readAllISOTZone() );
+		}
+		else if( tableName.equals( "MimeType" ) ) {
+			return( schemaObj.getMimeTypeTableObj().readAllMimeType() );
+		}
+		else if( tableName.equals( "SecUser" ) ) {
+			return( schemaObj.getSecUserTableObj().readAllSecUser() );
+		}
+		else if( tableName.equals( "ServiceType" ) ) {
+			return( schemaObj.getServiceTypeTableObj().readAllServiceType() );
+		}
+		else if( tableName.equals( "Tld" ) ) {
+			return( schemaObj.getTldTableObj().readAllTld() );
+		}
+		else if( tableName.equals( "URLProtocol" ) ) {
+			return( schemaObj.getURLProtocolTableObj().readAllURLProtocol() );
+		}
+		else {
+			throw new CFLibUsageException( getClass(),
+				S_ProcName,
+				"Table " + tableName + " cannot be pre-scanned",
+				"Table " + tableName + " cannot be pre-scanned" );
+		}
+	}
+
+	protected String preScanKeyOf( String tableName, Object obj ) {
+		final String S_ProcName = "preScanKeyOf";
+		if( tableName.equals( "ISOCcy" ) ) {
+			return( ((ICFIntISOCcyObj)obj).getRequiredISOCode() );
+		}
+		else if( tableName.equals( "ISOCtry" ) ) {
+			return( ((ICFIntISOCtryObj)obj).getRequiredISOCode() );
+		}
+		else if( tableName.equals( "ISOLang" ) ) {
+			return( ((ICFIntISOLangObj)obj).getRequiredISO6392Code() );
+		}
+		else if( tableName.equals( "ISOTZone" ) ) {
+			return( ((ICFIntISOTZoneObj)obj).getRequiredTZName() );
+		}
+		else if( tableName.equals( "MimeType" ) ) {
+			return( ((ICFIntMimeTypeObj)obj).getRequiredName() );
+		}
+		else if( tableName.equals( "SecUser" ) ) {
+			return( ((ICFIntSecUserObj)obj).getRequiredLoginId() );
+		}
+		else if( tableName.equals( "ServiceType" ) ) {
+			return( ((ICFIntServiceTypeObj)obj).getRequiredDescription() );
+		}
+		else if( tableName.equals( "Tld" ) ) {
+			return( ((ICFIntTldObj)obj).getRequiredName() );
+		}
+		else if( tableName.equals( "URLProtocol" ) ) {
+			return( ((ICFIntURLProtocolObj)obj).getRequiredName() );
+		}
+		else {
+			throw new CFLibUsageException( getClass(),
+				S_ProcName,
+				"Table " + tableName + " cannot be pre-scanned",
+				"Table " + tableName + " cannot be pre-scanned" );
+		}
+	}
+
+	// Forget what the pre-scan knew about a key the loader has written
+
+	protected void forgetPreScanKey( String tableName, Object naturalKey ) {
+		Map<Object,Object> rows = preScanRows.get( tableName );
+		if( rows != null ) {
+			rows.remove( naturalKey );
+		}
+	}
+
+	// Natural keys identify a row by the arguments of its unique index
+
+	public static Object naturalKey( Object... keyParts ) {
+		return( Arrays.asList( keyParts ) );
+	}
+
+	// Estimate the buffered size of a row from its attribute values
+
+	public static long estimateAttrBytes( Attributes attrs ) {
+		long bytes = 0L;
+		int numAttrs = attrs.getLength();
+		for( int idxAttr = 0; idxAttr < numAttrs; idxAttr++ ) {
+			String value = attrs.getValue( idxAttr );
+			if( value != null ) {
+				bytes += 2L * value.length();
+			}
+		}
+		return( bytes );
+	}
+
+	// Element handler schema access
+	//
+	// The element handlers route their unique index reads and their writes
+	// through these methods so that deferred writes are applied before any
+	// read that could observe them.
+	//
+	// Every schema call, on the parse thread or a pipeline writer thread,
+	// is made while holding the schema lock, so the schema never sees two
+	// threads at once and need not be thread safe.  The parse thread
+	// releases the lock before it waits on a pending write.
+
+	public Object readExisting( String tableName,
+		String indexName,
+		Object naturalKey,
+		Supplier<Object> reader )
+	{
+		elementNaturalKey = naturalKey;
+		noteElementRow( tableName, null );
+		CFIntSaxSchemaCallEvent callEvent = new CFIntSaxSchemaCallEvent();
+		callEvent.begin();
+		long startNanos = startTiming();
+		try {
+			flushPendingKey( tableName, naturalKey );
+			Map<Object,Object> rows = preScanRows.get( tableName );
+			if( rows != null ) {
+				Object row = rows.get( naturalKey );
+				if( row != null ) {
+					return( ( row == NULL_ROW ) ? null : row );
+				}
+			}
+			return( readLocked( reader ) );
+		}
+		finally {
+			endLookupTiming( startNanos );
+			callEvent.finish( tableName, indexName, "Read", false );
+		}
+	}
+
+	public Object readReference( String tableName,
+		String indexName,
+		Object naturalKey,
+		Supplier<Object> reader )
+	{
+		CFIntSaxSchemaCallEvent callEvent = new CFIntSaxSchemaCallEvent();
+		callEvent.begin();
+		long startNanos = startTiming();
+		try {
+			flushPendingKey( tableName, naturalKey );
+			if( refCacheEnabled ) {
+				return( refCache.read( tableName, naturalKey, () -> readLocked( reader ) ) );
+			}
+			return( readLocked( reader ) );
+		}
+		finally {
+			endLookupTiming( startNanos );
+			callEvent.finish( tableName, indexName, "ReadReference", false );
+		}
+	}
+
+	// Run a schema read under the schema lock.  The lock is never held
+	// while waiting on a pending write, which would need it to finish.
+
+	protected Object readLocked( Supplier<Object> reader ) {
+		schemaLock.lock();
+		try {
+			return( reader.get() );
+		}
+		finally {
+			schemaLock.unlock();
+		}
+	}
+
+	public Object applyCreate( String tableName,
+		Object naturalKey,
+		Object editObj,
+		CFIntSaxValueRow valueRow,
+		ICFIntSaxRowWriter rowWriter,
+		long rowBytes )
+	{
+		beginWrite();
+		noteElementRow( tableName, ICFIntSaxLoadListener.OutcomeEnum.Inserted );
+		if( naturalKey != null ) {
+			refCache.invalidate( tableName, naturalKey );
+			forgetPreScanKey( tableName, naturalKey );
+		}
+		if( ! ( writeBatchEnabled || writePipelineEnabled ) ) {
+			CFIntSaxSchemaCallEvent callEvent = new CFIntSaxSchemaCallEvent();
+			callEvent.begin();
+			long startNanos = startTiming();
+			try {
+				schemaLock.lock();
+				try {
+					return( rowWriter.writeRow( valueRow ) );
+				}
+				finally {
+					schemaLock.unlock();
+				}
+			}
+			finally {
+				endWriteTiming( startNanos );
+				callEvent.finish( tableName, null, "Create", false );
+			}
+		}
+		CFIntSaxPendingRow row = new CFIntSaxPendingRow( tableName,
+			naturalKey,
+			editObj,
+			CFIntSaxPendingRow.WriteKindEnum.Create,
+			valueRow,
+			rowWriter,
+			rowBytes );
+		deferRow( row );
+		if( row.isApplied() ) {
+			return( row.getResult() );
+		}
+		return( editObj );
+	}
+
+	public void applyUpdate( String tableName,
+		Object naturalKey,
+		Object editObj,
+		CFIntSaxValueRow valueRow,
+		ICFIntSaxRowWriter rowWriter,
+		long rowBytes )
+	{
+		beginWrite();
+		noteElementRow( tableName, ICFIntSaxLoadListener.OutcomeEnum.Updated );
+		updateCounts.merge( tableName, 1L, Long::sum );
+		if( ! ( writeBatchEnabled || writePipelineEnabled ) ) {
+			CFIntSaxSchemaCallEvent callEvent = new CFIntSaxSchemaCallEvent();
+			callEvent.begin();
+			long startNanos = startTiming();
+			try {
+				schemaLock.lock();
+				try {
+					rowWriter.writeRow( valueRow );
+				}
+				finally {
+					schemaLock.unlock();
+				}
+			}
+			finally {
+				endWriteTiming( startNanos );
+				callEvent.finish( tableName, null, "Update", false );
+			}
+			return;
+		}
+		CFIntSaxPendingRow row = new CFIntSaxPendingRow( tableName,
+			naturalKey,
+			editObj,
+			CFIntSaxPendingRow.WriteKindEnum.Update,
+			valueRow,
+			rowWriter,
+			rowBytes );
+		deferRow( row );
+	}
+
+	protected void deferRow( CFIntSaxPendingRow row ) {
+		if( writeBatchEnabled ) {
+			writeBatch.add( row );
+			if( writeBatch.isFull() ) {
+				flushWriteBatch();
+			}
+		}
+		else {
+			submitRows( row.getTableName(), Collections.singletonList( row ) );
+		}
+	}
+
+	public void applyDelete( String tableName,
+		Object naturalKey,
+		Runnable deleter )
+	{
+		beginWrite();
+		noteElementRow( tableName, ICFIntSaxLoadListener.OutcomeEnum.Replaced );
+		flushPendingKey( tableName, naturalKey );
+		CFIntSaxSchemaCallEvent callEvent = new CFIntSaxSchemaCallEvent();
+		callEvent.begin();
+		long startNanos = startTiming();
+		try {
+			schemaLock.lock();
+			try {
+				deleter.run();
+			}
+			finally {
+				schemaLock.unlock();
+			}
+		}
+		finally {
+			endWriteTiming( startNanos );
+			callEvent.finish( tableName, null, "Delete", false );
+		}
+		if( naturalKey != null ) {
+			refCache.invalidate( tableName, naturalKey );
+			forgetPreScanKey( tableName, naturalKey );
+		}
+	}
+
+	// Resolve the "Object" of a parent context, waiting for the pending
+	// create that produced it if it has not been written yet.
+
+	public Object resolveScopeObj( CFLibXmlCoreContext parentContext ) {
+		if( parentContext == null ) {
+			return( null );
+		}
+		Object scopeObj = parentContext.getNamedValue( "Object" );
+		if( scopeObj == null ) {
+			return( null );
+		}
+		if( writeBatch.isPendingEditObj( scopeObj ) ) {
+			flushWriteBatch();
+			scopeObj = parentContext.getNamedValue( "Object" );
+		}
+		CFIntSaxPendingRow inFlight = inFlightByEditObj.get( scopeObj );
+		if( inFlight != null ) {
+			scopeObj = inFlight.awaitResult();
+			parentContext.putNamedValue( "Object", scopeObj );
+		}
+		return( scopeObj );
+	}
+
+	protected void flushPendingKey( String tableName, Object naturalKey ) {
+		if( naturalKey == null ) {
+			return;
+		}
+		if( writeBatch.isPendingKey( tableName, naturalKey ) ) {
+			flushWriteBatch();
+		}
+		Map<Object,CFIntSaxPendingRow> tableInFlight = inFlightByKey.get( tableName );
+		if( tableInFlight != null ) {
+			CFIntSaxPendingRow inFlight = tableInFlight.get( naturalKey );
+			if( inFlight != null ) {
+				inFlight.awaitResult();
+			}
+		}
+	}
+
+	// Apply every pending write.  Inline, the persisted objects then
+	// replace the edit objects published to the open element contexts;
+	// pipelined, resolveScopeObj() swaps them in as children ask for them.
+
+	public void flushWriteBatch() {
+		final String S_ProcName = "flushWriteBatch";
+		if( writeBatch.isEmpty() ) {
+			return;
+		}
+		CFIntSaxFlushEvent flushEvent = new CFIntSaxFlushEvent();
+		flushEvent.begin();
+		int pendingRows = writeBatch.getPendingRows();
+		Map<String,List<CFIntSaxPendingRow>> drained = writeBatch.drain();
+		if( writePipelineEnabled ) {
+			for( Map.Entry<String,List<CFIntSaxPendingRow>> entry : drained.entrySet() ) {
+				submitRows( entry.getKey(), entry.getValue() );
+			}
+			flushEvent.finish( "Submit", pendingRows, drained.size() );
+			return;
+		}
+		Map<Object,Object> created = new IdentityHashMap<Object,Object>();
+		for( Map.Entry<String,List<CFIntSaxPendingRow>> entry : drained.entrySet() ) {
+			try {
+				applyRows( entry.getKey(), entry.getValue() );
+			}
+			catch( RuntimeException e ) {
+				throw new RuntimeException( S_ProcName + "() ERROR: Applying pending " + entry.getKey() + " rows: " + e.getMessage(),
+					e );
+			}
+			for( CFIntSaxPendingRow row : entry.getValue() ) {
+				if( row.getWriteKind() == CFIntSaxPendingRow.WriteKindEnum.Create ) {
+					created.put( row.getEditObj(), row.getResult() );
+				}
+			}
+		}
+		publishCreated( created );
+		flushEvent.finish( "Apply", pendingRows, drained.size() );
+	}
+
+	// Drop every pending write without applying it.  A failed load must
+	// not leave queued rows, or their pending-key and edit-object entries,
+	// to be flushed into the next load.
+
+	public void discardWriteBatch() {
+		writeBatch.discard();
+	}
+
+	// Replace the edit objects published to the open element contexts
+	// with the objects their creates returned
+
+	protected void publishCreated( Map<Object,Object> created ) {
+		if( created.isEmpty() ) {
+			return;
+		}
+		CFLibXmlCoreContext context = getCurContext();
+		while( context != null ) {
+			Object contextObj = context.getNamedValue( "Object" );
+			if( ( contextObj != null ) && created.containsKey( contextObj ) ) {
+				context.putNamedValue( "Object", created.get( contextObj ) );
+			}
+			context = context.getPrevContext();
+		}
+	}
+
+	// Hand rows to the writer thread, remembering them until they are
+	// written so that reads and child handlers can wait for them.
+
+	protected void submitRows( String tableName, List<CFIntSaxPendingRow> rows ) {
+		if( inFlightByEditObj.size() > 4 * writePipelineCapacity ) {
+			pruneInFlight();
+		}
+		for( CFIntSaxPendingRow row : rows ) {
+			inFlightByEditObj.put( row.getEditObj(), row );
+			if( row.getNaturalKey() != null ) {
+				Map<Object,CFIntSaxPendingRow> tableInFlight = inFlightByKey.get( tableName );
+				if( tableInFlight == null ) {
+					tableInFlight = new HashMap<Object,CFIntSaxPendingRow>();
+					inFlightByKey.put( tableName, tableInFlight );
+				}
+				tableInFlight.put( row.getNaturalKey(), row );
+			}
+		}
+		getWritePipeline().submit( tableName, rows );
+	}
+
+	// Forget written rows.  Created rows still published as a context
+	// "Object" are kept so resolveScopeObj() can swap them out.
+
+	protected void pruneInFlight() {
+		Set<Object> published = Collections.newSetFromMap( new IdentityHashMap<Object,Boolean>() );
+		CFLibXmlCoreContext context = getCurContext();
+		while( context != null ) {
+			Object contextObj = context.getNamedValue( "Object" );
+			if( contextObj != null ) {
+				published.add( contextObj );
+			}
+			context = context.getPrevContext();
+		}
+		Iterator<Map.Entry<Object,CFIntSaxPendingRow>> iterEditObj = inFlightByEditObj.entrySet().iterator();
+		while( iterEditObj.hasNext() ) {
+			Map.Entry<Object,CFIntSaxPendingRow> entry = iterEditObj.next();
+			if( entry.getValue().isDone() && ! published.contains( entry.getKey() ) ) {
+				iterEditObj.remove();
+			}
+		}
+		for( Map<Object,CFIntSaxPendingRow> tableInFlight : inFlightByKey.values() ) {
+			tableInFlight.values().removeIf( row -> row.isDone() );
+		}
+	}
+
+	protected CFIntSaxWritePipeline getWritePipeline() {
+		if( writePipeline == null ) {
+			writePipeline = new CFIntSaxWritePipeline( ( tableName, rows ) -> applyRows( tableName, rows ),
+				writePipelineCapacity );
+		}
+		return( writePipeline );
+	}
+
+	// Wait for every queued write to be applied
+
+	public void drainWritePipeline() {
+		flushWriteBatch();
+		CFIntSaxFlushEvent flushEvent = new CFIntSaxFlushEvent();
+		flushEvent.begin();
+		int inFlightRows = inFlightByEditObj.size();
+		if( writePipeline != null ) {
+			writePipeline.drain();
+		}
+		flushEvent.finish( "Drain", inFlightRows, inFlightByKey.size() );
+		Map<Object,Object> created = new IdentityHashMap<Object,Object>();
+		for( CFIntSaxPendingRow row : inFlightByEditObj.values() ) {
+			if( row.getWriteKind() == CFIntSaxPendingRow.WriteKindEnum.Create ) {
+				created.put( row.getEditObj(), row.getResult() );
+			}
+		}
+		publishCreated( created );
+		inFlightByEditObj.clear();
+		inFlightByKey.clear();
+	}
+
+	// Stop the writer thread after the queued writes are applied
+
+	protected void stopWritePipeline() {
+		if( writePipeline != null ) {
+			CFIntSaxWritePipeline stopping = writePipeline;
+			writePipeline = null;
+			inFlightByEditObj.clear();
+			inFlightByKey.clear();
+			stopping.stop();
+		}
+	}
+
+	// Apply deferred rows, charging each row an even share of the time
+	// taken to the write phase of its table.
+
+	protected void applyRows( String tableName, List<CFIntSaxPendingRow> rows ) {
+		long startNanos = startTiming();
+		schemaLock.lock();
+		try {
+			applyPendingRows( tableName, rows );
+		}
+		finally {
+			schemaLock.unlock();
+		}
+		if( ( startNanos == 0L ) || rows.isEmpty() ) {
+			return;
+		}
+		long rowNanos = ( System.nanoTime() - startNanos ) / rows.size();
+		for( ICFIntSaxLoadListener listener : loadListeners ) {
+			for( int idx = 0; idx < rows.size(); idx++ ) {
+				listener.phaseTimed( tableName, ICFIntSaxLoadListener.PhaseEnum.Write, rowNanos );
+			}
+		}
+	}
+
+	// Apply the pending rows of one table.  A backing store that supports
+	// statement batching can override this to write the rows in one call.
+
+	protected void applyPendingRows( String tableName, List<CFIntSaxPendingRow> rows ) {
+		for( CFIntSaxPendingRow row : rows ) {
+			row.apply();
+		}
+	}
+
+	// Track element depth so the write batch is flushed at the end of
+	// each top level element and at the end of the document.
+
+	public int getElementDepth() {
+		return( elementDepth );
+	}
+
+	public void setDocumentLocator( Locator locator ) {
+		documentLocator = locator;
+		super.setDocumentLocator( locator );
+	}
+
+	public void startDocument()
+	throws SAXException
+	{
+		stopSubtreeScheduler();
+		if( parallelSubtreeWorkers > 0 ) {
+			if( ( checkpointFile != null ) || ( commitHooks != null ) ) {
+				throw new SAXException( "Parallel subtree loading does not support checkpoints or commit hooks" );
+			}
+			subtreeScheduler = new CFIntSaxSubtreeScheduler( this, parallelSubtreeWorkers, parallelSubtreeBacklog );
+		}
+		elementDepth = 0;
+		elementOrdinal = 0L;
+		openElements.clear();
+		rowsSinceCommit = 0;
+		lastCommitMillis = System.currentTimeMillis();
+		super.startDocument();
+		if( refCacheEnabled ) {
+			try {
+				prewarmRefCache();
+			}
+			catch( RuntimeException e ) {
+				throw new SAXException( "Caught and rethrew " + e.getClass().getName() + " pre-warming reference cache: " + e.getMessage(),
+					e );
+			}
+		}
+	}
+
+	public void startElement(
+		String		uri,
+		String		localName,
+		String		qName,
+		Attributes	attrs )
+	throws SAXException
+	{
+		elementDepth++;
+		elementOrdinal++;
+		if( ! progressListeners.isEmpty() ) {
+			noteProgress( qName );
+		}
+		if( subtreeScheduler != null ) {
+			try {
+				if( elementDepth == 1 ) {
+					subtreeScheduler.startDocumentElement( uri, localName, qName, attrs, documentLocator );
+				}
+				else {
+					subtreeScheduler.startElement( uri, localName, qName, attrs, documentLocator );
+					return;
+				}
+			}
+			catch( RuntimeException e ) {
+				throw new SAXException( "Near " + getLocationInfo() + ": Caught and rethrew " + e.getClass().getName() + " - " + e.getMessage(),
+					e );
+			}
+		}
+		OpenElement openElement = new OpenElement( elementOrdinal, qName );
+		openElements.push( openElement );
+		elementNaturalKey = null;
+		if( ( resumeCheckpoint != null ) && ( elementOrdinal <= resumeCheckpoint.getOrdinal() ) ) {
+			CFIntSaxCheckpoint.Frame container = resumeCheckpoint.getContainer( elementOrdinal );
+			if( container == null ) {
+				openElement.dispatched = false;
+				return;
+			}
+			if( ! container.getElementName().equals( qName ) ) {
+				throw new SAXException( "Near " + getLocationInfo() + ": Checkpoint expected element " + container.getElementName() + " but found " + qName );
+			}
+			replayingContainer = true;
+			try {
+				super.startElement( uri, localName, qName, attrs );
+			}
+			finally {
+				replayingContainer = false;
+			}
+			openElement.naturalKey = ( elementNaturalKey == null ) ? null : elementNaturalKey.toString();
+			if( ! Objects.equals( container.getNaturalKey(), openElement.naturalKey ) ) {
+				throw new SAXException( "Near " + getLocationInfo() + ": Checkpoint expected " + qName + " " + container.getNaturalKey() + " but found " + openElement.naturalKey );
+			}
+			return;
+		}
+		CFIntSaxElementEvent elementEvent = new CFIntSaxElementEvent();
+		elementEvent.begin();
+		long startNanos = startTiming();
+		try {
+			super.startElement( uri, localName, qName, attrs );
+		}
+		catch( SAXException | RuntimeException e ) {
+			fireElementLoaded( openElement, startNanos, true );
+			finishElementEvent( elementEvent, openElement, true );
+			throw e;
+		}
+		fireElementLoaded( openElement, startNanos, false );
+		finishElementEvent( elementEvent, openElement, false );
+		openElement.naturalKey = ( elementNaturalKey == null ) ? null : elementNaturalKey.toString();
+	}
+
+	public void endElement(
+		String		uri,
+		String		localName,
+		String		qName )
+	throws SAXException
+	{
+		if( ( subtreeScheduler != null ) && ( elementDepth > 1 ) ) {
+			elementDepth--;
+			try {
+				subtreeScheduler.endElement( uri, localName, qName, documentLocator );
+			}
+			catch( RuntimeException e ) {
+				throw new SAXException( "Near " + getLocationInfo() + ": Caught and rethrew " + e.getClass().getName() + " - " + e.getMessage(),
+					e );
+			}
+			return;
+		}
+		if( ( subtreeScheduler != null ) && ( elementDepth == 1 ) ) {
+			try {
+				subtreeScheduler.await();
+			}
+			catch( RuntimeException e ) {
+				throw new SAXException( "Near " + getLocationInfo() + ": Caught and rethrew " + e.getClass().getName() + " - " + e.getMessage(),
+					e );
+			}
+		}
+		OpenElement openElement = openElements.pop();
+		if( ! openElement.dispatched ) {
+			elementDepth--;
+			return;
+		}
+		super.endElement( uri, localName, qName );
+		elementDepth--;
+		if( elementDepth > 0 ) {
+			try {
+				checkCommitPolicy( elementDepth == 1 );
+			}
+			catch( RuntimeException e ) {
+				throw new SAXException( "Near " + getLocationInfo() + ": Caught and rethrew " + e.getClass().getName() + " - " + e.getMessage(),
+					e );
+			}
+		}
+		if( elementDepth <= 1 ) {
+			try {
+				flushWriteBatch();
+				if( elementDepth == 0 ) {
+					commitTransaction();
+				}
+			}
+			catch( RuntimeException e ) {
+				throw new SAXException( "Near " + getLocationInfo() + ": Caught and rethrew " + e.getClass().getName() + " - " + e.getMessage(),
+					e );
+			}
+		}
+	}
+
+	// Parse a document URL through a counting stream, reporting progress
+
+	protected void parseCounted( String url ) {
+		final String S_ProcName = "parseCounted";
+		URLConnection conn = openURL( url );
+		InputStream in;
+		try {
+			in = conn.getInputStream();
+		}
+		catch( IOException e ) {
+			throw new RuntimeException( S_ProcName + "() ERROR: Opening " + url + ": " + e.getMessage(),
+				e );
+		}
+		try {
+			parseBuffered( in, conn.getContentLengthLong(), conn.getURL().toString() );
+		}
+		finally {
+			try {
+				in.close();
+			}
+			catch( IOException e ) {
+			}
+		}
+	}
+
+	// Open a document URL, treating a string that is not an absolute URI
+	// as a file name
+
+	protected URLConnection openURL( String url ) {
+		final String S_ProcName = "openURL";
+		try {
+			URI uri = new URI( url );
+			URL sourceURL = uri.isAbsolute() ? uri.toURL() : new File( url ).toURI().toURL();
+			return( sourceURL.openConnection() );
+		}
+		catch( URISyntaxException | IOException | IllegalArgumentException e ) {
+			throw new RuntimeException( S_ProcName + "() ERROR: Opening " + url + ": " + e.getMessage(),
+				e );
+		}
+	}
+
+	// Parse a stream owned by the caller, counting the bytes read from it
+	// and decoding it if it is compressed
+
+	protected void parseBuffered( InputStream in, long totalBytes, String systemId ) {
+		parseInput( new BufferedInputStream( in, readBufferSize ), totalBytes, systemId );
+	}
+
+	// Parse a stream that supports mark() as it is
+
+	protected void parseInput( InputStream in, long totalBytes, String systemId ) {
+		InputStream decoded = null;
+		try {
+			decoded = openDecoded( beginProgress( in, totalBytes ) );
+			InputSource source = new InputSource( decoded );
+			source.setSystemId( systemId );
+			parseSource( source );
+			fireProgress( true );
+		}
+		finally {
+			endProgress();
+			if( decoded != null ) {
+				try {
+					decoded.close();
+				}
+				catch( IOException e ) {
+				}
+			}
+		}
+	}
+
+	// The parser factories are shared by every loader, one validating
+	// against the pooled schema and one for trusted input.  A factory is
+	// not thread safe, so parsers are made from it under its monitor.
+
+	protected static synchronized SAXParserFactory getParserFactory( boolean trusted ) {
+		if( trusted ) {
+			if( trustedParserFactory == null ) {
+				trustedParserFactory = SAXParserFactory.newInstance();
+				trustedParserFactory.setNamespaceAware( true );
+			}
+			return( trustedParserFactory );
+		}
+		if( validatingParserFactory == null ) {
+			SAXParserFactory factory = SAXParserFactory.newInstance();
+			factory.setNamespaceAware( true );
+			factory.setSchema( CFIntSaxSchemaPool.getSchema() );
+			validatingParserFactory = factory;
+		}
+		return( validatingParserFactory );
+	}
+
+	// Each loader keeps its parser from one document to the next, and
+	// resets it rather than making another
+
+	protected XMLReader getXMLReader()
+	throws ParserConfigurationException, SAXException
+	{
+		if( ( saxParser == null ) || ( saxParserTrusted != trustedInput ) ) {
+			SAXParserFactory factory = getParserFactory( trustedInput );
+			synchronized( factory ) {
+				saxParser = factory.newSAXParser();
+			}
+			saxParserTrusted = trustedInput;
+		}
+		else {
+			saxParser.reset();
+		}
+		return( saxParser.getXMLReader() );
+	}
+
+	// Parse an input source with a namespace aware JAXP reader, reporting
+	// to this loader.  Unless the input is trusted, the reader validates
+	// against the pooled schema and any validation error fails the load.
+
+	protected void parseSource( InputSource source ) {
+		final String S_ProcName = "parseSource";
+		try {
+			XMLReader reader = getXMLReader();
+			reader.setContentHandler( this );
+			if( ! trustedInput ) {
+				reader.setErrorHandler( new ErrorHandler() {
+					public void warning( SAXParseException e )
+					throws SAXException
+					{
+						CFIntSaxLoader.this.warning( e );
+					}
+
+					public void error( SAXParseException e )
+					throws SAXException
+					{
+						throw e;
+					}
+
+					public void fatalError( SAXParseException e )
+					throws SAXException
+					{
+						throw e;
+					}
+				} );
+			}
+			else {
+				reader.setErrorHandler( this );
+			}
+			reader.setEntityResolver( this );
+			reader.setDTDHandler( this );
+			reader.parse( source );
+		}
+		catch( ParserConfigurationException e ) {
+			throw new RuntimeException( S_ProcName + "() ERROR: Configuring parser: " + e.getMessage(),
+				e );
+		}
+		catch( SAXException e ) {
+			if( e.getException() instanceof RuntimeException ) {
+				throw (RuntimeException)e.getException();
+			}
+			throw new RuntimeException( S_ProcName + "() ERROR: Parsing " + source.getSystemId() + ": " + e.getMessage(),
+				e );
+		}
+		catch( IOException e ) {
+			throw new RuntimeException( S_ProcName + "() ERROR: Reading " + source.getSystemId() + ": " + e.getMessage(),
+				e );
+		}
+	}
+
+	// Parse a file
+
+	public void parseFile( String url ) {
+		final String S_ProcName = "parseFile";
+		if( CFIntSaxCompression.isZipName( url ) ) {
+			try( InputStream in = openURL( url ).getInputStream() ) {
+				parseZip( in, url );
+			}
+			catch( IOException e ) {
+				throw new RuntimeException( S_ProcName + "() ERROR: Reading " + url + ": " + e.getMessage(),
+					e );
+			}
+			return;
+		}
+		load( url, () -> parseCounted( url ) );
+	}
+
+	public void parseFile( Path path ) {
+		final String S_ProcName = "parseFile";
+		if( path == null ) {
+			throw new CFLibNullArgumentException( getClass(),
+				S_ProcName,
+				1,
+				"path" );
+		}
+		if( CFIntSaxCompression.isZipName( path.getFileName().toString() ) ) {
+			try( InputStream in = Files.newInputStream( path ) ) {
+				parseZip( in, path.toUri().toString() );
+			}
+			catch( IOException e ) {
+				throw new RuntimeException( S_ProcName + "() ERROR: Reading " + path + ": " + e.getMessage(),
+					e );
+			}
+			return;
+		}
+		load( path.toUri().toString(), () -> {
+			InputStream in;
+			long totalBytes;
+			try {
+				if( mappedInput ) {
+					in = new CFIntSaxMappedInputStream( path, mappedSegmentSize );
+				}
+				else {
+					in = Files.newInputStream( path );
+				}
+				totalBytes = Files.size( path );
+			}
+			catch( IOException e ) {
+				throw new RuntimeException( S_ProcName + "() ERROR: Opening " + path + ": " + e.getMessage(),
+					e );
+			}
+			try {
+				if( mappedInput ) {
+					parseInput( in, totalBytes, path.toUri().toString() );
+				}
+				else {
+					parseBuffered( in, totalBytes, path.toUri().toString() );
+				}
+			}
+			finally {
+				try {
+					in.close();
+				}
+				catch( IOException e ) {
+				}
+			}
+		} );
+	}
+
+	// Parse a stream, reader or channel owned by the caller, which remains
+	// open.  These can only be read once, so they are never pre-scanned.
+	// The system id, which may be null, resolves relative references.
+
+	public void parseStream( InputStream in ) {
+		parseStream( in, -1L, null );
+	}
+
+	public void parseStream( InputStream in, long totalBytes, String systemId ) {
+		final String S_ProcName = "parseStream";
+		if( in == null ) {
+			throw new CFLibNullArgumentException( getClass(),
+				S_ProcName,
+				1,
+				"in" );
+		}
+		load( null, () -> parseBuffered( in, totalBytes, systemId ) );
+	}
+
+	public void parseReader( Reader reader ) {
+		parseReader( reader, null );
+	}
+
+	public void parseReader( Reader reader, String systemId ) {
+		final String S_ProcName = "parseReader";
+		if( reader == null ) {
+			throw new CFLibNullArgumentException( getClass(),
+				S_ProcName,
+				1,
+				"reader" );
+		}
+		load( null, () -> {
+			try {
+				beginProgress( null, -1L );
+				InputSource source = new InputSource( new BufferedReader( reader, readBufferSize ) );
+				source.setSystemId( systemId );
+				parseSource( source );
+				fireProgress( true );
+			}
+			finally {
+				endProgress();
+			}
+		} );
+	}
+
+	public void parseChannel( ReadableByteChannel channel ) {
+		parseChannel( channel, -1L, null );
+	}
+
+	public void parseChannel( ReadableByteChannel channel, long totalBytes, String systemId ) {
+		final String S_ProcName = "parseChannel";
+		if( channel == null ) {
+			throw new CFLibNullArgumentException( getClass(),
+				S_ProcName,
+				1,
+				"channel" );
+		}
+		load( null, () -> parseBuffered( Channels.newInputStream( channel ), totalBytes, systemId ) );
+	}
+
+	// Load each entry of a zip archive whose file name matches the entry
+	// glob, in archive order, as a load of its own.  The caller's stream
+	// remains open.  Entries are never pre-scanned.
+	//
+	// The checkpoint names the entry being loaded: it is written before
+	// each entry starts and marked complete when the entry is done, and
+	// only deleted once the whole archive is.  When resuming, the entries
+	// before the named one are skipped, and so is the named one itself if
+	// it was complete.
+
+	public void parseZip( InputStream in, String systemId ) {
+		final String S_ProcName = "parseZip";
+		if( in == null ) {
+			throw new CFLibNullArgumentException( getClass(),
+				S_ProcName,
+				1,
+				"in" );
+		}
+		checkCheckpointPolicy();
+		PathMatcher matcher = FileSystems.getDefault().getPathMatcher( "glob:" + zipEntryGlob );
+		String resumeEntry = null;
+		boolean resumeAfterEntry = false;
+		if( resumeFromCheckpoint && ( checkpointFile != null ) && checkpointFile.exists() ) {
+			CFIntSaxCheckpoint checkpoint = CFIntSaxCheckpoint.load( checkpointFile );
+			resumeEntry = checkpoint.getDocument();
+			resumeAfterEntry = checkpoint.isComplete();
+		}
+		try( ZipInputStream zip = new ZipInputStream( new BufferedInputStream( CFIntSaxCompression.unclosable( in ), readBufferSize ) ) ) {
+			ZipEntry entry;
+			while( ( entry = zip.getNextEntry() ) != null ) {
+				String entryName = entry.getName();
+				Path entryFileName = Paths.get( entryName ).getFileName();
+				if( entry.isDirectory() || ( entryFileName == null ) || ! matcher.matches( entryFileName ) ) {
+					continue;
+				}
+				boolean resumingEntry = false;
+				if( resumeEntry != null ) {
+					if( ! resumeEntry.equals( entryName ) ) {
+						continue;
+					}
+					resumeEntry = null;
+					if( resumeAfterEntry ) {
+						continue;
+					}
+					resumingEntry = true;
+				}
+				long entrySize = entry.getSize();
+				String entrySystemId = ( systemId == null ) ? null : systemId + "!/" + entryName;
+				if( ( checkpointFile != null ) && ! resumingEntry ) {
+					new CFIntSaxCheckpoint( 0L, null, entryName, Collections.<CFIntSaxCheckpoint.Frame>emptyList() ).save( checkpointFile );
+				}
+				checkpointDocument = entryName;
+				try {
+					load( null, () -> parseBuffered( zip, entrySize, entrySystemId ) );
+				}
+				finally {
+					checkpointDocument = null;
+				}
+			}
+			if( checkpointFile != null ) {
+				checkpointFile.delete();
+			}
+		}
+		catch( IOException e ) {
+			throw new RuntimeException( S_ProcName + "() ERROR: Reading zip archive " + systemId + ": " + e.getMessage(),
+				e );
+		}
+	}
+
+	// Run a parse as one load: pre-scan when there is a URL to scan,
+	// resume from the checkpoint, commit on success and roll back on
+	// failure.  The end of the document element normally commits already,
+	// so the commit here only catches writes made after it.
+
+	protected void load( String preScanUrl, Runnable parser ) {
+		checkCheckpointPolicy();
+		refCache.clear();
+		try {
+			if( preScanEnabled && ( preScanUrl != null ) ) {
+				preScan( preScanUrl );
+			}
+			if( resumeFromCheckpoint && ( checkpointFile != null ) && checkpointFile.exists() ) {
+				CFIntSaxCheckpoint checkpoint = CFIntSaxCheckpoint.load( checkpointFile );
+				if( Objects.equals( checkpoint.getDocument(), checkpointDocument ) ) {
+					resumeCheckpoint = checkpoint;
+				}
+			}
+			parser.run();
+			if( transactionOpen || ( rowsSinceCommit > 0 ) ) {
+				commitTransaction();
+			}
+			if( checkpointFile != null ) {
+				if( checkpointDocument == null ) {
+					checkpointFile.delete();
+				}
+				else {
+					CFIntSaxCheckpoint.completed( elementOrdinal, getLocationInfo(), checkpointDocument ).save( checkpointFile );
+				}
+			}
+		}
+		catch( RuntimeException e ) {
+			discardWriteBatch();
+			stopSubtreeScheduler();
+			try {
+				stopWritePipeline();
+			}
+			catch( RuntimeException stopFailure ) {
+				e.addSuppressed( stopFailure );
+			}
+			rollbackTransaction();
+			throw e;
+		}
+		finally {
+			stopSubtreeScheduler();
+			stopWritePipeline();
+			preScanRows.clear();
+			resumeCheckpoint = null;
+		}
 	}
 }
@@ -57,9 +57,30 @@ import io.github.msobkow.v3_1.cfint.cfintobj.*;
  */
 public class CFIntSaxLoaderHostNode
 	extends CFLibXmlCoreElementHandler
+	implements ICFIntSaxRowWriter
 {
+	// Attribute slots
+
+	protected final static int ATTR_Id = 0;
+	protected final static int ATTR_Description = 1;
+	protected final static int ATTR_HostName = 2;
+	protected final static int ATTR_schemaLocation = 3;
+
+	protected final static CFIntSaxAttrSlots attrSlots = new CFIntSaxAttrSlots(
+		"Id",
+		"Description",
+		"HostName",
+		"schemaLocation" );
+
+	// Value row columns
+
+	protected final static int COL_Description = 0;
+	protected final static int COL_HostName = 1;
+	protected final static int COL_ContainerCluster = 2;
+
 	public CFIntSaxLoaderHostNode( CFIntSaxLoader saxLoader ) {
 		super( saxLoader );
+		saxLoader.declareElementKey( "HostNode", "HostName" );
 	}
 
 	public void startElement(
@@ -103,49 +124,85 @@ public class CFIntSaxLoaderHostNode
 					"getParser().getSchemaObj()" );
 			}
 
+			// Insert behaviour never changes an existing row, so look for it
+			// by the raw key attributes before building an edit buffer
+
+			CFIntSaxLoader.LoaderBehaviourEnum loaderBehaviour = saxLoader.effectiveBehaviour( saxLoader.getHostNodeLoaderBehaviour() );
+			boolean probedHostNode = false;
+			if( loaderBehaviour == CFIntSaxLoader.LoaderBehaviourEnum.Insert ) {
+				Object probeScopeObj = saxLoader.resolveScopeObj( getParser().getCurContext().getPrevContext() );
+				final String keyHostName = attrs.getValue( "HostName" );
+				if( ( probeScopeObj instanceof ICFIntClusterObj ) && ( keyHostName != null ) ) {
+					final ICFIntClusterObj keyCluster = (ICFIntClusterObj)probeScopeObj;
+					ICFIntHostNodeObj existingHostNode = (ICFIntHostNodeObj)saxLoader.readExisting( "HostNode", "HostNameIdx", CFIntSaxLoader.naturalKey( keyCluster.getRequiredId(), keyHostName ),
+						() -> schemaObj.getHostNodeTableObj().readHostNodeByHostNameIdx( keyCluster.getRequiredId(), keyHostName ) );
+					if( existingHostNode != null ) {
+						CFLibXmlCoreContext curContext = getParser().getCurContext();
+						if( saxLoader.isLeanContext() ) {
+							saxLoader.saveContextAttrs( curContext, "HostNode", attrs );
+						}
+						else {
+							curContext.putNamedValue( "Id", attrs.getValue( "Id" ) );
+							curContext.putNamedValue( "Description", attrs.getValue( "Description" ) );
+							curContext.putNamedValue( "HostName", attrs.getValue( "HostName" ) );
+						}
+						curContext.putNamedValue( "Object", existingHostNode );
+						return;
+					}
+					probedHostNode = true;
+				}
+			}
+
 			// Instantiate an edit buffer for the parsed information
-			origBuff = (ICFIntHostNodeObj)schemaObj.getHostNodeTableObj().newInstance();
-			editBuff = (ICFIntHostNodeEditObj)origBuff.beginEdit();
+			saxLoader.getSchemaLock().lock();
+			try {
+				origBuff = (ICFIntHostNodeObj)schemaObj.getHostNodeTableObj().newInstance();
+				editBuff = (ICFIntHostNodeEditObj)origBuff.beginEdit();
+			}
+			finally {
+				saxLoader.getSchemaLock().unlock();
+			}
 
 			// Extract Attributes
 			numAttrs = attrs.getLength();
 			for( idxAttr = 0; idxAttr < numAttrs; idxAttr++ ) {
 				attrLocalName = attrs.getLocalName( idxAttr );
-				if( attrLocalName.equals( "Id" ) ) {
-					if( attrId != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
-							S_ProcName,
-							S_LocalName,
-							attrLocalName );
-					}
-					attrId = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "Description" ) ) {
-					if( attrDescription != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
-							S_ProcName,
-							S_LocalName,
-							attrLocalName );
-					}
-					attrDescription = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "HostName" ) ) {
-					if( attrHostName != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
+				switch( attrSlots.slotOf( attrLocalName ) ) {
+					case ATTR_Id:
+						if( attrId != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrId = attrs.getValue( idxAttr );
+						break;
+					case ATTR_Description:
+						if( attrDescription != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrDescription = attrs.getValue( idxAttr );
+						break;
+					case ATTR_HostName:
+						if( attrHostName != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrHostName = attrs.getValue( idxAttr );
+						break;
+					case ATTR_schemaLocation:
+						// ignored
+						break;
+					default:
+						throw new CFLibUnrecognizedAttributeException( getClass(),
 							S_ProcName,
-							S_LocalName,
+							getParser().getLocationInfo(),
 							attrLocalName );
-					}
-					attrHostName = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "schemaLocation" ) ) {
-					// ignored
-				}
-				else {
-					throw new CFLibUnrecognizedAttributeException( getClass(),
-						S_ProcName,
-						getParser().getLocationInfo(),
-						attrLocalName );
 				}
 			}
 
@@ -163,11 +220,17 @@ public class CFIntSaxLoaderHostNode
 					"HostName" );
 			}
 
-			// Save named attributes to context
+			// Save named attributes to context, or in lean context mode only
+			// the ones registered for the element
 			CFLibXmlCoreContext curContext = getParser().getCurContext();
-			curContext.putNamedValue( "Id", attrId );
-			curContext.putNamedValue( "Description", attrDescription );
-			curContext.putNamedValue( "HostName", attrHostName );
+			if( saxLoader.isLeanContext() ) {
+				saxLoader.saveContextAttrs( curContext, "HostNode", attrs );
+			}
+			else {
+				curContext.putNamedValue( "Id", attrId );
+				curContext.putNamedValue( "Description", attrDescription );
+				curContext.putNamedValue( "HostName", attrHostName );
+			}
 
 			// Convert string attributes to native Java types
 			// and apply the converted attributes to the editBuff.
@@ -188,13 +251,7 @@ public class CFIntSaxLoaderHostNode
 			// Get the scope/container object
 
 			CFLibXmlCoreContext parentContext = curContext.getPrevContext();
-			Object scopeObj;
-			if( parentContext != null ) {
-				scopeObj = parentContext.getNamedValue( "Object" );
-			}
-			else {
-				scopeObj = null;
-			}
+			Object scopeObj = saxLoader.resolveScopeObj( parentContext );
 
 			// Resolve and apply required Container reference
 
@@ -216,10 +273,15 @@ public class CFIntSaxLoaderHostNode
 					"ICFIntClusterObj" );
 			}
 
-			CFIntSaxLoader.LoaderBehaviourEnum loaderBehaviour = saxLoader.getHostNodeLoaderBehaviour();
 			ICFIntHostNodeEditObj editHostNode = null;
-			ICFIntHostNodeObj origHostNode = (ICFIntHostNodeObj)schemaObj.getHostNodeTableObj().readHostNodeByHostNameIdx( refCluster.getRequiredId(),
-			editBuff.getRequiredHostName() );
+			final ICFIntClusterObj keyCluster = refCluster;
+			final String keyHostName = editBuff.getRequiredHostName();
+			Object naturalKey = CFIntSaxLoader.naturalKey( keyCluster.getRequiredId(), keyHostName );
+			ICFIntHostNodeObj origHostNode = null;
+			if( ! probedHostNode ) {
+				origHostNode = (ICFIntHostNodeObj)saxLoader.readExisting( "HostNode", "HostNameIdx", naturalKey,
+					() -> schemaObj.getHostNodeTableObj().readHostNodeByHostNameIdx( keyCluster.getRequiredId(), keyHostName ) );
+			}
 			if( origHostNode == null ) {
 				editHostNode = editBuff;
 			}
@@ -228,13 +290,21 @@ public class CFIntSaxLoaderHostNode
 					case Insert:
 						break;
 					case Update:
-						editHostNode = (ICFIntHostNodeEditObj)origHostNode.beginEdit();
-						editHostNode.setRequiredDescription( editBuff.getRequiredDescription() );
-						editHostNode.setRequiredHostName( editBuff.getRequiredHostName() );
+					case Upsert:
+						if( ( loaderBehaviour == CFIntSaxLoader.LoaderBehaviourEnum.Update )
+							&& saxLoader.isSkipUnchangedUpdates()
+							&& Objects.equals( origHostNode.getRequiredDescription(), editBuff.getRequiredDescription() )
+							&& Objects.equals( origHostNode.getRequiredHostName(), editBuff.getRequiredHostName() ) )
+						{
+							saxLoader.countUnchangedUpdate( "HostNode" );
+						}
+						else {
+							editHostNode = editBuff;
+						}
 						break;
 					case Replace:
-						editHostNode = (ICFIntHostNodeEditObj)origHostNode.beginEdit();
-						editHostNode.deleteInstance();
+						final ICFIntHostNodeObj deleteHostNode = origHostNode;
+						saxLoader.applyDelete( "HostNode", naturalKey, () -> ( (ICFIntHostNodeEditObj)deleteHostNode.beginEdit() ).deleteInstance() );
 						editHostNode = null;
 						origHostNode = null;
 						editHostNode = editBuff;
@@ -243,11 +313,16 @@ public class CFIntSaxLoaderHostNode
 			}
 
 			if( editHostNode != null ) {
+				final ICFIntHostNodeEditObj pendingHostNode = editHostNode;
+				CFIntSaxValueRow valueRow = new CFIntSaxValueRow( "HostNode", naturalKey, origHostNode,
+					natDescription,
+					natHostName,
+					refCluster );
 				if( origHostNode != null ) {
-					editHostNode.update();
+					saxLoader.applyUpdate( "HostNode", naturalKey, pendingHostNode, valueRow, this, CFIntSaxLoader.estimateAttrBytes( attrs ) );
 				}
 				else {
-					origHostNode = (ICFIntHostNodeObj)editHostNode.create();
+					origHostNode = (ICFIntHostNodeObj)saxLoader.applyCreate( "HostNode", naturalKey, pendingHostNode, valueRow, this, CFIntSaxLoader.estimateAttrBytes( attrs ) );
 				}
 				editHostNode = null;
 			}
@@ -263,6 +338,28 @@ public class CFIntSaxLoaderHostNode
 		}
 	}
 
+	// Build an edit object from a captured value row and write it.  This
+	// may run on a write pipeline thread, so it reads only the value row.
+
+	public Object writeRow( CFIntSaxValueRow row ) {
+		ICFIntSchemaObj schemaObj = ( (CFIntSaxLoader)getParser() ).getSchemaObj();
+		ICFIntHostNodeObj origHostNode = (ICFIntHostNodeObj)row.getExisting();
+		ICFIntHostNodeEditObj editHostNode;
+		if( origHostNode != null ) {
+			editHostNode = (ICFIntHostNodeEditObj)origHostNode.beginEdit();
+			editHostNode.setRequiredDescription( (String)row.getValue( COL_Description ) );
+			editHostNode.setRequiredHostName( (String)row.getValue( COL_HostName ) );
+			editHostNode.update();
+			return( origHostNode );
+		}
+		origHostNode = (ICFIntHostNodeObj)schemaObj.getHostNodeTableObj().newInstance();
+		editHostNode = (ICFIntHostNodeEditObj)origHostNode.beginEdit();
+		editHostNode.setRequiredDescription( (String)row.getValue( COL_Description ) );
+		editHostNode.setRequiredHostName( (String)row.getValue( COL_HostName ) );
+		editHostNode.setRequiredContainerCluster( (ICFIntClusterObj)row.getValue( COL_ContainerCluster ) );
+		return( editHostNode.create() );
+	}
+
 	public void endElement(
 		String		uri,
 		String		localName,
@@ -57,9 +57,35 @@ import io.github.msobkow.v3_1.cfint.cfintobj.*;
  */
 public class CFIntSaxLoaderISOCcy
 	extends CFLibXmlCoreElementHandler
+	implements ICFIntSaxRowWriter
 {
+	// Attribute slots
+
+	protected final static int ATTR_Id = 0;
+	protected final static int ATTR_ISOCode = 1;
+	protected final static int ATTR_Name = 2;
+	protected final static int ATTR_UnitSymbol = 3;
+	protected final static int ATTR_Precis = 4;
+	protected final static int ATTR_schemaLocation = 5;
+
+	protected final static CFIntSaxAttrSlots attrSlots = new CFIntSaxAttrSlots(
+		"Id",
+		"ISOCode",
+		"Name",
+		"UnitSymbol",
+		"Precis",
+		"schemaLocation" );
+
+	// Value row columns
+
+	protected final static int COL_ISOCode = 0;
+	protected final static int COL_Name = 1;
+	protected final static int COL_UnitSymbol = 2;
+	protected final static int COL_Precis = 3;
+
 	public CFIntSaxLoaderISOCcy( CFIntSaxLoader saxLoader ) {
 		super( saxLoader );
+		saxLoader.declareElementKey( "ISOCcy", "ISOCode" );
 	}
 
 	public void startElement(
@@ -104,67 +130,103 @@ public class CFIntSaxLoaderISOCcy
 					"getParser().getSchemaObj()" );
 			}
 
+			// Insert behaviour never changes an existing row, so look for it
+			// by the raw key attributes before building an edit buffer
+
+			CFIntSaxLoader.LoaderBehaviourEnum loaderBehaviour = saxLoader.effectiveBehaviour( saxLoader.getISOCcyLoaderBehaviour() );
+			boolean probedISOCcy = false;
+			if( loaderBehaviour == CFIntSaxLoader.LoaderBehaviourEnum.Insert ) {
+				final String keyISOCode = attrs.getValue( "ISOCode" );
+				if( ( keyISOCode != null ) ) {
+					ICFIntISOCcyObj existingISOCcy = (ICFIntISOCcyObj)saxLoader.readExisting( "ISOCcy", "CcyCdIdx", CFIntSaxLoader.naturalKey( keyISOCode ),
+						() -> schemaObj.getISOCcyTableObj().readISOCcyByCcyCdIdx( keyISOCode ) );
+					if( existingISOCcy != null ) {
+						CFLibXmlCoreContext curContext = getParser().getCurContext();
+						if( saxLoader.isLeanContext() ) {
+							saxLoader.saveContextAttrs( curContext, "ISOCcy", attrs );
+						}
+						else {
+							curContext.putNamedValue( "Id", attrs.getValue( "Id" ) );
+							curContext.putNamedValue( "ISOCode", attrs.getValue( "ISOCode" ) );
+							curContext.putNamedValue( "Name", attrs.getValue( "Name" ) );
+							curContext.putNamedValue( "UnitSymbol", attrs.getValue( "UnitSymbol" ) );
+							curContext.putNamedValue( "Precis", attrs.getValue( "Precis" ) );
+						}
+						curContext.putNamedValue( "Object", existingISOCcy );
+						return;
+					}
+					probedISOCcy = true;
+				}
+			}
+
 			// Instantiate an edit buffer for the parsed information
-			origBuff = (ICFIntISOCcyObj)schemaObj.getISOCcyTableObj().newInstance();
-			editBuff = (ICFIntISOCcyEditObj)origBuff.beginEdit();
+			saxLoader.getSchemaLock().lock();
+			try {
+				origBuff = (ICFIntISOCcyObj)schemaObj.getISOCcyTableObj().newInstance();
+				editBuff = (ICFIntISOCcyEditObj)origBuff.beginEdit();
+			}
+			finally {
+				saxLoader.getSchemaLock().unlock();
+			}
 
 			// Extract Attributes
 			numAttrs = attrs.getLength();
 			for( idxAttr = 0; idxAttr < numAttrs; idxAttr++ ) {
 				attrLocalName = attrs.getLocalName( idxAttr );
-				if( attrLocalName.equals( "Id" ) ) {
-					if( attrId != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
-							S_ProcName,
-							S_LocalName,
-							attrLocalName );
-					}
-					attrId = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "ISOCode" ) ) {
-					if( attrISOCode != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
-							S_ProcName,
-							S_LocalName,
-							attrLocalName );
-					}
-					attrISOCode = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "Name" ) ) {
-					if( attrName != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
-							S_ProcName,
-							S_LocalName,
-							attrLocalName );
-					}
-					attrName = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "UnitSymbol" ) ) {
-					if( attrUnitSymbol != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
-							S_ProcName,
-							S_LocalName,
-							attrLocalName );
-					}
-					attrUnitSymbol = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "Precis" ) ) {
-					if( attrPrecis != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
+				switch( attrSlots.slotOf( attrLocalName ) ) {
+					case ATTR_Id:
+						if( attrId != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrId = attrs.getValue( idxAttr );
+						break;
+					case ATTR_ISOCode:
+						if( attrISOCode != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrISOCode = attrs.getValue( idxAttr );
+						break;
+					case ATTR_Name:
+						if( attrName != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrName = attrs.getValue( idxAttr );
+						break;
+					case ATTR_UnitSymbol:
+						if( attrUnitSymbol != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrUnitSymbol = attrs.getValue( idxAttr );
+						break;
+					case ATTR_Precis:
+						if( attrPrecis != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrPrecis = attrs.getValue( idxAttr );
+						break;
+					case ATTR_schemaLocation:
+						// ignored
+						break;
+					default:
+						throw new CFLibUnrecognizedAttributeException( getClass(),
 							S_ProcName,
-							S_LocalName,
+							getParser().getLocationInfo(),
 							attrLocalName );
-					}
-					attrPrecis = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "schemaLocation" ) ) {
-					// ignored
-				}
-				else {
-					throw new CFLibUnrecognizedAttributeException( getClass(),
-						S_ProcName,
-						getParser().getLocationInfo(),
-						attrLocalName );
 				}
 			}
 
@@ -188,13 +250,19 @@ public class CFIntSaxLoaderISOCcy
 					"Precis" );
 			}
 
-			// Save named attributes to context
+			// Save named attributes to context, or in lean context mode only
+			// the ones registered for the element
 			CFLibXmlCoreContext curContext = getParser().getCurContext();
-			curContext.putNamedValue( "Id", attrId );
-			curContext.putNamedValue( "ISOCode", attrISOCode );
-			curContext.putNamedValue( "Name", attrName );
-			curContext.putNamedValue( "UnitSymbol", attrUnitSymbol );
-			curContext.putNamedValue( "Precis", attrPrecis );
+			if( saxLoader.isLeanContext() ) {
+				saxLoader.saveContextAttrs( curContext, "ISOCcy", attrs );
+			}
+			else {
+				curContext.putNamedValue( "Id", attrId );
+				curContext.putNamedValue( "ISOCode", attrISOCode );
+				curContext.putNamedValue( "Name", attrName );
+				curContext.putNamedValue( "UnitSymbol", attrUnitSymbol );
+				curContext.putNamedValue( "Precis", attrPrecis );
+			}
 
 			// Convert string attributes to native Java types
 			// and apply the converted attributes to the editBuff.
@@ -221,17 +289,16 @@ public class CFIntSaxLoaderISOCcy
 			// Get the scope/container object
 
 			CFLibXmlCoreContext parentContext = curContext.getPrevContext();
-			Object scopeObj;
-			if( parentContext != null ) {
-				scopeObj = parentContext.getNamedValue( "Object" );
-			}
-			else {
-				scopeObj = null;
-			}
+			Object scopeObj = saxLoader.resolveScopeObj( parentContext );
 
-			CFIntSaxLoader.LoaderBehaviourEnum loaderBehaviour = saxLoader.getISOCcyLoaderBehaviour();
 			ICFIntISOCcyEditObj editISOCcy = null;
-			ICFIntISOCcyObj origISOCcy = (ICFIntISOCcyObj)schemaObj.getISOCcyTableObj().readISOCcyByCcyCdIdx( editBuff.getRequiredISOCode() );
+			final String keyISOCode = editBuff.getRequiredISOCode();
+			Object naturalKey = CFIntSaxLoader.naturalKey( keyISOCode );
+			ICFIntISOCcyObj origISOCcy = null;
+			if( ! probedISOCcy ) {
+				origISOCcy = (ICFIntISOCcyObj)saxLoader.readExisting( "ISOCcy", "CcyCdIdx", naturalKey,
+					() -> schemaObj.getISOCcyTableObj().readISOCcyByCcyCdIdx( keyISOCode ) );
+			}
 			if( origISOCcy == null ) {
 				editISOCcy = editBuff;
 			}
@@ -240,15 +307,23 @@ public class CFIntSaxLoaderISOCcy
 					case Insert:
 						break;
 					case Update:
-						editISOCcy = (ICFIntISOCcyEditObj)origISOCcy.beginEdit();
-						editISOCcy.setRequiredISOCode( editBuff.getRequiredISOCode() );
-						editISOCcy.setRequiredName( editBuff.getRequiredName() );
-						editISOCcy.setOptionalUnitSymbol( editBuff.getOptionalUnitSymbol() );
-						editISOCcy.setRequiredPrecis( editBuff.getRequiredPrecis() );
+					case Upsert:
+						if( ( loaderBehaviour == CFIntSaxLoader.LoaderBehaviourEnum.Update )
+							&& saxLoader.isSkipUnchangedUpdates()
+							&& Objects.equals( origISOCcy.getRequiredISOCode(), editBuff.getRequiredISOCode() )
+							&& Objects.equals( origISOCcy.getRequiredName(), editBuff.getRequiredName() )
+							&& Objects.equals( origISOCcy.getOptionalUnitSymbol(), editBuff.getOptionalUnitSymbol() )
+							&& Objects.equals( origISOCcy.getRequiredPrecis(), editBuff.getRequiredPrecis() ) )
+						{
+							saxLoader.countUnchangedUpdate( "ISOCcy" );
+						}
+						else {
+							editISOCcy = editBuff;
+						}
 						break;
 					case Replace:
-						editISOCcy = (ICFIntISOCcyEditObj)origISOCcy.beginEdit();
-						editISOCcy.deleteInstance();
+						final ICFIntISOCcyObj deleteISOCcy = origISOCcy;
+						saxLoader.applyDelete( "ISOCcy", naturalKey, () -> ( (ICFIntISOCcyEditObj)deleteISOCcy.beginEdit() ).deleteInstance() );
 						editISOCcy = null;
 						origISOCcy = null;
 						editISOCcy = editBuff;
@@ -257,11 +332,17 @@ public class CFIntSaxLoaderISOCcy
 			}
 
 			if( editISOCcy != null ) {
+				final ICFIntISOCcyEditObj pendingISOCcy = editISOCcy;
+				CFIntSaxValueRow valueRow = new CFIntSaxValueRow( "ISOCcy", naturalKey, origISOCcy,
+					natISOCode,
+					natName,
+					natUnitSymbol,
+					natPrecis );
 				if( origISOCcy != null ) {
-					editISOCcy.update();
+					saxLoader.applyUpdate( "ISOCcy", naturalKey, pendingISOCcy, valueRow, this, CFIntSaxLoader.estimateAttrBytes( attrs ) );
 				}
 				else {
-					origISOCcy = (ICFIntISOCcyObj)editISOCcy.create();
+					origISOCcy = (ICFIntISOCcyObj)saxLoader.applyCreate( "ISOCcy", naturalKey, pendingISOCcy, valueRow, this, CFIntSaxLoader.estimateAttrBytes( attrs ) );
 				}
 				editISOCcy = null;
 			}
@@ -277,6 +358,31 @@ public class CFIntSaxLoaderISOCcy
 		}
 	}
 
+	// Build an edit object from a captured value row and write it.  This
+	// may run on a write pipeline thread, so it reads only the value row.
+
+	public Object writeRow( CFIntSaxValueRow row ) {
+		ICFIntSchemaObj schemaObj = ( (CFIntSaxLoader)getParser() ).getSchemaObj();
+		ICFIntISOCcyObj origISOCcy = (ICFIntISOCcyObj)row.getExisting();
+		ICFIntISOCcyEditObj editISOCcy;
+		if( origISOCcy != null ) {
+			editISOCcy = (ICFIntISOCcyEditObj)origISOCcy.beginEdit();
+			editISOCcy.setRequiredISOCode( (String)row.getValue( COL_ISOCode ) );
+			editISOCcy.setRequiredName( (String)row.getValue( COL_Name ) );
+			editISOCcy.setOptionalUnitSymbol( (String)row.getValue( COL_UnitSymbol ) );
+			editISOCcy.setRequiredPrecis( (Short)row.getValue( COL_Precis ) );
+			editISOCcy.update();
+			return( origISOCcy );
+		}
+		origISOCcy = (ICFIntISOCcyObj)schemaObj.getISOCcyTableObj().newInstance();
+		editISOCcy = (ICFIntISOCcyEditObj)origISOCcy.beginEdit();
+		editISOCcy.setRequiredISOCode( (String)row.getValue( COL_ISOCode ) );
+		editISOCcy.setRequiredName( (String)row.getValue( COL_Name ) );
+		editISOCcy.setOptionalUnitSymbol( (String)row.getValue( COL_UnitSymbol ) );
+		editISOCcy.setRequiredPrecis( (Short)row.getValue( COL_Precis ) );
+		return( editISOCcy.create() );
+	}
+
 	public void endElement(
 		String		uri,
 		String		localName,
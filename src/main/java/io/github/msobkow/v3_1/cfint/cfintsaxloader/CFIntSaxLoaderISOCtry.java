@@ -57,9 +57,29 @@ import io.github.msobkow.v3_1.cfint.cfintobj.*;
  */
 public class CFIntSaxLoaderISOCtry
 	extends CFLibXmlCoreElementHandler
+	implements ICFIntSaxRowWriter
 {
+	// Attribute slots
+
+	protected final static int ATTR_Id = 0;
+	protected final static int ATTR_ISOCode = 1;
+	protected final static int ATTR_Name = 2;
+	protected final static int ATTR_schemaLocation = 3;
+
+	protected final static CFIntSaxAttrSlots attrSlots = new CFIntSaxAttrSlots(
+		"Id",
+		"ISOCode",
+		"Name",
+		"schemaLocation" );
+
+	// Value row columns
+
+	protected final static int COL_ISOCode = 0;
+	protected final static int COL_Name = 1;
+
 	public CFIntSaxLoaderISOCtry( CFIntSaxLoader saxLoader ) {
 		super( saxLoader );
+		saxLoader.declareElementKey( "ISOCtry", "ISOCode" );
 	}
 
 	public void startElement(
@@ -102,49 +122,83 @@ public class CFIntSaxLoaderISOCtry
 					"getParser().getSchemaObj()" );
 			}
 
+			// Insert behaviour never changes an existing row, so look for it
+			// by the raw key attributes before building an edit buffer
+
+			CFIntSaxLoader.LoaderBehaviourEnum loaderBehaviour = saxLoader.effectiveBehaviour( saxLoader.getISOCtryLoaderBehaviour() );
+			boolean probedISOCtry = false;
+			if( loaderBehaviour == CFIntSaxLoader.LoaderBehaviourEnum.Insert ) {
+				final String keyISOCode = attrs.getValue( "ISOCode" );
+				if( ( keyISOCode != null ) ) {
+					ICFIntISOCtryObj existingISOCtry = (ICFIntISOCtryObj)saxLoader.readExisting( "ISOCtry", "ISOCodeIdx", CFIntSaxLoader.naturalKey( keyISOCode ),
+						() -> schemaObj.getISOCtryTableObj().readISOCtryByISOCodeIdx( keyISOCode ) );
+					if( existingISOCtry != null ) {
+						CFLibXmlCoreContext curContext = getParser().getCurContext();
+						if( saxLoader.isLeanContext() ) {
+							saxLoader.saveContextAttrs( curContext, "ISOCtry", attrs );
+						}
+						else {
+							curContext.putNamedValue( "Id", attrs.getValue( "Id" ) );
+							curContext.putNamedValue( "ISOCode", attrs.getValue( "ISOCode" ) );
+							curContext.putNamedValue( "Name", attrs.getValue( "Name" ) );
+						}
+						curContext.putNamedValue( "Object", existingISOCtry );
+						return;
+					}
+					probedISOCtry = true;
+				}
+			}
+
 			// Instantiate an edit buffer for the parsed information
-			origBuff = (ICFIntISOCtryObj)schemaObj.getISOCtryTableObj().newInstance();
-			editBuff = (ICFIntISOCtryEditObj)origBuff.beginEdit();
+			saxLoader.getSchemaLock().lock();
+			try {
+				origBuff = (ICFIntISOCtryObj)schemaObj.getISOCtryTableObj().newInstance();
+				editBuff = (ICFIntISOCtryEditObj)origBuff.beginEdit();
+			}
+			finally {
+				saxLoader.getSchemaLock().unlock();
+			}
 
 			// Extract Attributes
 			numAttrs = attrs.getLength();
 			for( idxAttr = 0; idxAttr < numAttrs; idxAttr++ ) {
 				attrLocalName = attrs.getLocalName( idxAttr );
-				if( attrLocalName.equals( "Id" ) ) {
-					if( attrId != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
-							S_ProcName,
-							S_LocalName,
-							attrLocalName );
-					}
-					attrId = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "ISOCode" ) ) {
-					if( attrISOCode != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
-							S_ProcName,
-							S_LocalName,
-							attrLocalName );
-					}
-					attrISOCode = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "Name" ) ) {
-					if( attrName != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
+				switch( attrSlots.slotOf( attrLocalName ) ) {
+					case ATTR_Id:
+						if( attrId != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrId = attrs.getValue( idxAttr );
+						break;
+					case ATTR_ISOCode:
+						if( attrISOCode != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrISOCode = attrs.getValue( idxAttr );
+						break;
+					case ATTR_Name:
+						if( attrName != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrName = attrs.getValue( idxAttr );
+						break;
+					case ATTR_schemaLocation:
+						// ignored
+						break;
+					default:
+						throw new CFLibUnrecognizedAttributeException( getClass(),
 							S_ProcName,
-							S_LocalName,
+							getParser().getLocationInfo(),
 							attrLocalName );
-					}
-					attrName = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "schemaLocation" ) ) {
-					// ignored
-				}
-				else {
-					throw new CFLibUnrecognizedAttributeException( getClass(),
-						S_ProcName,
-						getParser().getLocationInfo(),
-						attrLocalName );
 				}
 			}
 
@@ -162,11 +216,17 @@ public class CFIntSaxLoaderISOCtry
 					"Name" );
 			}
 
-			// Save named attributes to context
+			// Save named attributes to context, or in lean context mode only
+			// the ones registered for the element
 			CFLibXmlCoreContext curContext = getParser().getCurContext();
-			curContext.putNamedValue( "Id", attrId );
-			curContext.putNamedValue( "ISOCode", attrISOCode );
-			curContext.putNamedValue( "Name", attrName );
+			if( saxLoader.isLeanContext() ) {
+				saxLoader.saveContextAttrs( curContext, "ISOCtry", attrs );
+			}
+			else {
+				curContext.putNamedValue( "Id", attrId );
+				curContext.putNamedValue( "ISOCode", attrISOCode );
+				curContext.putNamedValue( "Name", attrName );
+			}
 
 			// Convert string attributes to native Java types
 			// and apply the converted attributes to the editBuff.
@@ -187,17 +247,16 @@ public class CFIntSaxLoaderISOCtry
 			// Get the scope/container object
 
 			CFLibXmlCoreContext parentContext = curContext.getPrevContext();
-			Object scopeObj;
-			if( parentContext != null ) {
-				scopeObj = parentContext.getNamedValue( "Object" );
-			}
-			else {
-				scopeObj = null;
-			}
+			Object scopeObj = saxLoader.resolveScopeObj( parentContext );
 
-			CFIntSaxLoader.LoaderBehaviourEnum loaderBehaviour = saxLoader.getISOCtryLoaderBehaviour();
 			ICFIntISOCtryEditObj editISOCtry = null;
-			ICFIntISOCtryObj origISOCtry = (ICFIntISOCtryObj)schemaObj.getISOCtryTableObj().readISOCtryByISOCodeIdx( editBuff.getRequiredISOCode() );
+			final String keyISOCode = editBuff.getRequiredISOCode();
+			Object naturalKey = CFIntSaxLoader.naturalKey( keyISOCode );
+			ICFIntISOCtryObj origISOCtry = null;
+			if( ! probedISOCtry ) {
+				origISOCtry = (ICFIntISOCtryObj)saxLoader.readExisting( "ISOCtry", "ISOCodeIdx", naturalKey,
+					() -> schemaObj.getISOCtryTableObj().readISOCtryByISOCodeIdx( keyISOCode ) );
+			}
 			if( origISOCtry == null ) {
 				editISOCtry = editBuff;
 			}
@@ -206,13 +265,21 @@ public class CFIntSaxLoaderISOCtry
 					case Insert:
 						break;
 					case Update:
-						editISOCtry = (ICFIntISOCtryEditObj)origISOCtry.beginEdit();
-						editISOCtry.setRequiredISOCode( editBuff.getRequiredISOCode() );
-						editISOCtry.setRequiredName( editBuff.getRequiredName() );
+					case Upsert:
+						if( ( loaderBehaviour == CFIntSaxLoader.LoaderBehaviourEnum.Update )
+							&& saxLoader.isSkipUnchangedUpdates()
+							&& Objects.equals( origISOCtry.getRequiredISOCode(), editBuff.getRequiredISOCode() )
+							&& Objects.equals( origISOCtry.getRequiredName(), editBuff.getRequiredName() ) )
+						{
+							saxLoader.countUnchangedUpdate( "ISOCtry" );
+						}
+						else {
+							editISOCtry = editBuff;
+						}
 						break;
 					case Replace:
-						editISOCtry = (ICFIntISOCtryEditObj)origISOCtry.beginEdit();
-						editISOCtry.deleteInstance();
+						final ICFIntISOCtryObj deleteISOCtry = origISOCtry;
+						saxLoader.applyDelete( "ISOCtry", naturalKey, () -> ( (ICFIntISOCtryEditObj)deleteISOCtry.beginEdit() ).deleteInstance() );
 						editISOCtry = null;
 						origISOCtry = null;
 						editISOCtry = editBuff;
@@ -221,11 +288,15 @@ public class CFIntSaxLoaderISOCtry
 			}
 
 			if( editISOCtry != null ) {
+				final ICFIntISOCtryEditObj pendingISOCtry = editISOCtry;
+				CFIntSaxValueRow valueRow = new CFIntSaxValueRow( "ISOCtry", naturalKey, origISOCtry,
+					natISOCode,
+					natName );
 				if( origISOCtry != null ) {
-					editISOCtry.update();
+					saxLoader.applyUpdate( "ISOCtry", naturalKey, pendingISOCtry, valueRow, this, CFIntSaxLoader.estimateAttrBytes( attrs ) );
 				}
 				else {
-					origISOCtry = (ICFIntISOCtryObj)editISOCtry.create();
+					origISOCtry = (ICFIntISOCtryObj)saxLoader.applyCreate( "ISOCtry", naturalKey, pendingISOCtry, valueRow, this, CFIntSaxLoader.estimateAttrBytes( attrs ) );
 				}
 				editISOCtry = null;
 			}
@@ -241,6 +312,27 @@ public class CFIntSaxLoaderISOCtry
 		}
 	}
 
+	// Build an edit object from a captured value row and write it.  This
+	// may run on a write pipeline thread, so it reads only the value row.
+
+	public Object writeRow( CFIntSaxValueRow row ) {
+		ICFIntSchemaObj schemaObj = ( (CFIntSaxLoader)getParser() ).getSchemaObj();
+		ICFIntISOCtryObj origISOCtry = (ICFIntISOCtryObj)row.getExisting();
+		ICFIntISOCtryEditObj editISOCtry;
+		if( origISOCtry != null ) {
+			editISOCtry = (ICFIntISOCtryEditObj)origISOCtry.beginEdit();
+			editISOCtry.setRequiredISOCode( (String)row.getValue( COL_ISOCode ) );
+			editISOCtry.setRequiredName( (String)row.getValue( COL_Name ) );
+			editISOCtry.update();
+			return( origISOCtry );
+		}
+		origISOCtry = (ICFIntISOCtryObj)schemaObj.getISOCtryTableObj().newInstance();
+		editISOCtry = (ICFIntISOCtryEditObj)origISOCtry.beginEdit();
+		editISOCtry.setRequiredISOCode( (String)row.getValue( COL_ISOCode ) );
+		editISOCtry.setRequiredName( (String)row.getValue( COL_Name ) );
+		return( editISOCtry.create() );
+	}
+
 	public void endElement(
 		String		uri,
 		String		localName,
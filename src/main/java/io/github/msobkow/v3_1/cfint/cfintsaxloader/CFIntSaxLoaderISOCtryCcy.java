@@ -57,9 +57,27 @@ import io.github.msobkow.v3_1.cfint.cfintobj.*;
  */
 public class CFIntSaxLoaderISOCtryCcy
 	extends CFLibXmlCoreElementHandler
+	implements ICFIntSaxRowWriter
 {
+	// Attribute slots
+
+	protected final static int ATTR_Id = 0;
+	protected final static int ATTR_Ccy = 1;
+	protected final static int ATTR_schemaLocation = 2;
+
+	protected final static CFIntSaxAttrSlots attrSlots = new CFIntSaxAttrSlots(
+		"Id",
+		"Ccy",
+		"schemaLocation" );
+
+	// Value row columns
+
+	protected final static int COL_ContainerCtry = 0;
+	protected final static int COL_ParentCcy = 1;
+
 	public CFIntSaxLoaderISOCtryCcy( CFIntSaxLoader saxLoader ) {
 		super( saxLoader );
+		saxLoader.declareElementReferences( "ISOCtryCcy", "ISOCcy" );
 	}
 
 	public void startElement(
@@ -104,39 +122,46 @@ public class CFIntSaxLoaderISOCtryCcy
 			}
 
 			// Instantiate an edit buffer for the parsed information
-			origBuff = (ICFIntISOCtryCcyObj)schemaObj.getISOCtryCcyTableObj().newInstance();
-			editBuff = (ICFIntISOCtryCcyEditObj)origBuff.beginEdit();
+			saxLoader.getSchemaLock().lock();
+			try {
+				origBuff = (ICFIntISOCtryCcyObj)schemaObj.getISOCtryCcyTableObj().newInstance();
+				editBuff = (ICFIntISOCtryCcyEditObj)origBuff.beginEdit();
+			}
+			finally {
+				saxLoader.getSchemaLock().unlock();
+			}
 
 			// Extract Attributes
 			numAttrs = attrs.getLength();
 			for( idxAttr = 0; idxAttr < numAttrs; idxAttr++ ) {
 				attrLocalName = attrs.getLocalName( idxAttr );
-				if( attrLocalName.equals( "Id" ) ) {
-					if( attrId != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
+				switch( attrSlots.slotOf( attrLocalName ) ) {
+					case ATTR_Id:
+						if( attrId != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrId = attrs.getValue( idxAttr );
+						break;
+					case ATTR_Ccy:
+						if( attrCcy != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrCcy = attrs.getValue( idxAttr );
+						break;
+					case ATTR_schemaLocation:
+						// ignored
+						break;
+					default:
+						throw new CFLibUnrecognizedAttributeException( getClass(),
 							S_ProcName,
-							S_LocalName,
+							getParser().getLocationInfo(),
 							attrLocalName );
-					}
-					attrId = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "Ccy" ) ) {
-					if( attrCcy != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
-							S_ProcName,
-							S_LocalName,
-							attrLocalName );
-					}
-					attrCcy = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "schemaLocation" ) ) {
-					// ignored
-				}
-				else {
-					throw new CFLibUnrecognizedAttributeException( getClass(),
-						S_ProcName,
-						getParser().getLocationInfo(),
-						attrLocalName );
 				}
 			}
 
@@ -148,10 +173,16 @@ public class CFIntSaxLoaderISOCtryCcy
 					"Ccy" );
 			}
 
-			// Save named attributes to context
+			// Save named attributes to context, or in lean context mode only
+			// the ones registered for the element
 			CFLibXmlCoreContext curContext = getParser().getCurContext();
-			curContext.putNamedValue( "Id", attrId );
-			curContext.putNamedValue( "Ccy", attrCcy );
+			if( saxLoader.isLeanContext() ) {
+				saxLoader.saveContextAttrs( curContext, "ISOCtryCcy", attrs );
+			}
+			else {
+				curContext.putNamedValue( "Id", attrId );
+				curContext.putNamedValue( "Ccy", attrCcy );
+			}
 
 			// Convert string attributes to native Java types
 			// and apply the converted attributes to the editBuff.
@@ -166,13 +197,7 @@ public class CFIntSaxLoaderISOCtryCcy
 			// Get the scope/container object
 
 			CFLibXmlCoreContext parentContext = curContext.getPrevContext();
-			Object scopeObj;
-			if( parentContext != null ) {
-				scopeObj = parentContext.getNamedValue( "Object" );
-			}
-			else {
-				scopeObj = null;
-			}
+			Object scopeObj = saxLoader.resolveScopeObj( parentContext );
 
 			// Resolve and apply required Container reference
 
@@ -196,7 +221,9 @@ public class CFIntSaxLoaderISOCtryCcy
 
 			// Lookup refCcy by key name value attr
 			if( ( attrCcy != null ) && ( attrCcy.length() > 0 ) ) {
-				refCcy = (ICFIntISOCcyObj)schemaObj.getISOCcyTableObj().readISOCcyByCcyCdIdx( attrCcy );
+				final String keyCcy = attrCcy;
+				refCcy = (ICFIntISOCcyObj)saxLoader.readReference( "ISOCcy", "CcyCdIdx", CFIntSaxLoader.naturalKey( keyCcy ),
+					() -> schemaObj.getISOCcyTableObj().readISOCcyByCcyCdIdx( keyCcy ) );
 				if( refCcy == null ) {
 					throw new CFLibNullArgumentException( getClass(),
 						S_ProcName,
@@ -211,7 +238,11 @@ public class CFIntSaxLoaderISOCtryCcy
 
 			ICFIntISOCtryCcyObj origISOCtryCcy;
 			ICFIntISOCtryCcyEditObj editISOCtryCcy = editBuff;
-			origISOCtryCcy = (ICFIntISOCtryCcyObj)editISOCtryCcy.create();
+			final ICFIntISOCtryCcyEditObj pendingISOCtryCcy = editISOCtryCcy;
+			CFIntSaxValueRow valueRow = new CFIntSaxValueRow( "ISOCtryCcy", null, null,
+				refCtry,
+				refCcy );
+			origISOCtryCcy = (ICFIntISOCtryCcyObj)saxLoader.applyCreate( "ISOCtryCcy", null, pendingISOCtryCcy, valueRow, this, CFIntSaxLoader.estimateAttrBytes( attrs ) );
 			editISOCtryCcy = null;
 
 			curContext.putNamedValue( "Object", origISOCtryCcy );
@@ -225,6 +256,18 @@ public class CFIntSaxLoaderISOCtryCcy
 		}
 	}
 
+	// Build an edit object from a captured value row and write it.  This
+	// may run on a write pipeline thread, so it reads only the value row.
+
+	public Object writeRow( CFIntSaxValueRow row ) {
+		ICFIntSchemaObj schemaObj = ( (CFIntSaxLoader)getParser() ).getSchemaObj();
+		ICFIntISOCtryCcyObj origISOCtryCcy = (ICFIntISOCtryCcyObj)schemaObj.getISOCtryCcyTableObj().newInstance();
+		ICFIntISOCtryCcyEditObj editISOCtryCcy = (ICFIntISOCtryCcyEditObj)origISOCtryCcy.beginEdit();
+		editISOCtryCcy.setRequiredContainerCtry( (ICFIntISOCtryObj)row.getValue( COL_ContainerCtry ) );
+		editISOCtryCcy.setRequiredParentCcy( (ICFIntISOCcyObj)row.getValue( COL_ParentCcy ) );
+		return( editISOCtryCcy.create() );
+	}
+
 	public void endElement(
 		String		uri,
 		String		localName,
@@ -57,9 +57,27 @@ import io.github.msobkow.v3_1.cfint.cfintobj.*;
  */
 public class CFIntSaxLoaderISOCtryLang
 	extends CFLibXmlCoreElementHandler
+	implements ICFIntSaxRowWriter
 {
+	// Attribute slots
+
+	protected final static int ATTR_Id = 0;
+	protected final static int ATTR_Lang = 1;
+	protected final static int ATTR_schemaLocation = 2;
+
+	protected final static CFIntSaxAttrSlots attrSlots = new CFIntSaxAttrSlots(
+		"Id",
+		"Lang",
+		"schemaLocation" );
+
+	// Value row columns
+
+	protected final static int COL_ContainerCtry = 0;
+	protected final static int COL_ParentLang = 1;
+
 	public CFIntSaxLoaderISOCtryLang( CFIntSaxLoader saxLoader ) {
 		super( saxLoader );
+		saxLoader.declareElementReferences( "ISOCtryLang", "ISOLang" );
 	}
 
 	public void startElement(
@@ -104,39 +122,46 @@ public class CFIntSaxLoaderISOCtryLang
 			}
 
 			// Instantiate an edit buffer for the parsed information
-			origBuff = (ICFIntISOCtryLangObj)schemaObj.getISOCtryLangTableObj().newInstance();
-			editBuff = (ICFIntISOCtryLangEditObj)origBuff.beginEdit();
+			saxLoader.getSchemaLock().lock();
+			try {
+				origBuff = (ICFIntISOCtryLangObj)schemaObj.getISOCtryLangTableObj().newInstance();
+				editBuff = (ICFIntISOCtryLangEditObj)origBuff.beginEdit();
+			}
+			finally {
+				saxLoader.getSchemaLock().unlock();
+			}
 
 			// Extract Attributes
 			numAttrs = attrs.getLength();
 			for( idxAttr = 0; idxAttr < numAttrs; idxAttr++ ) {
 				attrLocalName = attrs.getLocalName( idxAttr );
-				if( attrLocalName.equals( "Id" ) ) {
-					if( attrId != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
+				switch( attrSlots.slotOf( attrLocalName ) ) {
+					case ATTR_Id:
+						if( attrId != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrId = attrs.getValue( idxAttr );
+						break;
+					case ATTR_Lang:
+						if( attrLang != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrLang = attrs.getValue( idxAttr );
+						break;
+					case ATTR_schemaLocation:
+						// ignored
+						break;
+					default:
+						throw new CFLibUnrecognizedAttributeException( getClass(),
 							S_ProcName,
-							S_LocalName,
+							getParser().getLocationInfo(),
 							attrLocalName );
-					}
-					attrId = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "Lang" ) ) {
-					if( attrLang != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
-							S_ProcName,
-							S_LocalName,
-							attrLocalName );
-					}
-					attrLang = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "schemaLocation" ) ) {
-					// ignored
-				}
-				else {
-					throw new CFLibUnrecognizedAttributeException( getClass(),
-						S_ProcName,
-						getParser().getLocationInfo(),
-						attrLocalName );
 				}
 			}
 
@@ -148,10 +173,16 @@ public class CFIntSaxLoaderISOCtryLang
 					"Lang" );
 			}
 
-			// Save named attributes to context
+			// Save named attributes to context, or in lean context mode only
+			// the ones registered for the element
 			CFLibXmlCoreContext curContext = getParser().getCurContext();
-			curContext.putNamedValue( "Id", attrId );
-			curContext.putNamedValue( "Lang", attrLang );
+			if( saxLoader.isLeanContext() ) {
+				saxLoader.saveContextAttrs( curContext, "ISOCtryLang", attrs );
+			}
+			else {
+				curContext.putNamedValue( "Id", attrId );
+				curContext.putNamedValue( "Lang", attrLang );
+			}
 
 			// Convert string attributes to native Java types
 			// and apply the converted attributes to the editBuff.
@@ -166,13 +197,7 @@ public class CFIntSaxLoaderISOCtryLang
 			// Get the scope/container object
 
 			CFLibXmlCoreContext parentContext = curContext.getPrevContext();
-			Object scopeObj;
-			if( parentContext != null ) {
-				scopeObj = parentContext.getNamedValue( "Object" );
-			}
-			else {
-				scopeObj = null;
-			}
+			Object scopeObj = saxLoader.resolveScopeObj( parentContext );
 
 			// Resolve and apply required Container reference
 
@@ -196,7 +221,9 @@ public class CFIntSaxLoaderISOCtryLang
 
 			// Lookup refLang by key name value attr
 			if( ( attrLang != null ) && ( attrLang.length() > 0 ) ) {
-				refLang = (ICFIntISOLangObj)schemaObj.getISOLangTableObj().readISOLangByCode3Idx( attrLang );
+				final String keyLang = attrLang;
+				refLang = (ICFIntISOLangObj)saxLoader.readReference( "ISOLang", "Code3Idx", CFIntSaxLoader.naturalKey( keyLang ),
+					() -> schemaObj.getISOLangTableObj().readISOLangByCode3Idx( keyLang ) );
 				if( refLang == null ) {
 					throw new CFLibNullArgumentException( getClass(),
 						S_ProcName,
@@ -211,7 +238,11 @@ public class CFIntSaxLoaderISOCtryLang
 
 			ICFIntISOCtryLangObj origISOCtryLang;
 			ICFIntISOCtryLangEditObj editISOCtryLang = editBuff;
-			origISOCtryLang = (ICFIntISOCtryLangObj)editISOCtryLang.create();
+			final ICFIntISOCtryLangEditObj pendingISOCtryLang = editISOCtryLang;
+			CFIntSaxValueRow valueRow = new CFIntSaxValueRow( "ISOCtryLang", null, null,
+				refCtry,
+				refLang );
+			origISOCtryLang = (ICFIntISOCtryLangObj)saxLoader.applyCreate( "ISOCtryLang", null, pendingISOCtryLang, valueRow, this, CFIntSaxLoader.estimateAttrBytes( attrs ) );
 			editISOCtryLang = null;
 
 			curContext.putNamedValue( "Object", origISOCtryLang );
@@ -225,6 +256,18 @@ public class CFIntSaxLoaderISOCtryLang
 		}
 	}
 
+	// Build an edit object from a captured value row and write it.  This
+	// may run on a write pipeline thread, so it reads only the value row.
+
+	public Object writeRow( CFIntSaxValueRow row ) {
+		ICFIntSchemaObj schemaObj = ( (CFIntSaxLoader)getParser() ).getSchemaObj();
+		ICFIntISOCtryLangObj origISOCtryLang = (ICFIntISOCtryLangObj)schemaObj.getISOCtryLangTableObj().newInstance();
+		ICFIntISOCtryLangEditObj editISOCtryLang = (ICFIntISOCtryLangEditObj)origISOCtryLang.beginEdit();
+		editISOCtryLang.setRequiredContainerCtry( (ICFIntISOCtryObj)row.getValue( COL_ContainerCtry ) );
+		editISOCtryLang.setRequiredParentLang( (ICFIntISOLangObj)row.getValue( COL_ParentLang ) );
+		return( editISOCtryLang.create() );
+	}
+
 	public void endElement(
 		String		uri,
 		String		localName,
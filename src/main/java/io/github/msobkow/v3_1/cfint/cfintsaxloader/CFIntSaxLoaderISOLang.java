@@ -57,9 +57,32 @@ import io.github.msobkow.v3_1.cfint.cfintobj.*;
  */
 public class CFIntSaxLoaderISOLang
 	extends CFLibXmlCoreElementHandler
+	implements ICFIntSaxRowWriter
 {
+	// Attribute slots
+
+	protected final static int ATTR_Id = 0;
+	protected final static int ATTR_ISO6392Code = 1;
+	protected final static int ATTR_ISO6391Code = 2;
+	protected final static int ATTR_EnglishName = 3;
+	protected final static int ATTR_schemaLocation = 4;
+
+	protected final static CFIntSaxAttrSlots attrSlots = new CFIntSaxAttrSlots(
+		"Id",
+		"ISO6392Code",
+		"ISO6391Code",
+		"EnglishName",
+		"schemaLocation" );
+
+	// Value row columns
+
+	protected final static int COL_ISO6392Code = 0;
+	protected final static int COL_ISO6391Code = 1;
+	protected final static int COL_EnglishName = 2;
+
 	public CFIntSaxLoaderISOLang( CFIntSaxLoader saxLoader ) {
 		super( saxLoader );
+		saxLoader.declareElementKey( "ISOLang", "ISO6392Code" );
 	}
 
 	public void startElement(
@@ -103,58 +126,93 @@ public class CFIntSaxLoaderISOLang
 					"getParser().getSchemaObj()" );
 			}
 
+			// Insert behaviour never changes an existing row, so look for it
+			// by the raw key attributes before building an edit buffer
+
+			CFIntSaxLoader.LoaderBehaviourEnum loaderBehaviour = saxLoader.effectiveBehaviour( saxLoader.getISOLangLoaderBehaviour() );
+			boolean probedISOLang = false;
+			if( loaderBehaviour == CFIntSaxLoader.LoaderBehaviourEnum.Insert ) {
+				final String keyISO6392Code = attrs.getValue( "ISO6392Code" );
+				if( ( keyISO6392Code != null ) ) {
+					ICFIntISOLangObj existingISOLang = (ICFIntISOLangObj)saxLoader.readExisting( "ISOLang", "Code3Idx", CFIntSaxLoader.naturalKey( keyISO6392Code ),
+						() -> schemaObj.getISOLangTableObj().readISOLangByCode3Idx( keyISO6392Code ) );
+					if( existingISOLang != null ) {
+						CFLibXmlCoreContext curContext = getParser().getCurContext();
+						if( saxLoader.isLeanContext() ) {
+							saxLoader.saveContextAttrs( curContext, "ISOLang", attrs );
+						}
+						else {
+							curContext.putNamedValue( "Id", attrs.getValue( "Id" ) );
+							curContext.putNamedValue( "ISO6392Code", attrs.getValue( "ISO6392Code" ) );
+							curContext.putNamedValue( "ISO6391Code", attrs.getValue( "ISO6391Code" ) );
+							curContext.putNamedValue( "EnglishName", attrs.getValue( "EnglishName" ) );
+						}
+						curContext.putNamedValue( "Object", existingISOLang );
+						return;
+					}
+					probedISOLang = true;
+				}
+			}
+
 			// Instantiate an edit buffer for the parsed information
-			origBuff = (ICFIntISOLangObj)schemaObj.getISOLangTableObj().newInstance();
-			editBuff = (ICFIntISOLangEditObj)origBuff.beginEdit();
+			saxLoader.getSchemaLock().lock();
+			try {
+				origBuff = (ICFIntISOLangObj)schemaObj.getISOLangTableObj().newInstance();
+				editBuff = (ICFIntISOLangEditObj)origBuff.beginEdit();
+			}
+			finally {
+				saxLoader.getSchemaLock().unlock();
+			}
 
 			// Extract Attributes
 			numAttrs = attrs.getLength();
 			for( idxAttr = 0; idxAttr < numAttrs; idxAttr++ ) {
 				attrLocalName = attrs.getLocalName( idxAttr );
-				if( attrLocalName.equals( "Id" ) ) {
-					if( attrId != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
-							S_ProcName,
-							S_LocalName,
-							attrLocalName );
-					}
-					attrId = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "ISO6392Code" ) ) {
-					if( attrISO6392Code != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
-							S_ProcName,
-							S_LocalName,
-							attrLocalName );
-					}
-					attrISO6392Code = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "ISO6391Code" ) ) {
-					if( attrISO6391Code != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
-							S_ProcName,
-							S_LocalName,
-							attrLocalName );
-					}
-					attrISO6391Code = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "EnglishName" ) ) {
-					if( attrEnglishName != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
+				switch( attrSlots.slotOf( attrLocalName ) ) {
+					case ATTR_Id:
+						if( attrId != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrId = attrs.getValue( idxAttr );
+						break;
+					case ATTR_ISO6392Code:
+						if( attrISO6392Code != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrISO6392Code = attrs.getValue( idxAttr );
+						break;
+					case ATTR_ISO6391Code:
+						if( attrISO6391Code != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrISO6391Code = attrs.getValue( idxAttr );
+						break;
+					case ATTR_EnglishName:
+						if( attrEnglishName != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrEnglishName = attrs.getValue( idxAttr );
+						break;
+					case ATTR_schemaLocation:
+						// ignored
+						break;
+					default:
+						throw new CFLibUnrecognizedAttributeException( getClass(),
 							S_ProcName,
-							S_LocalName,
+							getParser().getLocationInfo(),
 							attrLocalName );
-					}
-					attrEnglishName = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "schemaLocation" ) ) {
-					// ignored
-				}
-				else {
-					throw new CFLibUnrecognizedAttributeException( getClass(),
-						S_ProcName,
-						getParser().getLocationInfo(),
-						attrLocalName );
 				}
 			}
 
@@ -172,12 +230,18 @@ public class CFIntSaxLoaderISOLang
 					"EnglishName" );
 			}
 
-			// Save named attributes to context
+			// Save named attributes to context, or in lean context mode only
+			// the ones registered for the element
 			CFLibXmlCoreContext curContext = getParser().getCurContext();
-			curContext.putNamedValue( "Id", attrId );
-			curContext.putNamedValue( "ISO6392Code", attrISO6392Code );
-			curContext.putNamedValue( "ISO6391Code", attrISO6391Code );
-			curContext.putNamedValue( "EnglishName", attrEnglishName );
+			if( saxLoader.isLeanContext() ) {
+				saxLoader.saveContextAttrs( curContext, "ISOLang", attrs );
+			}
+			else {
+				curContext.putNamedValue( "Id", attrId );
+				curContext.putNamedValue( "ISO6392Code", attrISO6392Code );
+				curContext.putNamedValue( "ISO6391Code", attrISO6391Code );
+				curContext.putNamedValue( "EnglishName", attrEnglishName );
+			}
 
 			// Convert string attributes to native Java types
 			// and apply the converted attributes to the editBuff.
@@ -201,17 +265,16 @@ public class CFIntSaxLoaderISOLang
 			// Get the scope/container object
 
 			CFLibXmlCoreContext parentContext = curContext.getPrevContext();
-			Object scopeObj;
-			if( parentContext != null ) {
-				scopeObj = parentContext.getNamedValue( "Object" );
-			}
-			else {
-				scopeObj = null;
-			}
+			Object scopeObj = saxLoader.resolveScopeObj( parentContext );
 
-			CFIntSaxLoader.LoaderBehaviourEnum loaderBehaviour = saxLoader.getISOLangLoaderBehaviour();
 			ICFIntISOLangEditObj editISOLang = null;
-			ICFIntISOLangObj origISOLang = (ICFIntISOLangObj)schemaObj.getISOLangTableObj().readISOLangByCode3Idx( editBuff.getRequiredISO6392Code() );
+			final String keyISO6392Code = editBuff.getRequiredISO6392Code();
+			Object naturalKey = CFIntSaxLoader.naturalKey( keyISO6392Code );
+			ICFIntISOLangObj origISOLang = null;
+			if( ! probedISOLang ) {
+				origISOLang = (ICFIntISOLangObj)saxLoader.readExisting( "ISOLang", "Code3Idx", naturalKey,
+					() -> schemaObj.getISOLangTableObj().readISOLangByCode3Idx( keyISO6392Code ) );
+			}
 			if( origISOLang == null ) {
 				editISOLang = editBuff;
 			}
@@ -220,14 +283,22 @@ public class CFIntSaxLoaderISOLang
 					case Insert:
 						break;
 					case Update:
-						editISOLang = (ICFIntISOLangEditObj)origISOLang.beginEdit();
-						editISOLang.setRequiredISO6392Code( editBuff.getRequiredISO6392Code() );
-						editISOLang.setOptionalISO6391Code( editBuff.getOptionalISO6391Code() );
-						editISOLang.setRequiredEnglishName( editBuff.getRequiredEnglishName() );
+					case Upsert:
+						if( ( loaderBehaviour == CFIntSaxLoader.LoaderBehaviourEnum.Update )
+							&& saxLoader.isSkipUnchangedUpdates()
+							&& Objects.equals( origISOLang.getRequiredISO6392Code(), editBuff.getRequiredISO6392Code() )
+							&& Objects.equals( origISOLang.getOptionalISO6391Code(), editBuff.getOptionalISO6391Code() )
+							&& Objects.equals( origISOLang.getRequiredEnglishName(), editBuff.getRequiredEnglishName() ) )
+						{
+							saxLoader.countUnchangedUpdate( "ISOLang" );
+						}
+						else {
+							editISOLang = editBuff;
+						}
 						break;
 					case Replace:
-						editISOLang = (ICFIntISOLangEditObj)origISOLang.beginEdit();
-						editISOLang.deleteInstance();
+						final ICFIntISOLangObj deleteISOLang = origISOLang;
+						saxLoader.applyDelete( "ISOLang", naturalKey, () -> ( (ICFIntISOLangEditObj)deleteISOLang.beginEdit() ).deleteInstance() );
 						editISOLang = null;
 						origISOLang = null;
 						editISOLang = editBuff;
@@ -236,11 +307,16 @@ public class CFIntSaxLoaderISOLang
 			}
 
 			if( editISOLang != null ) {
+				final ICFIntISOLangEditObj pendingISOLang = editISOLang;
+				CFIntSaxValueRow valueRow = new CFIntSaxValueRow( "ISOLang", naturalKey, origISOLang,
+					natISO6392Code,
+					natISO6391Code,
+					natEnglishName );
 				if( origISOLang != null ) {
-					editISOLang.update();
+					saxLoader.applyUpdate( "ISOLang", naturalKey, pendingISOLang, valueRow, this, CFIntSaxLoader.estimateAttrBytes( attrs ) );
 				}
 				else {
-					origISOLang = (ICFIntISOLangObj)editISOLang.create();
+					origISOLang = (ICFIntISOLangObj)saxLoader.applyCreate( "ISOLang", naturalKey, pendingISOLang, valueRow, this, CFIntSaxLoader.estimateAttrBytes( attrs ) );
 				}
 				editISOLang = null;
 			}
@@ -256,6 +332,29 @@ public class CFIntSaxLoaderISOLang
 		}
 	}
 
+	// Build an edit object from a captured value row and write it.  This
+	// may run on a write pipeline thread, so it reads only the value row.
+
+	public Object writeRow( CFIntSaxValueRow row ) {
+		ICFIntSchemaObj schemaObj = ( (CFIntSaxLoader)getParser() ).getSchemaObj();
+		ICFIntISOLangObj origISOLang = (ICFIntISOLangObj)row.getExisting();
+		ICFIntISOLangEditObj editISOLang;
+		if( origISOLang != null ) {
+			editISOLang = (ICFIntISOLangEditObj)origISOLang.beginEdit();
+			editISOLang.setRequiredISO6392Code( (String)row.getValue( COL_ISO6392Code ) );
+			editISOLang.setOptionalISO6391Code( (String)row.getValue( COL_ISO6391Code ) );
+			editISOLang.setRequiredEnglishName( (String)row.getValue( COL_EnglishName ) );
+			editISOLang.update();
+			return( origISOLang );
+		}
+		origISOLang = (ICFIntISOLangObj)schemaObj.getISOLangTableObj().newInstance();
+		editISOLang = (ICFIntISOLangEditObj)origISOLang.beginEdit();
+		editISOLang.setRequiredISO6392Code( (String)row.getValue( COL_ISO6392Code ) );
+		editISOLang.setOptionalISO6391Code( (String)row.getValue( COL_ISO6391Code ) );
+		editISOLang.setRequiredEnglishName( (String)row.getValue( COL_EnglishName ) );
+		return( editISOLang.create() );
+	}
+
 	public void endElement(
 		String		uri,
 		String		localName,
@@ -57,9 +57,46 @@ import io.github.msobkow.v3_1.cfint.cfintobj.*;
  */
 public class CFIntSaxLoaderISOTZone
 	extends CFLibXmlCoreElementHandler
+	implements ICFIntSaxRowWriter
 {
+	// Attribute slots
+
+	protected final static int ATTR_Id = 0;
+	protected final static int ATTR_Iso8601 = 1;
+	protected final static int ATTR_TZName = 2;
+	protected final static int ATTR_TZHourOffset = 3;
+	protected final static int ATTR_TZMinOffset = 4;
+	protected final static int ATTR_Description = 5;
+	protected final static int ATTR_Visible = 6;
+	protected final static int ATTR_schemaLocation = 7;
+
+	protected final static CFIntSaxAttrSlots attrSlots = new CFIntSaxAttrSlots(
+		"Id",
+		"Iso8601",
+		"TZName",
+		"TZHourOffset",
+		"TZMinOffset",
+		"Description",
+		"Visible",
+		"schemaLocation" );
+
+	// Value row columns
+
+	protected final static int COL_Iso8601 = 0;
+	protected final static int COL_TZName = 1;
+	protected final static int COL_TZHourOffset = 2;
+	protected final static int COL_TZMinOffset = 3;
+	protected final static int COL_Description = 4;
+	protected final static int COL_Visible = 5;
+
+	// Interned attribute values
+
+	protected final CFIntSaxAttrInterner internIso8601;
+
 	public CFIntSaxLoaderISOTZone( CFIntSaxLoader saxLoader ) {
 		super( saxLoader );
+		saxLoader.declareElementKey( "ISOTZone", "TZName" );
+		internIso8601 = saxLoader.getAttrInterner( "ISOTZone", "Iso8601" );
 	}
 
 	public void startElement(
@@ -106,85 +143,123 @@ public class CFIntSaxLoaderISOTZone
 					"getParser().getSchemaObj()" );
 			}
 
+			// Insert behaviour never changes an existing row, so look for it
+			// by the raw key attributes before building an edit buffer
+
+			CFIntSaxLoader.LoaderBehaviourEnum loaderBehaviour = saxLoader.effectiveBehaviour( saxLoader.getISOTZoneLoaderBehaviour() );
+			boolean probedISOTZone = false;
+			if( loaderBehaviour == CFIntSaxLoader.LoaderBehaviourEnum.Insert ) {
+				final String keyTZName = attrs.getValue( "TZName" );
+				if( ( keyTZName != null ) ) {
+					ICFIntISOTZoneObj existingISOTZone = (ICFIntISOTZoneObj)saxLoader.readExisting( "ISOTZone", "UTZNameIdx", CFIntSaxLoader.naturalKey( keyTZName ),
+						() -> schemaObj.getISOTZoneTableObj().readISOTZoneByUTZNameIdx( keyTZName ) );
+					if( existingISOTZone != null ) {
+						CFLibXmlCoreContext curContext = getParser().getCurContext();
+						if( saxLoader.isLeanContext() ) {
+							saxLoader.saveContextAttrs( curContext, "ISOTZone", attrs );
+						}
+						else {
+							curContext.putNamedValue( "Id", attrs.getValue( "Id" ) );
+							curContext.putNamedValue( "Iso8601", attrs.getValue( "Iso8601" ) );
+							curContext.putNamedValue( "TZName", attrs.getValue( "TZName" ) );
+							curContext.putNamedValue( "TZHourOffset", attrs.getValue( "TZHourOffset" ) );
+							curContext.putNamedValue( "TZMinOffset", attrs.getValue( "TZMinOffset" ) );
+							curContext.putNamedValue( "Description", attrs.getValue( "Description" ) );
+							curContext.putNamedValue( "Visible", attrs.getValue( "Visible" ) );
+						}
+						curContext.putNamedValue( "Object", existingISOTZone );
+						return;
+					}
+					probedISOTZone = true;
+				}
+			}
+
 			// Instantiate an edit buffer for the parsed information
-			origBuff = (ICFIntISOTZoneObj)schemaObj.getISOTZoneTableObj().newInstance();
-			editBuff = (ICFIntISOTZoneEditObj)origBuff.beginEdit();
+			saxLoader.getSchemaLock().lock();
+			try {
+				origBuff = (ICFIntISOTZoneObj)schemaObj.getISOTZoneTableObj().newInstance();
+				editBuff = (ICFIntISOTZoneEditObj)origBuff.beginEdit();
+			}
+			finally {
+				saxLoader.getSchemaLock().unlock();
+			}
 
 			// Extract Attributes
 			numAttrs = attrs.getLength();
 			for( idxAttr = 0; idxAttr < numAttrs; idxAttr++ ) {
 				attrLocalName = attrs.getLocalName( idxAttr );
-				if( attrLocalName.equals( "Id" ) ) {
-					if( attrId != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
-							S_ProcName,
-							S_LocalName,
-							attrLocalName );
-					}
-					attrId = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "Iso8601" ) ) {
-					if( attrIso8601 != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
-							S_ProcName,
-							S_LocalName,
-							attrLocalName );
-					}
-					attrIso8601 = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "TZName" ) ) {
-					if( attrTZName != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
-							S_ProcName,
-							S_LocalName,
-							attrLocalName );
-					}
-					attrTZName = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "TZHourOffset" ) ) {
-					if( attrTZHourOffset != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
-							S_ProcName,
-							S_LocalName,
-							attrLocalName );
-					}
-					attrTZHourOffset = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "TZMinOffset" ) ) {
-					if( attrTZMinOffset != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
-							S_ProcName,
-							S_LocalName,
-							attrLocalName );
-					}
-					attrTZMinOffset = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "Description" ) ) {
-					if( attrDescription != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
-							S_ProcName,
-							S_LocalName,
-							attrLocalName );
-					}
-					attrDescription = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "Visible" ) ) {
-					if( attrVisible != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
+				switch( attrSlots.slotOf( attrLocalName ) ) {
+					case ATTR_Id:
+						if( attrId != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrId = attrs.getValue( idxAttr );
+						break;
+					case ATTR_Iso8601:
+						if( attrIso8601 != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrIso8601 = internIso8601.intern( attrs.getValue( idxAttr ) );
+						break;
+					case ATTR_TZName:
+						if( attrTZName != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrTZName = attrs.getValue( idxAttr );
+						break;
+					case ATTR_TZHourOffset:
+						if( attrTZHourOffset != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrTZHourOffset = attrs.getValue( idxAttr );
+						break;
+					case ATTR_TZMinOffset:
+						if( attrTZMinOffset != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrTZMinOffset = attrs.getValue( idxAttr );
+						break;
+					case ATTR_Description:
+						if( attrDescription != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrDescription = attrs.getValue( idxAttr );
+						break;
+					case ATTR_Visible:
+						if( attrVisible != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrVisible = attrs.getValue( idxAttr );
+						break;
+					case ATTR_schemaLocation:
+						// ignored
+						break;
+					default:
+						throw new CFLibUnrecognizedAttributeException( getClass(),
 							S_ProcName,
-							S_LocalName,
+							getParser().getLocationInfo(),
 							attrLocalName );
-					}
-					attrVisible = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "schemaLocation" ) ) {
-					// ignored
-				}
-				else {
-					throw new CFLibUnrecognizedAttributeException( getClass(),
-						S_ProcName,
-						getParser().getLocationInfo(),
-						attrLocalName );
 				}
 			}
 
@@ -226,15 +301,21 @@ public class CFIntSaxLoaderISOTZone
 					"Visible" );
 			}
 
-			// Save named attributes to context
+			// Save named attributes to context, or in lean context mode only
+			// the ones registered for the element
 			CFLibXmlCoreContext curContext = getParser().getCurContext();
-			curContext.putNamedValue( "Id", attrId );
-			curContext.putNamedValue( "Iso8601", attrIso8601 );
-			curContext.putNamedValue( "TZName", attrTZName );
-			curContext.putNamedValue( "TZHourOffset", attrTZHourOffset );
-			curContext.putNamedValue( "TZMinOffset", attrTZMinOffset );
-			curContext.putNamedValue( "Description", attrDescription );
-			curContext.putNamedValue( "Visible", attrVisible );
+			if( saxLoader.isLeanContext() ) {
+				saxLoader.saveContextAttrs( curContext, "ISOTZone", attrs );
+			}
+			else {
+				curContext.putNamedValue( "Id", attrId );
+				curContext.putNamedValue( "Iso8601", attrIso8601 );
+				curContext.putNamedValue( "TZName", attrTZName );
+				curContext.putNamedValue( "TZHourOffset", attrTZHourOffset );
+				curContext.putNamedValue( "TZMinOffset", attrTZMinOffset );
+				curContext.putNamedValue( "Description", attrDescription );
+				curContext.putNamedValue( "Visible", attrVisible );
+			}
 
 			// Convert string attributes to native Java types
 			// and apply the converted attributes to the editBuff.
@@ -279,17 +360,16 @@ public class CFIntSaxLoaderISOTZone
 			// Get the scope/container object
 
 			CFLibXmlCoreContext parentContext = curContext.getPrevContext();
-			Object scopeObj;
-			if( parentContext != null ) {
-				scopeObj = parentContext.getNamedValue( "Object" );
-			}
-			else {
-				scopeObj = null;
-			}
+			Object scopeObj = saxLoader.resolveScopeObj( parentContext );
 
-			CFIntSaxLoader.LoaderBehaviourEnum loaderBehaviour = saxLoader.getISOTZoneLoaderBehaviour();
 			ICFIntISOTZoneEditObj editISOTZone = null;
-			ICFIntISOTZoneObj origISOTZone = (ICFIntISOTZoneObj)schemaObj.getISOTZoneTableObj().readISOTZoneByUTZNameIdx( editBuff.getRequiredTZName() );
+			final String keyTZName = editBuff.getRequiredTZName();
+			Object naturalKey = CFIntSaxLoader.naturalKey( keyTZName );
+			ICFIntISOTZoneObj origISOTZone = null;
+			if( ! probedISOTZone ) {
+				origISOTZone = (ICFIntISOTZoneObj)saxLoader.readExisting( "ISOTZone", "UTZNameIdx", naturalKey,
+					() -> schemaObj.getISOTZoneTableObj().readISOTZoneByUTZNameIdx( keyTZName ) );
+			}
 			if( origISOTZone == null ) {
 				editISOTZone = editBuff;
 			}
@@ -298,17 +378,25 @@ public class CFIntSaxLoaderISOTZone
 					case Insert:
 						break;
 					case Update:
-						editISOTZone = (ICFIntISOTZoneEditObj)origISOTZone.beginEdit();
-						editISOTZone.setRequiredIso8601( editBuff.getRequiredIso8601() );
-						editISOTZone.setRequiredTZName( editBuff.getRequiredTZName() );
-						editISOTZone.setRequiredTZHourOffset( editBuff.getRequiredTZHourOffset() );
-						editISOTZone.setRequiredTZMinOffset( editBuff.getRequiredTZMinOffset() );
-						editISOTZone.setRequiredDescription( editBuff.getRequiredDescription() );
-						editISOTZone.setRequiredVisible( editBuff.getRequiredVisible() );
+					case Upsert:
+						if( ( loaderBehaviour == CFIntSaxLoader.LoaderBehaviourEnum.Update )
+							&& saxLoader.isSkipUnchangedUpdates()
+							&& Objects.equals( origISOTZone.getRequiredIso8601(), editBuff.getRequiredIso8601() )
+							&& Objects.equals( origISOTZone.getRequiredTZName(), editBuff.getRequiredTZName() )
+							&& Objects.equals( origISOTZone.getRequiredTZHourOffset(), editBuff.getRequiredTZHourOffset() )
+							&& Objects.equals( origISOTZone.getRequiredTZMinOffset(), editBuff.getRequiredTZMinOffset() )
+							&& Objects.equals( origISOTZone.getRequiredDescription(), editBuff.getRequiredDescription() )
+							&& Objects.equals( origISOTZone.getRequiredVisible(), editBuff.getRequiredVisible() ) )
+						{
+							saxLoader.countUnchangedUpdate( "ISOTZone" );
+						}
+						else {
+							editISOTZone = editBuff;
+						}
 						break;
 					case Replace:
-						editISOTZone = (ICFIntISOTZoneEditObj)origISOTZone.beginEdit();
-						editISOTZone.deleteInstance();
+						final ICFIntISOTZoneObj deleteISOTZone = origISOTZone;
+						saxLoader.applyDelete( "ISOTZone", naturalKey, () -> ( (ICFIntISOTZoneEditObj)deleteISOTZone.beginEdit() ).deleteInstance() );
 						editISOTZone = null;
 						origISOTZone = null;
 						editISOTZone = editBuff;
@@ -317,11 +405,19 @@ public class CFIntSaxLoaderISOTZone
 			}
 
 			if( editISOTZone != null ) {
+				final ICFIntISOTZoneEditObj pendingISOTZone = editISOTZone;
+				CFIntSaxValueRow valueRow = new CFIntSaxValueRow( "ISOTZone", naturalKey, origISOTZone,
+					natIso8601,
+					natTZName,
+					natTZHourOffset,
+					natTZMinOffset,
+					natDescription,
+					natVisible );
 				if( origISOTZone != null ) {
-					editISOTZone.update();
+					saxLoader.applyUpdate( "ISOTZone", naturalKey, pendingISOTZone, valueRow, this, CFIntSaxLoader.estimateAttrBytes( attrs ) );
 				}
 				else {
-					origISOTZone = (ICFIntISOTZoneObj)editISOTZone.create();
+					origISOTZone = (ICFIntISOTZoneObj)saxLoader.applyCreate( "ISOTZone", naturalKey, pendingISOTZone, valueRow, this, CFIntSaxLoader.estimateAttrBytes( attrs ) );
 				}
 				editISOTZone = null;
 			}
@@ -337,6 +433,35 @@ public class CFIntSaxLoaderISOTZone
 		}
 	}
 
+	// Build an edit object from a captured value row and write it.  This
+	// may run on a write pipeline thread, so it reads only the value row.
+
+	public Object writeRow( CFIntSaxValueRow row ) {
+		ICFIntSchemaObj schemaObj = ( (CFIntSaxLoader)getParser() ).getSchemaObj();
+		ICFIntISOTZoneObj origISOTZone = (ICFIntISOTZoneObj)row.getExisting();
+		ICFIntISOTZoneEditObj editISOTZone;
+		if( origISOTZone != null ) {
+			editISOTZone = (ICFIntISOTZoneEditObj)origISOTZone.beginEdit();
+			editISOTZone.setRequiredIso8601( (String)row.getValue( COL_Iso8601 ) );
+			editISOTZone.setRequiredTZName( (String)row.getValue( COL_TZName ) );
+			editISOTZone.setRequiredTZHourOffset( (Short)row.getValue( COL_TZHourOffset ) );
+			editISOTZone.setRequiredTZMinOffset( (Short)row.getValue( COL_TZMinOffset ) );
+			editISOTZone.setRequiredDescription( (String)row.getValue( COL_Description ) );
+			editISOTZone.setRequiredVisible( (Boolean)row.getValue( COL_Visible ) );
+			editISOTZone.update();
+			return( origISOTZone );
+		}
+		origISOTZone = (ICFIntISOTZoneObj)schemaObj.getISOTZoneTableObj().newInstance();
+		editISOTZone = (ICFIntISOTZoneEditObj)origISOTZone.beginEdit();
+		editISOTZone.setRequiredIso8601( (String)row.getValue( COL_Iso8601 ) );
+		editISOTZone.setRequiredTZName( (String)row.getValue( COL_TZName ) );
+		editISOTZone.setRequiredTZHourOffset( (Short)row.getValue( COL_TZHourOffset ) );
+		editISOTZone.setRequiredTZMinOffset( (Short)row.getValue( COL_TZMinOffset ) );
+		editISOTZone.setRequiredDescription( (String)row.getValue( COL_Description ) );
+		editISOTZone.setRequiredVisible( (Boolean)row.getValue( COL_Visible ) );
+		return( editISOTZone.create() );
+	}
+
 	public void endElement(
 		String		uri,
 		String		localName,
@@ -57,9 +57,42 @@ import io.github.msobkow.v3_1.cfint.cfintobj.*;
  */
 public class CFIntSaxLoaderLicense
 	extends CFLibXmlCoreElementHandler
+	implements ICFIntSaxRowWriter
 {
+	// Attribute slots
+
+	protected final static int ATTR_Id = 0;
+	protected final static int ATTR_Name = 1;
+	protected final static int ATTR_Description = 2;
+	protected final static int ATTR_EmbeddedText = 3;
+	protected final static int ATTR_FullText = 4;
+	protected final static int ATTR_schemaLocation = 5;
+
+	protected final static CFIntSaxAttrSlots attrSlots = new CFIntSaxAttrSlots(
+		"Id",
+		"Name",
+		"Description",
+		"EmbeddedText",
+		"FullText",
+		"schemaLocation" );
+
+	// Value row columns
+
+	protected final static int COL_Name = 0;
+	protected final static int COL_Description = 1;
+	protected final static int COL_EmbeddedText = 2;
+	protected final static int COL_FullText = 3;
+	protected final static int COL_ContainerTopDomain = 4;
+	protected final static int COL_OwnerTenant = 5;
+
+	// Interned attribute values
+
+	protected final CFIntSaxAttrInterner internName;
+
 	public CFIntSaxLoaderLicense( CFIntSaxLoader saxLoader ) {
 		super( saxLoader );
+		saxLoader.declareElementKey( "License", "Name" );
+		internName = saxLoader.getAttrInterner( "License", "Name" );
 	}
 
 	public void startElement(
@@ -106,67 +139,105 @@ public class CFIntSaxLoaderLicense
 					"getParser().getSchemaObj()" );
 			}
 
+			// Insert behaviour never changes an existing row, so look for it
+			// by the raw key attributes before building an edit buffer
+
+			CFIntSaxLoader.LoaderBehaviourEnum loaderBehaviour = saxLoader.effectiveBehaviour( saxLoader.getLicenseLoaderBehaviour() );
+			boolean probedLicense = false;
+			if( loaderBehaviour == CFIntSaxLoader.LoaderBehaviourEnum.Insert ) {
+				Object probeScopeObj = saxLoader.resolveScopeObj( getParser().getCurContext().getPrevContext() );
+				final String keyName = attrs.getValue( "Name" );
+				if( ( probeScopeObj instanceof ICFIntTopDomainObj ) && ( keyName != null ) ) {
+					final ICFIntTopDomainObj keyTopDomain = (ICFIntTopDomainObj)probeScopeObj;
+					ICFIntLicenseObj existingLicense = (ICFIntLicenseObj)saxLoader.readExisting( "License", "UNameIdx", CFIntSaxLoader.naturalKey( keyTopDomain.getRequiredId(), keyName ),
+						() -> schemaObj.getLicenseTableObj().readLicenseByUNameIdx( keyTopDomain.getRequiredId(), keyName ) );
+					if( existingLicense != null ) {
+						CFLibXmlCoreContext curContext = getParser().getCurContext();
+						if( saxLoader.isLeanContext() ) {
+							saxLoader.saveContextAttrs( curContext, "License", attrs );
+						}
+						else {
+							curContext.putNamedValue( "Id", attrs.getValue( "Id" ) );
+							curContext.putNamedValue( "Name", attrs.getValue( "Name" ) );
+							curContext.putNamedValue( "Description", attrs.getValue( "Description" ) );
+							curContext.putNamedValue( "EmbeddedText", attrs.getValue( "EmbeddedText" ) );
+							curContext.putNamedValue( "FullText", attrs.getValue( "FullText" ) );
+						}
+						curContext.putNamedValue( "Object", existingLicense );
+						return;
+					}
+					probedLicense = true;
+				}
+			}
+
 			// Instantiate an edit buffer for the parsed information
-			origBuff = (ICFIntLicenseObj)schemaObj.getLicenseTableObj().newInstance();
-			editBuff = (ICFIntLicenseEditObj)origBuff.beginEdit();
+			saxLoader.getSchemaLock().lock();
+			try {
+				origBuff = (ICFIntLicenseObj)schemaObj.getLicenseTableObj().newInstance();
+				editBuff = (ICFIntLicenseEditObj)origBuff.beginEdit();
+			}
+			finally {
+				saxLoader.getSchemaLock().unlock();
+			}
 
 			// Extract Attributes
 			numAttrs = attrs.getLength();
 			for( idxAttr = 0; idxAttr < numAttrs; idxAttr++ ) {
 				attrLocalName = attrs.getLocalName( idxAttr );
-				if( attrLocalName.equals( "Id" ) ) {
-					if( attrId != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
-							S_ProcName,
-							S_LocalName,
-							attrLocalName );
-					}
-					attrId = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "Name" ) ) {
-					if( attrName != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
-							S_ProcName,
-							S_LocalName,
-							attrLocalName );
-					}
-					attrName = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "Description" ) ) {
-					if( attrDescription != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
-							S_ProcName,
-							S_LocalName,
-							attrLocalName );
-					}
-					attrDescription = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "EmbeddedText" ) ) {
-					if( attrEmbeddedText != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
-							S_ProcName,
-							S_LocalName,
-							attrLocalName );
-					}
-					attrEmbeddedText = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "FullText" ) ) {
-					if( attrFullText != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
+				switch( attrSlots.slotOf( attrLocalName ) ) {
+					case ATTR_Id:
+						if( attrId != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrId = attrs.getValue( idxAttr );
+						break;
+					case ATTR_Name:
+						if( attrName != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrName = internName.intern( attrs.getValue( idxAttr ) );
+						break;
+					case ATTR_Description:
+						if( attrDescription != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrDescription = attrs.getValue( idxAttr );
+						break;
+					case ATTR_EmbeddedText:
+						if( attrEmbeddedText != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrEmbeddedText = attrs.getValue( idxAttr );
+						break;
+					case ATTR_FullText:
+						if( attrFullText != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrFullText = attrs.getValue( idxAttr );
+						break;
+					case ATTR_schemaLocation:
+						// ignored
+						break;
+					default:
+						throw new CFLibUnrecognizedAttributeException( getClass(),
 							S_ProcName,
-							S_LocalName,
+							getParser().getLocationInfo(),
 							attrLocalName );
-					}
-					attrFullText = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "schemaLocation" ) ) {
-					// ignored
-				}
-				else {
-					throw new CFLibUnrecognizedAttributeException( getClass(),
-						S_ProcName,
-						getParser().getLocationInfo(),
-						attrLocalName );
 				}
 			}
 
@@ -178,13 +249,19 @@ public class CFIntSaxLoaderLicense
 					"Name" );
 			}
 
-			// Save named attributes to context
+			// Save named attributes to context, or in lean context mode only
+			// the ones registered for the element
 			CFLibXmlCoreContext curContext = getParser().getCurContext();
-			curContext.putNamedValue( "Id", attrId );
-			curContext.putNamedValue( "Name", attrName );
-			curContext.putNamedValue( "Description", attrDescription );
-			curContext.putNamedValue( "EmbeddedText", attrEmbeddedText );
-			curContext.putNamedValue( "FullText", attrFullText );
+			if( saxLoader.isLeanContext() ) {
+				saxLoader.saveContextAttrs( curContext, "License", attrs );
+			}
+			else {
+				curContext.putNamedValue( "Id", attrId );
+				curContext.putNamedValue( "Name", attrName );
+				curContext.putNamedValue( "Description", attrDescription );
+				curContext.putNamedValue( "EmbeddedText", attrEmbeddedText );
+				curContext.putNamedValue( "FullText", attrFullText );
+			}
 
 			// Convert string attributes to native Java types
 			// and apply the converted attributes to the editBuff.
@@ -211,13 +288,7 @@ public class CFIntSaxLoaderLicense
 			// Get the scope/container object
 
 			CFLibXmlCoreContext parentContext = curContext.getPrevContext();
-			Object scopeObj;
-			if( parentContext != null ) {
-				scopeObj = parentContext.getNamedValue( "Object" );
-			}
-			else {
-				scopeObj = null;
-			}
+			Object scopeObj = saxLoader.resolveScopeObj( parentContext );
 
 			// Resolve and apply required Container reference
 
@@ -255,10 +326,15 @@ public class CFIntSaxLoaderLicense
 				}
 			}
 
-			CFIntSaxLoader.LoaderBehaviourEnum loaderBehaviour = saxLoader.getLicenseLoaderBehaviour();
 			ICFIntLicenseEditObj editLicense = null;
-			ICFIntLicenseObj origLicense = (ICFIntLicenseObj)schemaObj.getLicenseTableObj().readLicenseByUNameIdx( refTopDomain.getRequiredId(),
-			editBuff.getRequiredName() );
+			final ICFIntTopDomainObj keyTopDomain = refTopDomain;
+			final String keyName = editBuff.getRequiredName();
+			Object naturalKey = CFIntSaxLoader.naturalKey( keyTopDomain.getRequiredId(), keyName );
+			ICFIntLicenseObj origLicense = null;
+			if( ! probedLicense ) {
+				origLicense = (ICFIntLicenseObj)saxLoader.readExisting( "License", "UNameIdx", naturalKey,
+					() -> schemaObj.getLicenseTableObj().readLicenseByUNameIdx( keyTopDomain.getRequiredId(), keyName ) );
+			}
 			if( origLicense == null ) {
 				editLicense = editBuff;
 			}
@@ -267,15 +343,23 @@ public class CFIntSaxLoaderLicense
 					case Insert:
 						break;
 					case Update:
-						editLicense = (ICFIntLicenseEditObj)origLicense.beginEdit();
-						editLicense.setRequiredName( editBuff.getRequiredName() );
-						editLicense.setOptionalDescription( editBuff.getOptionalDescription() );
-						editLicense.setOptionalEmbeddedText( editBuff.getOptionalEmbeddedText() );
-						editLicense.setOptionalFullText( editBuff.getOptionalFullText() );
+					case Upsert:
+						if( ( loaderBehaviour == CFIntSaxLoader.LoaderBehaviourEnum.Update )
+							&& saxLoader.isSkipUnchangedUpdates()
+							&& Objects.equals( origLicense.getRequiredName(), editBuff.getRequiredName() )
+							&& Objects.equals( origLicense.getOptionalDescription(), editBuff.getOptionalDescription() )
+							&& Objects.equals( origLicense.getOptionalEmbeddedText(), editBuff.getOptionalEmbeddedText() )
+							&& Objects.equals( origLicense.getOptionalFullText(), editBuff.getOptionalFullText() ) )
+						{
+							saxLoader.countUnchangedUpdate( "License" );
+						}
+						else {
+							editLicense = editBuff;
+						}
 						break;
 					case Replace:
-						editLicense = (ICFIntLicenseEditObj)origLicense.beginEdit();
-						editLicense.deleteInstance();
+						final ICFIntLicenseObj deleteLicense = origLicense;
+						saxLoader.applyDelete( "License", naturalKey, () -> ( (ICFIntLicenseEditObj)deleteLicense.beginEdit() ).deleteInstance() );
 						editLicense = null;
 						origLicense = null;
 						editLicense = editBuff;
@@ -284,11 +368,19 @@ public class CFIntSaxLoaderLicense
 			}
 
 			if( editLicense != null ) {
+				final ICFIntLicenseEditObj pendingLicense = editLicense;
+				CFIntSaxValueRow valueRow = new CFIntSaxValueRow( "License", naturalKey, origLicense,
+					natName,
+					natDescription,
+					natEmbeddedText,
+					natFullText,
+					refTopDomain,
+					refTenant );
 				if( origLicense != null ) {
-					editLicense.update();
+					saxLoader.applyUpdate( "License", naturalKey, pendingLicense, valueRow, this, CFIntSaxLoader.estimateAttrBytes( attrs ) );
 				}
 				else {
-					origLicense = (ICFIntLicenseObj)editLicense.create();
+					origLicense = (ICFIntLicenseObj)saxLoader.applyCreate( "License", naturalKey, pendingLicense, valueRow, this, CFIntSaxLoader.estimateAttrBytes( attrs ) );
 				}
 				editLicense = null;
 			}
@@ -304,6 +396,33 @@ public class CFIntSaxLoaderLicense
 		}
 	}
 
+	// Build an edit object from a captured value row and write it.  This
+	// may run on a write pipeline thread, so it reads only the value row.
+
+	public Object writeRow( CFIntSaxValueRow row ) {
+		ICFIntSchemaObj schemaObj = ( (CFIntSaxLoader)getParser() ).getSchemaObj();
+		ICFIntLicenseObj origLicense = (ICFIntLicenseObj)row.getExisting();
+		ICFIntLicenseEditObj editLicense;
+		if( origLicense != null ) {
+			editLicense = (ICFIntLicenseEditObj)origLicense.beginEdit();
+			editLicense.setRequiredName( (String)row.getValue( COL_Name ) );
+			editLicense.setOptionalDescription( (String)row.getValue( COL_Description ) );
+			editLicense.setOptionalEmbeddedText( (String)row.getValue( COL_EmbeddedText ) );
+			editLicense.setOptionalFullText( (String)row.getValue( COL_FullText ) );
+			editLicense.update();
+			return( origLicense );
+		}
+		origLicense = (ICFIntLicenseObj)schemaObj.getLicenseTableObj().newInstance();
+		editLicense = (ICFIntLicenseEditObj)origLicense.beginEdit();
+		editLicense.setRequiredName( (String)row.getValue( COL_Name ) );
+		editLicense.setOptionalDescription( (String)row.getValue( COL_Description ) );
+		editLicense.setOptionalEmbeddedText( (String)row.getValue( COL_EmbeddedText ) );
+		editLicense.setOptionalFullText( (String)row.getValue( COL_FullText ) );
+		editLicense.setRequiredContainerTopDomain( (ICFIntTopDomainObj)row.getValue( COL_ContainerTopDomain ) );
+		editLicense.setRequiredOwnerTenant( (ICFIntTenantObj)row.getValue( COL_OwnerTenant ) );
+		return( editLicense.create() );
+	}
+
 	public void endElement(
 		String		uri,
 		String		localName,
@@ -57,9 +57,31 @@ import io.github.msobkow.v3_1.cfint.cfintobj.*;
  */
 public class CFIntSaxLoaderMajorVersion
 	extends CFLibXmlCoreElementHandler
+	implements ICFIntSaxRowWriter
 {
+	// Attribute slots
+
+	protected final static int ATTR_Id = 0;
+	protected final static int ATTR_Name = 1;
+	protected final static int ATTR_Description = 2;
+	protected final static int ATTR_schemaLocation = 3;
+
+	protected final static CFIntSaxAttrSlots attrSlots = new CFIntSaxAttrSlots(
+		"Id",
+		"Name",
+		"Description",
+		"schemaLocation" );
+
+	// Value row columns
+
+	protected final static int COL_Name = 0;
+	protected final static int COL_Description = 1;
+	protected final static int COL_ContainerParentSPrj = 2;
+	protected final static int COL_OwnerTenant = 3;
+
 	public CFIntSaxLoaderMajorVersion( CFIntSaxLoader saxLoader ) {
 		super( saxLoader );
+		saxLoader.declareElementKey( "MajorVersion", "Name" );
 	}
 
 	public void startElement(
@@ -104,49 +126,85 @@ public class CFIntSaxLoaderMajorVersion
 					"getParser().getSchemaObj()" );
 			}
 
+			// Insert behaviour never changes an existing row, so look for it
+			// by the raw key attributes before building an edit buffer
+
+			CFIntSaxLoader.LoaderBehaviourEnum loaderBehaviour = saxLoader.effectiveBehaviour( saxLoader.getMajorVersionLoaderBehaviour() );
+			boolean probedMajorVersion = false;
+			if( loaderBehaviour == CFIntSaxLoader.LoaderBehaviourEnum.Insert ) {
+				Object probeScopeObj = saxLoader.resolveScopeObj( getParser().getCurContext().getPrevContext() );
+				final String keyName = attrs.getValue( "Name" );
+				if( ( probeScopeObj instanceof ICFIntSubProjectObj ) && ( keyName != null ) ) {
+					final ICFIntSubProjectObj keyParentSPrj = (ICFIntSubProjectObj)probeScopeObj;
+					ICFIntMajorVersionObj existingMajorVersion = (ICFIntMajorVersionObj)saxLoader.readExisting( "MajorVersion", "NameIdx", CFIntSaxLoader.naturalKey( keyParentSPrj.getRequiredId(), keyName ),
+						() -> schemaObj.getMajorVersionTableObj().readMajorVersionByNameIdx( keyParentSPrj.getRequiredId(), keyName ) );
+					if( existingMajorVersion != null ) {
+						CFLibXmlCoreContext curContext = getParser().getCurContext();
+						if( saxLoader.isLeanContext() ) {
+							saxLoader.saveContextAttrs( curContext, "MajorVersion", attrs );
+						}
+						else {
+							curContext.putNamedValue( "Id", attrs.getValue( "Id" ) );
+							curContext.putNamedValue( "Name", attrs.getValue( "Name" ) );
+							curContext.putNamedValue( "Description", attrs.getValue( "Description" ) );
+						}
+						curContext.putNamedValue( "Object", existingMajorVersion );
+						return;
+					}
+					probedMajorVersion = true;
+				}
+			}
+
 			// Instantiate an edit buffer for the parsed information
-			origBuff = (ICFIntMajorVersionObj)schemaObj.getMajorVersionTableObj().newInstance();
-			editBuff = (ICFIntMajorVersionEditObj)origBuff.beginEdit();
+			saxLoader.getSchemaLock().lock();
+			try {
+				origBuff = (ICFIntMajorVersionObj)schemaObj.getMajorVersionTableObj().newInstance();
+				editBuff = (ICFIntMajorVersionEditObj)origBuff.beginEdit();
+			}
+			finally {
+				saxLoader.getSchemaLock().unlock();
+			}
 
 			// Extract Attributes
 			numAttrs = attrs.getLength();
 			for( idxAttr = 0; idxAttr < numAttrs; idxAttr++ ) {
 				attrLocalName = attrs.getLocalName( idxAttr );
-				if( attrLocalName.equals( "Id" ) ) {
-					if( attrId != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
-							S_ProcName,
-							S_LocalName,
-							attrLocalName );
-					}
-					attrId = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "Name" ) ) {
-					if( attrName != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
-							S_ProcName,
-							S_LocalName,
-							attrLocalName );
-					}
-					attrName = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "Description" ) ) {
-					if( attrDescription != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
+				switch( attrSlots.slotOf( attrLocalName ) ) {
+					case ATTR_Id:
+						if( attrId != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrId = attrs.getValue( idxAttr );
+						break;
+					case ATTR_Name:
+						if( attrName != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrName = attrs.getValue( idxAttr );
+						break;
+					case ATTR_Description:
+						if( attrDescription != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrDescription = attrs.getValue( idxAttr );
+						break;
+					case ATTR_schemaLocation:
+						// ignored
+						break;
+					default:
+						throw new CFLibUnrecognizedAttributeException( getClass(),
 							S_ProcName,
-							S_LocalName,
+							getParser().getLocationInfo(),
 							attrLocalName );
-					}
-					attrDescription = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "schemaLocation" ) ) {
-					// ignored
-				}
-				else {
-					throw new CFLibUnrecognizedAttributeException( getClass(),
-						S_ProcName,
-						getParser().getLocationInfo(),
-						attrLocalName );
 				}
 			}
 
@@ -158,11 +216,17 @@ public class CFIntSaxLoaderMajorVersion
 					"Name" );
 			}
 
-			// Save named attributes to context
+			// Save named attributes to context, or in lean context mode only
+			// the ones registered for the element
 			CFLibXmlCoreContext curContext = getParser().getCurContext();
-			curContext.putNamedValue( "Id", attrId );
-			curContext.putNamedValue( "Name", attrName );
-			curContext.putNamedValue( "Description", attrDescription );
+			if( saxLoader.isLeanContext() ) {
+				saxLoader.saveContextAttrs( curContext, "MajorVersion", attrs );
+			}
+			else {
+				curContext.putNamedValue( "Id", attrId );
+				curContext.putNamedValue( "Name", attrName );
+				curContext.putNamedValue( "Description", attrDescription );
+			}
 
 			// Convert string attributes to native Java types
 			// and apply the converted attributes to the editBuff.
@@ -183,13 +247,7 @@ public class CFIntSaxLoaderMajorVersion
 			// Get the scope/container object
 
 			CFLibXmlCoreContext parentContext = curContext.getPrevContext();
-			Object scopeObj;
-			if( parentContext != null ) {
-				scopeObj = parentContext.getNamedValue( "Object" );
-			}
-			else {
-				scopeObj = null;
-			}
+			Object scopeObj = saxLoader.resolveScopeObj( parentContext );
 
 			// Resolve and apply required Container reference
 
@@ -227,10 +285,15 @@ public class CFIntSaxLoaderMajorVersion
 				}
 			}
 
-			CFIntSaxLoader.LoaderBehaviourEnum loaderBehaviour = saxLoader.getMajorVersionLoaderBehaviour();
 			ICFIntMajorVersionEditObj editMajorVersion = null;
-			ICFIntMajorVersionObj origMajorVersion = (ICFIntMajorVersionObj)schemaObj.getMajorVersionTableObj().readMajorVersionByNameIdx( refParentSPrj.getRequiredId(),
-			editBuff.getRequiredName() );
+			final ICFIntSubProjectObj keyParentSPrj = refParentSPrj;
+			final String keyName = editBuff.getRequiredName();
+			Object naturalKey = CFIntSaxLoader.naturalKey( keyParentSPrj.getRequiredId(), keyName );
+			ICFIntMajorVersionObj origMajorVersion = null;
+			if( ! probedMajorVersion ) {
+				origMajorVersion = (ICFIntMajorVersionObj)saxLoader.readExisting( "MajorVersion", "NameIdx", naturalKey,
+					() -> schemaObj.getMajorVersionTableObj().readMajorVersionByNameIdx( keyParentSPrj.getRequiredId(), keyName ) );
+			}
 			if( origMajorVersion == null ) {
 				editMajorVersion = editBuff;
 			}
@@ -239,13 +302,21 @@ public class CFIntSaxLoaderMajorVersion
 					case Insert:
 						break;
 					case Update:
-						editMajorVersion = (ICFIntMajorVersionEditObj)origMajorVersion.beginEdit();
-						editMajorVersion.setRequiredName( editBuff.getRequiredName() );
-						editMajorVersion.setOptionalDescription( editBuff.getOptionalDescription() );
+					case Upsert:
+						if( ( loaderBehaviour == CFIntSaxLoader.LoaderBehaviourEnum.Update )
+							&& saxLoader.isSkipUnchangedUpdates()
+							&& Objects.equals( origMajorVersion.getRequiredName(), editBuff.getRequiredName() )
+							&& Objects.equals( origMajorVersion.getOptionalDescription(), editBuff.getOptionalDescription() ) )
+						{
+							saxLoader.countUnchangedUpdate( "MajorVersion" );
+						}
+						else {
+							editMajorVersion = editBuff;
+						}
 						break;
 					case Replace:
-						editMajorVersion = (ICFIntMajorVersionEditObj)origMajorVersion.beginEdit();
-						editMajorVersion.deleteInstance();
+						final ICFIntMajorVersionObj deleteMajorVersion = origMajorVersion;
+						saxLoader.applyDelete( "MajorVersion", naturalKey, () -> ( (ICFIntMajorVersionEditObj)deleteMajorVersion.beginEdit() ).deleteInstance() );
 						editMajorVersion = null;
 						origMajorVersion = null;
 						editMajorVersion = editBuff;
@@ -254,11 +325,17 @@ public class CFIntSaxLoaderMajorVersion
 			}
 
 			if( editMajorVersion != null ) {
+				final ICFIntMajorVersionEditObj pendingMajorVersion = editMajorVersion;
+				CFIntSaxValueRow valueRow = new CFIntSaxValueRow( "MajorVersion", naturalKey, origMajorVersion,
+					natName,
+					natDescription,
+					refParentSPrj,
+					refTenant );
 				if( origMajorVersion != null ) {
-					editMajorVersion.update();
+					saxLoader.applyUpdate( "MajorVersion", naturalKey, pendingMajorVersion, valueRow, this, CFIntSaxLoader.estimateAttrBytes( attrs ) );
 				}
 				else {
-					origMajorVersion = (ICFIntMajorVersionObj)editMajorVersion.create();
+					origMajorVersion = (ICFIntMajorVersionObj)saxLoader.applyCreate( "MajorVersion", naturalKey, pendingMajorVersion, valueRow, this, CFIntSaxLoader.estimateAttrBytes( attrs ) );
 				}
 				editMajorVersion = null;
 			}
@@ -274,6 +351,29 @@ public class CFIntSaxLoaderMajorVersion
 		}
 	}
 
+	// Build an edit object from a captured value row and write it.  This
+	// may run on a write pipeline thread, so it reads only the value row.
+
+	public Object writeRow( CFIntSaxValueRow row ) {
+		ICFIntSchemaObj schemaObj = ( (CFIntSaxLoader)getParser() ).getSchemaObj();
+		ICFIntMajorVersionObj origMajorVersion = (ICFIntMajorVersionObj)row.getExisting();
+		ICFIntMajorVersionEditObj editMajorVersion;
+		if( origMajorVersion != null ) {
+			editMajorVersion = (ICFIntMajorVersionEditObj)origMajorVersion.beginEdit();
+			editMajorVersion.setRequiredName( (String)row.getValue( COL_Name ) );
+			editMajorVersion.setOptionalDescription( (String)row.getValue( COL_Description ) );
+			editMajorVersion.update();
+			return( origMajorVersion );
+		}
+		origMajorVersion = (ICFIntMajorVersionObj)schemaObj.getMajorVersionTableObj().newInstance();
+		editMajorVersion = (ICFIntMajorVersionEditObj)origMajorVersion.beginEdit();
+		editMajorVersion.setRequiredName( (String)row.getValue( COL_Name ) );
+		editMajorVersion.setOptionalDescription( (String)row.getValue( COL_Description ) );
+		editMajorVersion.setRequiredContainerParentSPrj( (ICFIntSubProjectObj)row.getValue( COL_ContainerParentSPrj ) );
+		editMajorVersion.setRequiredOwnerTenant( (ICFIntTenantObj)row.getValue( COL_OwnerTenant ) );
+		return( editMajorVersion.create() );
+	}
+
 	public void endElement(
 		String		uri,
 		String		localName,
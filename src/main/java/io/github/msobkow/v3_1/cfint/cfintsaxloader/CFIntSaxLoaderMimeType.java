@@ -57,9 +57,29 @@ import io.github.msobkow.v3_1.cfint.cfintobj.*;
  */
 public class CFIntSaxLoaderMimeType
 	extends CFLibXmlCoreElementHandler
+	implements ICFIntSaxRowWriter
 {
+	// Attribute slots
+
+	protected final static int ATTR_Id = 0;
+	protected final static int ATTR_Name = 1;
+	protected final static int ATTR_FileTypes = 2;
+	protected final static int ATTR_schemaLocation = 3;
+
+	protected final static CFIntSaxAttrSlots attrSlots = new CFIntSaxAttrSlots(
+		"Id",
+		"Name",
+		"FileTypes",
+		"schemaLocation" );
+
+	// Value row columns
+
+	protected final static int COL_Name = 0;
+	protected final static int COL_FileTypes = 1;
+
 	public CFIntSaxLoaderMimeType( CFIntSaxLoader saxLoader ) {
 		super( saxLoader );
+		saxLoader.declareElementKey( "MimeType", "Name" );
 	}
 
 	public void startElement(
@@ -102,49 +122,83 @@ public class CFIntSaxLoaderMimeType
 					"getParser().getSchemaObj()" );
 			}
 
+			// Insert behaviour never changes an existing row, so look for it
+			// by the raw key attributes before building an edit buffer
+
+			CFIntSaxLoader.LoaderBehaviourEnum loaderBehaviour = saxLoader.effectiveBehaviour( saxLoader.getMimeTypeLoaderBehaviour() );
+			boolean probedMimeType = false;
+			if( loaderBehaviour == CFIntSaxLoader.LoaderBehaviourEnum.Insert ) {
+				final String keyName = attrs.getValue( "Name" );
+				if( ( keyName != null ) ) {
+					ICFIntMimeTypeObj existingMimeType = (ICFIntMimeTypeObj)saxLoader.readExisting( "MimeType", "UNameIdx", CFIntSaxLoader.naturalKey( keyName ),
+						() -> schemaObj.getMimeTypeTableObj().readMimeTypeByUNameIdx( keyName ) );
+					if( existingMimeType != null ) {
+						CFLibXmlCoreContext curContext = getParser().getCurContext();
+						if( saxLoader.isLeanContext() ) {
+							saxLoader.saveContextAttrs( curContext, "MimeType", attrs );
+						}
+						else {
+							curContext.putNamedValue( "Id", attrs.getValue( "Id" ) );
+							curContext.putNamedValue( "Name", attrs.getValue( "Name" ) );
+							curContext.putNamedValue( "FileTypes", attrs.getValue( "FileTypes" ) );
+						}
+						curContext.putNamedValue( "Object", existingMimeType );
+						return;
+					}
+					probedMimeType = true;
+				}
+			}
+
 			// Instantiate an edit buffer for the parsed information
-			origBuff = (ICFIntMimeTypeObj)schemaObj.getMimeTypeTableObj().newInstance();
-			editBuff = (ICFIntMimeTypeEditObj)origBuff.beginEdit();
+			saxLoader.getSchemaLock().lock();
+			try {
+				origBuff = (ICFIntMimeTypeObj)schemaObj.getMimeTypeTableObj().newInstance();
+				editBuff = (ICFIntMimeTypeEditObj)origBuff.beginEdit();
+			}
+			finally {
+				saxLoader.getSchemaLock().unlock();
+			}
 
 			// Extract Attributes
 			numAttrs = attrs.getLength();
 			for( idxAttr = 0; idxAttr < numAttrs; idxAttr++ ) {
 				attrLocalName = attrs.getLocalName( idxAttr );
-				if( attrLocalName.equals( "Id" ) ) {
-					if( attrId != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
-							S_ProcName,
-							S_LocalName,
-							attrLocalName );
-					}
-					attrId = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "Name" ) ) {
-					if( attrName != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
-							S_ProcName,
-							S_LocalName,
-							attrLocalName );
-					}
-					attrName = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "FileTypes" ) ) {
-					if( attrFileTypes != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
+				switch( attrSlots.slotOf( attrLocalName ) ) {
+					case ATTR_Id:
+						if( attrId != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrId = attrs.getValue( idxAttr );
+						break;
+					case ATTR_Name:
+						if( attrName != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrName = attrs.getValue( idxAttr );
+						break;
+					case ATTR_FileTypes:
+						if( attrFileTypes != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrFileTypes = attrs.getValue( idxAttr );
+						break;
+					case ATTR_schemaLocation:
+						// ignored
+						break;
+					default:
+						throw new CFLibUnrecognizedAttributeException( getClass(),
 							S_ProcName,
-							S_LocalName,
+							getParser().getLocationInfo(),
 							attrLocalName );
-					}
-					attrFileTypes = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "schemaLocation" ) ) {
-					// ignored
-				}
-				else {
-					throw new CFLibUnrecognizedAttributeException( getClass(),
-						S_ProcName,
-						getParser().getLocationInfo(),
-						attrLocalName );
 				}
 			}
 
@@ -156,11 +210,17 @@ public class CFIntSaxLoaderMimeType
 					"Name" );
 			}
 
-			// Save named attributes to context
+			// Save named attributes to context, or in lean context mode only
+			// the ones registered for the element
 			CFLibXmlCoreContext curContext = getParser().getCurContext();
-			curContext.putNamedValue( "Id", attrId );
-			curContext.putNamedValue( "Name", attrName );
-			curContext.putNamedValue( "FileTypes", attrFileTypes );
+			if( saxLoader.isLeanContext() ) {
+				saxLoader.saveContextAttrs( curContext, "MimeType", attrs );
+			}
+			else {
+				curContext.putNamedValue( "Id", attrId );
+				curContext.putNamedValue( "Name", attrName );
+				curContext.putNamedValue( "FileTypes", attrFileTypes );
+			}
 
 			// Convert string attributes to native Java types
 			// and apply the converted attributes to the editBuff.
@@ -181,17 +241,16 @@ public class CFIntSaxLoaderMimeType
 			// Get the scope/container object
 
 			CFLibXmlCoreContext parentContext = curContext.getPrevContext();
-			Object scopeObj;
-			if( parentContext != null ) {
-				scopeObj = parentContext.getNamedValue( "Object" );
-			}
-			else {
-				scopeObj = null;
-			}
+			Object scopeObj = saxLoader.resolveScopeObj( parentContext );
 
-			CFIntSaxLoader.LoaderBehaviourEnum loaderBehaviour = saxLoader.getMimeTypeLoaderBehaviour();
 			ICFIntMimeTypeEditObj editMimeType = null;
-			ICFIntMimeTypeObj origMimeType = (ICFIntMimeTypeObj)schemaObj.getMimeTypeTableObj().readMimeTypeByUNameIdx( editBuff.getRequiredName() );
+			final String keyName = editBuff.getRequiredName();
+			Object naturalKey = CFIntSaxLoader.naturalKey( keyName );
+			ICFIntMimeTypeObj origMimeType = null;
+			if( ! probedMimeType ) {
+				origMimeType = (ICFIntMimeTypeObj)saxLoader.readExisting( "MimeType", "UNameIdx", naturalKey,
+					() -> schemaObj.getMimeTypeTableObj().readMimeTypeByUNameIdx( keyName ) );
+			}
 			if( origMimeType == null ) {
 				editMimeType = editBuff;
 			}
@@ -200,13 +259,21 @@ public class CFIntSaxLoaderMimeType
 					case Insert:
 						break;
 					case Update:
-						editMimeType = (ICFIntMimeTypeEditObj)origMimeType.beginEdit();
-						editMimeType.setRequiredName( editBuff.getRequiredName() );
-						editMimeType.setOptionalFileTypes( editBuff.getOptionalFileTypes() );
+					case Upsert:
+						if( ( loaderBehaviour == CFIntSaxLoader.LoaderBehaviourEnum.Update )
+							&& saxLoader.isSkipUnchangedUpdates()
+							&& Objects.equals( origMimeType.getRequiredName(), editBuff.getRequiredName() )
+							&& Objects.equals( origMimeType.getOptionalFileTypes(), editBuff.getOptionalFileTypes() ) )
+						{
+							saxLoader.countUnchangedUpdate( "MimeType" );
+						}
+						else {
+							editMimeType = editBuff;
+						}
 						break;
 					case Replace:
-						editMimeType = (ICFIntMimeTypeEditObj)origMimeType.beginEdit();
-						editMimeType.deleteInstance();
+						final ICFIntMimeTypeObj deleteMimeType = origMimeType;
+						saxLoader.applyDelete( "MimeType", naturalKey, () -> ( (ICFIntMimeTypeEditObj)deleteMimeType.beginEdit() ).deleteInstance() );
 						editMimeType = null;
 						origMimeType = null;
 						editMimeType = editBuff;
@@ -215,11 +282,15 @@ public class CFIntSaxLoaderMimeType
 			}
 
 			if( editMimeType != null ) {
+				final ICFIntMimeTypeEditObj pendingMimeType = editMimeType;
+				CFIntSaxValueRow valueRow = new CFIntSaxValueRow( "MimeType", naturalKey, origMimeType,
+					natName,
+					natFileTypes );
 				if( origMimeType != null ) {
-					editMimeType.update();
+					saxLoader.applyUpdate( "MimeType", naturalKey, pendingMimeType, valueRow, this, CFIntSaxLoader.estimateAttrBytes( attrs ) );
 				}
 				else {
-					origMimeType = (ICFIntMimeTypeObj)editMimeType.create();
+					origMimeType = (ICFIntMimeTypeObj)saxLoader.applyCreate( "MimeType", naturalKey, pendingMimeType, valueRow, this, CFIntSaxLoader.estimateAttrBytes( attrs ) );
 				}
 				editMimeType = null;
 			}
@@ -235,6 +306,27 @@ public class CFIntSaxLoaderMimeType
 		}
 	}
 
+	// Build an edit object from a captured value row and write it.  This
+	// may run on a write pipeline thread, so it reads only the value row.
+
+	public Object writeRow( CFIntSaxValueRow row ) {
+		ICFIntSchemaObj schemaObj = ( (CFIntSaxLoader)getParser() ).getSchemaObj();
+		ICFIntMimeTypeObj origMimeType = (ICFIntMimeTypeObj)row.getExisting();
+		ICFIntMimeTypeEditObj editMimeType;
+		if( origMimeType != null ) {
+			editMimeType = (ICFIntMimeTypeEditObj)origMimeType.beginEdit();
+			editMimeType.setRequiredName( (String)row.getValue( COL_Name ) );
+			editMimeType.setOptionalFileTypes( (String)row.getValue( COL_FileTypes ) );
+			editMimeType.update();
+			return( origMimeType );
+		}
+		origMimeType = (ICFIntMimeTypeObj)schemaObj.getMimeTypeTableObj().newInstance();
+		editMimeType = (ICFIntMimeTypeEditObj)origMimeType.beginEdit();
+		editMimeType.setRequiredName( (String)row.getValue( COL_Name ) );
+		editMimeType.setOptionalFileTypes( (String)row.getValue( COL_FileTypes ) );
+		return( editMimeType.create() );
+	}
+
 	public void endElement(
 		String		uri,
 		String		localName,
@@ -57,9 +57,31 @@ import io.github.msobkow.v3_1.cfint.cfintobj.*;
  */
 public class CFIntSaxLoaderMinorVersion
 	extends CFLibXmlCoreElementHandler
+	implements ICFIntSaxRowWriter
 {
+	// Attribute slots
+
+	protected final static int ATTR_Id = 0;
+	protected final static int ATTR_Name = 1;
+	protected final static int ATTR_Description = 2;
+	protected final static int ATTR_schemaLocation = 3;
+
+	protected final static CFIntSaxAttrSlots attrSlots = new CFIntSaxAttrSlots(
+		"Id",
+		"Name",
+		"Description",
+		"schemaLocation" );
+
+	// Value row columns
+
+	protected final static int COL_Name = 0;
+	protected final static int COL_Description = 1;
+	protected final static int COL_ContainerParentMajVer = 2;
+	protected final static int COL_OwnerTenant = 3;
+
 	public CFIntSaxLoaderMinorVersion( CFIntSaxLoader saxLoader ) {
 		super( saxLoader );
+		saxLoader.declareElementKey( "MinorVersion", "Name" );
 	}
 
 	public void startElement(
@@ -104,49 +126,85 @@ public class CFIntSaxLoaderMinorVersion
 					"getParser().getSchemaObj()" );
 			}
 
+			// Insert behaviour never changes an existing row, so look for it
+			// by the raw key attributes before building an edit buffer
+
+			CFIntSaxLoader.LoaderBehaviourEnum loaderBehaviour = saxLoader.effectiveBehaviour( saxLoader.getMinorVersionLoaderBehaviour() );
+			boolean probedMinorVersion = false;
+			if( loaderBehaviour == CFIntSaxLoader.LoaderBehaviourEnum.Insert ) {
+				Object probeScopeObj = saxLoader.resolveScopeObj( getParser().getCurContext().getPrevContext() );
+				final String keyName = attrs.getValue( "Name" );
+				if( ( probeScopeObj instanceof ICFIntMajorVersionObj ) && ( keyName != null ) ) {
+					final ICFIntMajorVersionObj keyParentMajVer = (ICFIntMajorVersionObj)probeScopeObj;
+					ICFIntMinorVersionObj existingMinorVersion = (ICFIntMinorVersionObj)saxLoader.readExisting( "MinorVersion", "NameIdx", CFIntSaxLoader.naturalKey( keyParentMajVer.getRequiredId(), keyName ),
+						() -> schemaObj.getMinorVersionTableObj().readMinorVersionByNameIdx( keyParentMajVer.getRequiredId(), keyName ) );
+					if( existingMinorVersion != null ) {
+						CFLibXmlCoreContext curContext = getParser().getCurContext();
+						if( saxLoader.isLeanContext() ) {
+							saxLoader.saveContextAttrs( curContext, "MinorVersion", attrs );
+						}
+						else {
+							curContext.putNamedValue( "Id", attrs.getValue( "Id" ) );
+							curContext.putNamedValue( "Name", attrs.getValue( "Name" ) );
+							curContext.putNamedValue( "Description", attrs.getValue( "Description" ) );
+						}
+						curContext.putNamedValue( "Object", existingMinorVersion );
+						return;
+					}
+					probedMinorVersion = true;
+				}
+			}
+
 			// Instantiate an edit buffer for the parsed information
-			origBuff = (ICFIntMinorVersionObj)schemaObj.getMinorVersionTableObj().newInstance();
-			editBuff = (ICFIntMinorVersionEditObj)origBuff.beginEdit();
+			saxLoader.getSchemaLock().lock();
+			try {
+				origBuff = (ICFIntMinorVersionObj)schemaObj.getMinorVersionTableObj().newInstance();
+				editBuff = (ICFIntMinorVersionEditObj)origBuff.beginEdit();
+			}
+			finally {
+				saxLoader.getSchemaLock().unlock();
+			}
 
 			// Extract Attributes
 			numAttrs = attrs.getLength();
 			for( idxAttr = 0; idxAttr < numAttrs; idxAttr++ ) {
 				attrLocalName = attrs.getLocalName( idxAttr );
-				if( attrLocalName.equals( "Id" ) ) {
-					if( attrId != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
-							S_ProcName,
-							S_LocalName,
-							attrLocalName );
-					}
-					attrId = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "Name" ) ) {
-					if( attrName != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
-							S_ProcName,
-							S_LocalName,
-							attrLocalName );
-					}
-					attrName = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "Description" ) ) {
-					if( attrDescription != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
+				switch( attrSlots.slotOf( attrLocalName ) ) {
+					case ATTR_Id:
+						if( attrId != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrId = attrs.getValue( idxAttr );
+						break;
+					case ATTR_Name:
+						if( attrName != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrName = attrs.getValue( idxAttr );
+						break;
+					case ATTR_Description:
+						if( attrDescription != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrDescription = attrs.getValue( idxAttr );
+						break;
+					case ATTR_schemaLocation:
+						// ignored
+						break;
+					default:
+						throw new CFLibUnrecognizedAttributeException( getClass(),
 							S_ProcName,
-							S_LocalName,
+							getParser().getLocationInfo(),
 							attrLocalName );
-					}
-					attrDescription = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "schemaLocation" ) ) {
-					// ignored
-				}
-				else {
-					throw new CFLibUnrecognizedAttributeException( getClass(),
-						S_ProcName,
-						getParser().getLocationInfo(),
-						attrLocalName );
 				}
 			}
 
@@ -158,11 +216,17 @@ public class CFIntSaxLoaderMinorVersion
 					"Name" );
 			}
 
-			// Save named attributes to context
+			// Save named attributes to context, or in lean context mode only
+			// the ones registered for the element
 			CFLibXmlCoreContext curContext = getParser().getCurContext();
-			curContext.putNamedValue( "Id", attrId );
-			curContext.putNamedValue( "Name", attrName );
-			curContext.putNamedValue( "Description", attrDescription );
+			if( saxLoader.isLeanContext() ) {
+				saxLoader.saveContextAttrs( curContext, "MinorVersion", attrs );
+			}
+			else {
+				curContext.putNamedValue( "Id", attrId );
+				curContext.putNamedValue( "Name", attrName );
+				curContext.putNamedValue( "Description", attrDescription );
+			}
 
 			// Convert string attributes to native Java types
 			// and apply the converted attributes to the editBuff.
@@ -183,13 +247,7 @@ public class CFIntSaxLoaderMinorVersion
 			// Get the scope/container object
 
 			CFLibXmlCoreContext parentContext = curContext.getPrevContext();
-			Object scopeObj;
-			if( parentContext != null ) {
-				scopeObj = parentContext.getNamedValue( "Object" );
-			}
-			else {
-				scopeObj = null;
-			}
+			Object scopeObj = saxLoader.resolveScopeObj( parentContext );
 
 			// Resolve and apply required Container reference
 
@@ -227,10 +285,15 @@ public class CFIntSaxLoaderMinorVersion
 				}
 			}
 
-			CFIntSaxLoader.LoaderBehaviourEnum loaderBehaviour = saxLoader.getMinorVersionLoaderBehaviour();
 			ICFIntMinorVersionEditObj editMinorVersion = null;
-			ICFIntMinorVersionObj origMinorVersion = (ICFIntMinorVersionObj)schemaObj.getMinorVersionTableObj().readMinorVersionByNameIdx( refParentMajVer.getRequiredId(),
-			editBuff.getRequiredName() );
+			final ICFIntMajorVersionObj keyParentMajVer = refParentMajVer;
+			final String keyName = editBuff.getRequiredName();
+			Object naturalKey = CFIntSaxLoader.naturalKey( keyParentMajVer.getRequiredId(), keyName );
+			ICFIntMinorVersionObj origMinorVersion = null;
+			if( ! probedMinorVersion ) {
+				origMinorVersion = (ICFIntMinorVersionObj)saxLoader.readExisting( "MinorVersion", "NameIdx", naturalKey,
+					() -> schemaObj.getMinorVersionTableObj().readMinorVersionByNameIdx( keyParentMajVer.getRequiredId(), keyName ) );
+			}
 			if( origMinorVersion == null ) {
 				editMinorVersion = editBuff;
 			}
@@ -239,13 +302,21 @@ public class CFIntSaxLoaderMinorVersion
 					case Insert:
 						break;
 					case Update:
-						editMinorVersion = (ICFIntMinorVersionEditObj)origMinorVersion.beginEdit();
-						editMinorVersion.setRequiredName( editBuff.getRequiredName() );
-						editMinorVersion.setOptionalDescription( editBuff.getOptionalDescription() );
+					case Upsert:
+						if( ( loaderBehaviour == CFIntSaxLoader.LoaderBehaviourEnum.Update )
+							&& saxLoader.isSkipUnchangedUpdates()
+							&& Objects.equals( origMinorVersion.getRequiredName(), editBuff.getRequiredName() )
+							&& Objects.equals( origMinorVersion.getOptionalDescription(), editBuff.getOptionalDescription() ) )
+						{
+							saxLoader.countUnchangedUpdate( "MinorVersion" );
+						}
+						else {
+							editMinorVersion = editBuff;
+						}
 						break;
 					case Replace:
-						editMinorVersion = (ICFIntMinorVersionEditObj)origMinorVersion.beginEdit();
-						editMinorVersion.deleteInstance();
+						final ICFIntMinorVersionObj deleteMinorVersion = origMinorVersion;
+						saxLoader.applyDelete( "MinorVersion", naturalKey, () -> ( (ICFIntMinorVersionEditObj)deleteMinorVersion.beginEdit() ).deleteInstance() );
 						editMinorVersion = null;
 						origMinorVersion = null;
 						editMinorVersion = editBuff;
@@ -254,11 +325,17 @@ public class CFIntSaxLoaderMinorVersion
 			}
 
 			if( editMinorVersion != null ) {
+				final ICFIntMinorVersionEditObj pendingMinorVersion = editMinorVersion;
+				CFIntSaxValueRow valueRow = new CFIntSaxValueRow( "MinorVersion", naturalKey, origMinorVersion,
+					natName,
+					natDescription,
+					refParentMajVer,
+					refTenant );
 				if( origMinorVersion != null ) {
-					editMinorVersion.update();
+					saxLoader.applyUpdate( "MinorVersion", naturalKey, pendingMinorVersion, valueRow, this, CFIntSaxLoader.estimateAttrBytes( attrs ) );
 				}
 				else {
-					origMinorVersion = (ICFIntMinorVersionObj)editMinorVersion.create();
+					origMinorVersion = (ICFIntMinorVersionObj)saxLoader.applyCreate( "MinorVersion", naturalKey, pendingMinorVersion, valueRow, this, CFIntSaxLoader.estimateAttrBytes( attrs ) );
 				}
 				editMinorVersion = null;
 			}
@@ -274,6 +351,29 @@ public class CFIntSaxLoaderMinorVersion
 		}
 	}
 
+	// Build an edit object from a captured value row and write it.  This
+	// may run on a write pipeline thread, so it reads only the value row.
+
+	public Object writeRow( CFIntSaxValueRow row ) {
+		ICFIntSchemaObj schemaObj = ( (CFIntSaxLoader)getParser() ).getSchemaObj();
+		ICFIntMinorVersionObj origMinorVersion = (ICFIntMinorVersionObj)row.getExisting();
+		ICFIntMinorVersionEditObj editMinorVersion;
+		if( origMinorVersion != null ) {
+			editMinorVersion = (ICFIntMinorVersionEditObj)origMinorVersion.beginEdit();
+			editMinorVersion.setRequiredName( (String)row.getValue( COL_Name ) );
+			editMinorVersion.setOptionalDescription( (String)row.getValue( COL_Description ) );
+			editMinorVersion.update();
+			return( origMinorVersion );
+		}
+		origMinorVersion = (ICFIntMinorVersionObj)schemaObj.getMinorVersionTableObj().newInstance();
+		editMinorVersion = (ICFIntMinorVersionEditObj)origMinorVersion.beginEdit();
+		editMinorVersion.setRequiredName( (String)row.getValue( COL_Name ) );
+		editMinorVersion.setOptionalDescription( (String)row.getValue( COL_Description ) );
+		editMinorVersion.setRequiredContainerParentMajVer( (ICFIntMajorVersionObj)row.getValue( COL_ContainerParentMajVer ) );
+		editMinorVersion.setRequiredOwnerTenant( (ICFIntTenantObj)row.getValue( COL_OwnerTenant ) );
+		return( editMinorVersion.create() );
+	}
+
 	public void endElement(
 		String		uri,
 		String		localName,
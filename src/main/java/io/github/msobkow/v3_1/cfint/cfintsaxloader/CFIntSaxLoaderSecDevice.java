@@ -57,9 +57,24 @@ import io.github.msobkow.v3_1.cfint.cfintobj.*;
  */
 public class CFIntSaxLoaderSecDevice
 	extends CFLibXmlCoreElementHandler
+	implements ICFIntSaxRowWriter
 {
+	// Attribute slots
+
+	protected final static int ATTR_Id = 0;
+	protected final static int ATTR_schemaLocation = 1;
+
+	protected final static CFIntSaxAttrSlots attrSlots = new CFIntSaxAttrSlots(
+		"Id",
+		"schemaLocation" );
+
+	// Value row columns
+
+	protected final static int COL_ContainerSecUser = 0;
+
 	public CFIntSaxLoaderSecDevice( CFIntSaxLoader saxLoader ) {
 		super( saxLoader );
+		saxLoader.declareElementKey( "SecDevice", "DevName" );
 	}
 
 	public void startElement(
@@ -102,38 +117,51 @@ public class CFIntSaxLoaderSecDevice
 			}
 
 			// Instantiate an edit buffer for the parsed information
-			origBuff = (ICFIntSecDeviceObj)schemaObj.getSecDeviceTableObj().newInstance();
-			editBuff = (ICFIntSecDeviceEditObj)origBuff.beginEdit();
+			saxLoader.getSchemaLock().lock();
+			try {
+				origBuff = (ICFIntSecDeviceObj)schemaObj.getSecDeviceTableObj().newInstance();
+				editBuff = (ICFIntSecDeviceEditObj)origBuff.beginEdit();
+			}
+			finally {
+				saxLoader.getSchemaLock().unlock();
+			}
 
 			// Extract Attributes
 			numAttrs = attrs.getLength();
 			for( idxAttr = 0; idxAttr < numAttrs; idxAttr++ ) {
 				attrLocalName = attrs.getLocalName( idxAttr );
-				if( attrLocalName.equals( "Id" ) ) {
-					if( attrId != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
+				switch( attrSlots.slotOf( attrLocalName ) ) {
+					case ATTR_Id:
+						if( attrId != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrId = attrs.getValue( idxAttr );
+						break;
+					case ATTR_schemaLocation:
+						// ignored
+						break;
+					default:
+						throw new CFLibUnrecognizedAttributeException( getClass(),
 							S_ProcName,
-							S_LocalName,
+							getParser().getLocationInfo(),
 							attrLocalName );
-					}
-					attrId = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "schemaLocation" ) ) {
-					// ignored
-				}
-				else {
-					throw new CFLibUnrecognizedAttributeException( getClass(),
-						S_ProcName,
-						getParser().getLocationInfo(),
-						attrLocalName );
 				}
 			}
 
 			// Ensure that required attributes have values
 
-			// Save named attributes to context
+			// Save named attributes to context, or in lean context mode only
+			// the ones registered for the element
 			CFLibXmlCoreContext curContext = getParser().getCurContext();
-			curContext.putNamedValue( "Id", attrId );
+			if( saxLoader.isLeanContext() ) {
+				saxLoader.saveContextAttrs( curContext, "SecDevice", attrs );
+			}
+			else {
+				curContext.putNamedValue( "Id", attrId );
+			}
 
 			// Convert string attributes to native Java types
 			// and apply the converted attributes to the editBuff.
@@ -148,13 +176,7 @@ public class CFIntSaxLoaderSecDevice
 			// Get the scope/container object
 
 			CFLibXmlCoreContext parentContext = curContext.getPrevContext();
-			Object scopeObj;
-			if( parentContext != null ) {
-				scopeObj = parentContext.getNamedValue( "Object" );
-			}
-			else {
-				scopeObj = null;
-			}
+			Object scopeObj = saxLoader.resolveScopeObj( parentContext );
 
 			// Resolve and apply required Container reference
 
@@ -176,10 +198,13 @@ public class CFIntSaxLoaderSecDevice
 					"ICFIntSecUserObj" );
 			}
 
-			CFIntSaxLoader.LoaderBehaviourEnum loaderBehaviour = saxLoader.getSecDeviceLoaderBehaviour();
+			CFIntSaxLoader.LoaderBehaviourEnum loaderBehaviour = saxLoader.effectiveBehaviour( saxLoader.getSecDeviceLoaderBehaviour() );
 			ICFIntSecDeviceEditObj editSecDevice = null;
-			ICFIntSecDeviceObj origSecDevice = (ICFIntSecDeviceObj)schemaObj.getSecDeviceTableObj().readSecDeviceByNameIdx( refSecUser.getRequiredSecUserId(),
-			editBuff.getRequiredDevName() );
+			final ICFIntSecUserObj keySecUser = refSecUser;
+			final String keyDevName = editBuff.getRequiredDevName();
+			Object naturalKey = CFIntSaxLoader.naturalKey( keySecUser.getRequiredSecUserId(), keyDevName );
+			ICFIntSecDeviceObj origSecDevice = (ICFIntSecDeviceObj)saxLoader.readExisting( "SecDevice", "NameIdx", naturalKey,
+				() -> schemaObj.getSecDeviceTableObj().readSecDeviceByNameIdx( keySecUser.getRequiredSecUserId(), keyDevName ) );
 			if( origSecDevice == null ) {
 				editSecDevice = editBuff;
 			}
@@ -188,11 +213,19 @@ public class CFIntSaxLoaderSecDevice
 					case Insert:
 						break;
 					case Update:
-						editSecDevice = (ICFIntSecDeviceEditObj)origSecDevice.beginEdit();
+					case Upsert:
+						if( ( loaderBehaviour == CFIntSaxLoader.LoaderBehaviourEnum.Update )
+							&& saxLoader.isSkipUnchangedUpdates() )
+						{
+							saxLoader.countUnchangedUpdate( "SecDevice" );
+						}
+						else {
+							editSecDevice = editBuff;
+						}
 						break;
 					case Replace:
-						editSecDevice = (ICFIntSecDeviceEditObj)origSecDevice.beginEdit();
-						editSecDevice.deleteInstance();
+						final ICFIntSecDeviceObj deleteSecDevice = origSecDevice;
+						saxLoader.applyDelete( "SecDevice", naturalKey, () -> ( (ICFIntSecDeviceEditObj)deleteSecDevice.beginEdit() ).deleteInstance() );
 						editSecDevice = null;
 						origSecDevice = null;
 						editSecDevice = editBuff;
@@ -201,11 +234,14 @@ public class CFIntSaxLoaderSecDevice
 			}
 
 			if( editSecDevice != null ) {
+				final ICFIntSecDeviceEditObj pendingSecDevice = editSecDevice;
+				CFIntSaxValueRow valueRow = new CFIntSaxValueRow( "SecDevice", naturalKey, origSecDevice,
+					refSecUser );
 				if( origSecDevice != null ) {
-					editSecDevice.update();
+					saxLoader.applyUpdate( "SecDevice", naturalKey, pendingSecDevice, valueRow, this, CFIntSaxLoader.estimateAttrBytes( attrs ) );
 				}
 				else {
-					origSecDevice = (ICFIntSecDeviceObj)editSecDevice.create();
+					origSecDevice = (ICFIntSecDeviceObj)saxLoader.applyCreate( "SecDevice", naturalKey, pendingSecDevice, valueRow, this, CFIntSaxLoader.estimateAttrBytes( attrs ) );
 				}
 				editSecDevice = null;
 			}
@@ -221,6 +257,24 @@ public class CFIntSaxLoaderSecDevice
 		}
 	}
 
+	// Build an edit object from a captured value row and write it.  This
+	// may run on a write pipeline thread, so it reads only the value row.
+
+	public Object writeRow( CFIntSaxValueRow row ) {
+		ICFIntSchemaObj schemaObj = ( (CFIntSaxLoader)getParser() ).getSchemaObj();
+		ICFIntSecDeviceObj origSecDevice = (ICFIntSecDeviceObj)row.getExisting();
+		ICFIntSecDeviceEditObj editSecDevice;
+		if( origSecDevice != null ) {
+			editSecDevice = (ICFIntSecDeviceEditObj)origSecDevice.beginEdit();
+			editSecDevice.update();
+			return( origSecDevice );
+		}
+		origSecDevice = (ICFIntSecDeviceObj)schemaObj.getSecDeviceTableObj().newInstance();
+		editSecDevice = (ICFIntSecDeviceEditObj)origSecDevice.beginEdit();
+		editSecDevice.setRequiredContainerSecUser( (ICFIntSecUserObj)row.getValue( COL_ContainerSecUser ) );
+		return( editSecDevice.create() );
+	}
+
 	public void endElement(
 		String		uri,
 		String		localName,
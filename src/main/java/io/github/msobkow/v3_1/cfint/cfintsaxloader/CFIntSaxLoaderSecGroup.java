@@ -57,9 +57,30 @@ import io.github.msobkow.v3_1.cfint.cfintobj.*;
  */
 public class CFIntSaxLoaderSecGroup
 	extends CFLibXmlCoreElementHandler
+	implements ICFIntSaxRowWriter
 {
+	// Attribute slots
+
+	protected final static int ATTR_Id = 0;
+	protected final static int ATTR_Name = 1;
+	protected final static int ATTR_IsVisible = 2;
+	protected final static int ATTR_schemaLocation = 3;
+
+	protected final static CFIntSaxAttrSlots attrSlots = new CFIntSaxAttrSlots(
+		"Id",
+		"Name",
+		"IsVisible",
+		"schemaLocation" );
+
+	// Value row columns
+
+	protected final static int COL_Name = 0;
+	protected final static int COL_IsVisible = 1;
+	protected final static int COL_ContainerCluster = 2;
+
 	public CFIntSaxLoaderSecGroup( CFIntSaxLoader saxLoader ) {
 		super( saxLoader );
+		saxLoader.declareElementKey( "SecGroup", "Name" );
 	}
 
 	public void startElement(
@@ -103,49 +124,85 @@ public class CFIntSaxLoaderSecGroup
 					"getParser().getSchemaObj()" );
 			}
 
+			// Insert behaviour never changes an existing row, so look for it
+			// by the raw key attributes before building an edit buffer
+
+			CFIntSaxLoader.LoaderBehaviourEnum loaderBehaviour = saxLoader.effectiveBehaviour( saxLoader.getSecGroupLoaderBehaviour() );
+			boolean probedSecGroup = false;
+			if( loaderBehaviour == CFIntSaxLoader.LoaderBehaviourEnum.Insert ) {
+				Object probeScopeObj = saxLoader.resolveScopeObj( getParser().getCurContext().getPrevContext() );
+				final String keyName = attrs.getValue( "Name" );
+				if( ( probeScopeObj instanceof ICFIntClusterObj ) && ( keyName != null ) ) {
+					final ICFIntClusterObj keyCluster = (ICFIntClusterObj)probeScopeObj;
+					ICFIntSecGroupObj existingSecGroup = (ICFIntSecGroupObj)saxLoader.readExisting( "SecGroup", "UNameIdx", CFIntSaxLoader.naturalKey( keyCluster.getRequiredId(), keyName ),
+						() -> schemaObj.getSecGroupTableObj().readSecGroupByUNameIdx( keyCluster.getRequiredId(), keyName ) );
+					if( existingSecGroup != null ) {
+						CFLibXmlCoreContext curContext = getParser().getCurContext();
+						if( saxLoader.isLeanContext() ) {
+							saxLoader.saveContextAttrs( curContext, "SecGroup", attrs );
+						}
+						else {
+							curContext.putNamedValue( "Id", attrs.getValue( "Id" ) );
+							curContext.putNamedValue( "Name", attrs.getValue( "Name" ) );
+							curContext.putNamedValue( "IsVisible", attrs.getValue( "IsVisible" ) );
+						}
+						curContext.putNamedValue( "Object", existingSecGroup );
+						return;
+					}
+					probedSecGroup = true;
+				}
+			}
+
 			// Instantiate an edit buffer for the parsed information
-			origBuff = (ICFIntSecGroupObj)schemaObj.getSecGroupTableObj().newInstance();
-			editBuff = (ICFIntSecGroupEditObj)origBuff.beginEdit();
+			saxLoader.getSchemaLock().lock();
+			try {
+				origBuff = (ICFIntSecGroupObj)schemaObj.getSecGroupTableObj().newInstance();
+				editBuff = (ICFIntSecGroupEditObj)origBuff.beginEdit();
+			}
+			finally {
+				saxLoader.getSchemaLock().unlock();
+			}
 
 			// Extract Attributes
 			numAttrs = attrs.getLength();
 			for( idxAttr = 0; idxAttr < numAttrs; idxAttr++ ) {
 				attrLocalName = attrs.getLocalName( idxAttr );
-				if( attrLocalName.equals( "Id" ) ) {
-					if( attrId != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
-							S_ProcName,
-							S_LocalName,
-							attrLocalName );
-					}
-					attrId = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "Name" ) ) {
-					if( attrName != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
-							S_ProcName,
-							S_LocalName,
-							attrLocalName );
-					}
-					attrName = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "IsVisible" ) ) {
-					if( attrIsVisible != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
+				switch( attrSlots.slotOf( attrLocalName ) ) {
+					case ATTR_Id:
+						if( attrId != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrId = attrs.getValue( idxAttr );
+						break;
+					case ATTR_Name:
+						if( attrName != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrName = attrs.getValue( idxAttr );
+						break;
+					case ATTR_IsVisible:
+						if( attrIsVisible != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrIsVisible = attrs.getValue( idxAttr );
+						break;
+					case ATTR_schemaLocation:
+						// ignored
+						break;
+					default:
+						throw new CFLibUnrecognizedAttributeException( getClass(),
 							S_ProcName,
-							S_LocalName,
+							getParser().getLocationInfo(),
 							attrLocalName );
-					}
-					attrIsVisible = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "schemaLocation" ) ) {
-					// ignored
-				}
-				else {
-					throw new CFLibUnrecognizedAttributeException( getClass(),
-						S_ProcName,
-						getParser().getLocationInfo(),
-						attrLocalName );
 				}
 			}
 
@@ -163,11 +220,17 @@ public class CFIntSaxLoaderSecGroup
 					"IsVisible" );
 			}
 
-			// Save named attributes to context
+			// Save named attributes to context, or in lean context mode only
+			// the ones registered for the element
 			CFLibXmlCoreContext curContext = getParser().getCurContext();
-			curContext.putNamedValue( "Id", attrId );
-			curContext.putNamedValue( "Name", attrName );
-			curContext.putNamedValue( "IsVisible", attrIsVisible );
+			if( saxLoader.isLeanContext() ) {
+				saxLoader.saveContextAttrs( curContext, "SecGroup", attrs );
+			}
+			else {
+				curContext.putNamedValue( "Id", attrId );
+				curContext.putNamedValue( "Name", attrName );
+				curContext.putNamedValue( "IsVisible", attrIsVisible );
+			}
 
 			// Convert string attributes to native Java types
 			// and apply the converted attributes to the editBuff.
@@ -200,13 +263,7 @@ public class CFIntSaxLoaderSecGroup
 			// Get the scope/container object
 
 			CFLibXmlCoreContext parentContext = curContext.getPrevContext();
-			Object scopeObj;
-			if( parentContext != null ) {
-				scopeObj = parentContext.getNamedValue( "Object" );
-			}
-			else {
-				scopeObj = null;
-			}
+			Object scopeObj = saxLoader.resolveScopeObj( parentContext );
 
 			// Resolve and apply required Container reference
 
@@ -228,10 +285,15 @@ public class CFIntSaxLoaderSecGroup
 					"ICFIntClusterObj" );
 			}
 
-			CFIntSaxLoader.LoaderBehaviourEnum loaderBehaviour = saxLoader.getSecGroupLoaderBehaviour();
 			ICFIntSecGroupEditObj editSecGroup = null;
-			ICFIntSecGroupObj origSecGroup = (ICFIntSecGroupObj)schemaObj.getSecGroupTableObj().readSecGroupByUNameIdx( refCluster.getRequiredId(),
-			editBuff.getRequiredName() );
+			final ICFIntClusterObj keyCluster = refCluster;
+			final String keyName = editBuff.getRequiredName();
+			Object naturalKey = CFIntSaxLoader.naturalKey( keyCluster.getRequiredId(), keyName );
+			ICFIntSecGroupObj origSecGroup = null;
+			if( ! probedSecGroup ) {
+				origSecGroup = (ICFIntSecGroupObj)saxLoader.readExisting( "SecGroup", "UNameIdx", naturalKey,
+					() -> schemaObj.getSecGroupTableObj().readSecGroupByUNameIdx( keyCluster.getRequiredId(), keyName ) );
+			}
 			if( origSecGroup == null ) {
 				editSecGroup = editBuff;
 			}
@@ -240,13 +302,21 @@ public class CFIntSaxLoaderSecGroup
 					case Insert:
 						break;
 					case Update:
-						editSecGroup = (ICFIntSecGroupEditObj)origSecGroup.beginEdit();
-						editSecGroup.setRequiredName( editBuff.getRequiredName() );
-						editSecGroup.setRequiredIsVisible( editBuff.getRequiredIsVisible() );
+					case Upsert:
+						if( ( loaderBehaviour == CFIntSaxLoader.LoaderBehaviourEnum.Update )
+							&& saxLoader.isSkipUnchangedUpdates()
+							&& Objects.equals( origSecGroup.getRequiredName(), editBuff.getRequiredName() )
+							&& Objects.equals( origSecGroup.getRequiredIsVisible(), editBuff.getRequiredIsVisible() ) )
+						{
+							saxLoader.countUnchangedUpdate( "SecGroup" );
+						}
+						else {
+							editSecGroup = editBuff;
+						}
 						break;
 					case Replace:
-						editSecGroup = (ICFIntSecGroupEditObj)origSecGroup.beginEdit();
-						editSecGroup.deleteInstance();
+						final ICFIntSecGroupObj deleteSecGroup = origSecGroup;
+						saxLoader.applyDelete( "SecGroup", naturalKey, () -> ( (ICFIntSecGroupEditObj)deleteSecGroup.beginEdit() ).deleteInstance() );
 						editSecGroup = null;
 						origSecGroup = null;
 						editSecGroup = editBuff;
@@ -255,11 +325,16 @@ public class CFIntSaxLoaderSecGroup
 			}
 
 			if( editSecGroup != null ) {
+				final ICFIntSecGroupEditObj pendingSecGroup = editSecGroup;
+				CFIntSaxValueRow valueRow = new CFIntSaxValueRow( "SecGroup", naturalKey, origSecGroup,
+					natName,
+					natIsVisible,
+					refCluster );
 				if( origSecGroup != null ) {
-					editSecGroup.update();
+					saxLoader.applyUpdate( "SecGroup", naturalKey, pendingSecGroup, valueRow, this, CFIntSaxLoader.estimateAttrBytes( attrs ) );
 				}
 				else {
-					origSecGroup = (ICFIntSecGroupObj)editSecGroup.create();
+					origSecGroup = (ICFIntSecGroupObj)saxLoader.applyCreate( "SecGroup", naturalKey, pendingSecGroup, valueRow, this, CFIntSaxLoader.estimateAttrBytes( attrs ) );
 				}
 				editSecGroup = null;
 			}
@@ -275,6 +350,28 @@ public class CFIntSaxLoaderSecGroup
 		}
 	}
 
+	// Build an edit object from a captured value row and write it.  This
+	// may run on a write pipeline thread, so it reads only the value row.
+
+	public Object writeRow( CFIntSaxValueRow row ) {
+		ICFIntSchemaObj schemaObj = ( (CFIntSaxLoader)getParser() ).getSchemaObj();
+		ICFIntSecGroupObj origSecGroup = (ICFIntSecGroupObj)row.getExisting();
+		ICFIntSecGroupEditObj editSecGroup;
+		if( origSecGroup != null ) {
+			editSecGroup = (ICFIntSecGroupEditObj)origSecGroup.beginEdit();
+			editSecGroup.setRequiredName( (String)row.getValue( COL_Name ) );
+			editSecGroup.setRequiredIsVisible( (Boolean)row.getValue( COL_IsVisible ) );
+			editSecGroup.update();
+			return( origSecGroup );
+		}
+		origSecGroup = (ICFIntSecGroupObj)schemaObj.getSecGroupTableObj().newInstance();
+		editSecGroup = (ICFIntSecGroupEditObj)origSecGroup.beginEdit();
+		editSecGroup.setRequiredName( (String)row.getValue( COL_Name ) );
+		editSecGroup.setRequiredIsVisible( (Boolean)row.getValue( COL_IsVisible ) );
+		editSecGroup.setRequiredContainerCluster( (ICFIntClusterObj)row.getValue( COL_ContainerCluster ) );
+		return( editSecGroup.create() );
+	}
+
 	public void endElement(
 		String		uri,
 		String		localName,
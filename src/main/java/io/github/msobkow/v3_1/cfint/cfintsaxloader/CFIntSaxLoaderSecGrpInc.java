@@ -57,9 +57,28 @@ import io.github.msobkow.v3_1.cfint.cfintobj.*;
  */
 public class CFIntSaxLoaderSecGrpInc
 	extends CFLibXmlCoreElementHandler
+	implements ICFIntSaxRowWriter
 {
+	// Attribute slots
+
+	protected final static int ATTR_Id = 0;
+	protected final static int ATTR_SubGroup = 1;
+	protected final static int ATTR_schemaLocation = 2;
+
+	protected final static CFIntSaxAttrSlots attrSlots = new CFIntSaxAttrSlots(
+		"Id",
+		"SubGroup",
+		"schemaLocation" );
+
+	// Value row columns
+
+	protected final static int COL_ContainerGroup = 0;
+	protected final static int COL_OwnerCluster = 1;
+	protected final static int COL_ParentSubGroup = 2;
+
 	public CFIntSaxLoaderSecGrpInc( CFIntSaxLoader saxLoader ) {
 		super( saxLoader );
+		saxLoader.declareElementReferences( "SecGrpInc", "SecGroup" );
 	}
 
 	public void startElement(
@@ -105,39 +124,46 @@ public class CFIntSaxLoaderSecGrpInc
 			}
 
 			// Instantiate an edit buffer for the parsed information
-			origBuff = (ICFIntSecGrpIncObj)schemaObj.getSecGrpIncTableObj().newInstance();
-			editBuff = (ICFIntSecGrpIncEditObj)origBuff.beginEdit();
+			saxLoader.getSchemaLock().lock();
+			try {
+				origBuff = (ICFIntSecGrpIncObj)schemaObj.getSecGrpIncTableObj().newInstance();
+				editBuff = (ICFIntSecGrpIncEditObj)origBuff.beginEdit();
+			}
+			finally {
+				saxLoader.getSchemaLock().unlock();
+			}
 
 			// Extract Attributes
 			numAttrs = attrs.getLength();
 			for( idxAttr = 0; idxAttr < numAttrs; idxAttr++ ) {
 				attrLocalName = attrs.getLocalName( idxAttr );
-				if( attrLocalName.equals( "Id" ) ) {
-					if( attrId != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
-							S_ProcName,
-							S_LocalName,
-							attrLocalName );
-					}
-					attrId = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "SubGroup" ) ) {
-					if( attrSubGroup != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
+				switch( attrSlots.slotOf( attrLocalName ) ) {
+					case ATTR_Id:
+						if( attrId != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrId = attrs.getValue( idxAttr );
+						break;
+					case ATTR_SubGroup:
+						if( attrSubGroup != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrSubGroup = attrs.getValue( idxAttr );
+						break;
+					case ATTR_schemaLocation:
+						// ignored
+						break;
+					default:
+						throw new CFLibUnrecognizedAttributeException( getClass(),
 							S_ProcName,
-							S_LocalName,
+							getParser().getLocationInfo(),
 							attrLocalName );
-					}
-					attrSubGroup = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "schemaLocation" ) ) {
-					// ignored
-				}
-				else {
-					throw new CFLibUnrecognizedAttributeException( getClass(),
-						S_ProcName,
-						getParser().getLocationInfo(),
-						attrLocalName );
 				}
 			}
 
@@ -149,10 +175,16 @@ public class CFIntSaxLoaderSecGrpInc
 					"SubGroup" );
 			}
 
-			// Save named attributes to context
+			// Save named attributes to context, or in lean context mode only
+			// the ones registered for the element
 			CFLibXmlCoreContext curContext = getParser().getCurContext();
-			curContext.putNamedValue( "Id", attrId );
-			curContext.putNamedValue( "SubGroup", attrSubGroup );
+			if( saxLoader.isLeanContext() ) {
+				saxLoader.saveContextAttrs( curContext, "SecGrpInc", attrs );
+			}
+			else {
+				curContext.putNamedValue( "Id", attrId );
+				curContext.putNamedValue( "SubGroup", attrSubGroup );
+			}
 
 			// Convert string attributes to native Java types
 			// and apply the converted attributes to the editBuff.
@@ -167,13 +199,7 @@ public class CFIntSaxLoaderSecGrpInc
 			// Get the scope/container object
 
 			CFLibXmlCoreContext parentContext = curContext.getPrevContext();
-			Object scopeObj;
-			if( parentContext != null ) {
-				scopeObj = parentContext.getNamedValue( "Object" );
-			}
-			else {
-				scopeObj = null;
-			}
+			Object scopeObj = saxLoader.resolveScopeObj( parentContext );
 
 			// Resolve and apply required Container reference
 
@@ -213,8 +239,10 @@ public class CFIntSaxLoaderSecGrpInc
 
 			// Lookup refSubGroup by key name value attr
 			if( ( attrSubGroup != null ) && ( attrSubGroup.length() > 0 ) ) {
-				refSubGroup = (ICFIntSecGroupObj)schemaObj.getSecGroupTableObj().readSecGroupByUNameIdx( editBuff.getRequiredClusterId(),
-				attrSubGroup );
+				final ICFIntSecGrpIncEditObj keyBuff = editBuff;
+				final String keySubGroup = attrSubGroup;
+				refSubGroup = (ICFIntSecGroupObj)saxLoader.readReference( "SecGroup", "UNameIdx", CFIntSaxLoader.naturalKey( keyBuff.getRequiredClusterId(), keySubGroup ),
+					() -> schemaObj.getSecGroupTableObj().readSecGroupByUNameIdx( keyBuff.getRequiredClusterId(), keySubGroup ) );
 				if( refSubGroup == null ) {
 					throw new CFLibNullArgumentException( getClass(),
 						S_ProcName,
@@ -229,7 +257,12 @@ public class CFIntSaxLoaderSecGrpInc
 
 			ICFIntSecGrpIncObj origSecGrpInc;
 			ICFIntSecGrpIncEditObj editSecGrpInc = editBuff;
-			origSecGrpInc = (ICFIntSecGrpIncObj)editSecGrpInc.create();
+			final ICFIntSecGrpIncEditObj pendingSecGrpInc = editSecGrpInc;
+			CFIntSaxValueRow valueRow = new CFIntSaxValueRow( "SecGrpInc", null, null,
+				refGroup,
+				refCluster,
+				refSubGroup );
+			origSecGrpInc = (ICFIntSecGrpIncObj)saxLoader.applyCreate( "SecGrpInc", null, pendingSecGrpInc, valueRow, this, CFIntSaxLoader.estimateAttrBytes( attrs ) );
 			editSecGrpInc = null;
 
 			curContext.putNamedValue( "Object", origSecGrpInc );
@@ -243,6 +276,19 @@ public class CFIntSaxLoaderSecGrpInc
 		}
 	}
 
+	// Build an edit object from a captured value row and write it.  This
+	// may run on a write pipeline thread, so it reads only the value row.
+
+	public Object writeRow( CFIntSaxValueRow row ) {
+		ICFIntSchemaObj schemaObj = ( (CFIntSaxLoader)getParser() ).getSchemaObj();
+		ICFIntSecGrpIncObj origSecGrpInc = (ICFIntSecGrpIncObj)schemaObj.getSecGrpIncTableObj().newInstance();
+		ICFIntSecGrpIncEditObj editSecGrpInc = (ICFIntSecGrpIncEditObj)origSecGrpInc.beginEdit();
+		editSecGrpInc.setRequiredContainerGroup( (ICFIntSecGroupObj)row.getValue( COL_ContainerGroup ) );
+		editSecGrpInc.setRequiredOwnerCluster( (ICFIntClusterObj)row.getValue( COL_OwnerCluster ) );
+		editSecGrpInc.setRequiredParentSubGroup( (ICFIntSecGroupObj)row.getValue( COL_ParentSubGroup ) );
+		return( editSecGrpInc.create() );
+	}
+
 	public void endElement(
 		String		uri,
 		String		localName,
@@ -57,9 +57,28 @@ import io.github.msobkow.v3_1.cfint.cfintobj.*;
  */
 public class CFIntSaxLoaderSecGrpMemb
 	extends CFLibXmlCoreElementHandler
+	implements ICFIntSaxRowWriter
 {
+	// Attribute slots
+
+	protected final static int ATTR_Id = 0;
+	protected final static int ATTR_User = 1;
+	protected final static int ATTR_schemaLocation = 2;
+
+	protected final static CFIntSaxAttrSlots attrSlots = new CFIntSaxAttrSlots(
+		"Id",
+		"User",
+		"schemaLocation" );
+
+	// Value row columns
+
+	protected final static int COL_ContainerGroup = 0;
+	protected final static int COL_OwnerCluster = 1;
+	protected final static int COL_ParentUser = 2;
+
 	public CFIntSaxLoaderSecGrpMemb( CFIntSaxLoader saxLoader ) {
 		super( saxLoader );
+		saxLoader.declareElementReferences( "SecGrpMemb", "SecUser" );
 	}
 
 	public void startElement(
@@ -105,39 +124,46 @@ public class CFIntSaxLoaderSecGrpMemb
 			}
 
 			// Instantiate an edit buffer for the parsed information
-			origBuff = (ICFIntSecGrpMembObj)schemaObj.getSecGrpMembTableObj().newInstance();
-			editBuff = (ICFIntSecGrpMembEditObj)origBuff.beginEdit();
+			saxLoader.getSchemaLock().lock();
+			try {
+				origBuff = (ICFIntSecGrpMembObj)schemaObj.getSecGrpMembTableObj().newInstance();
+				editBuff = (ICFIntSecGrpMembEditObj)origBuff.beginEdit();
+			}
+			finally {
+				saxLoader.getSchemaLock().unlock();
+			}
 
 			// Extract Attributes
 			numAttrs = attrs.getLength();
 			for( idxAttr = 0; idxAttr < numAttrs; idxAttr++ ) {
 				attrLocalName = attrs.getLocalName( idxAttr );
-				if( attrLocalName.equals( "Id" ) ) {
-					if( attrId != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
-							S_ProcName,
-							S_LocalName,
-							attrLocalName );
-					}
-					attrId = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "User" ) ) {
-					if( attrUser != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
+				switch( attrSlots.slotOf( attrLocalName ) ) {
+					case ATTR_Id:
+						if( attrId != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrId = attrs.getValue( idxAttr );
+						break;
+					case ATTR_User:
+						if( attrUser != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrUser = attrs.getValue( idxAttr );
+						break;
+					case ATTR_schemaLocation:
+						// ignored
+						break;
+					default:
+						throw new CFLibUnrecognizedAttributeException( getClass(),
 							S_ProcName,
-							S_LocalName,
+							getParser().getLocationInfo(),
 							attrLocalName );
-					}
-					attrUser = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "schemaLocation" ) ) {
-					// ignored
-				}
-				else {
-					throw new CFLibUnrecognizedAttributeException( getClass(),
-						S_ProcName,
-						getParser().getLocationInfo(),
-						attrLocalName );
 				}
 			}
 
@@ -149,10 +175,16 @@ public class CFIntSaxLoaderSecGrpMemb
 					"User" );
 			}
 
-			// Save named attributes to context
+			// Save named attributes to context, or in lean context mode only
+			// the ones registered for the element
 			CFLibXmlCoreContext curContext = getParser().getCurContext();
-			curContext.putNamedValue( "Id", attrId );
-			curContext.putNamedValue( "User", attrUser );
+			if( saxLoader.isLeanContext() ) {
+				saxLoader.saveContextAttrs( curContext, "SecGrpMemb", attrs );
+			}
+			else {
+				curContext.putNamedValue( "Id", attrId );
+				curContext.putNamedValue( "User", attrUser );
+			}
 
 			// Convert string attributes to native Java types
 			// and apply the converted attributes to the editBuff.
@@ -167,13 +199,7 @@ public class CFIntSaxLoaderSecGrpMemb
 			// Get the scope/container object
 
 			CFLibXmlCoreContext parentContext = curContext.getPrevContext();
-			Object scopeObj;
-			if( parentContext != null ) {
-				scopeObj = parentContext.getNamedValue( "Object" );
-			}
-			else {
-				scopeObj = null;
-			}
+			Object scopeObj = saxLoader.resolveScopeObj( parentContext );
 
 			// Resolve and apply required Container reference
 
@@ -213,7 +239,9 @@ public class CFIntSaxLoaderSecGrpMemb
 
 			// Lookup refUser by key name value attr
 			if( ( attrUser != null ) && ( attrUser.length() > 0 ) ) {
-				refUser = (ICFIntSecUserObj)schemaObj.getSecUserTableObj().readSecUserByULoginIdx( attrUser );
+				final String keyUser = attrUser;
+				refUser = (ICFIntSecUserObj)saxLoader.readReference( "SecUser", "ULoginIdx", CFIntSaxLoader.naturalKey( keyUser ),
+					() -> schemaObj.getSecUserTableObj().readSecUserByULoginIdx( keyUser ) );
 				if( refUser == null ) {
 					throw new CFLibNullArgumentException( getClass(),
 						S_ProcName,
@@ -228,7 +256,12 @@ public class CFIntSaxLoaderSecGrpMemb
 
 			ICFIntSecGrpMembObj origSecGrpMemb;
 			ICFIntSecGrpMembEditObj editSecGrpMemb = editBuff;
-			origSecGrpMemb = (ICFIntSecGrpMembObj)editSecGrpMemb.create();
+			final ICFIntSecGrpMembEditObj pendingSecGrpMemb = editSecGrpMemb;
+			CFIntSaxValueRow valueRow = new CFIntSaxValueRow( "SecGrpMemb", null, null,
+				refGroup,
+				refCluster,
+				refUser );
+			origSecGrpMemb = (ICFIntSecGrpMembObj)saxLoader.applyCreate( "SecGrpMemb", null, pendingSecGrpMemb, valueRow, this, CFIntSaxLoader.estimateAttrBytes( attrs ) );
 			editSecGrpMemb = null;
 
 			curContext.putNamedValue( "Object", origSecGrpMemb );
@@ -242,6 +275,19 @@ public class CFIntSaxLoaderSecGrpMemb
 		}
 	}
 
+	// Build an edit object from a captured value row and write it.  This
+	// may run on a write pipeline thread, so it reads only the value row.
+
+	public Object writeRow( CFIntSaxValueRow row ) {
+		ICFIntSchemaObj schemaObj = ( (CFIntSaxLoader)getParser() ).getSchemaObj();
+		ICFIntSecGrpMembObj origSecGrpMemb = (ICFIntSecGrpMembObj)schemaObj.getSecGrpMembTableObj().newInstance();
+		ICFIntSecGrpMembEditObj editSecGrpMemb = (ICFIntSecGrpMembEditObj)origSecGrpMemb.beginEdit();
+		editSecGrpMemb.setRequiredContainerGroup( (ICFIntSecGroupObj)row.getValue( COL_ContainerGroup ) );
+		editSecGrpMemb.setRequiredOwnerCluster( (ICFIntClusterObj)row.getValue( COL_OwnerCluster ) );
+		editSecGrpMemb.setRequiredParentUser( (ICFIntSecUserObj)row.getValue( COL_ParentUser ) );
+		return( editSecGrpMemb.create() );
+	}
+
 	public void endElement(
 		String		uri,
 		String		localName,
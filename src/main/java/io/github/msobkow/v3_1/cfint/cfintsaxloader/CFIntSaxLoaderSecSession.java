@@ -57,9 +57,36 @@ import io.github.msobkow.v3_1.cfint.cfintobj.*;
  */
 public class CFIntSaxLoaderSecSession
 	extends CFLibXmlCoreElementHandler
+	implements ICFIntSaxRowWriter
 {
+	// Attribute slots
+
+	protected final static int ATTR_Id = 0;
+	protected final static int ATTR_SecDevName = 1;
+	protected final static int ATTR_Start = 2;
+	protected final static int ATTR_Finish = 3;
+	protected final static int ATTR_SecProxy = 4;
+	protected final static int ATTR_schemaLocation = 5;
+
+	protected final static CFIntSaxAttrSlots attrSlots = new CFIntSaxAttrSlots(
+		"Id",
+		"SecDevName",
+		"Start",
+		"Finish",
+		"SecProxy",
+		"schemaLocation" );
+
+	// Value row columns
+
+	protected final static int COL_SecDevName = 0;
+	protected final static int COL_Start = 1;
+	protected final static int COL_Finish = 2;
+	protected final static int COL_ContainerSecUser = 3;
+	protected final static int COL_ParentSecProxy = 4;
+
 	public CFIntSaxLoaderSecSession( CFIntSaxLoader saxLoader ) {
 		super( saxLoader );
+		saxLoader.declareElementReferences( "SecSession", "SecUser" );
 	}
 
 	public void startElement(
@@ -107,66 +134,73 @@ public class CFIntSaxLoaderSecSession
 			}
 
 			// Instantiate an edit buffer for the parsed information
-			origBuff = (ICFIntSecSessionObj)schemaObj.getSecSessionTableObj().newInstance();
-			editBuff = (ICFIntSecSessionEditObj)origBuff.beginEdit();
+			saxLoader.getSchemaLock().lock();
+			try {
+				origBuff = (ICFIntSecSessionObj)schemaObj.getSecSessionTableObj().newInstance();
+				editBuff = (ICFIntSecSessionEditObj)origBuff.beginEdit();
+			}
+			finally {
+				saxLoader.getSchemaLock().unlock();
+			}
 
 			// Extract Attributes
 			numAttrs = attrs.getLength();
 			for( idxAttr = 0; idxAttr < numAttrs; idxAttr++ ) {
 				attrLocalName = attrs.getLocalName( idxAttr );
-				if( attrLocalName.equals( "Id" ) ) {
-					if( attrId != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
-							S_ProcName,
-							S_LocalName,
-							attrLocalName );
-					}
-					attrId = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "SecDevName" ) ) {
-					if( attrSecDevName != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
-							S_ProcName,
-							S_LocalName,
-							attrLocalName );
-					}
-					attrSecDevName = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "Start" ) ) {
-					if( attrStart != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
-							S_ProcName,
-							S_LocalName,
-							attrLocalName );
-					}
-					attrStart = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "Finish" ) ) {
-					if( attrFinish != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
-							S_ProcName,
-							S_LocalName,
-							attrLocalName );
-					}
-					attrFinish = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "SecProxy" ) ) {
-					if( attrSecProxy != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
+				switch( attrSlots.slotOf( attrLocalName ) ) {
+					case ATTR_Id:
+						if( attrId != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrId = attrs.getValue( idxAttr );
+						break;
+					case ATTR_SecDevName:
+						if( attrSecDevName != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrSecDevName = attrs.getValue( idxAttr );
+						break;
+					case ATTR_Start:
+						if( attrStart != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrStart = attrs.getValue( idxAttr );
+						break;
+					case ATTR_Finish:
+						if( attrFinish != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrFinish = attrs.getValue( idxAttr );
+						break;
+					case ATTR_SecProxy:
+						if( attrSecProxy != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrSecProxy = attrs.getValue( idxAttr );
+						break;
+					case ATTR_schemaLocation:
+						// ignored
+						break;
+					default:
+						throw new CFLibUnrecognizedAttributeException( getClass(),
 							S_ProcName,
-							S_LocalName,
+							getParser().getLocationInfo(),
 							attrLocalName );
-					}
-					attrSecProxy = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "schemaLocation" ) ) {
-					// ignored
-				}
-				else {
-					throw new CFLibUnrecognizedAttributeException( getClass(),
-						S_ProcName,
-						getParser().getLocationInfo(),
-						attrLocalName );
 				}
 			}
 
@@ -184,13 +218,19 @@ public class CFIntSaxLoaderSecSession
 					"SecProxy" );
 			}
 
-			// Save named attributes to context
+			// Save named attributes to context, or in lean context mode only
+			// the ones registered for the element
 			CFLibXmlCoreContext curContext = getParser().getCurContext();
-			curContext.putNamedValue( "Id", attrId );
-			curContext.putNamedValue( "SecDevName", attrSecDevName );
-			curContext.putNamedValue( "Start", attrStart );
-			curContext.putNamedValue( "Finish", attrFinish );
-			curContext.putNamedValue( "SecProxy", attrSecProxy );
+			if( saxLoader.isLeanContext() ) {
+				saxLoader.saveContextAttrs( curContext, "SecSession", attrs );
+			}
+			else {
+				curContext.putNamedValue( "Id", attrId );
+				curContext.putNamedValue( "SecDevName", attrSecDevName );
+				curContext.putNamedValue( "Start", attrStart );
+				curContext.putNamedValue( "Finish", attrFinish );
+				curContext.putNamedValue( "SecProxy", attrSecProxy );
+			}
 
 			// Convert string attributes to native Java types
 			// and apply the converted attributes to the editBuff.
@@ -239,13 +279,7 @@ public class CFIntSaxLoaderSecSession
 			// Get the scope/container object
 
 			CFLibXmlCoreContext parentContext = curContext.getPrevContext();
-			Object scopeObj;
-			if( parentContext != null ) {
-				scopeObj = parentContext.getNamedValue( "Object" );
-			}
-			else {
-				scopeObj = null;
-			}
+			Object scopeObj = saxLoader.resolveScopeObj( parentContext );
 
 			// Resolve and apply required Container reference
 
@@ -269,7 +303,9 @@ public class CFIntSaxLoaderSecSession
 
 			// Lookup refSecProxy by key name value attr
 			if( ( attrSecProxy != null ) && ( attrSecProxy.length() > 0 ) ) {
-				refSecProxy = (ICFIntSecUserObj)schemaObj.getSecUserTableObj().readSecUserByULoginIdx( attrSecProxy );
+				final String keySecProxy = attrSecProxy;
+				refSecProxy = (ICFIntSecUserObj)saxLoader.readReference( "SecUser", "ULoginIdx", CFIntSaxLoader.naturalKey( keySecProxy ),
+					() -> schemaObj.getSecUserTableObj().readSecUserByULoginIdx( keySecProxy ) );
 				if( refSecProxy == null ) {
 					throw new CFLibNullArgumentException( getClass(),
 						S_ProcName,
@@ -284,7 +320,14 @@ public class CFIntSaxLoaderSecSession
 
 			ICFIntSecSessionObj origSecSession;
 			ICFIntSecSessionEditObj editSecSession = editBuff;
-			origSecSession = (ICFIntSecSessionObj)editSecSession.create();
+			final ICFIntSecSessionEditObj pendingSecSession = editSecSession;
+			CFIntSaxValueRow valueRow = new CFIntSaxValueRow( "SecSession", null, null,
+				natSecDevName,
+				natStart,
+				natFinish,
+				refSecUser,
+				refSecProxy );
+			origSecSession = (ICFIntSecSessionObj)saxLoader.applyCreate( "SecSession", null, pendingSecSession, valueRow, this, CFIntSaxLoader.estimateAttrBytes( attrs ) );
 			editSecSession = null;
 
 			curContext.putNamedValue( "Object", origSecSession );
@@ -298,6 +341,21 @@ public class CFIntSaxLoaderSecSession
 		}
 	}
 
+	// Build an edit object from a captured value row and write it.  This
+	// may run on a write pipeline thread, so it reads only the value row.
+
+	public Object writeRow( CFIntSaxValueRow row ) {
+		ICFIntSchemaObj schemaObj = ( (CFIntSaxLoader)getParser() ).getSchemaObj();
+		ICFIntSecSessionObj origSecSession = (ICFIntSecSessionObj)schemaObj.getSecSessionTableObj().newInstance();
+		ICFIntSecSessionEditObj editSecSession = (ICFIntSecSessionEditObj)origSecSession.beginEdit();
+		editSecSession.setOptionalSecDevName( (String)row.getValue( COL_SecDevName ) );
+		editSecSession.setRequiredStart( (LocalDateTime)row.getValue( COL_Start ) );
+		editSecSession.setOptionalFinish( (LocalDateTime)row.getValue( COL_Finish ) );
+		editSecSession.setRequiredContainerSecUser( (ICFIntSecUserObj)row.getValue( COL_ContainerSecUser ) );
+		editSecSession.setRequiredParentSecProxy( (ICFIntSecUserObj)row.getValue( COL_ParentSecProxy ) );
+		return( editSecSession.create() );
+	}
+
 	public void endElement(
 		String		uri,
 		String		localName,
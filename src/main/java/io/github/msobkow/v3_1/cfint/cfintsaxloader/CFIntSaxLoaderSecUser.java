@@ -57,9 +57,42 @@ import io.github.msobkow.v3_1.cfint.cfintobj.*;
  */
 public class CFIntSaxLoaderSecUser
 	extends CFLibXmlCoreElementHandler
+	implements ICFIntSaxRowWriter
 {
+	// Attribute slots
+
+	protected final static int ATTR_Id = 0;
+	protected final static int ATTR_LoginId = 1;
+	protected final static int ATTR_EMailAddress = 2;
+	protected final static int ATTR_EMailConfirmUuid6 = 3;
+	protected final static int ATTR_PasswordHash = 4;
+	protected final static int ATTR_PasswordResetUuid6 = 5;
+	protected final static int ATTR_DefDev = 6;
+	protected final static int ATTR_schemaLocation = 7;
+
+	protected final static CFIntSaxAttrSlots attrSlots = new CFIntSaxAttrSlots(
+		"Id",
+		"LoginId",
+		"EMailAddress",
+		"EMailConfirmUuid6",
+		"PasswordHash",
+		"PasswordResetUuid6",
+		"DefDev",
+		"schemaLocation" );
+
+	// Value row columns
+
+	protected final static int COL_LoginId = 0;
+	protected final static int COL_EMailAddress = 1;
+	protected final static int COL_EMailConfirmUuid6 = 2;
+	protected final static int COL_PasswordHash = 3;
+	protected final static int COL_PasswordResetUuid6 = 4;
+	protected final static int COL_LookupDefDev = 5;
+
 	public CFIntSaxLoaderSecUser( CFIntSaxLoader saxLoader ) {
 		super( saxLoader );
+		saxLoader.declareElementKey( "SecUser", "LoginId" );
+		saxLoader.declareElementReferences( "SecUser", "SecDevice" );
 	}
 
 	public void startElement(
@@ -107,85 +140,123 @@ public class CFIntSaxLoaderSecUser
 					"getParser().getSchemaObj()" );
 			}
 
+			// Insert behaviour never changes an existing row, so look for it
+			// by the raw key attributes before building an edit buffer
+
+			CFIntSaxLoader.LoaderBehaviourEnum loaderBehaviour = saxLoader.effectiveBehaviour( saxLoader.getSecUserLoaderBehaviour() );
+			boolean probedSecUser = false;
+			if( loaderBehaviour == CFIntSaxLoader.LoaderBehaviourEnum.Insert ) {
+				final String keyLoginId = attrs.getValue( "LoginId" );
+				if( ( keyLoginId != null ) ) {
+					ICFIntSecUserObj existingSecUser = (ICFIntSecUserObj)saxLoader.readExisting( "SecUser", "ULoginIdx", CFIntSaxLoader.naturalKey( keyLoginId ),
+						() -> schemaObj.getSecUserTableObj().readSecUserByULoginIdx( keyLoginId ) );
+					if( existingSecUser != null ) {
+						CFLibXmlCoreContext curContext = getParser().getCurContext();
+						if( saxLoader.isLeanContext() ) {
+							saxLoader.saveContextAttrs( curContext, "SecUser", attrs );
+						}
+						else {
+							curContext.putNamedValue( "Id", attrs.getValue( "Id" ) );
+							curContext.putNamedValue( "LoginId", attrs.getValue( "LoginId" ) );
+							curContext.putNamedValue( "EMailAddress", attrs.getValue( "EMailAddress" ) );
+							curContext.putNamedValue( "EMailConfirmUuid6", attrs.getValue( "EMailConfirmUuid6" ) );
+							curContext.putNamedValue( "PasswordHash", attrs.getValue( "PasswordHash" ) );
+							curContext.putNamedValue( "PasswordResetUuid6", attrs.getValue( "PasswordResetUuid6" ) );
+							curContext.putNamedValue( "DefDev", attrs.getValue( "DefDev" ) );
+						}
+						curContext.putNamedValue( "Object", existingSecUser );
+						return;
+					}
+					probedSecUser = true;
+				}
+			}
+
 			// Instantiate an edit buffer for the parsed information
-			origBuff = (ICFIntSecUserObj)schemaObj.getSecUserTableObj().newInstance();
-			editBuff = (ICFIntSecUserEditObj)origBuff.beginEdit();
+			saxLoader.getSchemaLock().lock();
+			try {
+				origBuff = (ICFIntSecUserObj)schemaObj.getSecUserTableObj().newInstance();
+				editBuff = (ICFIntSecUserEditObj)origBuff.beginEdit();
+			}
+			finally {
+				saxLoader.getSchemaLock().unlock();
+			}
 
 			// Extract Attributes
 			numAttrs = attrs.getLength();
 			for( idxAttr = 0; idxAttr < numAttrs; idxAttr++ ) {
 				attrLocalName = attrs.getLocalName( idxAttr );
-				if( attrLocalName.equals( "Id" ) ) {
-					if( attrId != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
-							S_ProcName,
-							S_LocalName,
-							attrLocalName );
-					}
-					attrId = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "LoginId" ) ) {
-					if( attrLoginId != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
-							S_ProcName,
-							S_LocalName,
-							attrLocalName );
-					}
-					attrLoginId = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "EMailAddress" ) ) {
-					if( attrEMailAddress != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
-							S_ProcName,
-							S_LocalName,
-							attrLocalName );
-					}
-					attrEMailAddress = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "EMailConfirmUuid6" ) ) {
-					if( attrEMailConfirmUuid6 != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
-							S_ProcName,
-							S_LocalName,
-							attrLocalName );
-					}
-					attrEMailConfirmUuid6 = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "PasswordHash" ) ) {
-					if( attrPasswordHash != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
-							S_ProcName,
-							S_LocalName,
-							attrLocalName );
-					}
-					attrPasswordHash = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "PasswordResetUuid6" ) ) {
-					if( attrPasswordResetUuid6 != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
-							S_ProcName,
-							S_LocalName,
-							attrLocalName );
-					}
-					attrPasswordResetUuid6 = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "DefDev" ) ) {
-					if( attrDefDev != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
+				switch( attrSlots.slotOf( attrLocalName ) ) {
+					case ATTR_Id:
+						if( attrId != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrId = attrs.getValue( idxAttr );
+						break;
+					case ATTR_LoginId:
+						if( attrLoginId != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrLoginId = attrs.getValue( idxAttr );
+						break;
+					case ATTR_EMailAddress:
+						if( attrEMailAddress != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrEMailAddress = attrs.getValue( idxAttr );
+						break;
+					case ATTR_EMailConfirmUuid6:
+						if( attrEMailConfirmUuid6 != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrEMailConfirmUuid6 = attrs.getValue( idxAttr );
+						break;
+					case ATTR_PasswordHash:
+						if( attrPasswordHash != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrPasswordHash = attrs.getValue( idxAttr );
+						break;
+					case ATTR_PasswordResetUuid6:
+						if( attrPasswordResetUuid6 != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrPasswordResetUuid6 = attrs.getValue( idxAttr );
+						break;
+					case ATTR_DefDev:
+						if( attrDefDev != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrDefDev = attrs.getValue( idxAttr );
+						break;
+					case ATTR_schemaLocation:
+						// ignored
+						break;
+					default:
+						throw new CFLibUnrecognizedAttributeException( getClass(),
 							S_ProcName,
-							S_LocalName,
+							getParser().getLocationInfo(),
 							attrLocalName );
-					}
-					attrDefDev = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "schemaLocation" ) ) {
-					// ignored
-				}
-				else {
-					throw new CFLibUnrecognizedAttributeException( getClass(),
-						S_ProcName,
-						getParser().getLocationInfo(),
-						attrLocalName );
 				}
 			}
 
@@ -209,15 +280,21 @@ public class CFIntSaxLoaderSecUser
 					"PasswordHash" );
 			}
 
-			// Save named attributes to context
+			// Save named attributes to context, or in lean context mode only
+			// the ones registered for the element
 			CFLibXmlCoreContext curContext = getParser().getCurContext();
-			curContext.putNamedValue( "Id", attrId );
-			curContext.putNamedValue( "LoginId", attrLoginId );
-			curContext.putNamedValue( "EMailAddress", attrEMailAddress );
-			curContext.putNamedValue( "EMailConfirmUuid6", attrEMailConfirmUuid6 );
-			curContext.putNamedValue( "PasswordHash", attrPasswordHash );
-			curContext.putNamedValue( "PasswordResetUuid6", attrPasswordResetUuid6 );
-			curContext.putNamedValue( "DefDev", attrDefDev );
+			if( saxLoader.isLeanContext() ) {
+				saxLoader.saveContextAttrs( curContext, "SecUser", attrs );
+			}
+			else {
+				curContext.putNamedValue( "Id", attrId );
+				curContext.putNamedValue( "LoginId", attrLoginId );
+				curContext.putNamedValue( "EMailAddress", attrEMailAddress );
+				curContext.putNamedValue( "EMailConfirmUuid6", attrEMailConfirmUuid6 );
+				curContext.putNamedValue( "PasswordHash", attrPasswordHash );
+				curContext.putNamedValue( "PasswordResetUuid6", attrPasswordResetUuid6 );
+				curContext.putNamedValue( "DefDev", attrDefDev );
+			}
 
 			// Convert string attributes to native Java types
 			// and apply the converted attributes to the editBuff.
@@ -277,18 +354,14 @@ public class CFIntSaxLoaderSecUser
 			// Get the scope/container object
 
 			CFLibXmlCoreContext parentContext = curContext.getPrevContext();
-			Object scopeObj;
-			if( parentContext != null ) {
-				scopeObj = parentContext.getNamedValue( "Object" );
-			}
-			else {
-				scopeObj = null;
-			}
+			Object scopeObj = saxLoader.resolveScopeObj( parentContext );
 
 			// Lookup refDefDev by key name value attr
 			if( ( attrDefDev != null ) && ( attrDefDev.length() > 0 ) ) {
-				refDefDev = (ICFIntSecDeviceObj)schemaObj.getSecDeviceTableObj().readSecDeviceByNameIdx( editBuff.getOptionalDfltDevUserId(),
-				attrDefDev );
+				final ICFIntSecUserEditObj keyBuff = editBuff;
+				final String keyDefDev = attrDefDev;
+				refDefDev = (ICFIntSecDeviceObj)saxLoader.readReference( "SecDevice", "NameIdx", CFIntSaxLoader.naturalKey( keyBuff.getOptionalDfltDevUserId(), keyDefDev ),
+					() -> schemaObj.getSecDeviceTableObj().readSecDeviceByNameIdx( keyBuff.getOptionalDfltDevUserId(), keyDefDev ) );
 				if( refDefDev == null ) {
 					throw new CFLibNullArgumentException( getClass(),
 						S_ProcName,
@@ -301,9 +374,14 @@ public class CFIntSaxLoaderSecUser
 			}
 			editBuff.setOptionalLookupDefDev( refDefDev );
 
-			CFIntSaxLoader.LoaderBehaviourEnum loaderBehaviour = saxLoader.getSecUserLoaderBehaviour();
 			ICFIntSecUserEditObj editSecUser = null;
-			ICFIntSecUserObj origSecUser = (ICFIntSecUserObj)schemaObj.getSecUserTableObj().readSecUserByULoginIdx( editBuff.getRequiredLoginId() );
+			final String keyLoginId = editBuff.getRequiredLoginId();
+			Object naturalKey = CFIntSaxLoader.naturalKey( keyLoginId );
+			ICFIntSecUserObj origSecUser = null;
+			if( ! probedSecUser ) {
+				origSecUser = (ICFIntSecUserObj)saxLoader.readExisting( "SecUser", "ULoginIdx", naturalKey,
+					() -> schemaObj.getSecUserTableObj().readSecUserByULoginIdx( keyLoginId ) );
+			}
 			if( origSecUser == null ) {
 				editSecUser = editBuff;
 			}
@@ -312,17 +390,25 @@ public class CFIntSaxLoaderSecUser
 					case Insert:
 						break;
 					case Update:
-						editSecUser = (ICFIntSecUserEditObj)origSecUser.beginEdit();
-						editSecUser.setRequiredLoginId( editBuff.getRequiredLoginId() );
-						editSecUser.setRequiredEMailAddress( editBuff.getRequiredEMailAddress() );
-						editSecUser.setOptionalEMailConfirmUuid6( editBuff.getOptionalEMailConfirmUuid6() );
-						editSecUser.setRequiredPasswordHash( editBuff.getRequiredPasswordHash() );
-						editSecUser.setOptionalPasswordResetUuid6( editBuff.getOptionalPasswordResetUuid6() );
-						editSecUser.setOptionalLookupDefDev( editBuff.getOptionalLookupDefDev() );
+					case Upsert:
+						if( ( loaderBehaviour == CFIntSaxLoader.LoaderBehaviourEnum.Update )
+							&& saxLoader.isSkipUnchangedUpdates()
+							&& Objects.equals( origSecUser.getRequiredLoginId(), editBuff.getRequiredLoginId() )
+							&& Objects.equals( origSecUser.getRequiredEMailAddress(), editBuff.getRequiredEMailAddress() )
+							&& Objects.equals( origSecUser.getOptionalEMailConfirmUuid6(), editBuff.getOptionalEMailConfirmUuid6() )
+							&& Objects.equals( origSecUser.getRequiredPasswordHash(), editBuff.getRequiredPasswordHash() )
+							&& Objects.equals( origSecUser.getOptionalPasswordResetUuid6(), editBuff.getOptionalPasswordResetUuid6() )
+							&& Objects.equals( origSecUser.getOptionalLookupDefDev(), editBuff.getOptionalLookupDefDev() ) )
+						{
+							saxLoader.countUnchangedUpdate( "SecUser" );
+						}
+						else {
+							editSecUser = editBuff;
+						}
 						break;
 					case Replace:
-						editSecUser = (ICFIntSecUserEditObj)origSecUser.beginEdit();
-						editSecUser.deleteInstance();
+						final ICFIntSecUserObj deleteSecUser = origSecUser;
+						saxLoader.applyDelete( "SecUser", naturalKey, () -> ( (ICFIntSecUserEditObj)deleteSecUser.beginEdit() ).deleteInstance() );
 						editSecUser = null;
 						origSecUser = null;
 						editSecUser = editBuff;
@@ -331,11 +417,19 @@ public class CFIntSaxLoaderSecUser
 			}
 
 			if( editSecUser != null ) {
+				final ICFIntSecUserEditObj pendingSecUser = editSecUser;
+				CFIntSaxValueRow valueRow = new CFIntSaxValueRow( "SecUser", naturalKey, origSecUser,
+					natLoginId,
+					natEMailAddress,
+					natEMailConfirmUuid6,
+					natPasswordHash,
+					natPasswordResetUuid6,
+					refDefDev );
 				if( origSecUser != null ) {
-					editSecUser.update();
+					saxLoader.applyUpdate( "SecUser", naturalKey, pendingSecUser, valueRow, this, CFIntSaxLoader.estimateAttrBytes( attrs ) );
 				}
 				else {
-					origSecUser = (ICFIntSecUserObj)editSecUser.create();
+					origSecUser = (ICFIntSecUserObj)saxLoader.applyCreate( "SecUser", naturalKey, pendingSecUser, valueRow, this, CFIntSaxLoader.estimateAttrBytes( attrs ) );
 				}
 				editSecUser = null;
 			}
@@ -351,6 +445,35 @@ public class CFIntSaxLoaderSecUser
 		}
 	}
 
+	// Build an edit object from a captured value row and write it.  This
+	// may run on a write pipeline thread, so it reads only the value row.
+
+	public Object writeRow( CFIntSaxValueRow row ) {
+		ICFIntSchemaObj schemaObj = ( (CFIntSaxLoader)getParser() ).getSchemaObj();
+		ICFIntSecUserObj origSecUser = (ICFIntSecUserObj)row.getExisting();
+		ICFIntSecUserEditObj editSecUser;
+		if( origSecUser != null ) {
+			editSecUser = (ICFIntSecUserEditObj)origSecUser.beginEdit();
+			editSecUser.setRequiredLoginId( (String)row.getValue( COL_LoginId ) );
+			editSecUser.setRequiredEMailAddress( (String)row.getValue( COL_EMailAddress ) );
+			editSecUser.setOptionalEMailConfirmUuid6( (CFLibUuid6)row.getValue( COL_EMailConfirmUuid6 ) );
+			editSecUser.setRequiredPasswordHash( (String)row.getValue( COL_PasswordHash ) );
+			editSecUser.setOptionalPasswordResetUuid6( (CFLibUuid6)row.getValue( COL_PasswordResetUuid6 ) );
+			editSecUser.setOptionalLookupDefDev( (ICFIntSecDeviceObj)row.getValue( COL_LookupDefDev ) );
+			editSecUser.update();
+			return( origSecUser );
+		}
+		origSecUser = (ICFIntSecUserObj)schemaObj.getSecUserTableObj().newInstance();
+		editSecUser = (ICFIntSecUserEditObj)origSecUser.beginEdit();
+		editSecUser.setRequiredLoginId( (String)row.getValue( COL_LoginId ) );
+		editSecUser.setRequiredEMailAddress( (String)row.getValue( COL_EMailAddress ) );
+		editSecUser.setOptionalEMailConfirmUuid6( (CFLibUuid6)row.getValue( COL_EMailConfirmUuid6 ) );
+		editSecUser.setRequiredPasswordHash( (String)row.getValue( COL_PasswordHash ) );
+		editSecUser.setOptionalPasswordResetUuid6( (CFLibUuid6)row.getValue( COL_PasswordResetUuid6 ) );
+		editSecUser.setOptionalLookupDefDev( (ICFIntSecDeviceObj)row.getValue( COL_LookupDefDev ) );
+		return( editSecUser.create() );
+	}
+
 	public void endElement(
 		String		uri,
 		String		localName,
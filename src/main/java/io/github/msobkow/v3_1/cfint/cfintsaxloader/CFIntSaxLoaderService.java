@@ -57,9 +57,31 @@ import io.github.msobkow.v3_1.cfint.cfintobj.*;
  */
 public class CFIntSaxLoaderService
 	extends CFLibXmlCoreElementHandler
+	implements ICFIntSaxRowWriter
 {
+	// Attribute slots
+
+	protected final static int ATTR_Id = 0;
+	protected final static int ATTR_HostPort = 1;
+	protected final static int ATTR_ServiceType = 2;
+	protected final static int ATTR_schemaLocation = 3;
+
+	protected final static CFIntSaxAttrSlots attrSlots = new CFIntSaxAttrSlots(
+		"Id",
+		"HostPort",
+		"ServiceType",
+		"schemaLocation" );
+
+	// Value row columns
+
+	protected final static int COL_HostPort = 0;
+	protected final static int COL_ContainerHost = 1;
+	protected final static int COL_OwnerCluster = 2;
+	protected final static int COL_ParentServiceType = 3;
+
 	public CFIntSaxLoaderService( CFIntSaxLoader saxLoader ) {
 		super( saxLoader );
+		saxLoader.declareElementReferences( "Service", "ServiceType" );
 	}
 
 	public void startElement(
@@ -106,48 +128,55 @@ public class CFIntSaxLoaderService
 			}
 
 			// Instantiate an edit buffer for the parsed information
-			origBuff = (ICFIntServiceObj)schemaObj.getServiceTableObj().newInstance();
-			editBuff = (ICFIntServiceEditObj)origBuff.beginEdit();
+			saxLoader.getSchemaLock().lock();
+			try {
+				origBuff = (ICFIntServiceObj)schemaObj.getServiceTableObj().newInstance();
+				editBuff = (ICFIntServiceEditObj)origBuff.beginEdit();
+			}
+			finally {
+				saxLoader.getSchemaLock().unlock();
+			}
 
 			// Extract Attributes
 			numAttrs = attrs.getLength();
 			for( idxAttr = 0; idxAttr < numAttrs; idxAttr++ ) {
 				attrLocalName = attrs.getLocalName( idxAttr );
-				if( attrLocalName.equals( "Id" ) ) {
-					if( attrId != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
-							S_ProcName,
-							S_LocalName,
-							attrLocalName );
-					}
-					attrId = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "HostPort" ) ) {
-					if( attrHostPort != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
-							S_ProcName,
-							S_LocalName,
-							attrLocalName );
-					}
-					attrHostPort = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "ServiceType" ) ) {
-					if( attrServiceType != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
+				switch( attrSlots.slotOf( attrLocalName ) ) {
+					case ATTR_Id:
+						if( attrId != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrId = attrs.getValue( idxAttr );
+						break;
+					case ATTR_HostPort:
+						if( attrHostPort != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrHostPort = attrs.getValue( idxAttr );
+						break;
+					case ATTR_ServiceType:
+						if( attrServiceType != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrServiceType = attrs.getValue( idxAttr );
+						break;
+					case ATTR_schemaLocation:
+						// ignored
+						break;
+					default:
+						throw new CFLibUnrecognizedAttributeException( getClass(),
 							S_ProcName,
-							S_LocalName,
+							getParser().getLocationInfo(),
 							attrLocalName );
-					}
-					attrServiceType = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "schemaLocation" ) ) {
-					// ignored
-				}
-				else {
-					throw new CFLibUnrecognizedAttributeException( getClass(),
-						S_ProcName,
-						getParser().getLocationInfo(),
-						attrLocalName );
 				}
 			}
 
@@ -159,11 +188,17 @@ public class CFIntSaxLoaderService
 					"HostPort" );
 			}
 
-			// Save named attributes to context
+			// Save named attributes to context, or in lean context mode only
+			// the ones registered for the element
 			CFLibXmlCoreContext curContext = getParser().getCurContext();
-			curContext.putNamedValue( "Id", attrId );
-			curContext.putNamedValue( "HostPort", attrHostPort );
-			curContext.putNamedValue( "ServiceType", attrServiceType );
+			if( saxLoader.isLeanContext() ) {
+				saxLoader.saveContextAttrs( curContext, "Service", attrs );
+			}
+			else {
+				curContext.putNamedValue( "Id", attrId );
+				curContext.putNamedValue( "HostPort", attrHostPort );
+				curContext.putNamedValue( "ServiceType", attrServiceType );
+			}
 
 			// Convert string attributes to native Java types
 			// and apply the converted attributes to the editBuff.
@@ -181,13 +216,7 @@ public class CFIntSaxLoaderService
 			// Get the scope/container object
 
 			CFLibXmlCoreContext parentContext = curContext.getPrevContext();
-			Object scopeObj;
-			if( parentContext != null ) {
-				scopeObj = parentContext.getNamedValue( "Object" );
-			}
-			else {
-				scopeObj = null;
-			}
+			Object scopeObj = saxLoader.resolveScopeObj( parentContext );
 
 			// Resolve and apply optional Container reference
 
@@ -226,7 +255,9 @@ public class CFIntSaxLoaderService
 
 			// Lookup refServiceType by key name value attr
 			if( ( attrServiceType != null ) && ( attrServiceType.length() > 0 ) ) {
-				refServiceType = (ICFIntServiceTypeObj)schemaObj.getServiceTypeTableObj().readServiceTypeByUDescrIdx( attrServiceType );
+				final String keyServiceType = attrServiceType;
+				refServiceType = (ICFIntServiceTypeObj)saxLoader.readReference( "ServiceType", "UDescrIdx", CFIntSaxLoader.naturalKey( keyServiceType ),
+					() -> schemaObj.getServiceTypeTableObj().readServiceTypeByUDescrIdx( keyServiceType ) );
 				if( refServiceType == null ) {
 					throw new CFLibNullArgumentException( getClass(),
 						S_ProcName,
@@ -241,7 +272,13 @@ public class CFIntSaxLoaderService
 
 			ICFIntServiceObj origService;
 			ICFIntServiceEditObj editService = editBuff;
-			origService = (ICFIntServiceObj)editService.create();
+			final ICFIntServiceEditObj pendingService = editService;
+			CFIntSaxValueRow valueRow = new CFIntSaxValueRow( "Service", null, null,
+				natHostPort,
+				refHost,
+				refCluster,
+				refServiceType );
+			origService = (ICFIntServiceObj)saxLoader.applyCreate( "Service", null, pendingService, valueRow, this, CFIntSaxLoader.estimateAttrBytes( attrs ) );
 			editService = null;
 
 			curContext.putNamedValue( "Object", origService );
@@ -255,6 +292,20 @@ public class CFIntSaxLoaderService
 		}
 	}
 
+	// Build an edit object from a captured value row and write it.  This
+	// may run on a write pipeline thread, so it reads only the value row.
+
+	public Object writeRow( CFIntSaxValueRow row ) {
+		ICFIntSchemaObj schemaObj = ( (CFIntSaxLoader)getParser() ).getSchemaObj();
+		ICFIntServiceObj origService = (ICFIntServiceObj)schemaObj.getServiceTableObj().newInstance();
+		ICFIntServiceEditObj editService = (ICFIntServiceEditObj)origService.beginEdit();
+		editService.setRequiredHostPort( (Short)row.getValue( COL_HostPort ) );
+		editService.setOptionalContainerHost( (ICFIntHostNodeObj)row.getValue( COL_ContainerHost ) );
+		editService.setRequiredOwnerCluster( (ICFIntClusterObj)row.getValue( COL_OwnerCluster ) );
+		editService.setOptionalParentServiceType( (ICFIntServiceTypeObj)row.getValue( COL_ParentServiceType ) );
+		return( editService.create() );
+	}
+
 	public void endElement(
 		String		uri,
 		String		localName,
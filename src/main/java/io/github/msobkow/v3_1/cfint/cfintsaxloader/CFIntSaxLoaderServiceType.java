@@ -57,9 +57,26 @@ import io.github.msobkow.v3_1.cfint.cfintobj.*;
  */
 public class CFIntSaxLoaderServiceType
 	extends CFLibXmlCoreElementHandler
+	implements ICFIntSaxRowWriter
 {
+	// Attribute slots
+
+	protected final static int ATTR_Id = 0;
+	protected final static int ATTR_Description = 1;
+	protected final static int ATTR_schemaLocation = 2;
+
+	protected final static CFIntSaxAttrSlots attrSlots = new CFIntSaxAttrSlots(
+		"Id",
+		"Description",
+		"schemaLocation" );
+
+	// Value row columns
+
+	protected final static int COL_Description = 0;
+
 	public CFIntSaxLoaderServiceType( CFIntSaxLoader saxLoader ) {
 		super( saxLoader );
+		saxLoader.declareElementKey( "ServiceType", "Description" );
 	}
 
 	public void startElement(
@@ -101,40 +118,73 @@ public class CFIntSaxLoaderServiceType
 					"getParser().getSchemaObj()" );
 			}
 
+			// Insert behaviour never changes an existing row, so look for it
+			// by the raw key attributes before building an edit buffer
+
+			CFIntSaxLoader.LoaderBehaviourEnum loaderBehaviour = saxLoader.effectiveBehaviour( saxLoader.getServiceTypeLoaderBehaviour() );
+			boolean probedServiceType = false;
+			if( loaderBehaviour == CFIntSaxLoader.LoaderBehaviourEnum.Insert ) {
+				final String keyDescription = attrs.getValue( "Description" );
+				if( ( keyDescription != null ) ) {
+					ICFIntServiceTypeObj existingServiceType = (ICFIntServiceTypeObj)saxLoader.readExisting( "ServiceType", "UDescrIdx", CFIntSaxLoader.naturalKey( keyDescription ),
+						() -> schemaObj.getServiceTypeTableObj().readServiceTypeByUDescrIdx( keyDescription ) );
+					if( existingServiceType != null ) {
+						CFLibXmlCoreContext curContext = getParser().getCurContext();
+						if( saxLoader.isLeanContext() ) {
+							saxLoader.saveContextAttrs( curContext, "ServiceType", attrs );
+						}
+						else {
+							curContext.putNamedValue( "Id", attrs.getValue( "Id" ) );
+							curContext.putNamedValue( "Description", attrs.getValue( "Description" ) );
+						}
+						curContext.putNamedValue( "Object", existingServiceType );
+						return;
+					}
+					probedServiceType = true;
+				}
+			}
+
 			// Instantiate an edit buffer for the parsed information
-			origBuff = (ICFIntServiceTypeObj)schemaObj.getServiceTypeTableObj().newInstance();
-			editBuff = (ICFIntServiceTypeEditObj)origBuff.beginEdit();
+			saxLoader.getSchemaLock().lock();
+			try {
+				origBuff = (ICFIntServiceTypeObj)schemaObj.getServiceTypeTableObj().newInstance();
+				editBuff = (ICFIntServiceTypeEditObj)origBuff.beginEdit();
+			}
+			finally {
+				saxLoader.getSchemaLock().unlock();
+			}
 
 			// Extract Attributes
 			numAttrs = attrs.getLength();
 			for( idxAttr = 0; idxAttr < numAttrs; idxAttr++ ) {
 				attrLocalName = attrs.getLocalName( idxAttr );
-				if( attrLocalName.equals( "Id" ) ) {
-					if( attrId != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
-							S_ProcName,
-							S_LocalName,
-							attrLocalName );
-					}
-					attrId = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "Description" ) ) {
-					if( attrDescription != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
+				switch( attrSlots.slotOf( attrLocalName ) ) {
+					case ATTR_Id:
+						if( attrId != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrId = attrs.getValue( idxAttr );
+						break;
+					case ATTR_Description:
+						if( attrDescription != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrDescription = attrs.getValue( idxAttr );
+						break;
+					case ATTR_schemaLocation:
+						// ignored
+						break;
+					default:
+						throw new CFLibUnrecognizedAttributeException( getClass(),
 							S_ProcName,
-							S_LocalName,
+							getParser().getLocationInfo(),
 							attrLocalName );
-					}
-					attrDescription = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "schemaLocation" ) ) {
-					// ignored
-				}
-				else {
-					throw new CFLibUnrecognizedAttributeException( getClass(),
-						S_ProcName,
-						getParser().getLocationInfo(),
-						attrLocalName );
 				}
 			}
 
@@ -146,10 +196,16 @@ public class CFIntSaxLoaderServiceType
 					"Description" );
 			}
 
-			// Save named attributes to context
+			// Save named attributes to context, or in lean context mode only
+			// the ones registered for the element
 			CFLibXmlCoreContext curContext = getParser().getCurContext();
-			curContext.putNamedValue( "Id", attrId );
-			curContext.putNamedValue( "Description", attrDescription );
+			if( saxLoader.isLeanContext() ) {
+				saxLoader.saveContextAttrs( curContext, "ServiceType", attrs );
+			}
+			else {
+				curContext.putNamedValue( "Id", attrId );
+				curContext.putNamedValue( "Description", attrDescription );
+			}
 
 			// Convert string attributes to native Java types
 			// and apply the converted attributes to the editBuff.
@@ -167,17 +223,16 @@ public class CFIntSaxLoaderServiceType
 			// Get the scope/container object
 
 			CFLibXmlCoreContext parentContext = curContext.getPrevContext();
-			Object scopeObj;
-			if( parentContext != null ) {
-				scopeObj = parentContext.getNamedValue( "Object" );
-			}
-			else {
-				scopeObj = null;
-			}
+			Object scopeObj = saxLoader.resolveScopeObj( parentContext );
 
-			CFIntSaxLoader.LoaderBehaviourEnum loaderBehaviour = saxLoader.getServiceTypeLoaderBehaviour();
 			ICFIntServiceTypeEditObj editServiceType = null;
-			ICFIntServiceTypeObj origServiceType = (ICFIntServiceTypeObj)schemaObj.getServiceTypeTableObj().readServiceTypeByUDescrIdx( editBuff.getRequiredDescription() );
+			final String keyDescription = editBuff.getRequiredDescription();
+			Object naturalKey = CFIntSaxLoader.naturalKey( keyDescription );
+			ICFIntServiceTypeObj origServiceType = null;
+			if( ! probedServiceType ) {
+				origServiceType = (ICFIntServiceTypeObj)saxLoader.readExisting( "ServiceType", "UDescrIdx", naturalKey,
+					() -> schemaObj.getServiceTypeTableObj().readServiceTypeByUDescrIdx( keyDescription ) );
+			}
 			if( origServiceType == null ) {
 				editServiceType = editBuff;
 			}
@@ -186,12 +241,20 @@ public class CFIntSaxLoaderServiceType
 					case Insert:
 						break;
 					case Update:
-						editServiceType = (ICFIntServiceTypeEditObj)origServiceType.beginEdit();
-						editServiceType.setRequiredDescription( editBuff.getRequiredDescription() );
+					case Upsert:
+						if( ( loaderBehaviour == CFIntSaxLoader.LoaderBehaviourEnum.Update )
+							&& saxLoader.isSkipUnchangedUpdates()
+							&& Objects.equals( origServiceType.getRequiredDescription(), editBuff.getRequiredDescription() ) )
+						{
+							saxLoader.countUnchangedUpdate( "ServiceType" );
+						}
+						else {
+							editServiceType = editBuff;
+						}
 						break;
 					case Replace:
-						editServiceType = (ICFIntServiceTypeEditObj)origServiceType.beginEdit();
-						editServiceType.deleteInstance();
+						final ICFIntServiceTypeObj deleteServiceType = origServiceType;
+						saxLoader.applyDelete( "ServiceType", naturalKey, () -> ( (ICFIntServiceTypeEditObj)deleteServiceType.beginEdit() ).deleteInstance() );
 						editServiceType = null;
 						origServiceType = null;
 						editServiceType = editBuff;
@@ -200,11 +263,14 @@ public class CFIntSaxLoaderServiceType
 			}
 
 			if( editServiceType != null ) {
+				final ICFIntServiceTypeEditObj pendingServiceType = editServiceType;
+				CFIntSaxValueRow valueRow = new CFIntSaxValueRow( "ServiceType", naturalKey, origServiceType,
+					natDescription );
 				if( origServiceType != null ) {
-					editServiceType.update();
+					saxLoader.applyUpdate( "ServiceType", naturalKey, pendingServiceType, valueRow, this, CFIntSaxLoader.estimateAttrBytes( attrs ) );
 				}
 				else {
-					origServiceType = (ICFIntServiceTypeObj)editServiceType.create();
+					origServiceType = (ICFIntServiceTypeObj)saxLoader.applyCreate( "ServiceType", naturalKey, pendingServiceType, valueRow, this, CFIntSaxLoader.estimateAttrBytes( attrs ) );
 				}
 				editServiceType = null;
 			}
@@ -220,6 +286,25 @@ public class CFIntSaxLoaderServiceType
 		}
 	}
 
+	// Build an edit object from a captured value row and write it.  This
+	// may run on a write pipeline thread, so it reads only the value row.
+
+	public Object writeRow( CFIntSaxValueRow row ) {
+		ICFIntSchemaObj schemaObj = ( (CFIntSaxLoader)getParser() ).getSchemaObj();
+		ICFIntServiceTypeObj origServiceType = (ICFIntServiceTypeObj)row.getExisting();
+		ICFIntServiceTypeEditObj editServiceType;
+		if( origServiceType != null ) {
+			editServiceType = (ICFIntServiceTypeEditObj)origServiceType.beginEdit();
+			editServiceType.setRequiredDescription( (String)row.getValue( COL_Description ) );
+			editServiceType.update();
+			return( origServiceType );
+		}
+		origServiceType = (ICFIntServiceTypeObj)schemaObj.getServiceTypeTableObj().newInstance();
+		editServiceType = (ICFIntServiceTypeEditObj)origServiceType.beginEdit();
+		editServiceType.setRequiredDescription( (String)row.getValue( COL_Description ) );
+		return( editServiceType.create() );
+	}
+
 	public void endElement(
 		String		uri,
 		String		localName,
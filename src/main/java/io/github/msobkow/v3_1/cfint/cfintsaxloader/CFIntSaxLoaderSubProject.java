@@ -57,9 +57,31 @@ import io.github.msobkow.v3_1.cfint.cfintobj.*;
  */
 public class CFIntSaxLoaderSubProject
 	extends CFLibXmlCoreElementHandler
+	implements ICFIntSaxRowWriter
 {
+	// Attribute slots
+
+	protected final static int ATTR_Id = 0;
+	protected final static int ATTR_Name = 1;
+	protected final static int ATTR_Description = 2;
+	protected final static int ATTR_schemaLocation = 3;
+
+	protected final static CFIntSaxAttrSlots attrSlots = new CFIntSaxAttrSlots(
+		"Id",
+		"Name",
+		"Description",
+		"schemaLocation" );
+
+	// Value row columns
+
+	protected final static int COL_Name = 0;
+	protected final static int COL_Description = 1;
+	protected final static int COL_ContainerParentTPrj = 2;
+	protected final static int COL_OwnerTenant = 3;
+
 	public CFIntSaxLoaderSubProject( CFIntSaxLoader saxLoader ) {
 		super( saxLoader );
+		saxLoader.declareElementKey( "SubProject", "Name" );
 	}
 
 	public void startElement(
@@ -104,49 +126,85 @@ public class CFIntSaxLoaderSubProject
 					"getParser().getSchemaObj()" );
 			}
 
+			// Insert behaviour never changes an existing row, so look for it
+			// by the raw key attributes before building an edit buffer
+
+			CFIntSaxLoader.LoaderBehaviourEnum loaderBehaviour = saxLoader.effectiveBehaviour( saxLoader.getSubProjectLoaderBehaviour() );
+			boolean probedSubProject = false;
+			if( loaderBehaviour == CFIntSaxLoader.LoaderBehaviourEnum.Insert ) {
+				Object probeScopeObj = saxLoader.resolveScopeObj( getParser().getCurContext().getPrevContext() );
+				final String keyName = attrs.getValue( "Name" );
+				if( ( probeScopeObj instanceof ICFIntTopProjectObj ) && ( keyName != null ) ) {
+					final ICFIntTopProjectObj keyParentTPrj = (ICFIntTopProjectObj)probeScopeObj;
+					ICFIntSubProjectObj existingSubProject = (ICFIntSubProjectObj)saxLoader.readExisting( "SubProject", "NameIdx", CFIntSaxLoader.naturalKey( keyParentTPrj.getRequiredId(), keyName ),
+						() -> schemaObj.getSubProjectTableObj().readSubProjectByNameIdx( keyParentTPrj.getRequiredId(), keyName ) );
+					if( existingSubProject != null ) {
+						CFLibXmlCoreContext curContext = getParser().getCurContext();
+						if( saxLoader.isLeanContext() ) {
+							saxLoader.saveContextAttrs( curContext, "SubProject", attrs );
+						}
+						else {
+							curContext.putNamedValue( "Id", attrs.getValue( "Id" ) );
+							curContext.putNamedValue( "Name", attrs.getValue( "Name" ) );
+							curContext.putNamedValue( "Description", attrs.getValue( "Description" ) );
+						}
+						curContext.putNamedValue( "Object", existingSubProject );
+						return;
+					}
+					probedSubProject = true;
+				}
+			}
+
 			// Instantiate an edit buffer for the parsed information
-			origBuff = (ICFIntSubProjectObj)schemaObj.getSubProjectTableObj().newInstance();
-			editBuff = (ICFIntSubProjectEditObj)origBuff.beginEdit();
+			saxLoader.getSchemaLock().lock();
+			try {
+				origBuff = (ICFIntSubProjectObj)schemaObj.getSubProjectTableObj().newInstance();
+				editBuff = (ICFIntSubProjectEditObj)origBuff.beginEdit();
+			}
+			finally {
+				saxLoader.getSchemaLock().unlock();
+			}
 
 			// Extract Attributes
 			numAttrs = attrs.getLength();
 			for( idxAttr = 0; idxAttr < numAttrs; idxAttr++ ) {
 				attrLocalName = attrs.getLocalName( idxAttr );
-				if( attrLocalName.equals( "Id" ) ) {
-					if( attrId != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
-							S_ProcName,
-							S_LocalName,
-							attrLocalName );
-					}
-					attrId = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "Name" ) ) {
-					if( attrName != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
-							S_ProcName,
-							S_LocalName,
-							attrLocalName );
-					}
-					attrName = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "Description" ) ) {
-					if( attrDescription != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
+				switch( attrSlots.slotOf( attrLocalName ) ) {
+					case ATTR_Id:
+						if( attrId != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrId = attrs.getValue( idxAttr );
+						break;
+					case ATTR_Name:
+						if( attrName != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrName = attrs.getValue( idxAttr );
+						break;
+					case ATTR_Description:
+						if( attrDescription != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrDescription = attrs.getValue( idxAttr );
+						break;
+					case ATTR_schemaLocation:
+						// ignored
+						break;
+					default:
+						throw new CFLibUnrecognizedAttributeException( getClass(),
 							S_ProcName,
-							S_LocalName,
+							getParser().getLocationInfo(),
 							attrLocalName );
-					}
-					attrDescription = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "schemaLocation" ) ) {
-					// ignored
-				}
-				else {
-					throw new CFLibUnrecognizedAttributeException( getClass(),
-						S_ProcName,
-						getParser().getLocationInfo(),
-						attrLocalName );
 				}
 			}
 
@@ -158,11 +216,17 @@ public class CFIntSaxLoaderSubProject
 					"Name" );
 			}
 
-			// Save named attributes to context
+			// Save named attributes to context, or in lean context mode only
+			// the ones registered for the element
 			CFLibXmlCoreContext curContext = getParser().getCurContext();
-			curContext.putNamedValue( "Id", attrId );
-			curContext.putNamedValue( "Name", attrName );
-			curContext.putNamedValue( "Description", attrDescription );
+			if( saxLoader.isLeanContext() ) {
+				saxLoader.saveContextAttrs( curContext, "SubProject", attrs );
+			}
+			else {
+				curContext.putNamedValue( "Id", attrId );
+				curContext.putNamedValue( "Name", attrName );
+				curContext.putNamedValue( "Description", attrDescription );
+			}
 
 			// Convert string attributes to native Java types
 			// and apply the converted attributes to the editBuff.
@@ -183,13 +247,7 @@ public class CFIntSaxLoaderSubProject
 			// Get the scope/container object
 
 			CFLibXmlCoreContext parentContext = curContext.getPrevContext();
-			Object scopeObj;
-			if( parentContext != null ) {
-				scopeObj = parentContext.getNamedValue( "Object" );
-			}
-			else {
-				scopeObj = null;
-			}
+			Object scopeObj = saxLoader.resolveScopeObj( parentContext );
 
 			// Resolve and apply required Container reference
 
@@ -227,10 +285,15 @@ public class CFIntSaxLoaderSubProject
 				}
 			}
 
-			CFIntSaxLoader.LoaderBehaviourEnum loaderBehaviour = saxLoader.getSubProjectLoaderBehaviour();
 			ICFIntSubProjectEditObj editSubProject = null;
-			ICFIntSubProjectObj origSubProject = (ICFIntSubProjectObj)schemaObj.getSubProjectTableObj().readSubProjectByNameIdx( refParentTPrj.getRequiredId(),
-			editBuff.getRequiredName() );
+			final ICFIntTopProjectObj keyParentTPrj = refParentTPrj;
+			final String keyName = editBuff.getRequiredName();
+			Object naturalKey = CFIntSaxLoader.naturalKey( keyParentTPrj.getRequiredId(), keyName );
+			ICFIntSubProjectObj origSubProject = null;
+			if( ! probedSubProject ) {
+				origSubProject = (ICFIntSubProjectObj)saxLoader.readExisting( "SubProject", "NameIdx", naturalKey,
+					() -> schemaObj.getSubProjectTableObj().readSubProjectByNameIdx( keyParentTPrj.getRequiredId(), keyName ) );
+			}
 			if( origSubProject == null ) {
 				editSubProject = editBuff;
 			}
@@ -239,13 +302,21 @@ public class CFIntSaxLoaderSubProject
 					case Insert:
 						break;
 					case Update:
-						editSubProject = (ICFIntSubProjectEditObj)origSubProject.beginEdit();
-						editSubProject.setRequiredName( editBuff.getRequiredName() );
-						editSubProject.setOptionalDescription( editBuff.getOptionalDescription() );
+					case Upsert:
+						if( ( loaderBehaviour == CFIntSaxLoader.LoaderBehaviourEnum.Update )
+							&& saxLoader.isSkipUnchangedUpdates()
+							&& Objects.equals( origSubProject.getRequiredName(), editBuff.getRequiredName() )
+							&& Objects.equals( origSubProject.getOptionalDescription(), editBuff.getOptionalDescription() ) )
+						{
+							saxLoader.countUnchangedUpdate( "SubProject" );
+						}
+						else {
+							editSubProject = editBuff;
+						}
 						break;
 					case Replace:
-						editSubProject = (ICFIntSubProjectEditObj)origSubProject.beginEdit();
-						editSubProject.deleteInstance();
+						final ICFIntSubProjectObj deleteSubProject = origSubProject;
+						saxLoader.applyDelete( "SubProject", naturalKey, () -> ( (ICFIntSubProjectEditObj)deleteSubProject.beginEdit() ).deleteInstance() );
 						editSubProject = null;
 						origSubProject = null;
 						editSubProject = editBuff;
@@ -254,11 +325,17 @@ public class CFIntSaxLoaderSubProject
 			}
 
 			if( editSubProject != null ) {
+				final ICFIntSubProjectEditObj pendingSubProject = editSubProject;
+				CFIntSaxValueRow valueRow = new CFIntSaxValueRow( "SubProject", naturalKey, origSubProject,
+					natName,
+					natDescription,
+					refParentTPrj,
+					refTenant );
 				if( origSubProject != null ) {
-					editSubProject.update();
+					saxLoader.applyUpdate( "SubProject", naturalKey, pendingSubProject, valueRow, this, CFIntSaxLoader.estimateAttrBytes( attrs ) );
 				}
 				else {
-					origSubProject = (ICFIntSubProjectObj)editSubProject.create();
+					origSubProject = (ICFIntSubProjectObj)saxLoader.applyCreate( "SubProject", naturalKey, pendingSubProject, valueRow, this, CFIntSaxLoader.estimateAttrBytes( attrs ) );
 				}
 				editSubProject = null;
 			}
@@ -274,6 +351,29 @@ public class CFIntSaxLoaderSubProject
 		}
 	}
 
+	// Build an edit object from a captured value row and write it.  This
+	// may run on a write pipeline thread, so it reads only the value row.
+
+	public Object writeRow( CFIntSaxValueRow row ) {
+		ICFIntSchemaObj schemaObj = ( (CFIntSaxLoader)getParser() ).getSchemaObj();
+		ICFIntSubProjectObj origSubProject = (ICFIntSubProjectObj)row.getExisting();
+		ICFIntSubProjectEditObj editSubProject;
+		if( origSubProject != null ) {
+			editSubProject = (ICFIntSubProjectEditObj)origSubProject.beginEdit();
+			editSubProject.setRequiredName( (String)row.getValue( COL_Name ) );
+			editSubProject.setOptionalDescription( (String)row.getValue( COL_Description ) );
+			editSubProject.update();
+			return( origSubProject );
+		}
+		origSubProject = (ICFIntSubProjectObj)schemaObj.getSubProjectTableObj().newInstance();
+		editSubProject = (ICFIntSubProjectEditObj)origSubProject.beginEdit();
+		editSubProject.setRequiredName( (String)row.getValue( COL_Name ) );
+		editSubProject.setOptionalDescription( (String)row.getValue( COL_Description ) );
+		editSubProject.setRequiredContainerParentTPrj( (ICFIntTopProjectObj)row.getValue( COL_ContainerParentTPrj ) );
+		editSubProject.setRequiredOwnerTenant( (ICFIntTenantObj)row.getValue( COL_OwnerTenant ) );
+		return( editSubProject.create() );
+	}
+
 	public void endElement(
 		String		uri,
 		String		localName,
@@ -57,7 +57,21 @@ import io.github.msobkow.v3_1.cfint.cfintobj.*;
  */
 public class CFIntSaxLoaderSysCluster
 	extends CFLibXmlCoreElementHandler
+	implements ICFIntSaxRowWriter
 {
+	// Attribute slots
+
+	protected final static int ATTR_Id = 0;
+	protected final static int ATTR_schemaLocation = 1;
+
+	protected final static CFIntSaxAttrSlots attrSlots = new CFIntSaxAttrSlots(
+		"Id",
+		"schemaLocation" );
+
+	// Value row columns
+
+	protected final static int COL_ContainerCluster = 0;
+
 	public CFIntSaxLoaderSysCluster( CFIntSaxLoader saxLoader ) {
 		super( saxLoader );
 	}
@@ -102,38 +116,51 @@ public class CFIntSaxLoaderSysCluster
 			}
 
 			// Instantiate an edit buffer for the parsed information
-			origBuff = (ICFIntSysClusterObj)schemaObj.getSysClusterTableObj().newInstance();
-			editBuff = (ICFIntSysClusterEditObj)origBuff.beginEdit();
+			saxLoader.getSchemaLock().lock();
+			try {
+				origBuff = (ICFIntSysClusterObj)schemaObj.getSysClusterTableObj().newInstance();
+				editBuff = (ICFIntSysClusterEditObj)origBuff.beginEdit();
+			}
+			finally {
+				saxLoader.getSchemaLock().unlock();
+			}
 
 			// Extract Attributes
 			numAttrs = attrs.getLength();
 			for( idxAttr = 0; idxAttr < numAttrs; idxAttr++ ) {
 				attrLocalName = attrs.getLocalName( idxAttr );
-				if( attrLocalName.equals( "Id" ) ) {
-					if( attrId != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
+				switch( attrSlots.slotOf( attrLocalName ) ) {
+					case ATTR_Id:
+						if( attrId != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrId = attrs.getValue( idxAttr );
+						break;
+					case ATTR_schemaLocation:
+						// ignored
+						break;
+					default:
+						throw new CFLibUnrecognizedAttributeException( getClass(),
 							S_ProcName,
-							S_LocalName,
+							getParser().getLocationInfo(),
 							attrLocalName );
-					}
-					attrId = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "schemaLocation" ) ) {
-					// ignored
-				}
-				else {
-					throw new CFLibUnrecognizedAttributeException( getClass(),
-						S_ProcName,
-						getParser().getLocationInfo(),
-						attrLocalName );
 				}
 			}
 
 			// Ensure that required attributes have values
 
-			// Save named attributes to context
+			// Save named attributes to context, or in lean context mode only
+			// the ones registered for the element
 			CFLibXmlCoreContext curContext = getParser().getCurContext();
-			curContext.putNamedValue( "Id", attrId );
+			if( saxLoader.isLeanContext() ) {
+				saxLoader.saveContextAttrs( curContext, "SysCluster", attrs );
+			}
+			else {
+				curContext.putNamedValue( "Id", attrId );
+			}
 
 			// Convert string attributes to native Java types
 			// and apply the converted attributes to the editBuff.
@@ -148,13 +175,7 @@ public class CFIntSaxLoaderSysCluster
 			// Get the scope/container object
 
 			CFLibXmlCoreContext parentContext = curContext.getPrevContext();
-			Object scopeObj;
-			if( parentContext != null ) {
-				scopeObj = parentContext.getNamedValue( "Object" );
-			}
-			else {
-				scopeObj = null;
-			}
+			Object scopeObj = saxLoader.resolveScopeObj( parentContext );
 
 			// Resolve and apply required Container reference
 
@@ -178,7 +199,10 @@ public class CFIntSaxLoaderSysCluster
 
 			ICFIntSysClusterObj origSysCluster;
 			ICFIntSysClusterEditObj editSysCluster = editBuff;
-			origSysCluster = (ICFIntSysClusterObj)editSysCluster.create();
+			final ICFIntSysClusterEditObj pendingSysCluster = editSysCluster;
+			CFIntSaxValueRow valueRow = new CFIntSaxValueRow( "SysCluster", null, null,
+				refCluster );
+			origSysCluster = (ICFIntSysClusterObj)saxLoader.applyCreate( "SysCluster", null, pendingSysCluster, valueRow, this, CFIntSaxLoader.estimateAttrBytes( attrs ) );
 			editSysCluster = null;
 
 			curContext.putNamedValue( "Object", origSysCluster );
@@ -192,6 +216,17 @@ public class CFIntSaxLoaderSysCluster
 		}
 	}
 
+	// Build an edit object from a captured value row and write it.  This
+	// may run on a write pipeline thread, so it reads only the value row.
+
+	public Object writeRow( CFIntSaxValueRow row ) {
+		ICFIntSchemaObj schemaObj = ( (CFIntSaxLoader)getParser() ).getSchemaObj();
+		ICFIntSysClusterObj origSysCluster = (ICFIntSysClusterObj)schemaObj.getSysClusterTableObj().newInstance();
+		ICFIntSysClusterEditObj editSysCluster = (ICFIntSysClusterEditObj)origSysCluster.beginEdit();
+		editSysCluster.setRequiredContainerCluster( (ICFIntClusterObj)row.getValue( COL_ContainerCluster ) );
+		return( editSysCluster.create() );
+	}
+
 	public void endElement(
 		String		uri,
 		String		localName,
@@ -57,9 +57,30 @@ import io.github.msobkow.v3_1.cfint.cfintobj.*;
  */
 public class CFIntSaxLoaderTSecGroup
 	extends CFLibXmlCoreElementHandler
+	implements ICFIntSaxRowWriter
 {
+	// Attribute slots
+
+	protected final static int ATTR_Id = 0;
+	protected final static int ATTR_Name = 1;
+	protected final static int ATTR_IsVisible = 2;
+	protected final static int ATTR_schemaLocation = 3;
+
+	protected final static CFIntSaxAttrSlots attrSlots = new CFIntSaxAttrSlots(
+		"Id",
+		"Name",
+		"IsVisible",
+		"schemaLocation" );
+
+	// Value row columns
+
+	protected final static int COL_Name = 0;
+	protected final static int COL_IsVisible = 1;
+	protected final static int COL_ContainerTenant = 2;
+
 	public CFIntSaxLoaderTSecGroup( CFIntSaxLoader saxLoader ) {
 		super( saxLoader );
+		saxLoader.declareElementKey( "TSecGroup", "Name" );
 	}
 
 	public void startElement(
@@ -103,49 +124,85 @@ public class CFIntSaxLoaderTSecGroup
 					"getParser().getSchemaObj()" );
 			}
 
+			// Insert behaviour never changes an existing row, so look for it
+			// by the raw key attributes before building an edit buffer
+
+			CFIntSaxLoader.LoaderBehaviourEnum loaderBehaviour = saxLoader.effectiveBehaviour( saxLoader.getTSecGroupLoaderBehaviour() );
+			boolean probedTSecGroup = false;
+			if( loaderBehaviour == CFIntSaxLoader.LoaderBehaviourEnum.Insert ) {
+				Object probeScopeObj = saxLoader.resolveScopeObj( getParser().getCurContext().getPrevContext() );
+				final String keyName = attrs.getValue( "Name" );
+				if( ( probeScopeObj instanceof ICFIntTenantObj ) && ( keyName != null ) ) {
+					final ICFIntTenantObj keyTenant = (ICFIntTenantObj)probeScopeObj;
+					ICFIntTSecGroupObj existingTSecGroup = (ICFIntTSecGroupObj)saxLoader.readExisting( "TSecGroup", "UNameIdx", CFIntSaxLoader.naturalKey( keyTenant.getRequiredId(), keyName ),
+						() -> schemaObj.getTSecGroupTableObj().readTSecGroupByUNameIdx( keyTenant.getRequiredId(), keyName ) );
+					if( existingTSecGroup != null ) {
+						CFLibXmlCoreContext curContext = getParser().getCurContext();
+						if( saxLoader.isLeanContext() ) {
+							saxLoader.saveContextAttrs( curContext, "TSecGroup", attrs );
+						}
+						else {
+							curContext.putNamedValue( "Id", attrs.getValue( "Id" ) );
+							curContext.putNamedValue( "Name", attrs.getValue( "Name" ) );
+							curContext.putNamedValue( "IsVisible", attrs.getValue( "IsVisible" ) );
+						}
+						curContext.putNamedValue( "Object", existingTSecGroup );
+						return;
+					}
+					probedTSecGroup = true;
+				}
+			}
+
 			// Instantiate an edit buffer for the parsed information
-			origBuff = (ICFIntTSecGroupObj)schemaObj.getTSecGroupTableObj().newInstance();
-			editBuff = (ICFIntTSecGroupEditObj)origBuff.beginEdit();
+			saxLoader.getSchemaLock().lock();
+			try {
+				origBuff = (ICFIntTSecGroupObj)schemaObj.getTSecGroupTableObj().newInstance();
+				editBuff = (ICFIntTSecGroupEditObj)origBuff.beginEdit();
+			}
+			finally {
+				saxLoader.getSchemaLock().unlock();
+			}
 
 			// Extract Attributes
 			numAttrs = attrs.getLength();
 			for( idxAttr = 0; idxAttr < numAttrs; idxAttr++ ) {
 				attrLocalName = attrs.getLocalName( idxAttr );
-				if( attrLocalName.equals( "Id" ) ) {
-					if( attrId != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
-							S_ProcName,
-							S_LocalName,
-							attrLocalName );
-					}
-					attrId = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "Name" ) ) {
-					if( attrName != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
-							S_ProcName,
-							S_LocalName,
-							attrLocalName );
-					}
-					attrName = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "IsVisible" ) ) {
-					if( attrIsVisible != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
+				switch( attrSlots.slotOf( attrLocalName ) ) {
+					case ATTR_Id:
+						if( attrId != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrId = attrs.getValue( idxAttr );
+						break;
+					case ATTR_Name:
+						if( attrName != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrName = attrs.getValue( idxAttr );
+						break;
+					case ATTR_IsVisible:
+						if( attrIsVisible != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrIsVisible = attrs.getValue( idxAttr );
+						break;
+					case ATTR_schemaLocation:
+						// ignored
+						break;
+					default:
+						throw new CFLibUnrecognizedAttributeException( getClass(),
 							S_ProcName,
-							S_LocalName,
+							getParser().getLocationInfo(),
 							attrLocalName );
-					}
-					attrIsVisible = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "schemaLocation" ) ) {
-					// ignored
-				}
-				else {
-					throw new CFLibUnrecognizedAttributeException( getClass(),
-						S_ProcName,
-						getParser().getLocationInfo(),
-						attrLocalName );
 				}
 			}
 
@@ -163,11 +220,17 @@ public class CFIntSaxLoaderTSecGroup
 					"IsVisible" );
 			}
 
-			// Save named attributes to context
+			// Save named attributes to context, or in lean context mode only
+			// the ones registered for the element
 			CFLibXmlCoreContext curContext = getParser().getCurContext();
-			curContext.putNamedValue( "Id", attrId );
-			curContext.putNamedValue( "Name", attrName );
-			curContext.putNamedValue( "IsVisible", attrIsVisible );
+			if( saxLoader.isLeanContext() ) {
+				saxLoader.saveContextAttrs( curContext, "TSecGroup", attrs );
+			}
+			else {
+				curContext.putNamedValue( "Id", attrId );
+				curContext.putNamedValue( "Name", attrName );
+				curContext.putNamedValue( "IsVisible", attrIsVisible );
+			}
 
 			// Convert string attributes to native Java types
 			// and apply the converted attributes to the editBuff.
@@ -200,13 +263,7 @@ public class CFIntSaxLoaderTSecGroup
 			// Get the scope/container object
 
 			CFLibXmlCoreContext parentContext = curContext.getPrevContext();
-			Object scopeObj;
-			if( parentContext != null ) {
-				scopeObj = parentContext.getNamedValue( "Object" );
-			}
-			else {
-				scopeObj = null;
-			}
+			Object scopeObj = saxLoader.resolveScopeObj( parentContext );
 
 			// Resolve and apply required Container reference
 
@@ -228,10 +285,15 @@ public class CFIntSaxLoaderTSecGroup
 					"ICFIntTenantObj" );
 			}
 
-			CFIntSaxLoader.LoaderBehaviourEnum loaderBehaviour = saxLoader.getTSecGroupLoaderBehaviour();
 			ICFIntTSecGroupEditObj editTSecGroup = null;
-			ICFIntTSecGroupObj origTSecGroup = (ICFIntTSecGroupObj)schemaObj.getTSecGroupTableObj().readTSecGroupByUNameIdx( refTenant.getRequiredId(),
-			editBuff.getRequiredName() );
+			final ICFIntTenantObj keyTenant = refTenant;
+			final String keyName = editBuff.getRequiredName();
+			Object naturalKey = CFIntSaxLoader.naturalKey( keyTenant.getRequiredId(), keyName );
+			ICFIntTSecGroupObj origTSecGroup = null;
+			if( ! probedTSecGroup ) {
+				origTSecGroup = (ICFIntTSecGroupObj)saxLoader.readExisting( "TSecGroup", "UNameIdx", naturalKey,
+					() -> schemaObj.getTSecGroupTableObj().readTSecGroupByUNameIdx( keyTenant.getRequiredId(), keyName ) );
+			}
 			if( origTSecGroup == null ) {
 				editTSecGroup = editBuff;
 			}
@@ -240,13 +302,21 @@ public class CFIntSaxLoaderTSecGroup
 					case Insert:
 						break;
 					case Update:
-						editTSecGroup = (ICFIntTSecGroupEditObj)origTSecGroup.beginEdit();
-						editTSecGroup.setRequiredName( editBuff.getRequiredName() );
-						editTSecGroup.setRequiredIsVisible( editBuff.getRequiredIsVisible() );
+					case Upsert:
+						if( ( loaderBehaviour == CFIntSaxLoader.LoaderBehaviourEnum.Update )
+							&& saxLoader.isSkipUnchangedUpdates()
+							&& Objects.equals( origTSecGroup.getRequiredName(), editBuff.getRequiredName() )
+							&& Objects.equals( origTSecGroup.getRequiredIsVisible(), editBuff.getRequiredIsVisible() ) )
+						{
+							saxLoader.countUnchangedUpdate( "TSecGroup" );
+						}
+						else {
+							editTSecGroup = editBuff;
+						}
 						break;
 					case Replace:
-						editTSecGroup = (ICFIntTSecGroupEditObj)origTSecGroup.beginEdit();
-						editTSecGroup.deleteInstance();
+						final ICFIntTSecGroupObj deleteTSecGroup = origTSecGroup;
+						saxLoader.applyDelete( "TSecGroup", naturalKey, () -> ( (ICFIntTSecGroupEditObj)deleteTSecGroup.beginEdit() ).deleteInstance() );
 						editTSecGroup = null;
 						origTSecGroup = null;
 						editTSecGroup = editBuff;
@@ -255,11 +325,16 @@ public class CFIntSaxLoaderTSecGroup
 			}
 
 			if( editTSecGroup != null ) {
+				final ICFIntTSecGroupEditObj pendingTSecGroup = editTSecGroup;
+				CFIntSaxValueRow valueRow = new CFIntSaxValueRow( "TSecGroup", naturalKey, origTSecGroup,
+					natName,
+					natIsVisible,
+					refTenant );
 				if( origTSecGroup != null ) {
-					editTSecGroup.update();
+					saxLoader.applyUpdate( "TSecGroup", naturalKey, pendingTSecGroup, valueRow, this, CFIntSaxLoader.estimateAttrBytes( attrs ) );
 				}
 				else {
-					origTSecGroup = (ICFIntTSecGroupObj)editTSecGroup.create();
+					origTSecGroup = (ICFIntTSecGroupObj)saxLoader.applyCreate( "TSecGroup", naturalKey, pendingTSecGroup, valueRow, this, CFIntSaxLoader.estimateAttrBytes( attrs ) );
 				}
 				editTSecGroup = null;
 			}
@@ -275,6 +350,28 @@ public class CFIntSaxLoaderTSecGroup
 		}
 	}
 
+	// Build an edit object from a captured value row and write it.  This
+	// may run on a write pipeline thread, so it reads only the value row.
+
+	public Object writeRow( CFIntSaxValueRow row ) {
+		ICFIntSchemaObj schemaObj = ( (CFIntSaxLoader)getParser() ).getSchemaObj();
+		ICFIntTSecGroupObj origTSecGroup = (ICFIntTSecGroupObj)row.getExisting();
+		ICFIntTSecGroupEditObj editTSecGroup;
+		if( origTSecGroup != null ) {
+			editTSecGroup = (ICFIntTSecGroupEditObj)origTSecGroup.beginEdit();
+			editTSecGroup.setRequiredName( (String)row.getValue( COL_Name ) );
+			editTSecGroup.setRequiredIsVisible( (Boolean)row.getValue( COL_IsVisible ) );
+			editTSecGroup.update();
+			return( origTSecGroup );
+		}
+		origTSecGroup = (ICFIntTSecGroupObj)schemaObj.getTSecGroupTableObj().newInstance();
+		editTSecGroup = (ICFIntTSecGroupEditObj)origTSecGroup.beginEdit();
+		editTSecGroup.setRequiredName( (String)row.getValue( COL_Name ) );
+		editTSecGroup.setRequiredIsVisible( (Boolean)row.getValue( COL_IsVisible ) );
+		editTSecGroup.setRequiredContainerTenant( (ICFIntTenantObj)row.getValue( COL_ContainerTenant ) );
+		return( editTSecGroup.create() );
+	}
+
 	public void endElement(
 		String		uri,
 		String		localName,
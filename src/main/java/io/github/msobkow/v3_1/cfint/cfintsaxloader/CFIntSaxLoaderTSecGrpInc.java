@@ -57,9 +57,28 @@ import io.github.msobkow.v3_1.cfint.cfintobj.*;
  */
 public class CFIntSaxLoaderTSecGrpInc
 	extends CFLibXmlCoreElementHandler
+	implements ICFIntSaxRowWriter
 {
+	// Attribute slots
+
+	protected final static int ATTR_Id = 0;
+	protected final static int ATTR_SubGroup = 1;
+	protected final static int ATTR_schemaLocation = 2;
+
+	protected final static CFIntSaxAttrSlots attrSlots = new CFIntSaxAttrSlots(
+		"Id",
+		"SubGroup",
+		"schemaLocation" );
+
+	// Value row columns
+
+	protected final static int COL_ContainerGroup = 0;
+	protected final static int COL_OwnerTenant = 1;
+	protected final static int COL_ParentSubGroup = 2;
+
 	public CFIntSaxLoaderTSecGrpInc( CFIntSaxLoader saxLoader ) {
 		super( saxLoader );
+		saxLoader.declareElementReferences( "TSecGrpInc", "TSecGroup" );
 	}
 
 	public void startElement(
@@ -105,39 +124,46 @@ public class CFIntSaxLoaderTSecGrpInc
 			}
 
 			// Instantiate an edit buffer for the parsed information
-			origBuff = (ICFIntTSecGrpIncObj)schemaObj.getTSecGrpIncTableObj().newInstance();
-			editBuff = (ICFIntTSecGrpIncEditObj)origBuff.beginEdit();
+			saxLoader.getSchemaLock().lock();
+			try {
+				origBuff = (ICFIntTSecGrpIncObj)schemaObj.getTSecGrpIncTableObj().newInstance();
+				editBuff = (ICFIntTSecGrpIncEditObj)origBuff.beginEdit();
+			}
+			finally {
+				saxLoader.getSchemaLock().unlock();
+			}
 
 			// Extract Attributes
 			numAttrs = attrs.getLength();
 			for( idxAttr = 0; idxAttr < numAttrs; idxAttr++ ) {
 				attrLocalName = attrs.getLocalName( idxAttr );
-				if( attrLocalName.equals( "Id" ) ) {
-					if( attrId != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
-							S_ProcName,
-							S_LocalName,
-							attrLocalName );
-					}
-					attrId = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "SubGroup" ) ) {
-					if( attrSubGroup != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
+				switch( attrSlots.slotOf( attrLocalName ) ) {
+					case ATTR_Id:
+						if( attrId != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrId = attrs.getValue( idxAttr );
+						break;
+					case ATTR_SubGroup:
+						if( attrSubGroup != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrSubGroup = attrs.getValue( idxAttr );
+						break;
+					case ATTR_schemaLocation:
+						// ignored
+						break;
+					default:
+						throw new CFLibUnrecognizedAttributeException( getClass(),
 							S_ProcName,
-							S_LocalName,
+							getParser().getLocationInfo(),
 							attrLocalName );
-					}
-					attrSubGroup = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "schemaLocation" ) ) {
-					// ignored
-				}
-				else {
-					throw new CFLibUnrecognizedAttributeException( getClass(),
-						S_ProcName,
-						getParser().getLocationInfo(),
-						attrLocalName );
 				}
 			}
 
@@ -149,10 +175,16 @@ public class CFIntSaxLoaderTSecGrpInc
 					"SubGroup" );
 			}
 
-			// Save named attributes to context
+			// Save named attributes to context, or in lean context mode only
+			// the ones registered for the element
 			CFLibXmlCoreContext curContext = getParser().getCurContext();
-			curContext.putNamedValue( "Id", attrId );
-			curContext.putNamedValue( "SubGroup", attrSubGroup );
+			if( saxLoader.isLeanContext() ) {
+				saxLoader.saveContextAttrs( curContext, "TSecGrpInc", attrs );
+			}
+			else {
+				curContext.putNamedValue( "Id", attrId );
+				curContext.putNamedValue( "SubGroup", attrSubGroup );
+			}
 
 			// Convert string attributes to native Java types
 			// and apply the converted attributes to the editBuff.
@@ -167,13 +199,7 @@ public class CFIntSaxLoaderTSecGrpInc
 			// Get the scope/container object
 
 			CFLibXmlCoreContext parentContext = curContext.getPrevContext();
-			Object scopeObj;
-			if( parentContext != null ) {
-				scopeObj = parentContext.getNamedValue( "Object" );
-			}
-			else {
-				scopeObj = null;
-			}
+			Object scopeObj = saxLoader.resolveScopeObj( parentContext );
 
 			// Resolve and apply required Container reference
 
@@ -213,8 +239,10 @@ public class CFIntSaxLoaderTSecGrpInc
 
 			// Lookup refSubGroup by key name value attr
 			if( ( attrSubGroup != null ) && ( attrSubGroup.length() > 0 ) ) {
-				refSubGroup = (ICFIntTSecGroupObj)schemaObj.getTSecGroupTableObj().readTSecGroupByUNameIdx( editBuff.getRequiredTenantId(),
-				attrSubGroup );
+				final ICFIntTSecGrpIncEditObj keyBuff = editBuff;
+				final String keySubGroup = attrSubGroup;
+				refSubGroup = (ICFIntTSecGroupObj)saxLoader.readReference( "TSecGroup", "UNameIdx", CFIntSaxLoader.naturalKey( keyBuff.getRequiredTenantId(), keySubGroup ),
+					() -> schemaObj.getTSecGroupTableObj().readTSecGroupByUNameIdx( keyBuff.getRequiredTenantId(), keySubGroup ) );
 				if( refSubGroup == null ) {
 					throw new CFLibNullArgumentException( getClass(),
 						S_ProcName,
@@ -229,7 +257,12 @@ public class CFIntSaxLoaderTSecGrpInc
 
 			ICFIntTSecGrpIncObj origTSecGrpInc;
 			ICFIntTSecGrpIncEditObj editTSecGrpInc = editBuff;
-			origTSecGrpInc = (ICFIntTSecGrpIncObj)editTSecGrpInc.create();
+			final ICFIntTSecGrpIncEditObj pendingTSecGrpInc = editTSecGrpInc;
+			CFIntSaxValueRow valueRow = new CFIntSaxValueRow( "TSecGrpInc", null, null,
+				refGroup,
+				refTenant,
+				refSubGroup );
+			origTSecGrpInc = (ICFIntTSecGrpIncObj)saxLoader.applyCreate( "TSecGrpInc", null, pendingTSecGrpInc, valueRow, this, CFIntSaxLoader.estimateAttrBytes( attrs ) );
 			editTSecGrpInc = null;
 
 			curContext.putNamedValue( "Object", origTSecGrpInc );
@@ -243,6 +276,19 @@ public class CFIntSaxLoaderTSecGrpInc
 		}
 	}
 
+	// Build an edit object from a captured value row and write it.  This
+	// may run on a write pipeline thread, so it reads only the value row.
+
+	public Object writeRow( CFIntSaxValueRow row ) {
+		ICFIntSchemaObj schemaObj = ( (CFIntSaxLoader)getParser() ).getSchemaObj();
+		ICFIntTSecGrpIncObj origTSecGrpInc = (ICFIntTSecGrpIncObj)schemaObj.getTSecGrpIncTableObj().newInstance();
+		ICFIntTSecGrpIncEditObj editTSecGrpInc = (ICFIntTSecGrpIncEditObj)origTSecGrpInc.beginEdit();
+		editTSecGrpInc.setRequiredContainerGroup( (ICFIntTSecGroupObj)row.getValue( COL_ContainerGroup ) );
+		editTSecGrpInc.setRequiredOwnerTenant( (ICFIntTenantObj)row.getValue( COL_OwnerTenant ) );
+		editTSecGrpInc.setRequiredParentSubGroup( (ICFIntTSecGroupObj)row.getValue( COL_ParentSubGroup ) );
+		return( editTSecGrpInc.create() );
+	}
+
 	public void endElement(
 		String		uri,
 		String		localName,
@@ -57,9 +57,30 @@ import io.github.msobkow.v3_1.cfint.cfintobj.*;
  */
 public class CFIntSaxLoaderTld
 	extends CFLibXmlCoreElementHandler
+	implements ICFIntSaxRowWriter
 {
+	// Attribute slots
+
+	protected final static int ATTR_Id = 0;
+	protected final static int ATTR_Name = 1;
+	protected final static int ATTR_Description = 2;
+	protected final static int ATTR_schemaLocation = 3;
+
+	protected final static CFIntSaxAttrSlots attrSlots = new CFIntSaxAttrSlots(
+		"Id",
+		"Name",
+		"Description",
+		"schemaLocation" );
+
+	// Value row columns
+
+	protected final static int COL_Name = 0;
+	protected final static int COL_Description = 1;
+	protected final static int COL_ContainerTenant = 2;
+
 	public CFIntSaxLoaderTld( CFIntSaxLoader saxLoader ) {
 		super( saxLoader );
+		saxLoader.declareElementKey( "Tld", "Name" );
 	}
 
 	public void startElement(
@@ -103,49 +124,83 @@ public class CFIntSaxLoaderTld
 					"getParser().getSchemaObj()" );
 			}
 
+			// Insert behaviour never changes an existing row, so look for it
+			// by the raw key attributes before building an edit buffer
+
+			CFIntSaxLoader.LoaderBehaviourEnum loaderBehaviour = saxLoader.effectiveBehaviour( saxLoader.getTldLoaderBehaviour() );
+			boolean probedTld = false;
+			if( loaderBehaviour == CFIntSaxLoader.LoaderBehaviourEnum.Insert ) {
+				final String keyName = attrs.getValue( "Name" );
+				if( ( keyName != null ) ) {
+					ICFIntTldObj existingTld = (ICFIntTldObj)saxLoader.readExisting( "Tld", "NameIdx", CFIntSaxLoader.naturalKey( keyName ),
+						() -> schemaObj.getTldTableObj().readTldByNameIdx( keyName ) );
+					if( existingTld != null ) {
+						CFLibXmlCoreContext curContext = getParser().getCurContext();
+						if( saxLoader.isLeanContext() ) {
+							saxLoader.saveContextAttrs( curContext, "Tld", attrs );
+						}
+						else {
+							curContext.putNamedValue( "Id", attrs.getValue( "Id" ) );
+							curContext.putNamedValue( "Name", attrs.getValue( "Name" ) );
+							curContext.putNamedValue( "Description", attrs.getValue( "Description" ) );
+						}
+						curContext.putNamedValue( "Object", existingTld );
+						return;
+					}
+					probedTld = true;
+				}
+			}
+
 			// Instantiate an edit buffer for the parsed information
-			origBuff = (ICFIntTldObj)schemaObj.getTldTableObj().newInstance();
-			editBuff = (ICFIntTldEditObj)origBuff.beginEdit();
+			saxLoader.getSchemaLock().lock();
+			try {
+				origBuff = (ICFIntTldObj)schemaObj.getTldTableObj().newInstance();
+				editBuff = (ICFIntTldEditObj)origBuff.beginEdit();
+			}
+			finally {
+				saxLoader.getSchemaLock().unlock();
+			}
 
 			// Extract Attributes
 			numAttrs = attrs.getLength();
 			for( idxAttr = 0; idxAttr < numAttrs; idxAttr++ ) {
 				attrLocalName = attrs.getLocalName( idxAttr );
-				if( attrLocalName.equals( "Id" ) ) {
-					if( attrId != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
-							S_ProcName,
-							S_LocalName,
-							attrLocalName );
-					}
-					attrId = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "Name" ) ) {
-					if( attrName != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
-							S_ProcName,
-							S_LocalName,
-							attrLocalName );
-					}
-					attrName = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "Description" ) ) {
-					if( attrDescription != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
+				switch( attrSlots.slotOf( attrLocalName ) ) {
+					case ATTR_Id:
+						if( attrId != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrId = attrs.getValue( idxAttr );
+						break;
+					case ATTR_Name:
+						if( attrName != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrName = attrs.getValue( idxAttr );
+						break;
+					case ATTR_Description:
+						if( attrDescription != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrDescription = attrs.getValue( idxAttr );
+						break;
+					case ATTR_schemaLocation:
+						// ignored
+						break;
+					default:
+						throw new CFLibUnrecognizedAttributeException( getClass(),
 							S_ProcName,
-							S_LocalName,
+							getParser().getLocationInfo(),
 							attrLocalName );
-					}
-					attrDescription = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "schemaLocation" ) ) {
-					// ignored
-				}
-				else {
-					throw new CFLibUnrecognizedAttributeException( getClass(),
-						S_ProcName,
-						getParser().getLocationInfo(),
-						attrLocalName );
 				}
 			}
 
@@ -157,11 +212,17 @@ public class CFIntSaxLoaderTld
 					"Name" );
 			}
 
-			// Save named attributes to context
+			// Save named attributes to context, or in lean context mode only
+			// the ones registered for the element
 			CFLibXmlCoreContext curContext = getParser().getCurContext();
-			curContext.putNamedValue( "Id", attrId );
-			curContext.putNamedValue( "Name", attrName );
-			curContext.putNamedValue( "Description", attrDescription );
+			if( saxLoader.isLeanContext() ) {
+				saxLoader.saveContextAttrs( curContext, "Tld", attrs );
+			}
+			else {
+				curContext.putNamedValue( "Id", attrId );
+				curContext.putNamedValue( "Name", attrName );
+				curContext.putNamedValue( "Description", attrDescription );
+			}
 
 			// Convert string attributes to native Java types
 			// and apply the converted attributes to the editBuff.
@@ -182,13 +243,7 @@ public class CFIntSaxLoaderTld
 			// Get the scope/container object
 
 			CFLibXmlCoreContext parentContext = curContext.getPrevContext();
-			Object scopeObj;
-			if( parentContext != null ) {
-				scopeObj = parentContext.getNamedValue( "Object" );
-			}
-			else {
-				scopeObj = null;
-			}
+			Object scopeObj = saxLoader.resolveScopeObj( parentContext );
 
 			// Resolve and apply required Container reference
 
@@ -210,9 +265,14 @@ public class CFIntSaxLoaderTld
 					"ICFIntTenantObj" );
 			}
 
-			CFIntSaxLoader.LoaderBehaviourEnum loaderBehaviour = saxLoader.getTldLoaderBehaviour();
 			ICFIntTldEditObj editTld = null;
-			ICFIntTldObj origTld = (ICFIntTldObj)schemaObj.getTldTableObj().readTldByNameIdx( editBuff.getRequiredName() );
+			final String keyName = editBuff.getRequiredName();
+			Object naturalKey = CFIntSaxLoader.naturalKey( keyName );
+			ICFIntTldObj origTld = null;
+			if( ! probedTld ) {
+				origTld = (ICFIntTldObj)saxLoader.readExisting( "Tld", "NameIdx", naturalKey,
+					() -> schemaObj.getTldTableObj().readTldByNameIdx( keyName ) );
+			}
 			if( origTld == null ) {
 				editTld = editBuff;
 			}
@@ -221,13 +281,21 @@ public class CFIntSaxLoaderTld
 					case Insert:
 						break;
 					case Update:
-						editTld = (ICFIntTldEditObj)origTld.beginEdit();
-						editTld.setRequiredName( editBuff.getRequiredName() );
-						editTld.setOptionalDescription( editBuff.getOptionalDescription() );
+					case Upsert:
+						if( ( loaderBehaviour == CFIntSaxLoader.LoaderBehaviourEnum.Update )
+							&& saxLoader.isSkipUnchangedUpdates()
+							&& Objects.equals( origTld.getRequiredName(), editBuff.getRequiredName() )
+							&& Objects.equals( origTld.getOptionalDescription(), editBuff.getOptionalDescription() ) )
+						{
+							saxLoader.countUnchangedUpdate( "Tld" );
+						}
+						else {
+							editTld = editBuff;
+						}
 						break;
 					case Replace:
-						editTld = (ICFIntTldEditObj)origTld.beginEdit();
-						editTld.deleteInstance();
+						final ICFIntTldObj deleteTld = origTld;
+						saxLoader.applyDelete( "Tld", naturalKey, () -> ( (ICFIntTldEditObj)deleteTld.beginEdit() ).deleteInstance() );
 						editTld = null;
 						origTld = null;
 						editTld = editBuff;
@@ -236,11 +304,16 @@ public class CFIntSaxLoaderTld
 			}
 
 			if( editTld != null ) {
+				final ICFIntTldEditObj pendingTld = editTld;
+				CFIntSaxValueRow valueRow = new CFIntSaxValueRow( "Tld", naturalKey, origTld,
+					natName,
+					natDescription,
+					refTenant );
 				if( origTld != null ) {
-					editTld.update();
+					saxLoader.applyUpdate( "Tld", naturalKey, pendingTld, valueRow, this, CFIntSaxLoader.estimateAttrBytes( attrs ) );
 				}
 				else {
-					origTld = (ICFIntTldObj)editTld.create();
+					origTld = (ICFIntTldObj)saxLoader.applyCreate( "Tld", naturalKey, pendingTld, valueRow, this, CFIntSaxLoader.estimateAttrBytes( attrs ) );
 				}
 				editTld = null;
 			}
@@ -256,6 +329,28 @@ public class CFIntSaxLoaderTld
 		}
 	}
 
+	// Build an edit object from a captured value row and write it.  This
+	// may run on a write pipeline thread, so it reads only the value row.
+
+	public Object writeRow( CFIntSaxValueRow row ) {
+		ICFIntSchemaObj schemaObj = ( (CFIntSaxLoader)getParser() ).getSchemaObj();
+		ICFIntTldObj origTld = (ICFIntTldObj)row.getExisting();
+		ICFIntTldEditObj editTld;
+		if( origTld != null ) {
+			editTld = (ICFIntTldEditObj)origTld.beginEdit();
+			editTld.setRequiredName( (String)row.getValue( COL_Name ) );
+			editTld.setOptionalDescription( (String)row.getValue( COL_Description ) );
+			editTld.update();
+			return( origTld );
+		}
+		origTld = (ICFIntTldObj)schemaObj.getTldTableObj().newInstance();
+		editTld = (ICFIntTldEditObj)origTld.beginEdit();
+		editTld.setRequiredName( (String)row.getValue( COL_Name ) );
+		editTld.setOptionalDescription( (String)row.getValue( COL_Description ) );
+		editTld.setRequiredContainerTenant( (ICFIntTenantObj)row.getValue( COL_ContainerTenant ) );
+		return( editTld.create() );
+	}
+
 	public void endElement(
 		String		uri,
 		String		localName,
@@ -57,9 +57,31 @@ import io.github.msobkow.v3_1.cfint.cfintobj.*;
  */
 public class CFIntSaxLoaderTopDomain
 	extends CFLibXmlCoreElementHandler
+	implements ICFIntSaxRowWriter
 {
+	// Attribute slots
+
+	protected final static int ATTR_Id = 0;
+	protected final static int ATTR_Name = 1;
+	protected final static int ATTR_Description = 2;
+	protected final static int ATTR_schemaLocation = 3;
+
+	protected final static CFIntSaxAttrSlots attrSlots = new CFIntSaxAttrSlots(
+		"Id",
+		"Name",
+		"Description",
+		"schemaLocation" );
+
+	// Value row columns
+
+	protected final static int COL_Name = 0;
+	protected final static int COL_Description = 1;
+	protected final static int COL_ContainerParentTld = 2;
+	protected final static int COL_OwnerTenant = 3;
+
 	public CFIntSaxLoaderTopDomain( CFIntSaxLoader saxLoader ) {
 		super( saxLoader );
+		saxLoader.declareElementKey( "TopDomain", "Name" );
 	}
 
 	public void startElement(
@@ -104,49 +126,85 @@ public class CFIntSaxLoaderTopDomain
 					"getParser().getSchemaObj()" );
 			}
 
+			// Insert behaviour never changes an existing row, so look for it
+			// by the raw key attributes before building an edit buffer
+
+			CFIntSaxLoader.LoaderBehaviourEnum loaderBehaviour = saxLoader.effectiveBehaviour( saxLoader.getTopDomainLoaderBehaviour() );
+			boolean probedTopDomain = false;
+			if( loaderBehaviour == CFIntSaxLoader.LoaderBehaviourEnum.Insert ) {
+				Object probeScopeObj = saxLoader.resolveScopeObj( getParser().getCurContext().getPrevContext() );
+				final String keyName = attrs.getValue( "Name" );
+				if( ( probeScopeObj instanceof ICFIntTldObj ) && ( keyName != null ) ) {
+					final ICFIntTldObj keyParentTld = (ICFIntTldObj)probeScopeObj;
+					ICFIntTopDomainObj existingTopDomain = (ICFIntTopDomainObj)saxLoader.readExisting( "TopDomain", "NameIdx", CFIntSaxLoader.naturalKey( keyParentTld.getRequiredId(), keyName ),
+						() -> schemaObj.getTopDomainTableObj().readTopDomainByNameIdx( keyParentTld.getRequiredId(), keyName ) );
+					if( existingTopDomain != null ) {
+						CFLibXmlCoreContext curContext = getParser().getCurContext();
+						if( saxLoader.isLeanContext() ) {
+							saxLoader.saveContextAttrs( curContext, "TopDomain", attrs );
+						}
+						else {
+							curContext.putNamedValue( "Id", attrs.getValue( "Id" ) );
+							curContext.putNamedValue( "Name", attrs.getValue( "Name" ) );
+							curContext.putNamedValue( "Description", attrs.getValue( "Description" ) );
+						}
+						curContext.putNamedValue( "Object", existingTopDomain );
+						return;
+					}
+					probedTopDomain = true;
+				}
+			}
+
 			// Instantiate an edit buffer for the parsed information
-			origBuff = (ICFIntTopDomainObj)schemaObj.getTopDomainTableObj().newInstance();
-			editBuff = (ICFIntTopDomainEditObj)origBuff.beginEdit();
+			saxLoader.getSchemaLock().lock();
+			try {
+				origBuff = (ICFIntTopDomainObj)schemaObj.getTopDomainTableObj().newInstance();
+				editBuff = (ICFIntTopDomainEditObj)origBuff.beginEdit();
+			}
+			finally {
+				saxLoader.getSchemaLock().unlock();
+			}
 
 			// Extract Attributes
 			numAttrs = attrs.getLength();
 			for( idxAttr = 0; idxAttr < numAttrs; idxAttr++ ) {
 				attrLocalName = attrs.getLocalName( idxAttr );
-				if( attrLocalName.equals( "Id" ) ) {
-					if( attrId != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
-							S_ProcName,
-							S_LocalName,
-							attrLocalName );
-					}
-					attrId = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "Name" ) ) {
-					if( attrName != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
-							S_ProcName,
-							S_LocalName,
-							attrLocalName );
-					}
-					attrName = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "Description" ) ) {
-					if( attrDescription != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
+				switch( attrSlots.slotOf( attrLocalName ) ) {
+					case ATTR_Id:
+						if( attrId != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrId = attrs.getValue( idxAttr );
+						break;
+					case ATTR_Name:
+						if( attrName != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrName = attrs.getValue( idxAttr );
+						break;
+					case ATTR_Description:
+						if( attrDescription != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrDescription = attrs.getValue( idxAttr );
+						break;
+					case ATTR_schemaLocation:
+						// ignored
+						break;
+					default:
+						throw new CFLibUnrecognizedAttributeException( getClass(),
 							S_ProcName,
-							S_LocalName,
+							getParser().getLocationInfo(),
 							attrLocalName );
-					}
-					attrDescription = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "schemaLocation" ) ) {
-					// ignored
-				}
-				else {
-					throw new CFLibUnrecognizedAttributeException( getClass(),
-						S_ProcName,
-						getParser().getLocationInfo(),
-						attrLocalName );
 				}
 			}
 
@@ -158,11 +216,17 @@ public class CFIntSaxLoaderTopDomain
 					"Name" );
 			}
 
-			// Save named attributes to context
+			// Save named attributes to context, or in lean context mode only
+			// the ones registered for the element
 			CFLibXmlCoreContext curContext = getParser().getCurContext();
-			curContext.putNamedValue( "Id", attrId );
-			curContext.putNamedValue( "Name", attrName );
-			curContext.putNamedValue( "Description", attrDescription );
+			if( saxLoader.isLeanContext() ) {
+				saxLoader.saveContextAttrs( curContext, "TopDomain", attrs );
+			}
+			else {
+				curContext.putNamedValue( "Id", attrId );
+				curContext.putNamedValue( "Name", attrName );
+				curContext.putNamedValue( "Description", attrDescription );
+			}
 
 			// Convert string attributes to native Java types
 			// and apply the converted attributes to the editBuff.
@@ -183,13 +247,7 @@ public class CFIntSaxLoaderTopDomain
 			// Get the scope/container object
 
 			CFLibXmlCoreContext parentContext = curContext.getPrevContext();
-			Object scopeObj;
-			if( parentContext != null ) {
-				scopeObj = parentContext.getNamedValue( "Object" );
-			}
-			else {
-				scopeObj = null;
-			}
+			Object scopeObj = saxLoader.resolveScopeObj( parentContext );
 
 			// Resolve and apply required Container reference
 
@@ -227,10 +285,15 @@ public class CFIntSaxLoaderTopDomain
 				}
 			}
 
-			CFIntSaxLoader.LoaderBehaviourEnum loaderBehaviour = saxLoader.getTopDomainLoaderBehaviour();
 			ICFIntTopDomainEditObj editTopDomain = null;
-			ICFIntTopDomainObj origTopDomain = (ICFIntTopDomainObj)schemaObj.getTopDomainTableObj().readTopDomainByNameIdx( refParentTld.getRequiredId(),
-			editBuff.getRequiredName() );
+			final ICFIntTldObj keyParentTld = refParentTld;
+			final String keyName = editBuff.getRequiredName();
+			Object naturalKey = CFIntSaxLoader.naturalKey( keyParentTld.getRequiredId(), keyName );
+			ICFIntTopDomainObj origTopDomain = null;
+			if( ! probedTopDomain ) {
+				origTopDomain = (ICFIntTopDomainObj)saxLoader.readExisting( "TopDomain", "NameIdx", naturalKey,
+					() -> schemaObj.getTopDomainTableObj().readTopDomainByNameIdx( keyParentTld.getRequiredId(), keyName ) );
+			}
 			if( origTopDomain == null ) {
 				editTopDomain = editBuff;
 			}
@@ -239,13 +302,21 @@ public class CFIntSaxLoaderTopDomain
 					case Insert:
 						break;
 					case Update:
-						editTopDomain = (ICFIntTopDomainEditObj)origTopDomain.beginEdit();
-						editTopDomain.setRequiredName( editBuff.getRequiredName() );
-						editTopDomain.setOptionalDescription( editBuff.getOptionalDescription() );
+					case Upsert:
+						if( ( loaderBehaviour == CFIntSaxLoader.LoaderBehaviourEnum.Update )
+							&& saxLoader.isSkipUnchangedUpdates()
+							&& Objects.equals( origTopDomain.getRequiredName(), editBuff.getRequiredName() )
+							&& Objects.equals( origTopDomain.getOptionalDescription(), editBuff.getOptionalDescription() ) )
+						{
+							saxLoader.countUnchangedUpdate( "TopDomain" );
+						}
+						else {
+							editTopDomain = editBuff;
+						}
 						break;
 					case Replace:
-						editTopDomain = (ICFIntTopDomainEditObj)origTopDomain.beginEdit();
-						editTopDomain.deleteInstance();
+						final ICFIntTopDomainObj deleteTopDomain = origTopDomain;
+						saxLoader.applyDelete( "TopDomain", naturalKey, () -> ( (ICFIntTopDomainEditObj)deleteTopDomain.beginEdit() ).deleteInstance() );
 						editTopDomain = null;
 						origTopDomain = null;
 						editTopDomain = editBuff;
@@ -254,11 +325,17 @@ public class CFIntSaxLoaderTopDomain
 			}
 
 			if( editTopDomain != null ) {
+				final ICFIntTopDomainEditObj pendingTopDomain = editTopDomain;
+				CFIntSaxValueRow valueRow = new CFIntSaxValueRow( "TopDomain", naturalKey, origTopDomain,
+					natName,
+					natDescription,
+					refParentTld,
+					refTenant );
 				if( origTopDomain != null ) {
-					editTopDomain.update();
+					saxLoader.applyUpdate( "TopDomain", naturalKey, pendingTopDomain, valueRow, this, CFIntSaxLoader.estimateAttrBytes( attrs ) );
 				}
 				else {
-					origTopDomain = (ICFIntTopDomainObj)editTopDomain.create();
+					origTopDomain = (ICFIntTopDomainObj)saxLoader.applyCreate( "TopDomain", naturalKey, pendingTopDomain, valueRow, this, CFIntSaxLoader.estimateAttrBytes( attrs ) );
 				}
 				editTopDomain = null;
 			}
@@ -274,6 +351,29 @@ public class CFIntSaxLoaderTopDomain
 		}
 	}
 
+	// Build an edit object from a captured value row and write it.  This
+	// may run on a write pipeline thread, so it reads only the value row.
+
+	public Object writeRow( CFIntSaxValueRow row ) {
+		ICFIntSchemaObj schemaObj = ( (CFIntSaxLoader)getParser() ).getSchemaObj();
+		ICFIntTopDomainObj origTopDomain = (ICFIntTopDomainObj)row.getExisting();
+		ICFIntTopDomainEditObj editTopDomain;
+		if( origTopDomain != null ) {
+			editTopDomain = (ICFIntTopDomainEditObj)origTopDomain.beginEdit();
+			editTopDomain.setRequiredName( (String)row.getValue( COL_Name ) );
+			editTopDomain.setOptionalDescription( (String)row.getValue( COL_Description ) );
+			editTopDomain.update();
+			return( origTopDomain );
+		}
+		origTopDomain = (ICFIntTopDomainObj)schemaObj.getTopDomainTableObj().newInstance();
+		editTopDomain = (ICFIntTopDomainEditObj)origTopDomain.beginEdit();
+		editTopDomain.setRequiredName( (String)row.getValue( COL_Name ) );
+		editTopDomain.setOptionalDescription( (String)row.getValue( COL_Description ) );
+		editTopDomain.setRequiredContainerParentTld( (ICFIntTldObj)row.getValue( COL_ContainerParentTld ) );
+		editTopDomain.setRequiredOwnerTenant( (ICFIntTenantObj)row.getValue( COL_OwnerTenant ) );
+		return( editTopDomain.create() );
+	}
+
 	public void endElement(
 		String		uri,
 		String		localName,
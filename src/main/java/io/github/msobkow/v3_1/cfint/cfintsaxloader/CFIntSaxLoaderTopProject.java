@@ -57,9 +57,31 @@ import io.github.msobkow.v3_1.cfint.cfintobj.*;
  */
 public class CFIntSaxLoaderTopProject
 	extends CFLibXmlCoreElementHandler
+	implements ICFIntSaxRowWriter
 {
+	// Attribute slots
+
+	protected final static int ATTR_Id = 0;
+	protected final static int ATTR_Name = 1;
+	protected final static int ATTR_Description = 2;
+	protected final static int ATTR_schemaLocation = 3;
+
+	protected final static CFIntSaxAttrSlots attrSlots = new CFIntSaxAttrSlots(
+		"Id",
+		"Name",
+		"Description",
+		"schemaLocation" );
+
+	// Value row columns
+
+	protected final static int COL_Name = 0;
+	protected final static int COL_Description = 1;
+	protected final static int COL_ContainerParentSDom = 2;
+	protected final static int COL_OwnerTenant = 3;
+
 	public CFIntSaxLoaderTopProject( CFIntSaxLoader saxLoader ) {
 		super( saxLoader );
+		saxLoader.declareElementKey( "TopProject", "Name" );
 	}
 
 	public void startElement(
@@ -104,49 +126,85 @@ public class CFIntSaxLoaderTopProject
 					"getParser().getSchemaObj()" );
 			}
 
+			// Insert behaviour never changes an existing row, so look for it
+			// by the raw key attributes before building an edit buffer
+
+			CFIntSaxLoader.LoaderBehaviourEnum loaderBehaviour = saxLoader.effectiveBehaviour( saxLoader.getTopProjectLoaderBehaviour() );
+			boolean probedTopProject = false;
+			if( loaderBehaviour == CFIntSaxLoader.LoaderBehaviourEnum.Insert ) {
+				Object probeScopeObj = saxLoader.resolveScopeObj( getParser().getCurContext().getPrevContext() );
+				final String keyName = attrs.getValue( "Name" );
+				if( ( probeScopeObj instanceof ICFIntTopDomainObj ) && ( keyName != null ) ) {
+					final ICFIntTopDomainObj keyParentSDom = (ICFIntTopDomainObj)probeScopeObj;
+					ICFIntTopProjectObj existingTopProject = (ICFIntTopProjectObj)saxLoader.readExisting( "TopProject", "NameIdx", CFIntSaxLoader.naturalKey( keyParentSDom.getRequiredId(), keyName ),
+						() -> schemaObj.getTopProjectTableObj().readTopProjectByNameIdx( keyParentSDom.getRequiredId(), keyName ) );
+					if( existingTopProject != null ) {
+						CFLibXmlCoreContext curContext = getParser().getCurContext();
+						if( saxLoader.isLeanContext() ) {
+							saxLoader.saveContextAttrs( curContext, "TopProject", attrs );
+						}
+						else {
+							curContext.putNamedValue( "Id", attrs.getValue( "Id" ) );
+							curContext.putNamedValue( "Name", attrs.getValue( "Name" ) );
+							curContext.putNamedValue( "Description", attrs.getValue( "Description" ) );
+						}
+						curContext.putNamedValue( "Object", existingTopProject );
+						return;
+					}
+					probedTopProject = true;
+				}
+			}
+
 			// Instantiate an edit buffer for the parsed information
-			origBuff = (ICFIntTopProjectObj)schemaObj.getTopProjectTableObj().newInstance();
-			editBuff = (ICFIntTopProjectEditObj)origBuff.beginEdit();
+			saxLoader.getSchemaLock().lock();
+			try {
+				origBuff = (ICFIntTopProjectObj)schemaObj.getTopProjectTableObj().newInstance();
+				editBuff = (ICFIntTopProjectEditObj)origBuff.beginEdit();
+			}
+			finally {
+				saxLoader.getSchemaLock().unlock();
+			}
 
 			// Extract Attributes
 			numAttrs = attrs.getLength();
 			for( idxAttr = 0; idxAttr < numAttrs; idxAttr++ ) {
 				attrLocalName = attrs.getLocalName( idxAttr );
-				if( attrLocalName.equals( "Id" ) ) {
-					if( attrId != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
-							S_ProcName,
-							S_LocalName,
-							attrLocalName );
-					}
-					attrId = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "Name" ) ) {
-					if( attrName != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
-							S_ProcName,
-							S_LocalName,
-							attrLocalName );
-					}
-					attrName = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "Description" ) ) {
-					if( attrDescription != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
+				switch( attrSlots.slotOf( attrLocalName ) ) {
+					case ATTR_Id:
+						if( attrId != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrId = attrs.getValue( idxAttr );
+						break;
+					case ATTR_Name:
+						if( attrName != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrName = attrs.getValue( idxAttr );
+						break;
+					case ATTR_Description:
+						if( attrDescription != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrDescription = attrs.getValue( idxAttr );
+						break;
+					case ATTR_schemaLocation:
+						// ignored
+						break;
+					default:
+						throw new CFLibUnrecognizedAttributeException( getClass(),
 							S_ProcName,
-							S_LocalName,
+							getParser().getLocationInfo(),
 							attrLocalName );
-					}
-					attrDescription = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "schemaLocation" ) ) {
-					// ignored
-				}
-				else {
-					throw new CFLibUnrecognizedAttributeException( getClass(),
-						S_ProcName,
-						getParser().getLocationInfo(),
-						attrLocalName );
 				}
 			}
 
@@ -158,11 +216,17 @@ public class CFIntSaxLoaderTopProject
 					"Name" );
 			}
 
-			// Save named attributes to context
+			// Save named attributes to context, or in lean context mode only
+			// the ones registered for the element
 			CFLibXmlCoreContext curContext = getParser().getCurContext();
-			curContext.putNamedValue( "Id", attrId );
-			curContext.putNamedValue( "Name", attrName );
-			curContext.putNamedValue( "Description", attrDescription );
+			if( saxLoader.isLeanContext() ) {
+				saxLoader.saveContextAttrs( curContext, "TopProject", attrs );
+			}
+			else {
+				curContext.putNamedValue( "Id", attrId );
+				curContext.putNamedValue( "Name", attrName );
+				curContext.putNamedValue( "Description", attrDescription );
+			}
 
 			// Convert string attributes to native Java types
 			// and apply the converted attributes to the editBuff.
@@ -183,13 +247,7 @@ public class CFIntSaxLoaderTopProject
 			// Get the scope/container object
 
 			CFLibXmlCoreContext parentContext = curContext.getPrevContext();
-			Object scopeObj;
-			if( parentContext != null ) {
-				scopeObj = parentContext.getNamedValue( "Object" );
-			}
-			else {
-				scopeObj = null;
-			}
+			Object scopeObj = saxLoader.resolveScopeObj( parentContext );
 
 			// Resolve and apply required Container reference
 
@@ -227,10 +285,15 @@ public class CFIntSaxLoaderTopProject
 				}
 			}
 
-			CFIntSaxLoader.LoaderBehaviourEnum loaderBehaviour = saxLoader.getTopProjectLoaderBehaviour();
 			ICFIntTopProjectEditObj editTopProject = null;
-			ICFIntTopProjectObj origTopProject = (ICFIntTopProjectObj)schemaObj.getTopProjectTableObj().readTopProjectByNameIdx( refParentSDom.getRequiredId(),
-			editBuff.getRequiredName() );
+			final ICFIntTopDomainObj keyParentSDom = refParentSDom;
+			final String keyName = editBuff.getRequiredName();
+			Object naturalKey = CFIntSaxLoader.naturalKey( keyParentSDom.getRequiredId(), keyName );
+			ICFIntTopProjectObj origTopProject = null;
+			if( ! probedTopProject ) {
+				origTopProject = (ICFIntTopProjectObj)saxLoader.readExisting( "TopProject", "NameIdx", naturalKey,
+					() -> schemaObj.getTopProjectTableObj().readTopProjectByNameIdx( keyParentSDom.getRequiredId(), keyName ) );
+			}
 			if( origTopProject == null ) {
 				editTopProject = editBuff;
 			}
@@ -239,13 +302,21 @@ public class CFIntSaxLoaderTopProject
 					case Insert:
 						break;
 					case Update:
-						editTopProject = (ICFIntTopProjectEditObj)origTopProject.beginEdit();
-						editTopProject.setRequiredName( editBuff.getRequiredName() );
-						editTopProject.setOptionalDescription( editBuff.getOptionalDescription() );
+					case Upsert:
+						if( ( loaderBehaviour == CFIntSaxLoader.LoaderBehaviourEnum.Update )
+							&& saxLoader.isSkipUnchangedUpdates()
+							&& Objects.equals( origTopProject.getRequiredName(), editBuff.getRequiredName() )
+							&& Objects.equals( origTopProject.getOptionalDescription(), editBuff.getOptionalDescription() ) )
+						{
+							saxLoader.countUnchangedUpdate( "TopProject" );
+						}
+						else {
+							editTopProject = editBuff;
+						}
 						break;
 					case Replace:
-						editTopProject = (ICFIntTopProjectEditObj)origTopProject.beginEdit();
-						editTopProject.deleteInstance();
+						final ICFIntTopProjectObj deleteTopProject = origTopProject;
+						saxLoader.applyDelete( "TopProject", naturalKey, () -> ( (ICFIntTopProjectEditObj)deleteTopProject.beginEdit() ).deleteInstance() );
 						editTopProject = null;
 						origTopProject = null;
 						editTopProject = editBuff;
@@ -254,11 +325,17 @@ public class CFIntSaxLoaderTopProject
 			}
 
 			if( editTopProject != null ) {
+				final ICFIntTopProjectEditObj pendingTopProject = editTopProject;
+				CFIntSaxValueRow valueRow = new CFIntSaxValueRow( "TopProject", naturalKey, origTopProject,
+					natName,
+					natDescription,
+					refParentSDom,
+					refTenant );
 				if( origTopProject != null ) {
-					editTopProject.update();
+					saxLoader.applyUpdate( "TopProject", naturalKey, pendingTopProject, valueRow, this, CFIntSaxLoader.estimateAttrBytes( attrs ) );
 				}
 				else {
-					origTopProject = (ICFIntTopProjectObj)editTopProject.create();
+					origTopProject = (ICFIntTopProjectObj)saxLoader.applyCreate( "TopProject", naturalKey, pendingTopProject, valueRow, this, CFIntSaxLoader.estimateAttrBytes( attrs ) );
 				}
 				editTopProject = null;
 			}
@@ -274,6 +351,29 @@ public class CFIntSaxLoaderTopProject
 		}
 	}
 
+	// Build an edit object from a captured value row and write it.  This
+	// may run on a write pipeline thread, so it reads only the value row.
+
+	public Object writeRow( CFIntSaxValueRow row ) {
+		ICFIntSchemaObj schemaObj = ( (CFIntSaxLoader)getParser() ).getSchemaObj();
+		ICFIntTopProjectObj origTopProject = (ICFIntTopProjectObj)row.getExisting();
+		ICFIntTopProjectEditObj editTopProject;
+		if( origTopProject != null ) {
+			editTopProject = (ICFIntTopProjectEditObj)origTopProject.beginEdit();
+			editTopProject.setRequiredName( (String)row.getValue( COL_Name ) );
+			editTopProject.setOptionalDescription( (String)row.getValue( COL_Description ) );
+			editTopProject.update();
+			return( origTopProject );
+		}
+		origTopProject = (ICFIntTopProjectObj)schemaObj.getTopProjectTableObj().newInstance();
+		editTopProject = (ICFIntTopProjectEditObj)origTopProject.beginEdit();
+		editTopProject.setRequiredName( (String)row.getValue( COL_Name ) );
+		editTopProject.setOptionalDescription( (String)row.getValue( COL_Description ) );
+		editTopProject.setRequiredContainerParentSDom( (ICFIntTopDomainObj)row.getValue( COL_ContainerParentSDom ) );
+		editTopProject.setRequiredOwnerTenant( (ICFIntTenantObj)row.getValue( COL_OwnerTenant ) );
+		return( editTopProject.create() );
+	}
+
 	public void endElement(
 		String		uri,
 		String		localName,
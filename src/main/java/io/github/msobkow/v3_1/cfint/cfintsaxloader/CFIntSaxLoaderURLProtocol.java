@@ -57,9 +57,32 @@ import io.github.msobkow.v3_1.cfint.cfintobj.*;
  */
 public class CFIntSaxLoaderURLProtocol
 	extends CFLibXmlCoreElementHandler
+	implements ICFIntSaxRowWriter
 {
+	// Attribute slots
+
+	protected final static int ATTR_Id = 0;
+	protected final static int ATTR_Name = 1;
+	protected final static int ATTR_Description = 2;
+	protected final static int ATTR_IsSecure = 3;
+	protected final static int ATTR_schemaLocation = 4;
+
+	protected final static CFIntSaxAttrSlots attrSlots = new CFIntSaxAttrSlots(
+		"Id",
+		"Name",
+		"Description",
+		"IsSecure",
+		"schemaLocation" );
+
+	// Value row columns
+
+	protected final static int COL_Name = 0;
+	protected final static int COL_Description = 1;
+	protected final static int COL_IsSecure = 2;
+
 	public CFIntSaxLoaderURLProtocol( CFIntSaxLoader saxLoader ) {
 		super( saxLoader );
+		saxLoader.declareElementKey( "URLProtocol", "Name" );
 	}
 
 	public void startElement(
@@ -103,58 +126,93 @@ public class CFIntSaxLoaderURLProtocol
 					"getParser().getSchemaObj()" );
 			}
 
+			// Insert behaviour never changes an existing row, so look for it
+			// by the raw key attributes before building an edit buffer
+
+			CFIntSaxLoader.LoaderBehaviourEnum loaderBehaviour = saxLoader.effectiveBehaviour( saxLoader.getURLProtocolLoaderBehaviour() );
+			boolean probedURLProtocol = false;
+			if( loaderBehaviour == CFIntSaxLoader.LoaderBehaviourEnum.Insert ) {
+				final String keyName = attrs.getValue( "Name" );
+				if( ( keyName != null ) ) {
+					ICFIntURLProtocolObj existingURLProtocol = (ICFIntURLProtocolObj)saxLoader.readExisting( "URLProtocol", "UNameIdx", CFIntSaxLoader.naturalKey( keyName ),
+						() -> schemaObj.getURLProtocolTableObj().readURLProtocolByUNameIdx( keyName ) );
+					if( existingURLProtocol != null ) {
+						CFLibXmlCoreContext curContext = getParser().getCurContext();
+						if( saxLoader.isLeanContext() ) {
+							saxLoader.saveContextAttrs( curContext, "URLProtocol", attrs );
+						}
+						else {
+							curContext.putNamedValue( "Id", attrs.getValue( "Id" ) );
+							curContext.putNamedValue( "Name", attrs.getValue( "Name" ) );
+							curContext.putNamedValue( "Description", attrs.getValue( "Description" ) );
+							curContext.putNamedValue( "IsSecure", attrs.getValue( "IsSecure" ) );
+						}
+						curContext.putNamedValue( "Object", existingURLProtocol );
+						return;
+					}
+					probedURLProtocol = true;
+				}
+			}
+
 			// Instantiate an edit buffer for the parsed information
-			origBuff = (ICFIntURLProtocolObj)schemaObj.getURLProtocolTableObj().newInstance();
-			editBuff = (ICFIntURLProtocolEditObj)origBuff.beginEdit();
+			saxLoader.getSchemaLock().lock();
+			try {
+				origBuff = (ICFIntURLProtocolObj)schemaObj.getURLProtocolTableObj().newInstance();
+				editBuff = (ICFIntURLProtocolEditObj)origBuff.beginEdit();
+			}
+			finally {
+				saxLoader.getSchemaLock().unlock();
+			}
 
 			// Extract Attributes
 			numAttrs = attrs.getLength();
 			for( idxAttr = 0; idxAttr < numAttrs; idxAttr++ ) {
 				attrLocalName = attrs.getLocalName( idxAttr );
-				if( attrLocalName.equals( "Id" ) ) {
-					if( attrId != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
-							S_ProcName,
-							S_LocalName,
-							attrLocalName );
-					}
-					attrId = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "Name" ) ) {
-					if( attrName != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
-							S_ProcName,
-							S_LocalName,
-							attrLocalName );
-					}
-					attrName = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "Description" ) ) {
-					if( attrDescription != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
-							S_ProcName,
-							S_LocalName,
-							attrLocalName );
-					}
-					attrDescription = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "IsSecure" ) ) {
-					if( attrIsSecure != null ) {
-						throw new CFLibUniqueIndexViolationException( getClass(),
+				switch( attrSlots.slotOf( attrLocalName ) ) {
+					case ATTR_Id:
+						if( attrId != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrId = attrs.getValue( idxAttr );
+						break;
+					case ATTR_Name:
+						if( attrName != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrName = attrs.getValue( idxAttr );
+						break;
+					case ATTR_Description:
+						if( attrDescription != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrDescription = attrs.getValue( idxAttr );
+						break;
+					case ATTR_IsSecure:
+						if( attrIsSecure != null ) {
+							throw new CFLibUniqueIndexViolationException( getClass(),
+								S_ProcName,
+								S_LocalName,
+								attrLocalName );
+						}
+						attrIsSecure = attrs.getValue( idxAttr );
+						break;
+					case ATTR_schemaLocation:
+						// ignored
+						break;
+					default:
+						throw new CFLibUnrecognizedAttributeException( getClass(),
 							S_ProcName,
-							S_LocalName,
+							getParser().getLocationInfo(),
 							attrLocalName );
-					}
-					attrIsSecure = attrs.getValue( idxAttr );
-				}
-				else if( attrLocalName.equals( "schemaLocation" ) ) {
-					// ignored
-				}
-				else {
-					throw new CFLibUnrecognizedAttributeException( getClass(),
-						S_ProcName,
-						getParser().getLocationInfo(),
-						attrLocalName );
 				}
 			}
 
@@ -178,12 +236,18 @@ public class CFIntSaxLoaderURLProtocol
 					"IsSecure" );
 			}
 
-			// Save named attributes to context
+			// Save named attributes to context, or in lean context mode only
+			// the ones registered for the element
 			CFLibXmlCoreContext curContext = getParser().getCurContext();
-			curContext.putNamedValue( "Id", attrId );
-			curContext.putNamedValue( "Name", attrName );
-			curContext.putNamedValue( "Description", attrDescription );
-			curContext.putNamedValue( "IsSecure", attrIsSecure );
+			if( saxLoader.isLeanContext() ) {
+				saxLoader.saveContextAttrs( curContext, "URLProtocol", attrs );
+			}
+			else {
+				curContext.putNamedValue( "Id", attrId );
+				curContext.putNamedValue( "Name", attrName );
+				curContext.putNamedValue( "Description", attrDescription );
+				curContext.putNamedValue( "IsSecure", attrIsSecure );
+			}
 
 			// Convert string attributes to native Java types
 			// and apply the converted attributes to the editBuff.
@@ -219,17 +283,16 @@ public class CFIntSaxLoaderURLProtocol
 			// Get the scope/container object
 
 			CFLibXmlCoreContext parentContext = curContext.getPrevContext();
-			Object scopeObj;
-			if( parentContext != null ) {
-				scopeObj = parentContext.getNamedValue( "Object" );
-			}
-			else {
-				scopeObj = null;
-			}
+			Object scopeObj = saxLoader.resolveScopeObj( parentContext );
 
-			CFIntSaxLoader.LoaderBehaviourEnum loaderBehaviour = saxLoader.getURLProtocolLoaderBehaviour();
 			ICFIntURLProtocolEditObj editURLProtocol = null;
-			ICFIntURLProtocolObj origURLProtocol = (ICFIntURLProtocolObj)schemaObj.getURLProtocolTableObj().readURLProtocolByUNameIdx( editBuff.getRequiredName() );
+			final String keyName = editBuff.getRequiredName();
+			Object naturalKey = CFIntSaxLoader.naturalKey( keyName );
+			ICFIntURLProtocolObj origURLProtocol = null;
+			if( ! probedURLProtocol ) {
+				origURLProtocol = (ICFIntURLProtocolObj)saxLoader.readExisting( "URLProtocol", "UNameIdx", naturalKey,
+					() -> schemaObj.getURLProtocolTableObj().readURLProtocolByUNameIdx( keyName ) );
+			}
 			if( origURLProtocol == null ) {
 				editURLProtocol = editBuff;
 			}
@@ -238,14 +301,22 @@ public class CFIntSaxLoaderURLProtocol
 					case Insert:
 						break;
 					case Update:
-						editURLProtocol = (ICFIntURLProtocolEditObj)origURLProtocol.beginEdit();
-						editURLProtocol.setRequiredName( editBuff.getRequiredName() );
-						editURLProtocol.setRequiredDescription( editBuff.getRequiredDescription() );
-						editURLProtocol.setRequiredIsSecure( editBuff.getRequiredIsSecure() );
+					case Upsert:
+						if( ( loaderBehaviour == CFIntSaxLoader.LoaderBehaviourEnum.Update )
+							&& saxLoader.isSkipUnchangedUpdates()
+							&& Objects.equals( origURLProtocol.getRequiredName(), editBuff.getRequiredName() )
+							&& Objects.equals( origURLProtocol.getRequiredDescription(), editBuff.getRequiredDescription() )
+							&& Objects.equals( origURLProtocol.getRequiredIsSecure(), editBuff.getRequiredIsSecure() ) )
+						{
+							saxLoader.countUnchangedUpdate( "URLProtocol" );
+						}
+						else {
+							editURLProtocol = editBuff;
+						}
 						break;
 					case Replace:
-						editURLProtocol = (ICFIntURLProtocolEditObj)origURLProtocol.beginEdit();
-						editURLProtocol.deleteInstance();
+						final ICFIntURLProtocolObj deleteURLProtocol = origURLProtocol;
+						saxLoader.applyDelete( "URLProtocol", naturalKey, () -> ( (ICFIntURLProtocolEditObj)deleteURLProtocol.beginEdit() ).deleteInstance() );
 						editURLProtocol = null;
 						origURLProtocol = null;
 						editURLProtocol = editBuff;
@@ -254,11 +325,16 @@ public class CFIntSaxLoaderURLProtocol
 			}
 
 			if( editURLProtocol != null ) {
+				final ICFIntURLProtocolEditObj pendingURLProtocol = editURLProtocol;
+				CFIntSaxValueRow valueRow = new CFIntSaxValueRow( "URLProtocol", naturalKey, origURLProtocol,
+					natName,
+					natDescription,
+					natIsSecure );
 				if( origURLProtocol != null ) {
-					editURLProtocol.update();
+					saxLoader.applyUpdate( "URLProtocol", naturalKey, pendingURLProtocol, valueRow, this, CFIntSaxLoader.estimateAttrBytes( attrs ) );
 				}
 				else {
-					origURLProtocol = (ICFIntURLProtocolObj)editURLProtocol.create();
+					origURLProtocol = (ICFIntURLProtocolObj)saxLoader.applyCreate( "URLProtocol", naturalKey, pendingURLProtocol, valueRow, this, CFIntSaxLoader.estimateAttrBytes( attrs ) );
 				}
 				editURLProtocol = null;
 			}
@@ -274,6 +350,29 @@ public class CFIntSaxLoaderURLProtocol
 		}
 	}
 
+	// Build an edit object from a captured value row and write it.  This
+	// may run on a write pipeline thread, so it reads only the value row.
+
+	public Object writeRow( CFIntSaxValueRow row ) {
+		ICFIntSchemaObj schemaObj = ( (CFIntSaxLoader)getParser() ).getSchemaObj();
+		ICFIntURLProtocolObj origURLProtocol = (ICFIntURLProtocolObj)row.getExisting();
+		ICFIntURLProtocolEditObj editURLProtocol;
+		if( origURLProtocol != null ) {
+			editURLProtocol = (ICFIntURLProtocolEditObj)origURLProtocol.beginEdit();
+			editURLProtocol.setRequiredName( (String)row.getValue( COL_Name ) );
+			editURLProtocol.setRequiredDescription( (String)row.getValue( COL_Description ) );
+			editURLProtocol.setRequiredIsSecure( (Boolean)row.getValue( COL_IsSecure ) );
+			editURLProtocol.update();
+			return( origURLProtocol );
+		}
+		origURLProtocol = (ICFIntURLProtocolObj)schemaObj.getURLProtocolTableObj().newInstance();
+		editURLProtocol = (ICFIntURLProtocolEditObj)origURLProtocol.beginEdit();
+		editURLProtocol.setRequiredName( (String)row.getValue( COL_Name ) );
+		editURLProtocol.setRequiredDescription( (String)row.getValue( COL_Description ) );
+		editURLProtocol.setRequiredIsSecure( (Boolean)row.getValue( COL_IsSecure ) );
+		return( editURLProtocol.create() );
+	}
+
 	public void endElement(
 		String		uri,
 		String		localName,
@@ -0,0 +1,179 @@
+// Description: Java 25 XML SAX Parser for CFInt.
+
+/*
+ *	io.github.msobkow.CFInt
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *	
+ *	Mark's Code Fractal 3.1 CFInt - Internet Essentials
+ *	
+ *	This file is part of Mark's Code Fractal CFInt.
+ *	
+ *	Mark's Code Fractal CFInt is available under dual commercial license from
+ *	Mark Stephen Sobkow, or under the terms of the GNU Library General Public License,
+ *	Version 3 or later.
+ *	
+ *	Mark's Code Fractal CFInt is free software: you can redistribute it and/or
+ *	modify it under the terms of the GNU Library General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *	
+ *	Mark's Code Fractal CFInt is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *	
+ *	You should have received a copy of the GNU Library General Public License
+ *	along with Mark's Code Fractal CFInt.  If not, see <https://www.gnu.org/licenses/>.
+ *	
+ *	If you wish to modify and use this code without publishing your changes in order to
+ *	tie it to proprietary code, please contact Mark Stephen Sobkow
+ *	for a commercial license at mark.sobkow@gmail.com
+ *	
+ */
+package io.github.msobkow.v3_1.cfint.cfintsaxloader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import io.github.msobkow.v3_1.cflib.*;
+
+/*
+ *	CFIntSaxMappedInputStream reads a local file through read-only memory
+ *	mapped segments, so a document already in the page cache is copied
+ *	once, straight into the parser's buffer.  Only one segment is mapped
+ *	at a time, which keeps address space use bounded for files larger
+ *	than the segment size.  mark() and reset() are supported at any
+ *	distance.
+ */
+public class CFIntSaxMappedInputStream
+	extends InputStream
+{
+	public final static long DEFAULT_SEGMENT_SIZE = 256L * 1024L * 1024L;
+
+	private final FileChannel channel;
+	private final long size;
+	private final long segmentSize;
+	private MappedByteBuffer segment = null;
+	private long segmentStart = 0L;
+	private long position = 0L;
+	private long markPosition = 0L;
+
+	public CFIntSaxMappedInputStream( Path path )
+	throws IOException
+	{
+		this( path, DEFAULT_SEGMENT_SIZE );
+	}
+
+	public CFIntSaxMappedInputStream( Path path, long segmentSize )
+	throws IOException
+	{
+		final String S_ProcName = "construct";
+		if( path == null ) {
+			throw new CFLibNullArgumentException( getClass(),
+				S_ProcName,
+				1,
+				"path" );
+		}
+		if( ( segmentSize < 1L ) || ( segmentSize > Integer.MAX_VALUE ) ) {
+			throw new CFLibUsageException( getClass(),
+				S_ProcName,
+				"Segment size must be between 1 and " + Integer.MAX_VALUE,
+				"Segment size must be between 1 and " + Integer.MAX_VALUE );
+		}
+		this.channel = FileChannel.open( path, StandardOpenOption.READ );
+		this.size = channel.size();
+		this.segmentSize = segmentSize;
+	}
+
+	public long getSize() {
+		return( size );
+	}
+
+	public long getPosition() {
+		return( position );
+	}
+
+	// Map the segment holding the current position
+
+	protected boolean mapSegment()
+	throws IOException
+	{
+		if( position >= size ) {
+			return( false );
+		}
+		if( ( segment == null ) || ( position < segmentStart ) || ( position >= segmentStart + segment.capacity() ) ) {
+			segmentStart = ( position / segmentSize ) * segmentSize;
+			segment = channel.map( FileChannel.MapMode.READ_ONLY,
+				segmentStart,
+				Math.min( segmentSize, size - segmentStart ) );
+		}
+		segment.position( (int)( position - segmentStart ) );
+		return( true );
+	}
+
+	@Override
+	public int read()
+	throws IOException
+	{
+		if( ! mapSegment() ) {
+			return( -1 );
+		}
+		position++;
+		return( segment.get() & 0xff );
+	}
+
+	@Override
+	public int read( byte[] buff, int off, int len )
+	throws IOException
+	{
+		if( len == 0 ) {
+			return( 0 );
+		}
+		if( ! mapSegment() ) {
+			return( -1 );
+		}
+		int count = Math.min( len, segment.remaining() );
+		segment.get( buff, off, count );
+		position += count;
+		return( count );
+	}
+
+	@Override
+	public long skip( long n ) {
+		long skipped = Math.max( 0L, Math.min( n, size - position ) );
+		position += skipped;
+		return( skipped );
+	}
+
+	@Override
+	public int available() {
+		return( (int)Math.min( Integer.MAX_VALUE, size - position ) );
+	}
+
+	@Override
+	public boolean markSupported() {
+		return( true );
+	}
+
+	@Override
+	public void mark( int readLimit ) {
+		markPosition = position;
+	}
+
+	@Override
+	public void reset() {
+		position = markPosition;
+	}
+
+	@Override
+	public void close()
+	throws IOException
+	{
+		segment = null;
+		channel.close();
+	}
+}
@@ -0,0 +1,183 @@
+// Description: Java 25 XML SAX Loader pending row for CFInt.
+
+/*
+ *	io.github.msobkow.CFInt
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *	
+ *	Mark's Code Fractal 3.1 CFInt - Internet Essentials
+ *	
+ *	This file is part of Mark's Code Fractal CFInt.
+ *	
+ *	Mark's Code Fractal CFInt is available under dual commercial license from
+ *	Mark Stephen Sobkow, or under the terms of the GNU Library General Public License,
+ *	Version 3 or later.
+ *	
+ *	Mark's Code Fractal CFInt is free software: you can redistribute it and/or
+ *	modify it under the terms of the GNU Library General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *	
+ *	Mark's Code Fractal CFInt is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *	
+ *	You should have received a copy of the GNU Library General Public License
+ *	along with Mark's Code Fractal CFInt.  If not, see <https://www.gnu.org/licenses/>.
+ *	
+ *	If you wish to modify and use this code without publishing your changes in order to
+ *	tie it to proprietary code, please contact Mark Stephen Sobkow
+ *	for a commercial license at mark.sobkow@gmail.com
+ *	
+ */
+
+package io.github.msobkow.v3_1.cfint.cfintsaxloader;
+
+import java.util.concurrent.CountDownLatch;
+
+/*
+ *	CFIntSaxPendingRow is a create or update issued by an element handler
+ *	whose write has been deferred by the CFIntSaxLoader write batch or
+ *	handed to the write pipeline.  The handler's edit object stands in
+ *	for the row on the parse thread until the write is applied, after
+ *	which getResult() returns the persisted object.  The write itself only
+ *	reads the immutable CFIntSaxValueRow; the row writer builds its own
+ *	edit object from it, so the edit object never leaves the parse thread.
+ */
+public class CFIntSaxPendingRow
+{
+	public enum WriteKindEnum {
+		Create,
+		Update
+	};
+
+	private final String tableName;
+	private final Object naturalKey;
+	private final Object editObj;
+	private final WriteKindEnum writeKind;
+	private final CFIntSaxValueRow valueRow;
+	private final ICFIntSaxRowWriter rowWriter;
+	private final long rowBytes;
+	private final CountDownLatch completion = new CountDownLatch( 1 );
+	private volatile boolean applied = false;
+	private volatile Object result = null;
+	private volatile RuntimeException failure = null;
+
+	public CFIntSaxPendingRow( String tableName,
+		Object naturalKey,
+		Object editObj,
+		WriteKindEnum writeKind,
+		CFIntSaxValueRow valueRow,
+		ICFIntSaxRowWriter rowWriter,
+		long rowBytes )
+	{
+		this.tableName = tableName;
+		this.naturalKey = naturalKey;
+		this.editObj = editObj;
+		this.writeKind = writeKind;
+		this.valueRow = valueRow;
+		this.rowWriter = rowWriter;
+		this.rowBytes = rowBytes;
+	}
+
+	public String getTableName() {
+		return( tableName );
+	}
+
+	public Object getNaturalKey() {
+		return( naturalKey );
+	}
+
+	public Object getEditObj() {
+		return( editObj );
+	}
+
+	public WriteKindEnum getWriteKind() {
+		return( writeKind );
+	}
+
+	public CFIntSaxValueRow getValueRow() {
+		return( valueRow );
+	}
+
+	public ICFIntSaxRowWriter getRowWriter() {
+		return( rowWriter );
+	}
+
+	public long getRowBytes() {
+		return( rowBytes );
+	}
+
+	public boolean isApplied() {
+		return( applied );
+	}
+
+	public boolean isDone() {
+		return( completion.getCount() == 0 );
+	}
+
+	public Object getResult() {
+		return( result );
+	}
+
+	public RuntimeException getFailure() {
+		return( failure );
+	}
+
+	// Apply the deferred write; the persisted object becomes the result
+
+	public synchronized Object apply() {
+		if( ! isDone() ) {
+			CFIntSaxSchemaCallEvent callEvent = new CFIntSaxSchemaCallEvent();
+			callEvent.begin();
+			try {
+				complete( rowWriter.writeRow( valueRow ) );
+			}
+			catch( RuntimeException e ) {
+				fail( e );
+				throw e;
+			}
+			finally {
+				callEvent.finish( tableName, null, writeKind.name(), true );
+			}
+		}
+		return( result );
+	}
+
+	// Record the outcome of a write applied by a backing store override
+
+	public synchronized void complete( Object value ) {
+		if( ! isDone() ) {
+			result = value;
+			applied = true;
+			completion.countDown();
+		}
+	}
+
+	public synchronized void fail( RuntimeException e ) {
+		if( ! isDone() ) {
+			failure = e;
+			completion.countDown();
+		}
+	}
+
+	// Wait for a pipelined write to finish, rethrowing its failure
+
+	public Object awaitResult() {
+		final String S_ProcName = "awaitResult";
+		try {
+			completion.await();
+		}
+		catch( InterruptedException e ) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException( S_ProcName + "() ERROR: Interrupted waiting for " + tableName + " row " + naturalKey,
+				e );
+		}
+		if( failure != null ) {
+			throw new RuntimeException( S_ProcName + "() ERROR: Write of " + tableName + " row " + naturalKey + " failed: " + failure.getMessage(),
+				failure );
+		}
+		return( result );
+	}
+}
@@ -0,0 +1,143 @@
+// Description: Java 25 XML SAX Parser for CFInt.
+
+/*
+ *	io.github.msobkow.CFInt
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *	
+ *	Mark's Code Fractal 3.1 CFInt - Internet Essentials
+ *	
+ *	This file is part of Mark's Code Fractal CFInt.
+ *	
+ *	Mark's Code Fractal CFInt is available under dual commercial license from
+ *	Mark Stephen Sobkow, or under the terms of the GNU Library General Public License,
+ *	Version 3 or later.
+ *	
+ *	Mark's Code Fractal CFInt is free software: you can redistribute it and/or
+ *	modify it under the terms of the GNU Library General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *	
+ *	Mark's Code Fractal CFInt is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *	
+ *	You should have received a copy of the GNU Library General Public License
+ *	along with Mark's Code Fractal CFInt.  If not, see <https://www.gnu.org/licenses/>.
+ *	
+ *	If you wish to modify and use this code without publishing your changes in order to
+ *	tie it to proprietary code, please contact Mark Stephen Sobkow
+ *	for a commercial license at mark.sobkow@gmail.com
+ *	
+ */
+package io.github.msobkow.v3_1.cfint.cfintsaxloader;
+
+import java.io.IOException;
+import java.util.*;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParserFactory;
+import org.xml.sax.*;
+import org.xml.sax.helpers.DefaultHandler;
+import io.github.msobkow.v3_1.cflib.*;
+
+/*
+ *	CFIntSaxPreScan makes a quick, non-validating first pass over a
+ *	document to collect the natural keys of the rows it will load into
+ *	the tables whose unique index is a single unscoped attribute.  The
+ *	loader fetches the existing rows for those keys in bulk before the
+ *	real pass, instead of reading them one element at a time.
+ */
+public class CFIntSaxPreScan
+	extends DefaultHandler
+{
+	// Element name and key attribute name of each pre-scannable table
+
+	public final static Map<String,String> KEY_ATTRS;
+	static {
+		Map<String,String> keyAttrs = new LinkedHashMap<String,String>();
+		keyAttrs.put( "ISOCcy", "ISOCode" );
+		keyAttrs.put( "ISOCtry", "ISOCode" );
+		keyAttrs.put( "ISOLang", "ISO6392Code" );
+		keyAttrs.put( "ISOTZone", "TZName" );
+		keyAttrs.put( "MimeType", "Name" );
+		keyAttrs.put( "SecUser", "LoginId" );
+		keyAttrs.put( "ServiceType", "Description" );
+		keyAttrs.put( "Tld", "Name" );
+		keyAttrs.put( "URLProtocol", "Name" );
+		KEY_ATTRS = Collections.unmodifiableMap( keyAttrs );
+	}
+
+	private final Map<String,Set<String>> keysByTable = new LinkedHashMap<String,Set<String>>();
+
+	public CFIntSaxPreScan() {
+	}
+
+	// Scan a document, returning the key values seen per table
+
+	public Map<String,Set<String>> scan( String url ) {
+		return( scan( new InputSource( url ) ) );
+	}
+
+	public Map<String,Set<String>> scan( InputSource source ) {
+		final String S_ProcName = "scan";
+		String url = source.getSystemId();
+		keysByTable.clear();
+		try {
+			SAXParserFactory factory = SAXParserFactory.newInstance();
+			factory.setNamespaceAware( false );
+			factory.setValidating( false );
+			XMLReader reader = factory.newSAXParser().getXMLReader();
+			reader.setContentHandler( this );
+			reader.setErrorHandler( this );
+			reader.parse( source );
+		}
+		catch( ParserConfigurationException e ) {
+			throw new RuntimeException( S_ProcName + "() ERROR: Configuring pre-scan parser: " + e.getMessage(),
+				e );
+		}
+		catch( SAXException e ) {
+			throw new RuntimeException( S_ProcName + "() ERROR: Pre-scanning " + url + ": " + e.getMessage(),
+				e );
+		}
+		catch( IOException e ) {
+			throw new RuntimeException( S_ProcName + "() ERROR: Reading " + url + ": " + e.getMessage(),
+				e );
+		}
+		return( keysByTable );
+	}
+
+	public Map<String,Set<String>> getKeysByTable() {
+		return( keysByTable );
+	}
+
+	public void startElement(
+		String		uri,
+		String		localName,
+		String		qName,
+		Attributes	attrs )
+	throws SAXException
+	{
+		String tableName = ( ( localName != null ) && ( localName.length() > 0 ) ) ? localName : qName;
+		String keyAttr = KEY_ATTRS.get( tableName );
+		if( keyAttr == null ) {
+			return;
+		}
+		String keyValue = attrs.getValue( keyAttr );
+		if( ( keyValue == null ) || ( keyValue.length() <= 0 ) ) {
+			return;
+		}
+		Set<String> keys = keysByTable.get( tableName );
+		if( keys == null ) {
+			keys = new HashSet<String>();
+			keysByTable.put( tableName, keys );
+		}
+		keys.add( keyValue );
+	}
+
+	public void fatalError( SAXParseException e )
+	throws SAXException
+	{
+		throw e;
+	}
+}
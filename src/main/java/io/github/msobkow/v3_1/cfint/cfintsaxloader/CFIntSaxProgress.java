@@ -0,0 +1,164 @@
+// Description: Java 25 XML SAX Parser for CFInt.
+
+/*
+ *	io.github.msobkow.CFInt
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *	
+ *	Mark's Code Fractal 3.1 CFInt - Internet Essentials
+ *	
+ *	This file is part of Mark's Code Fractal CFInt.
+ *	
+ *	Mark's Code Fractal CFInt is available under dual commercial license from
+ *	Mark Stephen Sobkow, or under the terms of the GNU Library General Public License,
+ *	Version 3 or later.
+ *	
+ *	Mark's Code Fractal CFInt is free software: you can redistribute it and/or
+ *	modify it under the terms of the GNU Library General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *	
+ *	Mark's Code Fractal CFInt is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *	
+ *	You should have received a copy of the GNU Library General Public License
+ *	along with Mark's Code Fractal CFInt.  If not, see <https://www.gnu.org/licenses/>.
+ *	
+ *	If you wish to modify and use this code without publishing your changes in order to
+ *	tie it to proprietary code, please contact Mark Stephen Sobkow
+ *	for a commercial license at mark.sobkow@gmail.com
+ *	
+ */
+package io.github.msobkow.v3_1.cfint.cfintsaxloader;
+
+import java.util.*;
+
+/*
+ *	CFIntSaxProgress is a snapshot of a load in progress.  Byte counts
+ *	are those consumed from the underlying stream; the total size is -1
+ *	when it is not known, and so is the estimated time remaining.  The
+ *	element rate is measured since the previous snapshot.
+ */
+public class CFIntSaxProgress
+{
+	private final long bytesRead;
+	private final long totalBytes;
+	private final long elapsedMillis;
+	private final long elementCount;
+	private final double elementsPerSecond;
+	private final Map<String,Long> elementCounts;
+	private final boolean finished;
+
+	public CFIntSaxProgress( long bytesRead,
+		long totalBytes,
+		long elapsedMillis,
+		long elementCount,
+		double elementsPerSecond,
+		Map<String,Long> elementCounts,
+		boolean finished )
+	{
+		this.bytesRead = bytesRead;
+		this.totalBytes = totalBytes;
+		this.elapsedMillis = elapsedMillis;
+		this.elementCount = elementCount;
+		this.elementsPerSecond = elementsPerSecond;
+		this.elementCounts = Collections.unmodifiableMap( new TreeMap<String,Long>( elementCounts ) );
+		this.finished = finished;
+	}
+
+	public long getBytesRead() {
+		return( bytesRead );
+	}
+
+	public long getTotalBytes() {
+		return( totalBytes );
+	}
+
+	public long getElapsedMillis() {
+		return( elapsedMillis );
+	}
+
+	public long getElementCount() {
+		return( elementCount );
+	}
+
+	public double getElementsPerSecond() {
+		return( elementsPerSecond );
+	}
+
+	public Map<String,Long> getElementCounts() {
+		return( elementCounts );
+	}
+
+	public boolean isFinished() {
+		return( finished );
+	}
+
+	// Fraction of the total consumed, or -1 if the total is unknown
+
+	public double getFractionDone() {
+		if( totalBytes <= 0L ) {
+			return( -1.0 );
+		}
+		return( Math.min( 1.0, (double)bytesRead / (double)totalBytes ) );
+	}
+
+	public double getBytesPerSecond() {
+		if( elapsedMillis <= 0L ) {
+			return( 0.0 );
+		}
+		return( bytesRead * 1000.0 / elapsedMillis );
+	}
+
+	// Estimated time remaining at the average byte rate so far
+
+	public long getEtaMillis() {
+		if( finished ) {
+			return( 0L );
+		}
+		if( ( totalBytes <= 0L ) || ( bytesRead <= 0L ) ) {
+			return( -1L );
+		}
+		return( (long)( (double)elapsedMillis * ( totalBytes - bytesRead ) / bytesRead ) );
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder buff = new StringBuilder();
+		buff.append( formatBytes( bytesRead ) );
+		if( totalBytes > 0L ) {
+			buff.append( " of " ).append( formatBytes( totalBytes ) )
+				.append( String.format( " (%.1f%%)", 100.0 * getFractionDone() ) );
+		}
+		buff.append( ", " ).append( elementCount ).append( " elements" )
+			.append( String.format( ", %.0f elements/s", elementsPerSecond ) )
+			.append( ", elapsed " ).append( formatMillis( elapsedMillis ) );
+		if( finished ) {
+			buff.append( ", done" );
+		}
+		else if( getEtaMillis() >= 0L ) {
+			buff.append( ", ETA " ).append( formatMillis( getEtaMillis() ) );
+		}
+		return( buff.toString() );
+	}
+
+	public static String formatBytes( long bytes ) {
+		if( bytes < 1024L ) {
+			return( bytes + " B" );
+		}
+		else if( bytes < 1024L * 1024L ) {
+			return( String.format( "%.1f KiB", bytes / 1024.0 ) );
+		}
+		else if( bytes < 1024L * 1024L * 1024L ) {
+			return( String.format( "%.1f MiB", bytes / ( 1024.0 * 1024.0 ) ) );
+		}
+		return( String.format( "%.2f GiB", bytes / ( 1024.0 * 1024.0 * 1024.0 ) ) );
+	}
+
+	public static String formatMillis( long millis ) {
+		long seconds = millis / 1000L;
+		return( String.format( "%d:%02d:%02d", seconds / 3600L, ( seconds / 60L ) % 60L, seconds % 60L ) );
+	}
+}
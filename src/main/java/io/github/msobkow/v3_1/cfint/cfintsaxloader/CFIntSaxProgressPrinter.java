@@ -0,0 +1,69 @@
+// Description: Java 25 XML SAX Parser for CFInt.
+
+/*
+ *	io.github.msobkow.CFInt
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *	
+ *	Mark's Code Fractal 3.1 CFInt - Internet Essentials
+ *	
+ *	This file is part of Mark's Code Fractal CFInt.
+ *	
+ *	Mark's Code Fractal CFInt is available under dual commercial license from
+ *	Mark Stephen Sobkow, or under the terms of the GNU Library General Public License,
+ *	Version 3 or later.
+ *	
+ *	Mark's Code Fractal CFInt is free software: you can redistribute it and/or
+ *	modify it under the terms of the GNU Library General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *	
+ *	Mark's Code Fractal CFInt is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *	
+ *	You should have received a copy of the GNU Library General Public License
+ *	along with Mark's Code Fractal CFInt.  If not, see <https://www.gnu.org/licenses/>.
+ *	
+ *	If you wish to modify and use this code without publishing your changes in order to
+ *	tie it to proprietary code, please contact Mark Stephen Sobkow
+ *	for a commercial license at mark.sobkow@gmail.com
+ *	
+ */
+package io.github.msobkow.v3_1.cfint.cfintsaxloader;
+
+import java.io.PrintStream;
+import java.util.*;
+import io.github.msobkow.v3_1.cflib.*;
+
+/*
+ *	CFIntSaxProgressPrinter prints one line per progress report, and the
+ *	element counts by type when the document is finished.
+ */
+public class CFIntSaxProgressPrinter
+	implements ICFIntSaxProgressListener
+{
+	private final PrintStream out;
+
+	public CFIntSaxProgressPrinter( PrintStream out ) {
+		final String S_ProcName = "construct";
+		if( out == null ) {
+			throw new CFLibNullArgumentException( getClass(),
+				S_ProcName,
+				1,
+				"out" );
+		}
+		this.out = out;
+	}
+
+	public void progress( CFIntSaxProgress progress ) {
+		out.println( "Progress: " + progress.toString() );
+		if( progress.isFinished() ) {
+			for( Map.Entry<String,Long> entry : progress.getElementCounts().entrySet() ) {
+				out.println( "    " + entry.getKey() + ": " + entry.getValue() );
+			}
+		}
+		out.flush();
+	}
+}
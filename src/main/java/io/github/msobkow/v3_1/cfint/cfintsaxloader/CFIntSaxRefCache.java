@@ -0,0 +1,149 @@
+// Description: Java 25 XML SAX Parser for CFInt.
+
+/*
+ *	io.github.msobkow.CFInt
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *	
+ *	Mark's Code Fractal 3.1 CFInt - Internet Essentials
+ *	
+ *	This file is part of Mark's Code Fractal CFInt.
+ *	
+ *	Mark's Code Fractal CFInt is available under dual commercial license from
+ *	Mark Stephen Sobkow, or under the terms of the GNU Library General Public License,
+ *	Version 3 or later.
+ *	
+ *	Mark's Code Fractal CFInt is free software: you can redistribute it and/or
+ *	modify it under the terms of the GNU Library General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *	
+ *	Mark's Code Fractal CFInt is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *	
+ *	You should have received a copy of the GNU Library General Public License
+ *	along with Mark's Code Fractal CFInt.  If not, see <https://www.gnu.org/licenses/>.
+ *	
+ *	If you wish to modify and use this code without publishing your changes in order to
+ *	tie it to proprietary code, please contact Mark Stephen Sobkow
+ *	for a commercial license at mark.sobkow@gmail.com
+ *	
+ */
+package io.github.msobkow.v3_1.cfint.cfintsaxloader;
+
+import java.util.*;
+import java.util.function.Supplier;
+import io.github.msobkow.v3_1.cflib.*;
+
+/*
+ *	CFIntSaxRefCache remembers the rows the element handlers resolved by
+ *	natural key, including the keys that did not resolve to any row, so
+ *	that a reference named by thousands of elements is read only once.
+ *	The cache is bounded and evicts the least recently used entry.  All
+ *	access is synchronized so one cache may be shared between loaders.
+ */
+public class CFIntSaxRefCache
+{
+	public final static int DEFAULT_MAX_ENTRIES = 10000;
+
+	private final static Object NULL_ROW = new Object();
+
+	private int maxEntries = DEFAULT_MAX_ENTRIES;
+	private long hits = 0L;
+	private long misses = 0L;
+	private final LinkedHashMap<List<Object>,Object> entries = new LinkedHashMap<List<Object>,Object>( 1024, 0.75f, true ) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry( Map.Entry<List<Object>,Object> eldest ) {
+			return( size() > maxEntries );
+		}
+	};
+
+	public CFIntSaxRefCache() {
+	}
+
+	public CFIntSaxRefCache( int maxEntries ) {
+		setMaxEntries( maxEntries );
+	}
+
+	// Capacity
+
+	public synchronized int getMaxEntries() {
+		return( maxEntries );
+	}
+
+	public synchronized void setMaxEntries( int value ) {
+		final String S_ProcName = "setMaxEntries";
+		if( value < 1 ) {
+			throw new CFLibUsageException( getClass(),
+				S_ProcName,
+				"maxEntries must be at least 1, not " + value,
+				"maxEntries must be at least 1, not " + value );
+		}
+		maxEntries = value;
+		Iterator<List<Object>> iterKey = entries.keySet().iterator();
+		while( ( entries.size() > maxEntries ) && iterKey.hasNext() ) {
+			iterKey.next();
+			iterKey.remove();
+		}
+	}
+
+	// Lookup
+
+	public Object read( String tableName, Object naturalKey, Supplier<Object> reader ) {
+		List<Object> cacheKey = Arrays.asList( tableName, naturalKey );
+		synchronized( this ) {
+			Object cached = entries.get( cacheKey );
+			if( cached != null ) {
+				hits++;
+				return( ( cached == NULL_ROW ) ? null : cached );
+			}
+			misses++;
+		}
+		Object row = reader.get();
+		put( tableName, naturalKey, row );
+		return( row );
+	}
+
+	public synchronized void put( String tableName, Object naturalKey, Object row ) {
+		entries.put( Arrays.asList( tableName, naturalKey ), ( row == null ) ? NULL_ROW : row );
+	}
+
+	// Invalidation
+
+	public synchronized void invalidate( String tableName, Object naturalKey ) {
+		entries.remove( Arrays.asList( tableName, naturalKey ) );
+	}
+
+	public synchronized void invalidateTable( String tableName ) {
+		Iterator<List<Object>> iterKey = entries.keySet().iterator();
+		while( iterKey.hasNext() ) {
+			if( tableName.equals( iterKey.next().get( 0 ) ) ) {
+				iterKey.remove();
+			}
+		}
+	}
+
+	public synchronized void clear() {
+		entries.clear();
+		hits = 0L;
+		misses = 0L;
+	}
+
+	// Statistics
+
+	public synchronized int size() {
+		return( entries.size() );
+	}
+
+	public synchronized long getHits() {
+		return( hits );
+	}
+
+	public synchronized long getMisses() {
+		return( misses );
+	}
+}
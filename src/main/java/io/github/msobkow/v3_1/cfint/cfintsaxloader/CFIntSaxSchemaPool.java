@@ -0,0 +1,227 @@
+// Description: Java 25 XML SAX Parser for CFInt.
+
+/*
+ *	io.github.msobkow.CFInt
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *	
+ *	Mark's Code Fractal 3.1 CFInt - Internet Essentials
+ *	
+ *	This file is part of Mark's Code Fractal CFInt.
+ *	
+ *	Mark's Code Fractal CFInt is available under dual commercial license from
+ *	Mark Stephen Sobkow, or under the terms of the GNU Library General Public License,
+ *	Version 3 or later.
+ *	
+ *	Mark's Code Fractal CFInt is free software: you can redistribute it and/or
+ *	modify it under the terms of the GNU Library General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *	
+ *	Mark's Code Fractal CFInt is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *	
+ *	You should have received a copy of the GNU Library General Public License
+ *	along with Mark's Code Fractal CFInt.  If not, see <https://www.gnu.org/licenses/>.
+ *	
+ *	If you wish to modify and use this code without publishing your changes in order to
+ *	tie it to proprietary code, please contact Mark Stephen Sobkow
+ *	for a commercial license at mark.sobkow@gmail.com
+ *	
+ */
+package io.github.msobkow.v3_1.cfint.cfintsaxloader;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.Source;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
+import org.w3c.dom.ls.DOMImplementationLS;
+import org.w3c.dom.ls.LSInput;
+import org.xml.sax.SAXException;
+
+/*
+ *	CFIntSaxSchemaPool compiles the CFSec and CFInt structured schemas
+ *	once per process and shares the compiled grammar with every loader.
+ *	A javax.xml.validation.Schema is immutable and thread safe, so any
+ *	number of concurrent loads may validate against it.
+ *
+ *	The schemas are read from the classpath copies under /xsd, falling
+ *	back to the installed copies, and repaired as they are read.  Their
+ *	import of the CFLib dbutil schema is written with an xs: prefix that
+ *	the schema element never binds, so the prefix is bound to the XML
+ *	Schema namespace.  They also name the dbutil key types without a
+ *	prefix, which places them in each schema's own namespace where the
+ *	import cannot supply them, so any of LIBRARY_TYPES a schema uses
+ *	without defining is defined in it.  The imported dbutil schema is
+ *	resolved the same way as the others, and stands in as an empty schema
+ *	when neither copy is present.
+ */
+public class CFIntSaxSchemaPool
+{
+	public final static String CFLIBDBUTIL_XMLNS = "http://server.markhome.mcf/mcf/xsd/v3_1/cflibdbutil-3.1.xsd";
+	public final static String CFLIBDBUTIL_URI = "/opt/msobkow/3.0.1/xsd/cflibdbutil-3.1.xsd";
+	public final static String CFLIBDBUTIL_ROOT_URI = "/xsd/cflibdbutil-3.1.xsd";
+
+	private final static Pattern SCHEMA_ELEMENT = Pattern.compile( "<(\\w+:)?schema\\b[^>]*>" );
+
+	// The dbutil types the structured schemas reference, as they are
+	// written by CFLibDbKeyHash256 and java.util.UUID
+
+	protected final static String[][] LIBRARY_TYPES = {
+		{ "DbKeyHash256", "<xsd:simpleType name=\"DbKeyHash256\"><xsd:restriction base=\"xsd:hexBinary\"><xsd:length value=\"32\"/></xsd:restriction></xsd:simpleType>" },
+		{ "Uuid6", "<xsd:simpleType name=\"Uuid6\"><xsd:restriction base=\"xsd:string\"><xsd:pattern value=\"[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}\"/></xsd:restriction></xsd:simpleType>" }
+	};
+
+	private static Schema schema = null;
+	private static RuntimeException failure = null;
+
+	private CFIntSaxSchemaPool() {
+	}
+
+	// The compiled schema, compiled by the first caller.  A failure to
+	// compile is remembered and rethrown to every later caller.
+
+	public static synchronized Schema getSchema() {
+		if( ( schema == null ) && ( failure == null ) ) {
+			try {
+				schema = compile();
+			}
+			catch( RuntimeException e ) {
+				failure = e;
+			}
+		}
+		if( failure != null ) {
+			throw failure;
+		}
+		return( schema );
+	}
+
+	protected static Schema compile() {
+		final String S_ProcName = "compile";
+		URL cfsecURL = locate( CFIntSaxLoader.CFSEC_ROOT_URI, CFIntSaxLoader.CFSEC_URI );
+		URL cfintURL = locate( CFIntSaxLoader.SCHEMA_ROOT_URI, CFIntSaxLoader.SCHEMA_URI );
+		URL cflibdbutilURL = find( CFLIBDBUTIL_ROOT_URI, CFLIBDBUTIL_URI );
+		try {
+			DOMImplementationLS domLS = (DOMImplementationLS)DocumentBuilderFactory.newInstance()
+				.newDocumentBuilder()
+				.getDOMImplementation()
+				.getFeature( "LS", "3.0" );
+			SchemaFactory factory = SchemaFactory.newInstance( XMLConstants.W3C_XML_SCHEMA_NS_URI );
+			factory.setResourceResolver( ( type, namespaceURI, publicId, systemId, baseURI ) -> {
+				if( CFLIBDBUTIL_XMLNS.equals( namespaceURI ) ) {
+					LSInput input = domLS.createLSInput();
+					if( cflibdbutilURL != null ) {
+						input.setSystemId( cflibdbutilURL.toExternalForm() );
+					}
+					else {
+						input.setSystemId( CFLIBDBUTIL_XMLNS );
+						input.setStringData( "<xsd:schema xmlns:xsd=\"" + XMLConstants.W3C_XML_SCHEMA_NS_URI
+							+ "\" targetNamespace=\"" + CFLIBDBUTIL_XMLNS + "\"/>" );
+					}
+					return( input );
+				}
+				return( null );
+			} );
+			return( factory.newSchema( new Source[] {
+				open( cfsecURL ),
+				open( cfintURL ) } ) );
+		}
+		catch( ParserConfigurationException e ) {
+			throw new RuntimeException( S_ProcName + "() ERROR: Configuring schema compiler: " + e.getMessage(),
+				e );
+		}
+		catch( SAXException e ) {
+			throw new RuntimeException( S_ProcName + "() ERROR: Compiling " + cfsecURL + " and " + cfintURL + ": " + e.getMessage(),
+				e );
+		}
+	}
+
+	// Read a schema, binding the xs: prefix if the schema element does not
+	// and defining the library types it uses but does not define
+
+	protected static Source open( URL url ) {
+		final String S_ProcName = "open";
+		String text;
+		try( InputStream in = url.openStream() ) {
+			text = new String( in.readAllBytes(), StandardCharsets.UTF_8 );
+		}
+		catch( IOException e ) {
+			throw new RuntimeException( S_ProcName + "() ERROR: Reading " + url + ": " + e.getMessage(),
+				e );
+		}
+		Matcher matcher = SCHEMA_ELEMENT.matcher( text );
+		if( ! matcher.find() ) {
+			throw new RuntimeException( S_ProcName + "() ERROR: " + url + " has no schema element" );
+		}
+		String schemaTag = matcher.group();
+		StringBuilder definitions = new StringBuilder();
+		for( String[] libraryType : LIBRARY_TYPES ) {
+			String typeName = libraryType[0];
+			if( ( text.contains( "base=\"" + typeName + "\"" ) || text.contains( "type=\"" + typeName + "\"" ) )
+				&& ! text.contains( "name=\"" + typeName + "\"" ) )
+			{
+				definitions.append( '\n' ).append( libraryType[1] );
+			}
+		}
+		if( text.contains( "<xs:" ) && ! schemaTag.contains( "xmlns:xs=" ) ) {
+			int nameEnd = schemaTag.indexOf( "schema" ) + 6;
+			schemaTag = schemaTag.substring( 0, nameEnd )
+				+ " xmlns:xs=\"" + XMLConstants.W3C_XML_SCHEMA_NS_URI + "\""
+				+ schemaTag.substring( nameEnd );
+		}
+		int close = text.lastIndexOf( "</" );
+		if( close < matcher.end() ) {
+			throw new RuntimeException( S_ProcName + "() ERROR: " + url + " has no schema end tag" );
+		}
+		text = text.substring( 0, matcher.start() )
+			+ schemaTag
+			+ text.substring( matcher.end(), close )
+			+ definitions
+			+ '\n'
+			+ text.substring( close );
+		return( new StreamSource( new StringReader( text ), url.toExternalForm() ) );
+	}
+
+	protected static URL locate( String rootUri, String installedUri ) {
+		final String S_ProcName = "locate";
+		URL url = find( rootUri, installedUri );
+		if( url != null ) {
+			return( url );
+		}
+		throw new RuntimeException( S_ProcName + "() ERROR: Schema " + rootUri + " is not on the classpath and " + installedUri + " does not exist" );
+	}
+
+	// The classpath copy of a schema, else the installed copy, else null
+
+	protected static URL find( String rootUri, String installedUri ) {
+		final String S_ProcName = "find";
+		URL url = CFIntSaxSchemaPool.class.getResource( rootUri );
+		if( url != null ) {
+			return( url );
+		}
+		File installed = new File( installedUri );
+		if( installed.exists() ) {
+			try {
+				return( installed.toURI().toURL() );
+			}
+			catch( IOException e ) {
+				throw new RuntimeException( S_ProcName + "() ERROR: Locating " + installedUri + ": " + e.getMessage(),
+					e );
+			}
+		}
+		return( null );
+	}
+}
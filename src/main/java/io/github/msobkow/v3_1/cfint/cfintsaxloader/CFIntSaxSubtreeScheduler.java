@@ -0,0 +1,387 @@
+// Description: Java 25 XML SAX Parser for CFInt.
+
+/*
+ *	io.github.msobkow.CFInt
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *	
+ *	Mark's Code Fractal 3.1 CFInt - Internet Essentials
+ *	
+ *	This file is part of Mark's Code Fractal CFInt.
+ *	
+ *	Mark's Code Fractal CFInt is available under dual commercial license from
+ *	Mark Stephen Sobkow, or under the terms of the GNU Library General Public License,
+ *	Version 3 or later.
+ *	
+ *	Mark's Code Fractal CFInt is free software: you can redistribute it and/or
+ *	modify it under the terms of the GNU Library General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *	
+ *	Mark's Code Fractal CFInt is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *	
+ *	You should have received a copy of the GNU Library General Public License
+ *	along with Mark's Code Fractal CFInt.  If not, see <https://www.gnu.org/licenses/>.
+ *	
+ *	If you wish to modify and use this code without publishing your changes in order to
+ *	tie it to proprietary code, please contact Mark Stephen Sobkow
+ *	for a commercial license at mark.sobkow@gmail.com
+ *	
+ */
+package io.github.msobkow.v3_1.cfint.cfintsaxloader;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.xml.sax.*;
+import org.xml.sax.helpers.AttributesImpl;
+import org.xml.sax.helpers.LocatorImpl;
+import io.github.msobkow.v3_1.cflib.*;
+
+/*
+ *	CFIntSaxSubtreeScheduler loads the top-level subtrees of a document on
+ *	worker threads.  The parse thread buffers each subtree under the
+ *	document element, then hands it to a worker, which replays it into a
+ *	loader of its own between a copy of the document element.
+ *
+ *	A subtree only waits for the earlier subtrees that contain elements of
+ *	a table it references, and for the earlier subtrees that load a row of
+ *	the same table with the same natural key.  Each element handler
+ *	declares the tables it resolves references to and the attributes that
+ *	carry its natural key to the loader: an ISOCtry with ISOCtryCcy
+ *	children waits for the ISOCcy subtrees before it, a Cluster with a
+ *	HostNode Service waits for the ServiceType subtrees, and two subtrees
+ *	that both load SecUser alice run in document order.  Anything else
+ *	runs as soon as a worker is free.
+ *
+ *	At most backlog subtrees are buffered or running at once, which holds
+ *	the parse thread back to the pace of the workers.  The workers load
+ *	through the schemas newWorkerLoader() gives them.
+ */
+public class CFIntSaxSubtreeScheduler
+{
+	public final static int DEFAULT_BACKLOG = 256;
+
+	// One buffered start or end of an element
+
+	private static class Event {
+		final String uri;
+		final String localName;
+		final String qName;
+		final Attributes attrs;
+		final int lineNumber;
+		final int columnNumber;
+
+		Event( String uri, String localName, String qName, Attributes attrs, int lineNumber, int columnNumber ) {
+			this.uri = uri;
+			this.localName = localName;
+			this.qName = qName;
+			this.attrs = attrs;
+			this.lineNumber = lineNumber;
+			this.columnNumber = columnNumber;
+		}
+	}
+
+	// A buffered top-level subtree, the element names it contains and the
+	// table and natural key of each keyed element it loads
+
+	private static class Subtree {
+		final List<Event> events = new ArrayList<Event>();
+		final Set<String> elementNames = new HashSet<String>();
+		final Set<List<String>> naturalKeys = new HashSet<List<String>>();
+	}
+
+	private final CFIntSaxLoader owner;
+	private final ExecutorService executor;
+	private final Semaphore backlog;
+	private final Queue<CFIntSaxLoader> idleWorkers = new ConcurrentLinkedQueue<CFIntSaxLoader>();
+	private final List<CFIntSaxLoader> workers = new ArrayList<CFIntSaxLoader>();
+	private final Map<String,CompletableFuture<Void>> producers = new HashMap<String,CompletableFuture<Void>>();
+	private final Map<List<String>,CompletableFuture<Void>> keyProducers = new HashMap<List<String>,CompletableFuture<Void>>();
+	private final int maxBacklog;
+	private int keyProducersPruneSize;
+	private volatile RuntimeException failure = null;
+	private volatile boolean stopped = false;
+	private Event documentStart = null;
+	private String publicId = null;
+	private String systemId = null;
+	private Subtree subtree = null;
+	private int subtreeDepth = 0;
+	private long subtreeCount = 0L;
+
+	public CFIntSaxSubtreeScheduler( CFIntSaxLoader owner,
+		int numWorkers,
+		int maxBacklog )
+	{
+		final String S_ProcName = "CFIntSaxSubtreeScheduler";
+		if( owner == null ) {
+			throw new CFLibNullArgumentException( getClass(),
+				S_ProcName,
+				1,
+				"owner" );
+		}
+		if( ( numWorkers < 1 ) || ( maxBacklog < 1 ) ) {
+			throw new CFLibUsageException( getClass(),
+				S_ProcName,
+				"numWorkers and maxBacklog must be at least 1",
+				"numWorkers and maxBacklog must be at least 1" );
+		}
+		this.owner = owner;
+		this.maxBacklog = maxBacklog;
+		this.keyProducersPruneSize = maxBacklog;
+		this.backlog = new Semaphore( maxBacklog );
+		final AtomicInteger threadCount = new AtomicInteger( 0 );
+		this.executor = Executors.newFixedThreadPool( numWorkers, ( runnable ) -> {
+			Thread worker = new Thread( runnable, "CFIntSaxSubtree-" + threadCount.getAndIncrement() );
+			worker.setDaemon( true );
+			return( worker );
+		} );
+	}
+
+	public long getSubtreeCount() {
+		return( subtreeCount );
+	}
+
+	public RuntimeException getFailure() {
+		return( failure );
+	}
+
+	// Remember the document element, which every replay is wrapped in
+
+	public void startDocumentElement( String uri, String localName, String qName, Attributes attrs, Locator locator ) {
+		documentStart = new Event( uri, localName, qName, new AttributesImpl( attrs ),
+			( locator == null ) ? -1 : locator.getLineNumber(),
+			( locator == null ) ? -1 : locator.getColumnNumber() );
+		if( locator != null ) {
+			publicId = locator.getPublicId();
+			systemId = locator.getSystemId();
+		}
+	}
+
+	// Buffer the start of an element below the document element
+
+	public void startElement( String uri, String localName, String qName, Attributes attrs, Locator locator ) {
+		rethrowFailure();
+		if( subtree == null ) {
+			subtree = new Subtree();
+		}
+		subtree.events.add( new Event( uri, localName, qName, new AttributesImpl( attrs ),
+			( locator == null ) ? -1 : locator.getLineNumber(),
+			( locator == null ) ? -1 : locator.getColumnNumber() ) );
+		subtree.elementNames.add( qName );
+		String[] keyAttrs = owner.getElementKeyAttrs( qName );
+		if( keyAttrs != null ) {
+			List<String> naturalKey = new ArrayList<String>( keyAttrs.length + 1 );
+			naturalKey.add( qName );
+			for( String attrName : keyAttrs ) {
+				naturalKey.add( attrs.getValue( attrName ) );
+			}
+			subtree.naturalKeys.add( naturalKey );
+		}
+		subtreeDepth++;
+	}
+
+	// Buffer the end of an element, dispatching the subtree it closes
+
+	public void endElement( String uri, String localName, String qName, Locator locator ) {
+		subtree.events.add( new Event( uri, localName, qName, null,
+			( locator == null ) ? -1 : locator.getLineNumber(),
+			( locator == null ) ? -1 : locator.getColumnNumber() ) );
+		subtreeDepth--;
+		if( subtreeDepth == 0 ) {
+			Subtree complete = subtree;
+			subtree = null;
+			dispatch( complete );
+		}
+	}
+
+	// Queue a subtree behind the earlier subtrees producing the tables it
+	// references or loading the natural keys it loads, blocking while the
+	// backlog is full
+
+	private void dispatch( Subtree complete ) {
+		final String S_ProcName = "dispatch";
+		List<CompletableFuture<Void>> prereqs = new ArrayList<CompletableFuture<Void>>();
+		for( String elementName : complete.elementNames ) {
+			String[] refs = owner.getElementReferences( elementName );
+			if( refs == null ) {
+				continue;
+			}
+			for( String tableName : refs ) {
+				CompletableFuture<Void> producer = producers.get( tableName );
+				if( ( producer != null ) && ! producer.isDone() && ! prereqs.contains( producer ) ) {
+					prereqs.add( producer );
+				}
+			}
+		}
+		for( List<String> naturalKey : complete.naturalKeys ) {
+			CompletableFuture<Void> producer = keyProducers.get( naturalKey );
+			if( ( producer != null ) && ! producer.isDone() && ! prereqs.contains( producer ) ) {
+				prereqs.add( producer );
+			}
+		}
+		try {
+			backlog.acquire();
+		}
+		catch( InterruptedException e ) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException( S_ProcName + "() ERROR: Interrupted waiting for a subtree worker",
+				e );
+		}
+		CompletableFuture<Void> done;
+		try {
+			if( prereqs.isEmpty() ) {
+				done = CompletableFuture.runAsync( () -> load( complete ), executor );
+			}
+			else {
+				done = CompletableFuture.allOf( prereqs.toArray( new CompletableFuture<?>[ prereqs.size() ] ) )
+					.thenRunAsync( () -> load( complete ), executor );
+			}
+		}
+		catch( RejectedExecutionException e ) {
+			backlog.release();
+			throw new RuntimeException( S_ProcName + "() ERROR: Subtree scheduler has been stopped",
+				e );
+		}
+		subtreeCount++;
+		for( String elementName : complete.elementNames ) {
+			CompletableFuture<Void> prior = producers.get( elementName );
+			if( ( prior == null ) || prior.isDone() ) {
+				producers.put( elementName, done );
+			}
+			else if( prior != done ) {
+				producers.put( elementName, CompletableFuture.allOf( prior, done ) );
+			}
+		}
+		for( List<String> naturalKey : complete.naturalKeys ) {
+			keyProducers.put( naturalKey, done );
+		}
+		if( keyProducers.size() > keyProducersPruneSize ) {
+			keyProducers.values().removeIf( ( producer ) -> producer.isDone() );
+			keyProducersPruneSize = Math.max( maxBacklog, 2 * keyProducers.size() );
+		}
+	}
+
+	// Replay a subtree into an idle worker loader.  A loader that fails is
+	// left in an unknown state, so it is not reused.
+
+	private void load( Subtree complete ) {
+		try {
+			if( stopped || ( failure != null ) ) {
+				return;
+			}
+			CFIntSaxLoader worker = idleWorkers.poll();
+			if( worker == null ) {
+				worker = owner.newWorkerLoader();
+				synchronized( workers ) {
+					workers.add( worker );
+				}
+			}
+			replay( worker, complete );
+			idleWorkers.offer( worker );
+		}
+		catch( SAXException e ) {
+			noteFailure( new RuntimeException( "load() ERROR: " + e.getMessage(), e ) );
+		}
+		catch( RuntimeException e ) {
+			noteFailure( e );
+		}
+		finally {
+			backlog.release();
+		}
+	}
+
+	private void replay( CFIntSaxLoader worker, Subtree complete )
+	throws SAXException
+	{
+		LocatorImpl locator = new LocatorImpl();
+		locator.setPublicId( publicId );
+		locator.setSystemId( systemId );
+		worker.setDocumentLocator( locator );
+		worker.startDocument();
+		replay( worker, locator, documentStart );
+		for( Event event : complete.events ) {
+			replay( worker, locator, event );
+		}
+		worker.endElement( documentStart.uri, documentStart.localName, documentStart.qName );
+		worker.endDocument();
+	}
+
+	private void replay( CFIntSaxLoader worker, LocatorImpl locator, Event event )
+	throws SAXException
+	{
+		locator.setLineNumber( event.lineNumber );
+		locator.setColumnNumber( event.columnNumber );
+		if( event.attrs != null ) {
+			worker.startElement( event.uri, event.localName, event.qName, event.attrs );
+		}
+		else {
+			worker.endElement( event.uri, event.localName, event.qName );
+		}
+	}
+
+	private void noteFailure( RuntimeException e ) {
+		synchronized( this ) {
+			if( failure == null ) {
+				failure = e;
+			}
+		}
+	}
+
+	protected void rethrowFailure() {
+		final String S_ProcName = "rethrowFailure";
+		RuntimeException e = failure;
+		if( e != null ) {
+			throw new RuntimeException( S_ProcName + "() ERROR: Subtree load failed: " + e.getMessage(),
+				e );
+		}
+	}
+
+	// Wait for every dispatched subtree to be loaded, then fold the update
+	// counts of the worker loaders into the owner
+
+	public void await() {
+		final String S_ProcName = "await";
+		Collection<CompletableFuture<Void>> pending = producers.values();
+		try {
+			CompletableFuture.allOf( pending.toArray( new CompletableFuture<?>[ pending.size() ] ) ).join();
+		}
+		catch( CompletionException e ) {
+			Throwable cause = ( e.getCause() != null ) ? e.getCause() : e;
+			noteFailure( new RuntimeException( S_ProcName + "() ERROR: Subtree worker died: " + cause.getMessage(),
+				cause ) );
+		}
+		producers.clear();
+		keyProducers.clear();
+		rethrowFailure();
+		synchronized( workers ) {
+			for( CFIntSaxLoader worker : workers ) {
+				owner.addUpdateCounts( worker );
+				worker.resetUpdateCounts();
+				owner.addAttrInternerStats( worker );
+				worker.resetAttrInternerStats();
+			}
+		}
+	}
+
+	// Stop the workers.  Subtrees not yet started are skipped, and the
+	// ones already running are waited for.
+
+	public void stop() {
+		final String S_ProcName = "stop";
+		stopped = true;
+		executor.shutdown();
+		try {
+			while( ! executor.awaitTermination( 1L, TimeUnit.SECONDS ) ) {
+			}
+		}
+		catch( InterruptedException e ) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException( S_ProcName + "() ERROR: Interrupted stopping subtree workers",
+				e );
+		}
+	}
+}
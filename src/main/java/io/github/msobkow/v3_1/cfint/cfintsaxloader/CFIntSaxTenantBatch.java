@@ -0,0 +1,269 @@
+// Description: Java 25 XML SAX Parser for CFInt.
+
+/*
+ *	io.github.msobkow.CFInt
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *	
+ *	Mark's Code Fractal 3.1 CFInt - Internet Essentials
+ *	
+ *	This file is part of Mark's Code Fractal CFInt.
+ *	
+ *	Mark's Code Fractal CFInt is available under dual commercial license from
+ *	Mark Stephen Sobkow, or under the terms of the GNU Library General Public License,
+ *	Version 3 or later.
+ *	
+ *	Mark's Code Fractal CFInt is free software: you can redistribute it and/or
+ *	modify it under the terms of the GNU Library General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *	
+ *	Mark's Code Fractal CFInt is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *	
+ *	You should have received a copy of the GNU Library General Public License
+ *	along with Mark's Code Fractal CFInt.  If not, see <https://www.gnu.org/licenses/>.
+ *	
+ *	If you wish to modify and use this code without publishing your changes in order to
+ *	tie it to proprietary code, please contact Mark Stephen Sobkow
+ *	for a commercial license at mark.sobkow@gmail.com
+ *	
+ */
+package io.github.msobkow.v3_1.cfint.cfintsaxloader;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+import io.github.msobkow.v3_1.cflib.*;
+
+/*
+ *	CFIntSaxTenantBatch runs the loads of many tenants at once in one JVM.
+ *	Each load gets a CFIntSaxLdr of its own from the factory, which must
+ *	give every driver its own schema instance since the schema carries
+ *	the cluster and tenant being loaded.  The loads run on the executor
+ *	the batch was given, which may be shared with other work and bounds
+ *	how many run at a time.
+ *
+ *	References to the ISO reference tables are resolved through one cache
+ *	shared by every load of the batch, pre-warmed by the first load to
+ *	start; every other reference is cached per load.  The shared cache
+ *	holds only the primary key of each ISO code, and every load reads the
+ *	rows it needs by that key through its own schema, so the schemas must
+ *	share a backing store but never see each other's row objects.
+ */
+public class CFIntSaxTenantBatch
+{
+	public final static List<String> SharedTables = Collections.unmodifiableList( Arrays.asList( "ISOCcy", "ISOLang" ) );
+
+	// One tenant load: the cluster and tenant to load into, the document
+	// URL or file name, and optional loader options as accepted by the
+	// command line
+
+	public static class TenantLoad {
+		private final String clusterName;
+		private final String tenantName;
+		private final String url;
+		private final String loaderOptions;
+
+		public TenantLoad( String clusterName, String tenantName, String url, String loaderOptions ) {
+			final String S_ProcName = "TenantLoad";
+			if( clusterName == null ) {
+				throw new CFLibNullArgumentException( getClass(),
+					S_ProcName,
+					1,
+					"clusterName" );
+			}
+			if( tenantName == null ) {
+				throw new CFLibNullArgumentException( getClass(),
+					S_ProcName,
+					2,
+					"tenantName" );
+			}
+			if( url == null ) {
+				throw new CFLibNullArgumentException( getClass(),
+					S_ProcName,
+					3,
+					"url" );
+			}
+			this.clusterName = clusterName;
+			this.tenantName = tenantName;
+			this.url = url;
+			this.loaderOptions = loaderOptions;
+		}
+
+		public String getClusterName() {
+			return( clusterName );
+		}
+
+		public String getTenantName() {
+			return( tenantName );
+		}
+
+		public String getUrl() {
+			return( url );
+		}
+
+		public String getLoaderOptions() {
+			return( loaderOptions );
+		}
+
+		public String toString() {
+			return( clusterName + "/" + tenantName + " " + url );
+		}
+	}
+
+	// The outcome of one tenant load
+
+	public static class TenantResult {
+		private final TenantLoad load;
+		private final RuntimeException failure;
+		private final long elapsedMillis;
+
+		public TenantResult( TenantLoad load, RuntimeException failure, long elapsedMillis ) {
+			this.load = load;
+			this.failure = failure;
+			this.elapsedMillis = elapsedMillis;
+		}
+
+		public TenantLoad getLoad() {
+			return( load );
+		}
+
+		public boolean isSucceeded() {
+			return( failure == null );
+		}
+
+		public RuntimeException getFailure() {
+			return( failure );
+		}
+
+		public long getElapsedMillis() {
+			return( elapsedMillis );
+		}
+	}
+
+	private final Supplier<? extends CFIntSaxLdr> ldrFactory;
+	private final ExecutorService executor;
+	private final CFIntSaxRefCache sharedRefCache = new CFIntSaxRefCache();
+	private boolean prewarmed = false;
+
+	public CFIntSaxTenantBatch( Supplier<? extends CFIntSaxLdr> ldrFactory, ExecutorService executor ) {
+		final String S_ProcName = "CFIntSaxTenantBatch";
+		if( ldrFactory == null ) {
+			throw new CFLibNullArgumentException( getClass(),
+				S_ProcName,
+				1,
+				"ldrFactory" );
+		}
+		if( executor == null ) {
+			throw new CFLibNullArgumentException( getClass(),
+				S_ProcName,
+				2,
+				"executor" );
+		}
+		this.ldrFactory = ldrFactory;
+		this.executor = executor;
+	}
+
+	public CFIntSaxRefCache getSharedRefCache() {
+		return( sharedRefCache );
+	}
+
+	public synchronized boolean isPrewarmed() {
+		return( prewarmed );
+	}
+
+	// Read the shared tables into the shared cache through a loader whose
+	// reference cache layers over it, unless that has already been done.
+	// The first load to start does this through its own loader.
+
+	public synchronized void prewarm( CFIntSaxLoader loader ) {
+		final String S_ProcName = "prewarm";
+		if( loader == null ) {
+			throw new CFLibNullArgumentException( getClass(),
+				S_ProcName,
+				1,
+				"loader" );
+		}
+		if( prewarmed ) {
+			return;
+		}
+		loader.clearRefCachePrewarmTables();
+		for( String tableName : SharedTables ) {
+			loader.addRefCachePrewarmTable( tableName );
+		}
+		try {
+			loader.prewarmRefCache();
+		}
+		finally {
+			loader.clearRefCachePrewarmTables();
+		}
+		prewarmed = true;
+	}
+
+	// Run the loads concurrently and wait for all of them.  A failed load
+	// does not stop the others; the results are in the order of the loads.
+
+	public List<TenantResult> run( List<TenantLoad> loads ) {
+		final String S_ProcName = "run";
+		if( loads == null ) {
+			throw new CFLibNullArgumentException( getClass(),
+				S_ProcName,
+				1,
+				"loads" );
+		}
+		List<Future<TenantResult>> futures = new ArrayList<Future<TenantResult>>( loads.size() );
+		for( TenantLoad load : loads ) {
+			futures.add( executor.submit( () -> load( load ) ) );
+		}
+		List<TenantResult> results = new ArrayList<TenantResult>( loads.size() );
+		for( int idx = 0; idx < futures.size(); idx++ ) {
+			try {
+				results.add( futures.get( idx ).get() );
+			}
+			catch( InterruptedException e ) {
+				for( Future<TenantResult> future : futures ) {
+					future.cancel( true );
+				}
+				Thread.currentThread().interrupt();
+				throw new RuntimeException( S_ProcName + "() ERROR: Interrupted waiting for tenant load " + loads.get( idx ),
+					e );
+			}
+			catch( ExecutionException e ) {
+				Throwable cause = ( e.getCause() != null ) ? e.getCause() : e;
+				results.add( new TenantResult( loads.get( idx ),
+					new RuntimeException( S_ProcName + "() ERROR: Tenant load " + loads.get( idx ) + " died: " + cause.getMessage(),
+						cause ),
+					0L ) );
+			}
+		}
+		return( results );
+	}
+
+	// Run one load on a driver of its own
+
+	protected TenantResult load( TenantLoad load ) {
+		long startMillis = System.currentTimeMillis();
+		try {
+			CFIntSaxLdr ldr = ldrFactory.get();
+			ldr.setClusterName( load.getClusterName() );
+			ldr.setTenantName( load.getTenantName() );
+			CFIntSaxLoader loader = ldr.getSaxLoader();
+			loader.setUseCluster( ldr.getClusterObj() );
+			loader.setUseTenant( ldr.getTenantObj() );
+			loader.setRefCacheEnabled( true );
+			loader.setRefCache( new CFIntSaxLayeredRefCache( sharedRefCache, SharedTables, loader ) );
+			prewarm( loader );
+			if( load.getLoaderOptions() != null ) {
+				CFIntSaxLdr.applyLoaderOptions( loader, load.getLoaderOptions() );
+			}
+			loader.parseFile( load.getUrl() );
+			return( new TenantResult( load, null, System.currentTimeMillis() - startMillis ) );
+		}
+		catch( RuntimeException e ) {
+			return( new TenantResult( load, e, System.currentTimeMillis() - startMillis ) );
+		}
+	}
+}
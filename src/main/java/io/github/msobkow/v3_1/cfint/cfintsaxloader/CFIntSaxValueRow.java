@@ -0,0 +1,87 @@
+// Description: Java 25 XML SAX Loader captured row values for CFInt.
+
+/*
+ *	io.github.msobkow.CFInt
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *	
+ *	Mark's Code Fractal 3.1 CFInt - Internet Essentials
+ *	
+ *	This file is part of Mark's Code Fractal CFInt.
+ *	
+ *	Mark's Code Fractal CFInt is available under dual commercial license from
+ *	Mark Stephen Sobkow, or under the terms of the GNU Library General Public License,
+ *	Version 3 or later.
+ *	
+ *	Mark's Code Fractal CFInt is free software: you can redistribute it and/or
+ *	modify it under the terms of the GNU Library General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *	
+ *	Mark's Code Fractal CFInt is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *	
+ *	You should have received a copy of the GNU Library General Public License
+ *	along with Mark's Code Fractal CFInt.  If not, see <https://www.gnu.org/licenses/>.
+ *	
+ *	If you wish to modify and use this code without publishing your changes in order to
+ *	tie it to proprietary code, please contact Mark Stephen Sobkow
+ *	for a commercial license at mark.sobkow@gmail.com
+ *	
+ */
+package io.github.msobkow.v3_1.cfint.cfintsaxloader;
+
+/*
+ *	CFIntSaxValueRow is the immutable capture of a row an element handler
+ *	has parsed: the converted column values, in the column order of the
+ *	handler, and the existing row to update, if any.  It is what deferred
+ *	and pipelined writes queue, so a writer thread never touches an edit
+ *	object the parse thread built or may still be reading; the handler's
+ *	ICFIntSaxRowWriter builds a fresh edit object from it instead.
+ */
+public class CFIntSaxValueRow
+{
+	private final String tableName;
+	private final Object naturalKey;
+	private final Object existing;
+	private final Object[] values;
+
+	public CFIntSaxValueRow( String tableName,
+		Object naturalKey,
+		Object existing,
+		Object... values )
+	{
+		this.tableName = tableName;
+		this.naturalKey = naturalKey;
+		this.existing = existing;
+		this.values = values.clone();
+	}
+
+	public String getTableName() {
+		return( tableName );
+	}
+
+	public Object getNaturalKey() {
+		return( naturalKey );
+	}
+
+	// The persisted row an update applies to, or null for a create
+
+	public Object getExisting() {
+		return( existing );
+	}
+
+	public boolean isUpdate() {
+		return( existing != null );
+	}
+
+	public int getColumnCount() {
+		return( values.length );
+	}
+
+	public Object getValue( int column ) {
+		return( values[ column ] );
+	}
+}
@@ -0,0 +1,169 @@
+// Description: Java 25 XML SAX Loader write batch for CFInt.
+
+/*
+ *	io.github.msobkow.CFInt
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *	
+ *	Mark's Code Fractal 3.1 CFInt - Internet Essentials
+ *	
+ *	This file is part of Mark's Code Fractal CFInt.
+ *	
+ *	Mark's Code Fractal CFInt is available under dual commercial license from
+ *	Mark Stephen Sobkow, or under the terms of the GNU Library General Public License,
+ *	Version 3 or later.
+ *	
+ *	Mark's Code Fractal CFInt is free software: you can redistribute it and/or
+ *	modify it under the terms of the GNU Library General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *	
+ *	Mark's Code Fractal CFInt is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *	
+ *	You should have received a copy of the GNU Library General Public License
+ *	along with Mark's Code Fractal CFInt.  If not, see <https://www.gnu.org/licenses/>.
+ *	
+ *	If you wish to modify and use this code without publishing your changes in order to
+ *	tie it to proprietary code, please contact Mark Stephen Sobkow
+ *	for a commercial license at mark.sobkow@gmail.com
+ *	
+ */
+
+package io.github.msobkow.v3_1.cfint.cfintsaxloader;
+
+import java.util.*;
+import io.github.msobkow.v3_1.cflib.*;
+
+/*
+ *	CFIntSaxWriteBatch collects the creates and updates deferred by the
+ *	element handlers, grouped per table in the order the tables were first
+ *	written.  Rows queued in one batch never depend on one another, because
+ *	the loader flushes before a handler reads a pending key or resolves a
+ *	pending container object.
+ */
+public class CFIntSaxWriteBatch
+{
+	public final static int DEFAULT_MAX_ROWS = 1000;
+	public final static long DEFAULT_MAX_BYTES = 4L * 1024L * 1024L;
+
+	private int maxRows = DEFAULT_MAX_ROWS;
+	private long maxBytes = DEFAULT_MAX_BYTES;
+	private int pendingRows = 0;
+	private long pendingBytes = 0L;
+	private final Map<String,List<CFIntSaxPendingRow>> rowsByTable = new LinkedHashMap<String,List<CFIntSaxPendingRow>>();
+	private final Map<String,Set<Object>> keysByTable = new HashMap<String,Set<Object>>();
+	private final Map<Object,CFIntSaxPendingRow> rowsByEditObj = new IdentityHashMap<Object,CFIntSaxPendingRow>();
+
+	public CFIntSaxWriteBatch() {
+	}
+
+	public CFIntSaxWriteBatch( int maxRows, long maxBytes ) {
+		setMaxRows( maxRows );
+		setMaxBytes( maxBytes );
+	}
+
+	// Flush thresholds
+
+	public int getMaxRows() {
+		return( maxRows );
+	}
+
+	public void setMaxRows( int value ) {
+		final String S_ProcName = "setMaxRows";
+		if( value < 1 ) {
+			throw new CFLibUsageException( getClass(),
+				S_ProcName,
+				"maxRows must be at least 1, not " + value,
+				"maxRows must be at least 1, not " + value );
+		}
+		maxRows = value;
+	}
+
+	public long getMaxBytes() {
+		return( maxBytes );
+	}
+
+	public void setMaxBytes( long value ) {
+		final String S_ProcName = "setMaxBytes";
+		if( value < 1L ) {
+			throw new CFLibUsageException( getClass(),
+				S_ProcName,
+				"maxBytes must be at least 1, not " + value,
+				"maxBytes must be at least 1, not " + value );
+		}
+		maxBytes = value;
+	}
+
+	// Pending row accounting
+
+	public int getPendingRows() {
+		return( pendingRows );
+	}
+
+	public long getPendingBytes() {
+		return( pendingBytes );
+	}
+
+	public boolean isEmpty() {
+		return( pendingRows == 0 );
+	}
+
+	public boolean isFull() {
+		return( ( pendingRows >= maxRows ) || ( pendingBytes >= maxBytes ) );
+	}
+
+	public void add( CFIntSaxPendingRow row ) {
+		String tableName = row.getTableName();
+		List<CFIntSaxPendingRow> tableRows = rowsByTable.get( tableName );
+		if( tableRows == null ) {
+			tableRows = new ArrayList<CFIntSaxPendingRow>();
+			rowsByTable.put( tableName, tableRows );
+		}
+		tableRows.add( row );
+		if( row.getNaturalKey() != null ) {
+			Set<Object> tableKeys = keysByTable.get( tableName );
+			if( tableKeys == null ) {
+				tableKeys = new HashSet<Object>();
+				keysByTable.put( tableName, tableKeys );
+			}
+			tableKeys.add( row.getNaturalKey() );
+		}
+		rowsByEditObj.put( row.getEditObj(), row );
+		pendingRows++;
+		pendingBytes += row.getRowBytes();
+	}
+
+	public boolean isPendingKey( String tableName, Object naturalKey ) {
+		if( naturalKey == null ) {
+			return( false );
+		}
+		Set<Object> tableKeys = keysByTable.get( tableName );
+		return( ( tableKeys != null ) && tableKeys.contains( naturalKey ) );
+	}
+
+	public boolean isPendingEditObj( Object editObj ) {
+		return( rowsByEditObj.containsKey( editObj ) );
+	}
+
+	// Remove and return the pending rows, grouped by table
+
+	public Map<String,List<CFIntSaxPendingRow>> drain() {
+		Map<String,List<CFIntSaxPendingRow>> drained = new LinkedHashMap<String,List<CFIntSaxPendingRow>>( rowsByTable );
+		discard();
+		return( drained );
+	}
+
+	// Forget the pending rows without applying them, as when the load
+	// that queued them has failed
+
+	public void discard() {
+		rowsByTable.clear();
+		keysByTable.clear();
+		rowsByEditObj.clear();
+		pendingRows = 0;
+		pendingBytes = 0L;
+	}
+}
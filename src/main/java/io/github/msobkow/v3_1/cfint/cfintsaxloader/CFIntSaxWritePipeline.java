@@ -0,0 +1,231 @@
+// Description: Java 25 XML SAX Loader write pipeline for CFInt.
+
+/*
+ *	io.github.msobkow.CFInt
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *	
+ *	Mark's Code Fractal 3.1 CFInt - Internet Essentials
+ *	
+ *	This file is part of Mark's Code Fractal CFInt.
+ *	
+ *	Mark's Code Fractal CFInt is available under dual commercial license from
+ *	Mark Stephen Sobkow, or under the terms of the GNU Library General Public License,
+ *	Version 3 or later.
+ *	
+ *	Mark's Code Fractal CFInt is free software: you can redistribute it and/or
+ *	modify it under the terms of the GNU Library General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *	
+ *	Mark's Code Fractal CFInt is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *	
+ *	You should have received a copy of the GNU Library General Public License
+ *	along with Mark's Code Fractal CFInt.  If not, see <https://www.gnu.org/licenses/>.
+ *	
+ *	If you wish to modify and use this code without publishing your changes in order to
+ *	tie it to proprietary code, please contact Mark Stephen Sobkow
+ *	for a commercial license at mark.sobkow@gmail.com
+ *	
+ */
+
+package io.github.msobkow.v3_1.cfint.cfintsaxloader;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.BiConsumer;
+import io.github.msobkow.v3_1.cflib.*;
+
+/*
+ *	CFIntSaxWritePipeline applies pending rows on one writer thread.  All
+ *	it does is move writes off the parse thread: the parse thread can go
+ *	on tokenizing and building value rows while an earlier row is being
+ *	written.  Submissions block once the bounded queue is full, which
+ *	holds the parse thread back to the pace of the writer.
+ *
+ *	It does not overlap schema calls with each other.  The loader's
+ *	applier takes the loader's schema lock, which the parse thread also
+ *	holds for its own reads, so the schema is only ever called by one
+ *	thread at a time.  That is also why there is exactly one writer: a
+ *	second writer could only wait on the same lock.
+ *
+ *	Nor does it overlap a parent with its children.  A child row is only
+ *	built after its handler has awaited the persisted parent, so a deep
+ *	containment chain such as Tenant to MinorVersion is written in
+ *	lockstep with the parse.  The pipeline pays off on wide documents of
+ *	sibling rows, not on deep ones.  The queued rows carry immutable
+ *	CFIntSaxValueRow captures; the writer builds its own edit objects.
+ */
+public class CFIntSaxWritePipeline
+{
+	public final static int DEFAULT_CAPACITY = 64;
+
+	// A unit of work is the rows of one table applied together
+
+	private static class WriteUnit {
+		final String tableName;
+		final List<CFIntSaxPendingRow> rows;
+
+		WriteUnit( String tableName, List<CFIntSaxPendingRow> rows ) {
+			this.tableName = tableName;
+			this.rows = rows;
+		}
+	}
+
+	private final static WriteUnit SHUTDOWN = new WriteUnit( null, Collections.<CFIntSaxPendingRow>emptyList() );
+
+	private final BiConsumer<String,List<CFIntSaxPendingRow>> applier;
+	private final BlockingQueue<WriteUnit> queue;
+	private final Thread writer;
+	private final Object inFlightLock = new Object();
+	private int inFlightUnits = 0;
+	private volatile RuntimeException failure = null;
+
+	public CFIntSaxWritePipeline( BiConsumer<String,List<CFIntSaxPendingRow>> applier,
+		int capacity )
+	{
+		final String S_ProcName = "CFIntSaxWritePipeline";
+		if( applier == null ) {
+			throw new CFLibNullArgumentException( getClass(),
+				S_ProcName,
+				1,
+				"applier" );
+		}
+		if( capacity < 1 ) {
+			throw new CFLibUsageException( getClass(),
+				S_ProcName,
+				"capacity must be at least 1",
+				"capacity must be at least 1" );
+		}
+		this.applier = applier;
+		this.queue = new ArrayBlockingQueue<WriteUnit>( capacity );
+		this.writer = new Thread( () -> runWriter(), "CFIntSaxWriter" );
+		writer.setDaemon( true );
+		writer.start();
+	}
+
+	// Queue the rows of one table, blocking while the queue is full
+
+	public void submit( String tableName, List<CFIntSaxPendingRow> rows ) {
+		final String S_ProcName = "submit";
+		rethrowFailure();
+		synchronized( inFlightLock ) {
+			inFlightUnits++;
+		}
+		try {
+			queue.put( new WriteUnit( tableName, rows ) );
+		}
+		catch( InterruptedException e ) {
+			unitDone();
+			Thread.currentThread().interrupt();
+			throw new RuntimeException( S_ProcName + "() ERROR: Interrupted queueing " + tableName + " rows",
+				e );
+		}
+	}
+
+	// Wait until every submitted unit has been applied
+
+	public void drain() {
+		final String S_ProcName = "drain";
+		synchronized( inFlightLock ) {
+			while( inFlightUnits > 0 ) {
+				try {
+					inFlightLock.wait();
+				}
+				catch( InterruptedException e ) {
+					Thread.currentThread().interrupt();
+					throw new RuntimeException( S_ProcName + "() ERROR: Interrupted draining write pipeline",
+						e );
+				}
+			}
+		}
+		rethrowFailure();
+	}
+
+	// Drain the queue and stop the writer thread
+
+	public void shutdown() {
+		try {
+			drain();
+		}
+		finally {
+			stop();
+		}
+	}
+
+	// Stop the writer thread once the units already queued are done,
+	// rethrowing any write failure so a caller that skips drain() still
+	// learns the load did not persist
+
+	public void stop() {
+		final String S_ProcName = "stop";
+		try {
+			queue.put( SHUTDOWN );
+			writer.join();
+		}
+		catch( InterruptedException e ) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException( S_ProcName + "() ERROR: Interrupted stopping write pipeline",
+				e );
+		}
+		rethrowFailure();
+	}
+
+	public RuntimeException getFailure() {
+		return( failure );
+	}
+
+	protected void rethrowFailure() {
+		final String S_ProcName = "rethrowFailure";
+		RuntimeException e = failure;
+		if( e != null ) {
+			throw new RuntimeException( S_ProcName + "() ERROR: Write pipeline failed: " + e.getMessage(),
+				e );
+		}
+	}
+
+	private void unitDone() {
+		synchronized( inFlightLock ) {
+			inFlightUnits--;
+			inFlightLock.notifyAll();
+		}
+	}
+
+	private void runWriter() {
+		while( true ) {
+			WriteUnit unit;
+			try {
+				unit = queue.take();
+			}
+			catch( InterruptedException e ) {
+				return;
+			}
+			if( unit == SHUTDOWN ) {
+				return;
+			}
+			try {
+				if( failure == null ) {
+					applier.accept( unit.tableName, unit.rows );
+				}
+			}
+			catch( RuntimeException e ) {
+				if( failure == null ) {
+					failure = e;
+				}
+			}
+			finally {
+				RuntimeException unitFailure = failure;
+				for( CFIntSaxPendingRow row : unit.rows ) {
+					if( ! row.isDone() ) {
+						row.fail( ( unitFailure != null ) ? unitFailure
+							: new IllegalStateException( "Pending " + unit.tableName + " row " + row.getNaturalKey() + " was not applied" ) );
+					}
+				}
+				unitDone();
+			}
+		}
+	}
+}
@@ -0,0 +1,66 @@
+// Description: Java 25 XML SAX Parser for CFInt.
+
+/*
+ *	io.github.msobkow.CFInt
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *	
+ *	Mark's Code Fractal 3.1 CFInt - Internet Essentials
+ *	
+ *	This file is part of Mark's Code Fractal CFInt.
+ *	
+ *	Mark's Code Fractal CFInt is available under dual commercial license from
+ *	Mark Stephen Sobkow, or under the terms of the GNU Library General Public License,
+ *	Version 3 or later.
+ *	
+ *	Mark's Code Fractal CFInt is free software: you can redistribute it and/or
+ *	modify it under the terms of the GNU Library General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *	
+ *	Mark's Code Fractal CFInt is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *	
+ *	You should have received a copy of the GNU Library General Public License
+ *	along with Mark's Code Fractal CFInt.  If not, see <https://www.gnu.org/licenses/>.
+ *	
+ *	If you wish to modify and use this code without publishing your changes in order to
+ *	tie it to proprietary code, please contact Mark Stephen Sobkow
+ *	for a commercial license at mark.sobkow@gmail.com
+ *	
+ */
+package io.github.msobkow.v3_1.cfint.cfintsaxloader;
+
+/*
+ *	ICFIntSaxLoadListener is told what the loader did with each row
+ *	element it parsed, and where the time went.  Time is split into the
+ *	handler's own parsing and conversion, its unique index and reference
+ *	lookups, and its writes.  Lookup time is charged to the table of the
+ *	element doing the lookup, not the table being read.
+ *
+ *	Writes deferred by the write batch or the write pipeline are timed
+ *	when they are applied, which may be on a writer thread, so
+ *	implementations must be thread safe.
+ */
+public interface ICFIntSaxLoadListener
+{
+	public enum OutcomeEnum {
+		Inserted,
+		Updated,
+		Replaced,
+		Skipped,
+		Failed
+	};
+
+	public enum PhaseEnum {
+		Parse,
+		Lookup,
+		Write
+	};
+
+	void elementLoaded( String tableName, OutcomeEnum outcome );
+
+	void phaseTimed( String tableName, PhaseEnum phase, long nanos );
+}
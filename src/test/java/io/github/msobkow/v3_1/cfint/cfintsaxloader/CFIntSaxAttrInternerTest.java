@@ -0,0 +1,174 @@
+// Description: Java 25 XML SAX Parser for CFInt.
+
+/*
+ *	io.github.msobkow.CFInt
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *	
+ *	Mark's Code Fractal 3.1 CFInt - Internet Essentials
+ *	
+ *	This file is part of Mark's Code Fractal CFInt.
+ *	
+ *	Mark's Code Fractal CFInt is available under dual commercial license from
+ *	Mark Stephen Sobkow, or under the terms of the GNU Library General Public License,
+ *	Version 3 or later.
+ *	
+ *	Mark's Code Fractal CFInt is free software: you can redistribute it and/or
+ *	modify it under the terms of the GNU Library General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *	
+ *	Mark's Code Fractal CFInt is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *	
+ *	You should have received a copy of the GNU Library General Public License
+ *	along with Mark's Code Fractal CFInt.  If not, see <https://www.gnu.org/licenses/>.
+ *	
+ *	If you wish to modify and use this code without publishing your changes in order to
+ *	tie it to proprietary code, please contact Mark Stephen Sobkow
+ *	for a commercial license at mark.sobkow@gmail.com
+ *	
+ */
+package io.github.msobkow.v3_1.cfint.cfintsaxloader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+import org.junit.jupiter.api.Test;
+import io.github.msobkow.v3_1.cflib.*;
+
+/*
+ *	CFIntSaxAttrInternerTest covers duplicate folding, the two bucket
+ *	eviction policy and the statistics of the attribute value interner.
+ */
+public class CFIntSaxAttrInternerTest
+{
+	private CFIntSaxAttrInterner newInterner( int capacity ) {
+		CFIntSaxAttrInterner interner = new CFIntSaxAttrInterner( "ISOTZone", "Iso8601", capacity );
+		interner.setEnabled( true );
+		return( interner );
+	}
+
+	// Find distinct values that all hash to the same bucket
+
+	private List<String> collidingValues( int mask, int bucket, int count ) {
+		List<String> values = new ArrayList<String>();
+		for( int idx = 0; values.size() < count; idx++ ) {
+			String value = "Value" + idx;
+			if( ( CFIntSaxAttrInterner.hash( value ) & mask ) == bucket ) {
+				values.add( value );
+			}
+		}
+		return( values );
+	}
+
+	@Test
+	public void disabledInternerReturnsItsArgument() {
+		CFIntSaxAttrInterner interner = new CFIntSaxAttrInterner( "ISOTZone", "TZName", 16 );
+		assertFalse( interner.isEnabled() );
+		String first = new String( "Bench/Zone0" );
+		interner.intern( first );
+		String second = new String( "Bench/Zone0" );
+		assertSame( second, interner.intern( second ) );
+		assertEquals( 0L, interner.getHits() );
+		assertEquals( 0L, interner.getMisses() );
+	}
+
+	@Test
+	public void nullIsPassedThrough() {
+		CFIntSaxAttrInterner interner = newInterner( 16 );
+		assertNull( interner.intern( null ) );
+		assertEquals( 0L, interner.getMisses() );
+	}
+
+	@Test
+	public void duplicatesFoldOntoTheFirstInstance() {
+		CFIntSaxAttrInterner interner = newInterner( 16 );
+		String first = new String( "Bench/Zone0" );
+		String second = new String( "Bench/Zone0" );
+		assertSame( first, interner.intern( first ) );
+		assertSame( first, interner.intern( second ) );
+		assertSame( first, interner.intern( first ) );
+		assertEquals( 2L, interner.getHits() );
+		assertEquals( 1L, interner.getMisses() );
+	}
+
+	@Test
+	public void collidingValuesShareTheBucketPair() {
+		CFIntSaxAttrInterner interner = newInterner( 4 );
+		List<String> values = collidingValues( 3, 0, 2 );
+		String first = values.get( 0 );
+		String second = values.get( 1 );
+		interner.intern( first );
+		interner.intern( second );
+		assertSame( first, interner.intern( new String( first ) ) );
+		assertSame( second, interner.intern( new String( second ) ) );
+		assertEquals( 2L, interner.getMisses() );
+		assertEquals( 2L, interner.getHits() );
+	}
+
+	@Test
+	public void thirdCollidingValueEvictsTheHomeBucket() {
+		CFIntSaxAttrInterner interner = newInterner( 4 );
+		List<String> values = collidingValues( 3, 0, 3 );
+		String first = values.get( 0 );
+		String second = values.get( 1 );
+		String third = values.get( 2 );
+		interner.intern( first );
+		interner.intern( second );
+		interner.intern( third );
+		assertSame( second, interner.intern( new String( second ) ) );
+		assertSame( third, interner.intern( new String( third ) ) );
+		String firstCopy = new String( first );
+		assertSame( firstCopy, interner.intern( firstCopy ) );
+		assertEquals( 4L, interner.getMisses() );
+		assertEquals( 2L, interner.getHits() );
+	}
+
+	@Test
+	public void resizingEmptiesTheTableButKeepsStats() {
+		CFIntSaxAttrInterner interner = newInterner( 16 );
+		String first = new String( "Bench/Zone0" );
+		interner.intern( first );
+		interner.intern( new String( "Bench/Zone0" ) );
+		interner.setCapacity( 100 );
+		assertEquals( 128, interner.getCapacity() );
+		String afterResize = new String( "Bench/Zone0" );
+		assertSame( afterResize, interner.intern( afterResize ) );
+		assertEquals( 1L, interner.getHits() );
+		assertEquals( 2L, interner.getMisses() );
+	}
+
+	@Test
+	public void clearEmptiesTheTable() {
+		CFIntSaxAttrInterner interner = newInterner( 16 );
+		interner.intern( new String( "Bench/Zone0" ) );
+		interner.clear();
+		String afterClear = new String( "Bench/Zone0" );
+		assertSame( afterClear, interner.intern( afterClear ) );
+		assertEquals( 0L, interner.getHits() );
+	}
+
+	@Test
+	public void statsAccumulateAndReset() {
+		CFIntSaxAttrInterner interner = newInterner( 16 );
+		interner.intern( new String( "Bench/Zone0" ) );
+		interner.intern( new String( "Bench/Zone0" ) );
+		CFIntSaxAttrInterner total = newInterner( 16 );
+		total.addStats( interner );
+		total.addStats( interner );
+		assertEquals( 2L, total.getHits() );
+		assertEquals( 2L, total.getMisses() );
+		interner.resetStats();
+		assertEquals( 0L, interner.getHits() );
+		assertEquals( 0L, interner.getMisses() );
+	}
+
+	@Test
+	public void capacityMustBePositive() {
+		CFIntSaxAttrInterner interner = newInterner( 16 );
+		assertThrows( CFLibUsageException.class, () -> interner.setCapacity( 0 ) );
+	}
+}
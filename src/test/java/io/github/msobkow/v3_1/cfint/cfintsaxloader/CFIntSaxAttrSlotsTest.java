@@ -0,0 +1,89 @@
+// Description: Java 25 XML SAX Parser for CFInt.
+
+/*
+ *	io.github.msobkow.CFInt
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *	
+ *	Mark's Code Fractal 3.1 CFInt - Internet Essentials
+ *	
+ *	This file is part of Mark's Code Fractal CFInt.
+ *	
+ *	Mark's Code Fractal CFInt is available under dual commercial license from
+ *	Mark Stephen Sobkow, or under the terms of the GNU Library General Public License,
+ *	Version 3 or later.
+ *	
+ *	Mark's Code Fractal CFInt is free software: you can redistribute it and/or
+ *	modify it under the terms of the GNU Library General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *	
+ *	Mark's Code Fractal CFInt is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *	
+ *	You should have received a copy of the GNU Library General Public License
+ *	along with Mark's Code Fractal CFInt.  If not, see <https://www.gnu.org/licenses/>.
+ *	
+ *	If you wish to modify and use this code without publishing your changes in order to
+ *	tie it to proprietary code, please contact Mark Stephen Sobkow
+ *	for a commercial license at mark.sobkow@gmail.com
+ *	
+ */
+package io.github.msobkow.v3_1.cfint.cfintsaxloader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import io.github.msobkow.v3_1.cflib.*;
+
+/*
+ *	CFIntSaxAttrSlotsTest covers the attribute name to slot lookup of the
+ *	Insert fast path, including names whose hash codes collide.
+ */
+public class CFIntSaxAttrSlotsTest
+{
+	@Test
+	public void slotsFollowDeclarationOrder() {
+		CFIntSaxAttrSlots slots = new CFIntSaxAttrSlots( "Id", "TZName", "Description" );
+		assertEquals( 0, slots.slotOf( "Id" ) );
+		assertEquals( 1, slots.slotOf( "TZName" ) );
+		assertEquals( 2, slots.slotOf( "Description" ) );
+		assertEquals( CFIntSaxAttrSlots.NO_SLOT, slots.slotOf( "Visible" ) );
+	}
+
+	@Test
+	public void collidingNamesProbeToTheirOwnSlots() {
+		// "Aa" and "BB" share a String hash code
+		assertEquals( "Aa".hashCode(), "BB".hashCode() );
+		CFIntSaxAttrSlots slots = new CFIntSaxAttrSlots( "Aa", "BB", "C" );
+		assertEquals( 0, slots.slotOf( "Aa" ) );
+		assertEquals( 1, slots.slotOf( "BB" ) );
+		assertEquals( 2, slots.slotOf( "C" ) );
+		assertEquals( CFIntSaxAttrSlots.NO_SLOT, slots.slotOf( "Ab" ) );
+	}
+
+	@Test
+	public void nonInternedNamesMatchByValue() {
+		CFIntSaxAttrSlots slots = new CFIntSaxAttrSlots( "Aa", "BB" );
+		assertEquals( 1, slots.slotOf( new String( "BB" ) ) );
+		assertEquals( 0, slots.slotOf( new StringBuilder( "A" ).append( 'a' ).toString() ) );
+	}
+
+	@Test
+	public void emptyListMatchesNothing() {
+		CFIntSaxAttrSlots slots = new CFIntSaxAttrSlots();
+		assertEquals( CFIntSaxAttrSlots.NO_SLOT, slots.slotOf( "Id" ) );
+	}
+
+	@Test
+	public void duplicateNamesAreRejected() {
+		assertThrows( CFLibUsageException.class, () -> new CFIntSaxAttrSlots( "Id", "Name", new String( "Id" ) ) );
+	}
+
+	@Test
+	public void nullNameListIsRejected() {
+		assertThrows( CFLibNullArgumentException.class, () -> new CFIntSaxAttrSlots( (String[])null ) );
+	}
+}
@@ -0,0 +1,123 @@
+// Description: Java 25 XML SAX Parser for CFInt.
+
+/*
+ *	io.github.msobkow.CFInt
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *	
+ *	Mark's Code Fractal 3.1 CFInt - Internet Essentials
+ *	
+ *	This file is part of Mark's Code Fractal CFInt.
+ *	
+ *	Mark's Code Fractal CFInt is available under dual commercial license from
+ *	Mark Stephen Sobkow, or under the terms of the GNU Library General Public License,
+ *	Version 3 or later.
+ *	
+ *	Mark's Code Fractal CFInt is free software: you can redistribute it and/or
+ *	modify it under the terms of the GNU Library General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *	
+ *	Mark's Code Fractal CFInt is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *	
+ *	You should have received a copy of the GNU Library General Public License
+ *	along with Mark's Code Fractal CFInt.  If not, see <https://www.gnu.org/licenses/>.
+ *	
+ *	If you wish to modify and use this code without publishing your changes in order to
+ *	tie it to proprietary code, please contact Mark Stephen Sobkow
+ *	for a commercial license at mark.sobkow@gmail.com
+ *	
+ */
+package io.github.msobkow.v3_1.cfint.cfintsaxloader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import io.github.msobkow.v3_1.cflib.*;
+
+/*
+ *	CFIntSaxCheckpointTest saves checkpoints and loads them back.
+ */
+public class CFIntSaxCheckpointTest
+{
+	@TempDir
+	Path tempDir;
+
+	@Test
+	public void partialCheckpointRoundTrips() {
+		File file = tempDir.resolve( "load.ckpt" ).toFile();
+		List<CFIntSaxCheckpoint.Frame> containers = Arrays.asList(
+			new CFIntSaxCheckpoint.Frame( 1L, "Cluster", "bench.example.com" ),
+			new CFIntSaxCheckpoint.Frame( 4L, "Tenant", "Bench=Tenant\nwith newline" ),
+			new CFIntSaxCheckpoint.Frame( 9L, "SecGroup", null ) );
+		new CFIntSaxCheckpoint( 42L, "bench.xml:120:8", "bench.xml", containers ).save( file );
+		assertFalse( new File( file.getPath() + ".tmp" ).exists() );
+
+		CFIntSaxCheckpoint loaded = CFIntSaxCheckpoint.load( file );
+		assertEquals( 42L, loaded.getOrdinal() );
+		assertEquals( "bench.xml:120:8", loaded.getLocation() );
+		assertEquals( "bench.xml", loaded.getDocument() );
+		assertFalse( loaded.isComplete() );
+		assertEquals( 3, loaded.getContainers().size() );
+		assertEquals( "Tenant", loaded.getContainer( 4L ).getElementName() );
+		assertEquals( "Bench=Tenant\nwith newline", loaded.getContainer( 4L ).getNaturalKey() );
+		assertEquals( "SecGroup", loaded.getContainer( 9L ).getElementName() );
+		assertNull( loaded.getContainer( 9L ).getNaturalKey() );
+		assertNull( loaded.getContainer( 5L ) );
+	}
+
+	@Test
+	public void completedCheckpointRoundTrips() {
+		File file = tempDir.resolve( "done.ckpt" ).toFile();
+		CFIntSaxCheckpoint.completed( 2000L, null, "bench.zip!entry1.xml" ).save( file );
+		CFIntSaxCheckpoint loaded = CFIntSaxCheckpoint.load( file );
+		assertTrue( loaded.isComplete() );
+		assertEquals( 2000L, loaded.getOrdinal() );
+		assertNull( loaded.getLocation() );
+		assertEquals( "bench.zip!entry1.xml", loaded.getDocument() );
+		assertTrue( loaded.getContainers().isEmpty() );
+	}
+
+	@Test
+	public void saveReplacesAnEarlierCheckpoint() {
+		File file = tempDir.resolve( "load.ckpt" ).toFile();
+		new CFIntSaxCheckpoint( 10L, "a", Collections.<CFIntSaxCheckpoint.Frame>emptyList() ).save( file );
+		new CFIntSaxCheckpoint( 20L, "b", Collections.<CFIntSaxCheckpoint.Frame>emptyList() ).save( file );
+		CFIntSaxCheckpoint loaded = CFIntSaxCheckpoint.load( file );
+		assertEquals( 20L, loaded.getOrdinal() );
+		assertNull( loaded.getDocument() );
+	}
+
+	@Test
+	public void containersAreCopied() {
+		List<CFIntSaxCheckpoint.Frame> containers = new ArrayList<CFIntSaxCheckpoint.Frame>();
+		containers.add( new CFIntSaxCheckpoint.Frame( 1L, "Cluster", "c" ) );
+		CFIntSaxCheckpoint checkpoint = new CFIntSaxCheckpoint( 1L, null, containers );
+		containers.clear();
+		assertEquals( 1, checkpoint.getContainers().size() );
+		assertThrows( UnsupportedOperationException.class, () -> checkpoint.getContainers().clear() );
+	}
+
+	@Test
+	public void corruptCheckpointIsRejected()
+	throws IOException
+	{
+		Path path = tempDir.resolve( "corrupt.ckpt" );
+		Files.write( path, "ordinal=forty-two\ncontainers=0\n".getBytes( StandardCharsets.ISO_8859_1 ) );
+		assertThrows( CFLibUsageException.class, () -> CFIntSaxCheckpoint.load( path.toFile() ) );
+	}
+
+	@Test
+	public void missingCheckpointFails() {
+		File file = tempDir.resolve( "missing.ckpt" ).toFile();
+		assertThrows( RuntimeException.class, () -> CFIntSaxCheckpoint.load( file ) );
+	}
+}
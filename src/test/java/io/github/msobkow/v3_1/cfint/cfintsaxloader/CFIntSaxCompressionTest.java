@@ -0,0 +1,152 @@
+// Description: Java 25 XML SAX Parser for CFInt.
+
+/*
+ *	io.github.msobkow.CFInt
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *	
+ *	Mark's Code Fractal 3.1 CFInt - Internet Essentials
+ *	
+ *	This file is part of Mark's Code Fractal CFInt.
+ *	
+ *	Mark's Code Fractal CFInt is available under dual commercial license from
+ *	Mark Stephen Sobkow, or under the terms of the GNU Library General Public License,
+ *	Version 3 or later.
+ *	
+ *	Mark's Code Fractal CFInt is free software: you can redistribute it and/or
+ *	modify it under the terms of the GNU Library General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *	
+ *	Mark's Code Fractal CFInt is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *	
+ *	You should have received a copy of the GNU Library General Public License
+ *	along with Mark's Code Fractal CFInt.  If not, see <https://www.gnu.org/licenses/>.
+ *	
+ *	If you wish to modify and use this code without publishing your changes in order to
+ *	tie it to proprietary code, please contact Mark Stephen Sobkow
+ *	for a commercial license at mark.sobkow@gmail.com
+ *	
+ */
+package io.github.msobkow.v3_1.cfint.cfintsaxloader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.*;
+import org.junit.jupiter.api.Test;
+
+/*
+ *	CFIntSaxCompressionTest covers sniffing gzip, zlib and plain documents
+ *	and decoding each back to the original bytes.
+ */
+public class CFIntSaxCompressionTest
+{
+	private final static byte[] DOCUMENT = "<?xml version=\"1.0\"?><CFInt/>".getBytes( StandardCharsets.UTF_8 );
+
+	private byte[] gzip( byte[] data )
+	throws IOException
+	{
+		ByteArrayOutputStream buff = new ByteArrayOutputStream();
+		try( GZIPOutputStream out = new GZIPOutputStream( buff ) ) {
+			out.write( data );
+		}
+		return( buff.toByteArray() );
+	}
+
+	private byte[] zlib( byte[] data, int level )
+	throws IOException
+	{
+		ByteArrayOutputStream buff = new ByteArrayOutputStream();
+		try( DeflaterOutputStream out = new DeflaterOutputStream( buff, new Deflater( level ) ) ) {
+			out.write( data );
+		}
+		return( buff.toByteArray() );
+	}
+
+	private byte[] readAll( InputStream in )
+	throws IOException
+	{
+		try( InputStream input = in ) {
+			return( input.readAllBytes() );
+		}
+	}
+
+	@Test
+	public void detectsGzip()
+	throws IOException
+	{
+		InputStream in = new ByteArrayInputStream( gzip( DOCUMENT ) );
+		assertEquals( CFIntSaxCompression.FormatEnum.Gzip, CFIntSaxCompression.detect( in ) );
+		// Detection leaves the stream where it was
+		assertEquals( 0x1f, in.read() );
+	}
+
+	@Test
+	public void detectsZlibAtEveryLevel()
+	throws IOException
+	{
+		for( int level = Deflater.NO_COMPRESSION; level <= Deflater.BEST_COMPRESSION; level++ ) {
+			InputStream in = new ByteArrayInputStream( zlib( DOCUMENT, level ) );
+			assertEquals( CFIntSaxCompression.FormatEnum.Deflate, CFIntSaxCompression.detect( in ), "level " + level );
+		}
+	}
+
+	@Test
+	public void detectsPlainXml()
+	throws IOException
+	{
+		assertEquals( CFIntSaxCompression.FormatEnum.None,
+			CFIntSaxCompression.detect( new ByteArrayInputStream( DOCUMENT ) ) );
+		byte[] bom = { (byte)0xef, (byte)0xbb, (byte)0xbf, '<' };
+		assertEquals( CFIntSaxCompression.FormatEnum.None,
+			CFIntSaxCompression.detect( new ByteArrayInputStream( bom ) ) );
+	}
+
+	@Test
+	public void shortStreamsArePlain()
+	throws IOException
+	{
+		assertEquals( CFIntSaxCompression.FormatEnum.None,
+			CFIntSaxCompression.detect( new ByteArrayInputStream( new byte[0] ) ) );
+		assertEquals( CFIntSaxCompression.FormatEnum.None,
+			CFIntSaxCompression.detect( new ByteArrayInputStream( new byte[] { 0x1f } ) ) );
+	}
+
+	@Test
+	public void decodeRestoresTheDocument()
+	throws IOException
+	{
+		assertArrayEquals( DOCUMENT,
+			readAll( CFIntSaxCompression.decode( new ByteArrayInputStream( gzip( DOCUMENT ) ), 512 ) ) );
+		assertArrayEquals( DOCUMENT,
+			readAll( CFIntSaxCompression.decode( new ByteArrayInputStream( zlib( DOCUMENT, Deflater.DEFAULT_COMPRESSION ) ), 512 ) ) );
+		assertArrayEquals( DOCUMENT,
+			readAll( CFIntSaxCompression.decode( new ByteArrayInputStream( DOCUMENT ), 512 ) ) );
+	}
+
+	@Test
+	public void decodeBuffersStreamsWithoutMark()
+	throws IOException
+	{
+		InputStream unmarkable = new FilterInputStream( new ByteArrayInputStream( gzip( DOCUMENT ) ) ) {
+			@Override
+			public boolean markSupported() {
+				return( false );
+			}
+		};
+		assertArrayEquals( DOCUMENT, readAll( CFIntSaxCompression.decode( unmarkable, 512 ) ) );
+	}
+
+	@Test
+	public void recognisesZipNames() {
+		assertTrue( CFIntSaxCompression.isZipName( "bench.zip" ) );
+		assertTrue( CFIntSaxCompression.isZipName( "BENCH.ZIP" ) );
+		assertFalse( CFIntSaxCompression.isZipName( "bench.xml.gz" ) );
+		assertFalse( CFIntSaxCompression.isZipName( null ) );
+	}
+}
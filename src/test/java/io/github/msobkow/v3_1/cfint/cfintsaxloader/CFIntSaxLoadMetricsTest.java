@@ -0,0 +1,100 @@
+// Description: Java 25 XML SAX Parser for CFInt.
+
+/*
+ *	io.github.msobkow.CFInt
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *	
+ *	Mark's Code Fractal 3.1 CFInt - Internet Essentials
+ *	
+ *	This file is part of Mark's Code Fractal CFInt.
+ *	
+ *	Mark's Code Fractal CFInt is available under dual commercial license from
+ *	Mark Stephen Sobkow, or under the terms of the GNU Library General Public License,
+ *	Version 3 or later.
+ *	
+ *	Mark's Code Fractal CFInt is free software: you can redistribute it and/or
+ *	modify it under the terms of the GNU Library General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *	
+ *	Mark's Code Fractal CFInt is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *	
+ *	You should have received a copy of the GNU Library General Public License
+ *	along with Mark's Code Fractal CFInt.  If not, see <https://www.gnu.org/licenses/>.
+ *	
+ *	If you wish to modify and use this code without publishing your changes in order to
+ *	tie it to proprietary code, please contact Mark Stephen Sobkow
+ *	for a commercial license at mark.sobkow@gmail.com
+ *	
+ */
+package io.github.msobkow.v3_1.cfint.cfintsaxloader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/*
+ *	CFIntSaxLoadMetricsTest covers the log2 latency histogram.  Each
+ *	percentile reports the upper bound of the bucket it falls in.
+ */
+public class CFIntSaxLoadMetricsTest
+{
+	@Test
+	public void emptyLatencyReportsZero() {
+		CFIntSaxLoadMetrics.Latency latency = new CFIntSaxLoadMetrics.Latency();
+		assertEquals( 0L, latency.getCount() );
+		assertEquals( 0L, latency.getPercentileNanos( 50.0 ) );
+		assertEquals( 0L, latency.getPercentileNanos( 99.0 ) );
+	}
+
+	@Test
+	public void percentilesReportBucketUpperBounds() {
+		CFIntSaxLoadMetrics.Latency latency = new CFIntSaxLoadMetrics.Latency();
+		// 90 samples in [512,1023] and 10 in [65536,131071]
+		for( int idx = 0; idx < 90; idx++ ) {
+			latency.record( 600L + idx );
+		}
+		for( int idx = 0; idx < 10; idx++ ) {
+			latency.record( 100000L );
+		}
+		assertEquals( 100L, latency.getCount() );
+		assertEquals( 90L * 600L + 4005L + 10L * 100000L, latency.getTotalNanos() );
+		assertEquals( 1023L, latency.getPercentileNanos( 50.0 ) );
+		assertEquals( 1023L, latency.getPercentileNanos( 90.0 ) );
+		assertEquals( 131071L, latency.getPercentileNanos( 90.5 ) );
+		assertEquals( 131071L, latency.getPercentileNanos( 99.0 ) );
+		assertEquals( 131071L, latency.getPercentileNanos( 100.0 ) );
+	}
+
+	@Test
+	public void percentilesAreClamped() {
+		CFIntSaxLoadMetrics.Latency latency = new CFIntSaxLoadMetrics.Latency();
+		latency.record( 3L );
+		latency.record( 5000L );
+		assertEquals( 3L, latency.getPercentileNanos( 0.0 ) );
+		assertEquals( 3L, latency.getPercentileNanos( -10.0 ) );
+		assertEquals( 8191L, latency.getPercentileNanos( 250.0 ) );
+	}
+
+	@Test
+	public void smallAndNegativeSamplesShareTheFirstBucket() {
+		CFIntSaxLoadMetrics.Latency latency = new CFIntSaxLoadMetrics.Latency();
+		latency.record( -5L );
+		latency.record( 0L );
+		latency.record( 1L );
+		assertEquals( 3L, latency.getCount() );
+		assertEquals( 1L, latency.getTotalNanos() );
+		assertEquals( 1L, latency.getPercentileNanos( 100.0 ) );
+	}
+
+	@Test
+	public void largestSampleReportsMaxValue() {
+		CFIntSaxLoadMetrics.Latency latency = new CFIntSaxLoadMetrics.Latency();
+		latency.record( Long.MAX_VALUE );
+		assertEquals( Long.MAX_VALUE, latency.getPercentileNanos( 50.0 ) );
+	}
+}
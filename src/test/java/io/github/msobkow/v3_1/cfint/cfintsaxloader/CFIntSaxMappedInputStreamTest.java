@@ -0,0 +1,164 @@
+// Description: Java 25 XML SAX Parser for CFInt.
+
+/*
+ *	io.github.msobkow.CFInt
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *	
+ *	Mark's Code Fractal 3.1 CFInt - Internet Essentials
+ *	
+ *	This file is part of Mark's Code Fractal CFInt.
+ *	
+ *	Mark's Code Fractal CFInt is available under dual commercial license from
+ *	Mark Stephen Sobkow, or under the terms of the GNU Library General Public License,
+ *	Version 3 or later.
+ *	
+ *	Mark's Code Fractal CFInt is free software: you can redistribute it and/or
+ *	modify it under the terms of the GNU Library General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *	
+ *	Mark's Code Fractal CFInt is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *	
+ *	You should have received a copy of the GNU Library General Public License
+ *	along with Mark's Code Fractal CFInt.  If not, see <https://www.gnu.org/licenses/>.
+ *	
+ *	If you wish to modify and use this code without publishing your changes in order to
+ *	tie it to proprietary code, please contact Mark Stephen Sobkow
+ *	for a commercial license at mark.sobkow@gmail.com
+ *	
+ */
+package io.github.msobkow.v3_1.cfint.cfintsaxloader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.*;
+import java.nio.file.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import io.github.msobkow.v3_1.cflib.*;
+
+/*
+ *	CFIntSaxMappedInputStreamTest reads files through segments far smaller
+ *	than the file so that every read, skip and reset crosses a boundary.
+ */
+public class CFIntSaxMappedInputStreamTest
+{
+	@TempDir
+	Path tempDir;
+
+	private byte[] content( int length ) {
+		byte[] data = new byte[ length ];
+		for( int idx = 0; idx < length; idx++ ) {
+			data[ idx ] = (byte)( idx * 31 + 7 );
+		}
+		return( data );
+	}
+
+	private Path write( byte[] data )
+	throws IOException
+	{
+		Path path = tempDir.resolve( "mapped.xml" );
+		Files.write( path, data );
+		return( path );
+	}
+
+	@Test
+	public void singleByteReadsCrossSegments()
+	throws IOException
+	{
+		byte[] data = content( 100 );
+		try( CFIntSaxMappedInputStream in = new CFIntSaxMappedInputStream( write( data ), 7L ) ) {
+			assertEquals( 100L, in.getSize() );
+			for( int idx = 0; idx < data.length; idx++ ) {
+				assertEquals( data[ idx ] & 0xff, in.read(), "byte " + idx );
+			}
+			assertEquals( -1, in.read() );
+			assertEquals( 100L, in.getPosition() );
+		}
+	}
+
+	@Test
+	public void bulkReadsStopAtTheSegmentEnd()
+	throws IOException
+	{
+		byte[] data = content( 100 );
+		try( CFIntSaxMappedInputStream in = new CFIntSaxMappedInputStream( write( data ), 16L ) ) {
+			byte[] buff = new byte[ 40 ];
+			assertEquals( 16, in.read( buff, 0, 40 ) );
+			assertEquals( 10, in.read( buff, 16, 10 ) );
+			assertEquals( 6, in.read( buff, 26, 14 ) );
+			for( int idx = 0; idx < 32; idx++ ) {
+				assertEquals( data[ idx ], buff[ idx ] );
+			}
+			assertEquals( 0, in.read( buff, 0, 0 ) );
+		}
+	}
+
+	@Test
+	public void readAllBytesMatchesTheFile()
+	throws IOException
+	{
+		byte[] data = content( 10000 );
+		try( CFIntSaxMappedInputStream in = new CFIntSaxMappedInputStream( write( data ), 333L ) ) {
+			assertArrayEquals( data, in.readAllBytes() );
+			assertEquals( -1, in.read( new byte[ 4 ], 0, 4 ) );
+		}
+	}
+
+	@Test
+	public void resetReturnsToAMarkInAnEarlierSegment()
+	throws IOException
+	{
+		byte[] data = content( 100 );
+		try( CFIntSaxMappedInputStream in = new CFIntSaxMappedInputStream( write( data ), 8L ) ) {
+			assertTrue( in.markSupported() );
+			in.skip( 5L );
+			in.mark( 1 );
+			byte[] buff = new byte[ 60 ];
+			assertEquals( 60, in.readNBytes( buff, 0, 60 ) );
+			in.reset();
+			assertEquals( 5L, in.getPosition() );
+			assertEquals( data[ 5 ] & 0xff, in.read() );
+			assertEquals( data[ 6 ] & 0xff, in.read() );
+		}
+	}
+
+	@Test
+	public void skipAndAvailableStayWithinTheFile()
+	throws IOException
+	{
+		byte[] data = content( 50 );
+		try( CFIntSaxMappedInputStream in = new CFIntSaxMappedInputStream( write( data ), 8L ) ) {
+			assertEquals( 50, in.available() );
+			assertEquals( 20L, in.skip( 20L ) );
+			assertEquals( data[ 20 ] & 0xff, in.read() );
+			assertEquals( 29, in.available() );
+			assertEquals( 29L, in.skip( 1000L ) );
+			assertEquals( 0L, in.skip( 1L ) );
+			assertEquals( -1, in.read() );
+		}
+	}
+
+	@Test
+	public void emptyFileIsAtEnd()
+	throws IOException
+	{
+		try( CFIntSaxMappedInputStream in = new CFIntSaxMappedInputStream( write( new byte[0] ), 8L ) ) {
+			assertEquals( -1, in.read() );
+			assertEquals( 0, in.available() );
+		}
+	}
+
+	@Test
+	public void segmentSizeMustFitAMapping()
+	throws IOException
+	{
+		Path path = write( content( 10 ) );
+		assertThrows( CFLibUsageException.class, () -> new CFIntSaxMappedInputStream( path, 0L ) );
+		assertThrows( CFLibUsageException.class, () -> new CFIntSaxMappedInputStream( path, Integer.MAX_VALUE + 1L ) );
+	}
+}
@@ -0,0 +1,133 @@
+// Description: Java 25 XML SAX Parser for CFInt.
+
+/*
+ *	io.github.msobkow.CFInt
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *	
+ *	Mark's Code Fractal 3.1 CFInt - Internet Essentials
+ *	
+ *	This file is part of Mark's Code Fractal CFInt.
+ *	
+ *	Mark's Code Fractal CFInt is available under dual commercial license from
+ *	Mark Stephen Sobkow, or under the terms of the GNU Library General Public License,
+ *	Version 3 or later.
+ *	
+ *	Mark's Code Fractal CFInt is free software: you can redistribute it and/or
+ *	modify it under the terms of the GNU Library General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *	
+ *	Mark's Code Fractal CFInt is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *	
+ *	You should have received a copy of the GNU Library General Public License
+ *	along with Mark's Code Fractal CFInt.  If not, see <https://www.gnu.org/licenses/>.
+ *	
+ *	If you wish to modify and use this code without publishing your changes in order to
+ *	tie it to proprietary code, please contact Mark Stephen Sobkow
+ *	for a commercial license at mark.sobkow@gmail.com
+ *	
+ */
+package io.github.msobkow.v3_1.cfint.cfintsaxloader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import io.github.msobkow.v3_1.cflib.*;
+
+/*
+ *	CFIntSaxRefCacheTest covers the least recently used eviction and the
+ *	negative entries of the reference cache.
+ */
+public class CFIntSaxRefCacheTest
+{
+	@Test
+	public void readsAreCachedPerTableAndKey() {
+		CFIntSaxRefCache cache = new CFIntSaxRefCache( 10 );
+		AtomicInteger reads = new AtomicInteger();
+		Object ccy = new Object();
+		assertSame( ccy, cache.read( "ISOCcy", "CAD", () -> { reads.incrementAndGet(); return( ccy ); } ) );
+		assertSame( ccy, cache.read( "ISOCcy", "CAD", () -> { reads.incrementAndGet(); return( null ); } ) );
+		assertNull( cache.read( "ISOLang", "CAD", () -> { reads.incrementAndGet(); return( null ); } ) );
+		assertEquals( 2, reads.get() );
+		assertEquals( 1L, cache.getHits() );
+		assertEquals( 2L, cache.getMisses() );
+	}
+
+	@Test
+	public void missesAreCachedAsNegativeEntries() {
+		CFIntSaxRefCache cache = new CFIntSaxRefCache( 10 );
+		AtomicInteger reads = new AtomicInteger();
+		assertNull( cache.read( "ISOCcy", "XXX", () -> { reads.incrementAndGet(); return( null ); } ) );
+		assertNull( cache.read( "ISOCcy", "XXX", () -> { reads.incrementAndGet(); return( new Object() ); } ) );
+		assertEquals( 1, reads.get() );
+		assertEquals( 1, cache.size() );
+
+		// A row created later replaces the negative entry
+		Object created = new Object();
+		cache.put( "ISOCcy", "XXX", created );
+		assertSame( created, cache.read( "ISOCcy", "XXX", () -> null ) );
+	}
+
+	@Test
+	public void leastRecentlyUsedEntryIsEvicted() {
+		CFIntSaxRefCache cache = new CFIntSaxRefCache( 2 );
+		Object a = new Object();
+		Object b = new Object();
+		cache.put( "T", "a", a );
+		cache.put( "T", "b", b );
+		// Touch a so that b becomes the eldest
+		assertSame( a, cache.read( "T", "a", () -> null ) );
+		cache.put( "T", "c", new Object() );
+		assertEquals( 2, cache.size() );
+		assertSame( a, cache.read( "T", "a", () -> null ) );
+		Object reread = new Object();
+		assertSame( reread, cache.read( "T", "b", () -> reread ) );
+	}
+
+	@Test
+	public void shrinkingEvictsTheEldest() {
+		CFIntSaxRefCache cache = new CFIntSaxRefCache( 4 );
+		for( int idx = 0; idx < 4; idx++ ) {
+			cache.put( "T", idx, "row" + idx );
+		}
+		cache.setMaxEntries( 2 );
+		assertEquals( 2, cache.size() );
+		assertEquals( "row3", cache.read( "T", 3, () -> null ) );
+		assertEquals( "row2", cache.read( "T", 2, () -> null ) );
+		assertNull( cache.read( "T", 0, () -> null ) );
+	}
+
+	@Test
+	public void invalidationDropsEntries() {
+		CFIntSaxRefCache cache = new CFIntSaxRefCache( 10 );
+		cache.put( "ISOCcy", "CAD", "cad" );
+		cache.put( "ISOCcy", "USD", "usd" );
+		cache.put( "ISOLang", "en", "en" );
+		cache.invalidate( "ISOCcy", "CAD" );
+		assertEquals( 2, cache.size() );
+		cache.invalidateTable( "ISOCcy" );
+		assertEquals( 1, cache.size() );
+		assertEquals( "en", cache.read( "ISOLang", "en", () -> null ) );
+	}
+
+	@Test
+	public void clearResetsEntriesAndStats() {
+		CFIntSaxRefCache cache = new CFIntSaxRefCache( 10 );
+		cache.read( "T", "a", () -> "a" );
+		cache.read( "T", "a", () -> "a" );
+		cache.clear();
+		assertEquals( 0, cache.size() );
+		assertEquals( 0L, cache.getHits() );
+		assertEquals( 0L, cache.getMisses() );
+	}
+
+	@Test
+	public void maxEntriesMustBePositive() {
+		assertThrows( CFLibUsageException.class, () -> new CFIntSaxRefCache( 0 ) );
+	}
+}
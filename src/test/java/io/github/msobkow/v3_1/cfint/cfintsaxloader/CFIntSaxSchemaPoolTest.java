@@ -0,0 +1,88 @@
+// Description: Java 25 XML SAX Parser for CFInt.
+
+/*
+ *	io.github.msobkow.CFInt
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *	
+ *	Mark's Code Fractal 3.1 CFInt - Internet Essentials
+ *	
+ *	This file is part of Mark's Code Fractal CFInt.
+ *	
+ *	Mark's Code Fractal CFInt is available under dual commercial license from
+ *	Mark Stephen Sobkow, or under the terms of the GNU Library General Public License,
+ *	Version 3 or later.
+ *	
+ *	Mark's Code Fractal CFInt is free software: you can redistribute it and/or
+ *	modify it under the terms of the GNU Library General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *	
+ *	Mark's Code Fractal CFInt is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *	
+ *	You should have received a copy of the GNU Library General Public License
+ *	along with Mark's Code Fractal CFInt.  If not, see <https://www.gnu.org/licenses/>.
+ *	
+ *	If you wish to modify and use this code without publishing your changes in order to
+ *	tie it to proprietary code, please contact Mark Stephen Sobkow
+ *	for a commercial license at mark.sobkow@gmail.com
+ *	
+ */
+package io.github.msobkow.v3_1.cfint.cfintsaxloader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.StringReader;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import org.junit.jupiter.api.Test;
+import org.xml.sax.SAXException;
+
+/*
+ *	CFIntSaxSchemaPoolTest validates documents against the pooled schema.
+ */
+public class CFIntSaxSchemaPoolTest
+{
+	private final static String TZONE_START = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+		+ "<CFInt xmlns=\"" + CFIntSaxLoader.SCHEMA_XMLNS + "\">\n";
+	private final static String TZONE_END = "</CFInt>\n";
+
+	private void validate( String doc )
+	throws Exception
+	{
+		CFIntSaxSchemaPool.getSchema().newValidator().validate( new StreamSource( new StringReader( doc ) ) );
+	}
+
+	@Test
+	public void schemaIsCompiledOnce() {
+		Schema schema = CFIntSaxSchemaPool.getSchema();
+		assertNotNull( schema );
+		assertSame( schema, CFIntSaxSchemaPool.getSchema() );
+	}
+
+	@Test
+	public void validDocumentPasses()
+	throws Exception
+	{
+		validate( TZONE_START
+			+ "\t<ISOTZone Iso8601=\"+01:00\" TZName=\"Test/Zone\" TZHourOffset=\"1\" TZMinOffset=\"0\" Description=\"Zone\" Visible=\"true\"/>\n"
+			+ TZONE_END );
+	}
+
+	@Test
+	public void missingAttributeFails() {
+		assertThrows( SAXException.class, () -> validate( TZONE_START
+			+ "\t<ISOTZone Iso8601=\"+01:00\" TZHourOffset=\"1\" TZMinOffset=\"0\" Description=\"Zone\" Visible=\"true\"/>\n"
+			+ TZONE_END ) );
+	}
+
+	@Test
+	public void unknownElementFails() {
+		assertThrows( SAXException.class, () -> validate( TZONE_START
+			+ "\t<TimeZone Name=\"Test/Zone\"/>\n"
+			+ TZONE_END ) );
+	}
+}
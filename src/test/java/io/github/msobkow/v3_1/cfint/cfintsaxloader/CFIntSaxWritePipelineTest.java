@@ -0,0 +1,162 @@
+// Description: Java 25 XML SAX Parser for CFInt.
+
+/*
+ *	io.github.msobkow.CFInt
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *	
+ *	Mark's Code Fractal 3.1 CFInt - Internet Essentials
+ *	
+ *	This file is part of Mark's Code Fractal CFInt.
+ *	
+ *	Mark's Code Fractal CFInt is available under dual commercial license from
+ *	Mark Stephen Sobkow, or under the terms of the GNU Library General Public License,
+ *	Version 3 or later.
+ *	
+ *	Mark's Code Fractal CFInt is free software: you can redistribute it and/or
+ *	modify it under the terms of the GNU Library General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *	
+ *	Mark's Code Fractal CFInt is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *	
+ *	You should have received a copy of the GNU Library General Public License
+ *	along with Mark's Code Fractal CFInt.  If not, see <https://www.gnu.org/licenses/>.
+ *	
+ *	If you wish to modify and use this code without publishing your changes in order to
+ *	tie it to proprietary code, please contact Mark Stephen Sobkow
+ *	for a commercial license at mark.sobkow@gmail.com
+ *	
+ */
+package io.github.msobkow.v3_1.cfint.cfintsaxloader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import org.junit.jupiter.api.Test;
+import io.github.msobkow.v3_1.cflib.*;
+
+/*
+ *	CFIntSaxWritePipelineTest covers applying rows on the writer thread
+ *	and how a failed write reaches the parse thread.
+ */
+public class CFIntSaxWritePipelineTest
+{
+	private CFIntSaxPendingRow newRow( String tableName, Object naturalKey ) {
+		return( new CFIntSaxPendingRow( tableName,
+			naturalKey,
+			new Object(),
+			CFIntSaxPendingRow.WriteKindEnum.Create,
+			null,
+			null,
+			0L ) );
+	}
+
+	// Complete every row with its natural key, failing the Bad table
+
+	private void apply( String tableName, List<CFIntSaxPendingRow> rows ) {
+		if( "Bad".equals( tableName ) ) {
+			throw new IllegalStateException( "Bad row rejected" );
+		}
+		for( CFIntSaxPendingRow row : rows ) {
+			row.complete( row.getNaturalKey() );
+		}
+	}
+
+	@Test
+	public void rowsAreAppliedInSubmissionOrder() {
+		List<Object> applied = Collections.synchronizedList( new ArrayList<Object>() );
+		CFIntSaxWritePipeline pipeline = new CFIntSaxWritePipeline( ( tableName, rows ) -> {
+				for( CFIntSaxPendingRow row : rows ) {
+					applied.add( row.getNaturalKey() );
+					row.complete( row.getNaturalKey() );
+				}
+			},
+			2 );
+		List<CFIntSaxPendingRow> all = new ArrayList<CFIntSaxPendingRow>();
+		for( int idx = 0; idx < 20; idx++ ) {
+			CFIntSaxPendingRow row = newRow( "ISOTZone", idx );
+			all.add( row );
+			pipeline.submit( "ISOTZone", Collections.singletonList( row ) );
+		}
+		pipeline.shutdown();
+		for( int idx = 0; idx < 20; idx++ ) {
+			assertEquals( idx, applied.get( idx ) );
+			assertTrue( all.get( idx ).isApplied() );
+			assertEquals( idx, all.get( idx ).awaitResult() );
+		}
+	}
+
+	@Test
+	public void drainRethrowsAFailedWrite() {
+		CFIntSaxWritePipeline pipeline = new CFIntSaxWritePipeline( this::apply, 4 );
+		CFIntSaxPendingRow bad = newRow( "Bad", "b" );
+		pipeline.submit( "Bad", Collections.singletonList( bad ) );
+		RuntimeException e = assertThrows( RuntimeException.class, () -> pipeline.drain() );
+		assertTrue( e.getCause() instanceof IllegalStateException );
+		assertTrue( bad.isDone() );
+		assertFalse( bad.isApplied() );
+		assertSame( pipeline.getFailure(), bad.getFailure() );
+		assertThrows( RuntimeException.class, () -> pipeline.stop() );
+	}
+
+	@Test
+	public void stopRethrowsAFailedWrite() {
+		CFIntSaxWritePipeline pipeline = new CFIntSaxWritePipeline( this::apply, 4 );
+		pipeline.submit( "Bad", Collections.singletonList( newRow( "Bad", "b" ) ) );
+		RuntimeException e = assertThrows( RuntimeException.class, () -> pipeline.stop() );
+		assertSame( pipeline.getFailure(), e.getCause() );
+	}
+
+	@Test
+	public void shutdownRethrowsAFailedWrite() {
+		CFIntSaxWritePipeline pipeline = new CFIntSaxWritePipeline( this::apply, 4 );
+		pipeline.submit( "Bad", Collections.singletonList( newRow( "Bad", "b" ) ) );
+		assertThrows( RuntimeException.class, () -> pipeline.shutdown() );
+	}
+
+	@Test
+	public void rowsQueuedAfterAFailureAreFailedNotApplied()
+	throws InterruptedException
+	{
+		CountDownLatch release = new CountDownLatch( 1 );
+		CFIntSaxWritePipeline pipeline = new CFIntSaxWritePipeline( ( tableName, rows ) -> {
+				try {
+					release.await();
+				}
+				catch( InterruptedException e ) {
+					Thread.currentThread().interrupt();
+				}
+				apply( tableName, rows );
+			},
+			4 );
+		CFIntSaxPendingRow bad = newRow( "Bad", "b" );
+		CFIntSaxPendingRow later = newRow( "ISOTZone", "later" );
+		pipeline.submit( "Bad", Collections.singletonList( bad ) );
+		pipeline.submit( "ISOTZone", Collections.singletonList( later ) );
+		release.countDown();
+		assertThrows( RuntimeException.class, () -> pipeline.shutdown() );
+		assertFalse( later.isApplied() );
+		assertSame( bad.getFailure(), later.getFailure() );
+		assertThrows( RuntimeException.class, () -> later.awaitResult() );
+		assertThrows( RuntimeException.class, () -> pipeline.submit( "ISOTZone", Collections.singletonList( newRow( "ISOTZone", "x" ) ) ) );
+	}
+
+	@Test
+	public void cleanStopDoesNotThrow() {
+		CFIntSaxWritePipeline pipeline = new CFIntSaxWritePipeline( this::apply, 4 );
+		pipeline.submit( "ISOTZone", Collections.singletonList( newRow( "ISOTZone", "a" ) ) );
+		assertDoesNotThrow( () -> pipeline.shutdown() );
+		assertNull( pipeline.getFailure() );
+	}
+
+	@Test
+	public void capacityMustBePositive() {
+		assertThrows( CFLibUsageException.class, () -> new CFIntSaxWritePipeline( this::apply, 0 ) );
+		assertThrows( CFLibNullArgumentException.class, () -> new CFIntSaxWritePipeline( null, 1 ) );
+	}
+}